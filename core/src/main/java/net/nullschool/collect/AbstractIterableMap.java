@@ -311,12 +311,13 @@ public abstract class AbstractIterableMap<K, V> implements IterableMap<K, V> {
                         return false;
                     }
                 }
-                else if (!thisValue.equals(thatValue)) {
+                else if (thisValue == null || !thisValue.equals(thatValue)) {
                     return false;
                 }
             }
         }
         catch (ClassCastException | NullPointerException ignored) {
+            return false;  // that map does not permit one of our keys, so it cannot contain it.
         }
         return true;
     }
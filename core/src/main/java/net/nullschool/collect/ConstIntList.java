@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect;
+
+import java.util.Collection;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * A ConstList of {@code int} values stored without boxing. The {@code int}-typed methods read and construct lists
+ * without allocating a wrapper for each element. The methods inherited from ConstList remain available, but those
+ * that accept arbitrary elements, such as {@code with(null)}, may return a list that is not a ConstIntList.
+ *
+ * @author Cameron Beccario
+ */
+public interface ConstIntList extends ConstList<Integer> {
+
+    /**
+     * Returns the element at the specified position, without boxing.
+     *
+     * @param index the index of the element.
+     * @return the element at the specified position.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    int getInt(int index);
+
+    /**
+     * Returns the index of the first occurrence of the specified value, or -1 if the value does not occur.
+     *
+     * @param value the value to search for.
+     * @return the index of the first occurrence of the value, or -1 if not found.
+     */
+    int indexOfInt(int value);
+
+    /**
+     * Returns a new array containing the elements of this list in order.
+     *
+     * @return a new array of the elements.
+     */
+    int[] toIntArray();
+
+    /**
+     * Returns a ConstIntList containing the elements of this list plus the specified value added to the end. No
+     * visible change to this list occurs.
+     *
+     * @param value the value to add.
+     * @return a ConstIntList containing this list's elements conjoined with the specified value.
+     */
+    ConstIntList withInt(int value);
+
+    /**
+     * Returns a ConstIntList containing the elements of this list plus the specified value inserted at the
+     * specified index. No visible change to this list occurs.
+     *
+     * @param index the index at which to add the value.
+     * @param value the value to add.
+     * @return a ConstIntList containing this list's elements conjoined with the specified value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    ConstIntList withInt(int index, int value);
+
+    /**
+     * Returns a ConstIntList containing the elements of this list with the element at the specified index replaced
+     * by the specified value. No visible change to this list occurs.
+     *
+     * @param index the index of the element to replace.
+     * @param value the replacement value.
+     * @return a ConstIntList containing this list's elements with the replacement.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    ConstIntList replaceInt(int index, int value);
+
+    @Override ConstIntList without(Object o);
+
+    @Override ConstIntList delete(int index);
+
+    @Override ConstIntList withoutAll(Collection<?> c);
+
+    @Override ConstIntList subList(int fromIndex, int toIndex);
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect;
+
+import java.util.Collection;
+
+
+/**
+ * 2013-06-23<p/>
+ *
+ * A mutable accumulator of elements for the efficient construction of a {@link ConstList}. Elements are appended to
+ * an internal array that grows in place, and {@link #build} hands that array to the resulting list without copying
+ * when possible. A builder is intended to have a single owner and makes no guarantees for thread safety.<p/>
+ *
+ * The builder remains usable after {@link #build} is invoked. Subsequent modifications do not affect lists
+ * previously built.
+ *
+ * @author Cameron Beccario
+ */
+public interface ConstListBuilder<E> {
+
+    /**
+     * Appends the specified element.
+     *
+     * @param e the element to add.
+     * @return this builder.
+     */
+    ConstListBuilder<E> add(E e);
+
+    /**
+     * Appends all elements of the specified collection, in the order they are returned by its iterator.
+     *
+     * @param c the elements to add.
+     * @return this builder.
+     * @throws NullPointerException if {@code c} is null.
+     */
+    ConstListBuilder<E> addAll(Collection<? extends E> c);
+
+    /**
+     * @return the number of elements added to this builder.
+     */
+    int size();
+
+    /**
+     * @return a ConstList containing the elements of this builder in the order they were added.
+     */
+    ConstList<E> build();
+}
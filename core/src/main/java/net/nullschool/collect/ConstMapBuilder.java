@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect;
+
+import java.util.Map;
+
+
+/**
+ * 2013-06-23<p/>
+ *
+ * A mutable accumulator of entries for the efficient construction of a {@link ConstMap}. Entries are appended to
+ * internal arrays that grow in place. Duplicate keys are resolved lazily, either when the arrays must grow or when
+ * {@link #build} is invoked, and just as for {@link Map#put}, the last value associated with a key wins. A builder
+ * is intended to have a single owner and makes no guarantees for thread safety.<p/>
+ *
+ * The builder remains usable after {@link #build} is invoked. Subsequent modifications do not affect maps
+ * previously built.
+ *
+ * @author Cameron Beccario
+ */
+public interface ConstMapBuilder<K, V> {
+
+    /**
+     * Associates the specified key with the specified value, replacing any value previously associated with the key.
+     *
+     * @param key the key.
+     * @param value the value.
+     * @return this builder.
+     * @throws ClassCastException if the key is of a type not suitable for the map.
+     * @throws NullPointerException if the key is null and the map does not allow null keys.
+     */
+    ConstMapBuilder<K, V> put(K key, V value);
+
+    /**
+     * Puts all entries of the specified map.
+     *
+     * @param map the entries to put.
+     * @return this builder.
+     * @throws NullPointerException if {@code map} is null.
+     */
+    ConstMapBuilder<K, V> putAll(Map<? extends K, ? extends V> map);
+
+    /**
+     * @return a ConstMap containing the unique entries of this builder.
+     */
+    ConstMap<K, V> build();
+}
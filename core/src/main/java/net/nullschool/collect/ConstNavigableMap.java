@@ -0,0 +1,300 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect;
+
+import java.util.*;
+
+
+/**
+ * 2013-06-30<p/>
+ *
+ * A persistent (i.e., immutable) {@link NavigableMap}. In addition to the operations of {@link ConstSortedMap}, a
+ * ConstNavigableMap provides closest-match lookups ({@link #lowerKey}, {@link #floorKey}, {@link #ceilingKey},
+ * {@link #higherKey}, and their entry counterparts), descending views, and range views with inclusive or exclusive
+ * bounds. All range views are themselves ConstNavigableMaps.<p/>
+ *
+ * Because a ConstNavigableMap is effectively immutable, the {@link #pollFirstEntry} and {@link #pollLastEntry}
+ * methods inherited from {@link NavigableMap} always throw {@link UnsupportedOperationException}, as do the mutation
+ * methods described by {@link ConstSortedMap}. Entries returned by this map do not support {@link Entry#setValue}.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author Cameron Beccario
+ */
+public interface ConstNavigableMap<K, V> extends NavigableMap<K, V>, ConstSortedMap<K, V> {
+
+    /**
+     * See {@link ConstMap#with}.
+     *
+     * @param key the key to associate
+     * @param value the value to be associated with the key
+     * @return a ConstNavigableMap containing this map's associations conjoined with the specified association.
+     * @throws ClassCastException if the key or value is of a type not suitable for this or the resulting map.
+     * @throws NullPointerException if the key or value is null and this or the resulting map does not allow nulls.
+     * @throws IllegalArgumentException if some property of the key or value is not suitable for this or the
+     *                                  resulting map.
+     */
+    @Override ConstNavigableMap<K, V> with(K key, V value);
+
+    /**
+     * See {@link ConstMap#with}.
+     *
+     * @param map mappings to conjoin with the associations in this map
+     * @return a ConstNavigableMap containing this map's associations conjoined with the associations in the
+     *         provided map.
+     * @throws ClassCastException if a key or value in the specified map is of a type not suitable for this or
+     *                            the resulting map.
+     * @throws NullPointerException if the specified map is null, or if a key or value in the specified map is
+     *                              null and either this or the resulting map does not allow nulls.
+     * @throws IllegalArgumentException if some property of a key or value in the specified map is not suitable
+     *                                  for this or the resulting map.
+     */
+    @Override ConstNavigableMap<K, V> withAll(Map<? extends K, ? extends V> map);
+
+    /**
+     * See {@link ConstMap#without}.
+     *
+     * @param key the key to de-associate.
+     * @return a ConstNavigableMap containing this map's associations disjoined from the specified association.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> without(Object key);
+
+    /**
+     * See {@link ConstMap#withoutAll}.
+     *
+     * @param keys the keys to de-associate from this map.
+     * @return a ConstNavigableMap containing this map's associations disjoined from the keys in the provided
+     *         collection.
+     * @throws ClassCastException if a key in the specified collection is of a type not suitable for this or
+     *                            the resulting map.
+     * @throws NullPointerException if the specified collection is null, or if a key in the specified collection
+     *                              is null and either this or the resulting map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> withoutAll(Collection<?> keys);
+
+    /**
+     * See {@link ConstSortedMap#union}.
+     *
+     * @param map the associations to join with the associations of this map.
+     * @return a ConstNavigableMap containing the associations of both this map and the specified map.
+     * @throws ClassCastException if a key in the specified map is of a type not suitable for this or the resulting
+     *                            map.
+     * @throws NullPointerException if the specified map is null, or if a key in the specified map is null and either
+     *                              this or the resulting map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> union(Map<? extends K, ? extends V> map);
+
+    /**
+     * See {@link ConstSortedMap#intersect}.
+     *
+     * @param keys the keys to retain.
+     * @return a ConstNavigableMap containing this map's associations for the specified keys.
+     * @throws ClassCastException if a key in the specified collection is of a type not suitable for this map.
+     * @throws NullPointerException if the specified collection is null, or if a key in the specified collection
+     *                              is null and this map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> intersect(Collection<?> keys);
+
+    /**
+     * See {@link ConstSortedMap#difference}.
+     *
+     * @param keys the keys to de-associate from this map.
+     * @return a ConstNavigableMap containing this map's associations for keys not in the specified collection.
+     * @throws ClassCastException if a key in the specified collection is of a type not suitable for this map.
+     * @throws NullPointerException if the specified collection is null, or if a key in the specified collection
+     *                              is null and this map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> difference(Collection<?> keys);
+
+    /**
+     * See {@link ConstSortedMap#symmetricDifference}.
+     *
+     * @param map the associations to join with the associations of this map.
+     * @return a ConstNavigableMap containing the associations whose keys are found in either this map or the specified
+     *         map, but not both.
+     * @throws ClassCastException if a key in the specified map is of a type not suitable for this or the resulting
+     *                            map.
+     * @throws NullPointerException if the specified map is null, or if a key in the specified map is null and either
+     *                              this or the resulting map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> symmetricDifference(Map<? extends K, ? extends V> map);
+
+    /**
+     * Returns the greatest key in this map strictly less than the given key, or {@code null} if there is no such key.
+     *
+     * @param key the key to match.
+     * @return the greatest key less than {@code key}, or {@code null} if there is no such key.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override K lowerKey(K key);
+
+    /**
+     * Returns the greatest key in this map less than or equal to the given key, or {@code null} if there is no such
+     * key.
+     *
+     * @param key the key to match.
+     * @return the greatest key less than or equal to {@code key}, or {@code null} if there is no such key.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override K floorKey(K key);
+
+    /**
+     * Returns the least key in this map greater than or equal to the given key, or {@code null} if there is no such
+     * key.
+     *
+     * @param key the key to match.
+     * @return the least key greater than or equal to {@code key}, or {@code null} if there is no such key.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override K ceilingKey(K key);
+
+    /**
+     * Returns the least key in this map strictly greater than the given key, or {@code null} if there is no such
+     * key.
+     *
+     * @param key the key to match.
+     * @return the least key greater than {@code key}, or {@code null} if there is no such key.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override K higherKey(K key);
+
+    /**
+     * Returns a {@link ConstNavigableSet} containing this map's keys. Equivalent to {@link #keySet}.
+     *
+     * @return this map's keys as a persistent navigable set.
+     */
+    @Override ConstNavigableSet<K> navigableKeySet();
+
+    /**
+     * Returns a {@link ConstNavigableSet} containing this map's keys in reverse order.
+     *
+     * @return this map's keys as a persistent navigable set having the reverse ordering of this map.
+     */
+    @Override ConstNavigableSet<K> descendingKeySet();
+
+    /**
+     * Returns a ConstNavigableMap containing the entries of this map in reverse order. Because it is persistent, the
+     * resulting map is not a "view" of this map, but an independent map having the reverse ordering of this map's
+     * comparator.
+     *
+     * @return a ConstNavigableMap of this map's entries in reverse order.
+     */
+    @Override ConstNavigableMap<K, V> descendingMap();
+
+    /**
+     * Returns a new ConstNavigableMap containing all the entries of this map whose key is less than {@code toKey}.
+     *
+     * @param toKey the end point (exclusive) of the resulting map.
+     * @return a ConstNavigableMap containing this map's entries up to but not including the specified key.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> headMap(K toKey);
+
+    /**
+     * Returns a new ConstNavigableMap containing all the entries of this map whose key is less than (or equal to, if
+     * {@code inclusive} is true) {@code toKey}.
+     *
+     * @param toKey the end point of the resulting map.
+     * @param inclusive true if the end point is to be included in the resulting map.
+     * @return a ConstNavigableMap containing this map's entries up to the specified key.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> headMap(K toKey, boolean inclusive);
+
+    /**
+     * Returns a new ConstNavigableMap containing all the entries of this map whose key is greater than or equal to
+     * {@code fromKey}.
+     *
+     * @param fromKey the start point (inclusive) of the resulting map.
+     * @return a ConstNavigableMap containing this map's entries from the specified key.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> tailMap(K fromKey);
+
+    /**
+     * Returns a new ConstNavigableMap containing all the entries of this map whose key is greater than (or equal to,
+     * if {@code inclusive} is true) {@code fromKey}.
+     *
+     * @param fromKey the start point of the resulting map.
+     * @param inclusive true if the start point is to be included in the resulting map.
+     * @return a ConstNavigableMap containing this map's entries from the specified key.
+     * @throws ClassCastException if the key is of a type not suitable for this map.
+     * @throws NullPointerException if the key is null and this map does not allow nulls.
+     */
+    @Override ConstNavigableMap<K, V> tailMap(K fromKey, boolean inclusive);
+
+    /**
+     * Returns a new ConstNavigableMap containing all the entries of this map whose key is greater than or equal to
+     * {@code fromKey} and less than {@code toKey}.
+     *
+     * @param fromKey the start point (inclusive) of the resulting map.
+     * @param toKey the end point (exclusive) of the resulting map.
+     * @return a ConstNavigableMap containing this map's entries between fromKey (inclusive) and toKey (exclusive).
+     * @throws ClassCastException if either key is of a type not suitable for this map.
+     * @throws NullPointerException if either key is null and this map does not allow nulls.
+     * @throws IllegalArgumentException if fromKey is greater than toKey.
+     */
+    @Override ConstNavigableMap<K, V> subMap(K fromKey, K toKey);
+
+    /**
+     * Returns a new ConstNavigableMap containing all the entries of this map whose key lies between {@code fromKey}
+     * and {@code toKey}, each bound being inclusive or exclusive as specified.
+     *
+     * @param fromKey the start point of the resulting map.
+     * @param fromInclusive true if the start point is to be included in the resulting map.
+     * @param toKey the end point of the resulting map.
+     * @param toInclusive true if the end point is to be included in the resulting map.
+     * @return a ConstNavigableMap containing this map's entries between fromKey and toKey.
+     * @throws ClassCastException if either key is of a type not suitable for this map.
+     * @throws NullPointerException if either key is null and this map does not allow nulls.
+     * @throws IllegalArgumentException if fromKey is greater than toKey.
+     */
+    @Override ConstNavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive);
+
+    /**
+     * Returns a {@link ConstNavigableSet} containing this map's keys. See {@link ConstSortedMap#keySet}.
+     *
+     * @return this map's keys as a persistent navigable set.
+     */
+    @Override ConstNavigableSet<K> keySet();
+
+    // =================================================================================================================
+    // Mutation methods marked @Deprecated to signify they should not be invoked.
+
+    /**
+     * This method always throws {@link UnsupportedOperationException}.
+     * @deprecated see {@link #without}
+     */
+    @Deprecated @Override Entry<K, V> pollFirstEntry();
+
+    /**
+     * This method always throws {@link UnsupportedOperationException}.
+     * @deprecated see {@link #without}
+     */
+    @Deprecated @Override Entry<K, V> pollLastEntry();
+}
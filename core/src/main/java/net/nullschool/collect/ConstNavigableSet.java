@@ -0,0 +1,281 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NavigableSet;
+
+
+/**
+ * 2013-06-30<p/>
+ *
+ * A persistent (i.e., immutable) {@link NavigableSet}. In addition to the operations of {@link ConstSortedSet}, a
+ * ConstNavigableSet provides closest-match lookups ({@link #lower}, {@link #floor}, {@link #ceiling}, and {@link
+ * #higher}), descending iteration, and range views with inclusive or exclusive bounds. All range views are
+ * themselves ConstNavigableSets.<p/>
+ *
+ * Because a ConstNavigableSet is effectively immutable, the {@link #pollFirst} and {@link #pollLast} methods
+ * inherited from {@link NavigableSet} always throw {@link UnsupportedOperationException}, as do the mutation
+ * methods described by {@link ConstSortedSet}.
+ *
+ * @param <E> the element type
+ *
+ * @author Cameron Beccario
+ */
+public interface ConstNavigableSet<E> extends NavigableSet<E>, ConstSortedSet<E> {
+
+    /**
+     * See {@link ConstSet#with}.
+     *
+     * @param e the element to add.
+     * @return a ConstNavigableSet containing this set's elements conjoined with the specified element.
+     * @throws ClassCastException if the element is of a type not suitable for this or the resulting set.
+     * @throws NullPointerException if the element is null and either this or the resulting set does not allow nulls.
+     * @throws IllegalArgumentException if some property of the element is not suitable for this or the resulting set.
+     */
+    @Override ConstNavigableSet<E> with(E e);
+
+    /**
+     * See {@link ConstSet#withAll}.
+     *
+     * @param c the elements to conjoin with the elements in this set.
+     * @return a ConstNavigableSet containing this set's elements plus the elements in the provided collection.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this or the resulting set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and either
+     *                              this or the resulting set does not allow nulls.
+     * @throws IllegalArgumentException if some property of an element in the specified collection is not suitable for
+     *                                  this or the resulting set.
+     */
+    @Override ConstNavigableSet<E> withAll(Collection<? extends E> c);
+
+    /**
+     * See {@link ConstSet#without}.
+     *
+     * @param o the element to remove.
+     * @return a ConstNavigableSet containing this set's elements minus the specified element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow null elements.
+     */
+    @Override ConstNavigableSet<E> without(Object o);
+
+    /**
+     * See {@link ConstSet#withoutAll}.
+     *
+     * @param c the elements to remove.
+     * @return a ConstNavigableSet containing this set's elements minus the specified elements.
+     * @throws ClassCastException if one of the specified elements is of a type not suitable for this set.
+     * @throws NullPointerException if the specified collection is null, or if one its elements is null and this
+     *                              set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> withoutAll(Collection<?> c);
+
+    /**
+     * See {@link ConstSortedSet#union}.
+     *
+     * @param c the elements to join with the elements in this set.
+     * @return a ConstNavigableSet containing the elements found in either this set or the specified collection.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this or the resulting set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and either
+     *                              this or the resulting set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> union(Collection<? extends E> c);
+
+    /**
+     * See {@link ConstSortedSet#intersect}.
+     *
+     * @param c the elements to intersect with the elements in this set.
+     * @return a ConstNavigableSet containing the elements found in both this set and the specified collection.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and this
+     *                              set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> intersect(Collection<?> c);
+
+    /**
+     * See {@link ConstSortedSet#difference}.
+     *
+     * @param c the elements to remove.
+     * @return a ConstNavigableSet containing the elements of this set not found in the specified collection.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and this
+     *                              set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> difference(Collection<?> c);
+
+    /**
+     * See {@link ConstSortedSet#symmetricDifference}.
+     *
+     * @param c the elements to join with the elements in this set.
+     * @return a ConstNavigableSet containing the elements found in either this set or the specified collection, but not
+     *         both.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this or the resulting set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and either
+     *                              this or the resulting set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> symmetricDifference(Collection<? extends E> c);
+
+    /**
+     * Returns the greatest element in this set strictly less than the given element, or {@code null} if there is no
+     * such element.
+     *
+     * @param e the element to match.
+     * @return the greatest element less than {@code e}, or {@code null} if there is no such element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow nulls.
+     */
+    @Override E lower(E e);
+
+    /**
+     * Returns the greatest element in this set less than or equal to the given element, or {@code null} if there is
+     * no such element.
+     *
+     * @param e the element to match.
+     * @return the greatest element less than or equal to {@code e}, or {@code null} if there is no such element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow nulls.
+     */
+    @Override E floor(E e);
+
+    /**
+     * Returns the least element in this set greater than or equal to the given element, or {@code null} if there is
+     * no such element.
+     *
+     * @param e the element to match.
+     * @return the least element greater than or equal to {@code e}, or {@code null} if there is no such element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow nulls.
+     */
+    @Override E ceiling(E e);
+
+    /**
+     * Returns the least element in this set strictly greater than the given element, or {@code null} if there is no
+     * such element.
+     *
+     * @param e the element to match.
+     * @return the least element greater than {@code e}, or {@code null} if there is no such element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow nulls.
+     */
+    @Override E higher(E e);
+
+    /**
+     * Returns an iterator over the elements of this set in descending order.
+     *
+     * @return an unmodifiable descending iterator.
+     */
+    @Override Iterator<E> descendingIterator();
+
+    /**
+     * Returns a ConstNavigableSet containing the elements of this set in reverse order. Because it is persistent, the
+     * resulting set is not a "view" of this set, but an independent set having the reverse ordering of this set's
+     * comparator.
+     *
+     * @return a ConstNavigableSet of this set's elements in reverse order.
+     */
+    @Override ConstNavigableSet<E> descendingSet();
+
+    /**
+     * Returns a new ConstNavigableSet containing all the elements of this set less than {@code toElement}.
+     *
+     * @param toElement the end point (exclusive) of the resulting set.
+     * @return a ConstNavigableSet containing this set's elements up to but not including the specified element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> headSet(E toElement);
+
+    /**
+     * Returns a new ConstNavigableSet containing all the elements of this set less than (or equal to, if
+     * {@code inclusive} is true) {@code toElement}.
+     *
+     * @param toElement the end point of the resulting set.
+     * @param inclusive true if the end point is to be included in the resulting set.
+     * @return a ConstNavigableSet containing this set's elements up to the specified element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> headSet(E toElement, boolean inclusive);
+
+    /**
+     * Returns a new ConstNavigableSet containing all the elements of this set greater than or equal to
+     * {@code fromElement}.
+     *
+     * @param fromElement the start point (inclusive) of the resulting set.
+     * @return a ConstNavigableSet containing this set's elements from the specified element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> tailSet(E fromElement);
+
+    /**
+     * Returns a new ConstNavigableSet containing all the elements of this set greater than (or equal to, if
+     * {@code inclusive} is true) {@code fromElement}.
+     *
+     * @param fromElement the start point of the resulting set.
+     * @param inclusive true if the start point is to be included in the resulting set.
+     * @return a ConstNavigableSet containing this set's elements from the specified element.
+     * @throws ClassCastException if the element is of a type not suitable for this set.
+     * @throws NullPointerException if the element is null and this set does not allow nulls.
+     */
+    @Override ConstNavigableSet<E> tailSet(E fromElement, boolean inclusive);
+
+    /**
+     * Returns a new ConstNavigableSet containing all the elements of this set greater than or equal to
+     * {@code fromElement} and less than {@code toElement}.
+     *
+     * @param fromElement the start point (inclusive) of the resulting set.
+     * @param toElement the end point (exclusive) of the resulting set.
+     * @return a ConstNavigableSet containing this set's elements between fromElement (inclusive) and toElement
+     *         (exclusive).
+     * @throws ClassCastException if either element is of a type not suitable for this set.
+     * @throws NullPointerException if either element is null and this set does not allow nulls.
+     * @throws IllegalArgumentException if fromElement is greater than toElement.
+     */
+    @Override ConstNavigableSet<E> subSet(E fromElement, E toElement);
+
+    /**
+     * Returns a new ConstNavigableSet containing all the elements of this set between {@code fromElement} and
+     * {@code toElement}, each bound being inclusive or exclusive as specified.
+     *
+     * @param fromElement the start point of the resulting set.
+     * @param fromInclusive true if the start point is to be included in the resulting set.
+     * @param toElement the end point of the resulting set.
+     * @param toInclusive true if the end point is to be included in the resulting set.
+     * @return a ConstNavigableSet containing this set's elements between fromElement and toElement.
+     * @throws ClassCastException if either element is of a type not suitable for this set.
+     * @throws NullPointerException if either element is null and this set does not allow nulls.
+     * @throws IllegalArgumentException if fromElement is greater than toElement.
+     */
+    @Override ConstNavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive);
+
+    // =================================================================================================================
+    // Mutation methods marked @Deprecated to signify they should not be invoked.
+
+    /**
+     * This method always throws {@link UnsupportedOperationException}.
+     * @deprecated see {@link #without}
+     */
+    @Deprecated @Override E pollFirst();
+
+    /**
+     * This method always throws {@link UnsupportedOperationException}.
+     * @deprecated see {@link #without}
+     */
+    @Deprecated @Override E pollLast();
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect;
+
+import java.util.Collection;
+
+
+/**
+ * 2013-06-23<p/>
+ *
+ * A mutable accumulator of elements for the efficient construction of a {@link ConstSet}. Elements are appended to
+ * an internal array that grows in place. Duplicate elements are removed lazily, either when the array must grow or
+ * when {@link #build} is invoked. A builder is intended to have a single owner and makes no guarantees for thread
+ * safety.<p/>
+ *
+ * The builder remains usable after {@link #build} is invoked. Subsequent modifications do not affect sets
+ * previously built.
+ *
+ * @author Cameron Beccario
+ */
+public interface ConstSetBuilder<E> {
+
+    /**
+     * Adds the specified element, if not already present.
+     *
+     * @param e the element to add.
+     * @return this builder.
+     * @throws ClassCastException if the element is of a type not suitable for the set.
+     * @throws NullPointerException if the element is null and the set does not allow null elements.
+     */
+    ConstSetBuilder<E> add(E e);
+
+    /**
+     * Adds all elements of the specified collection not already present.
+     *
+     * @param c the elements to add.
+     * @return this builder.
+     * @throws NullPointerException if {@code c} is null.
+     */
+    ConstSetBuilder<E> addAll(Collection<? extends E> c);
+
+    /**
+     * @return a ConstSet containing the unique elements of this builder.
+     */
+    ConstSet<E> build();
+}
@@ -91,6 +91,64 @@ public interface ConstSortedMap<K, V> extends SortedMap<K, V>, ConstMap<K, V> {
      */
     @Override ConstSortedMap<K, V> withoutAll(Collection<?> keys);
 
+    /**
+     * Returns a map containing the associations of this map plus the associations of the specified map. Where both
+     * maps contain a key, the specified map's value is used. The result is the same as {@link #withAll}, but is
+     * computed by merging: when the specified map is a {@link SortedMap} having the same ordering as this map, the
+     * two maps are merged in O(N + M) time.
+     *
+     * @param map the associations to join with the associations of this map.
+     * @return a ConstSortedMap containing the associations of both this map and the specified map.
+     * @throws ClassCastException if a key in the specified map is of a type not suitable for this or the resulting
+     *                            map.
+     * @throws NullPointerException if the specified map is null, or if a key in the specified map is null and either
+     *                              this or the resulting map does not allow nulls.
+     */
+    ConstSortedMap<K, V> union(Map<? extends K, ? extends V> map);
+
+    /**
+     * Returns a map containing the associations of this map whose keys are elements of the specified collection.
+     * Membership is determined by this map's ordering rather than by the collection's {@link Collection#contains}
+     * method. When the collection is a {@link SortedSet} having the same ordering as this map, for example the key
+     * set of a similar map, the keys are merged in O(N + M) time.
+     *
+     * @param keys the keys to retain.
+     * @return a ConstSortedMap containing this map's associations for the specified keys.
+     * @throws ClassCastException if a key in the specified collection is of a type not suitable for this map.
+     * @throws NullPointerException if the specified collection is null, or if a key in the specified collection
+     *                              is null and this map does not allow nulls.
+     */
+    ConstSortedMap<K, V> intersect(Collection<?> keys);
+
+    /**
+     * Returns a map containing the associations of this map whose keys are not elements of the specified
+     * collection. Unlike {@link #withoutAll}, membership is determined by this map's ordering rather than by the
+     * collection's {@link Collection#contains} method. When the collection is a {@link SortedSet} having the same
+     * ordering as this map, the keys are merged in O(N + M) time.
+     *
+     * @param keys the keys to de-associate from this map.
+     * @return a ConstSortedMap containing this map's associations for keys not in the specified collection.
+     * @throws ClassCastException if a key in the specified collection is of a type not suitable for this map.
+     * @throws NullPointerException if the specified collection is null, or if a key in the specified collection
+     *                              is null and this map does not allow nulls.
+     */
+    ConstSortedMap<K, V> difference(Collection<?> keys);
+
+    /**
+     * Returns a map containing the associations of this map and of the specified map whose keys are found in
+     * exactly one of the two maps. When the specified map is a {@link SortedMap} having the same ordering as this
+     * map, the two maps are merged in O(N + M) time.
+     *
+     * @param map the associations to join with the associations of this map.
+     * @return a ConstSortedMap containing the associations whose keys are found in either this map or the specified
+     *         map, but not both.
+     * @throws ClassCastException if a key in the specified map is of a type not suitable for this or the resulting
+     *                            map.
+     * @throws NullPointerException if the specified map is null, or if a key in the specified map is null and either
+     *                              this or the resulting map does not allow nulls.
+     */
+    ConstSortedMap<K, V> symmetricDifference(Map<? extends K, ? extends V> map);
+
     /**
      * Returns a new ConstSortedMap containing all the entries of this map whose key is less than {@code toKey}.
      *
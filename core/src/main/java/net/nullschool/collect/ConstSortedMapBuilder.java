@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect;
+
+import java.util.Comparator;
+import java.util.Map;
+
+
+/**
+ * 2013-06-23<p/>
+ *
+ * A {@link ConstMapBuilder} for the construction of a {@link ConstSortedMap}. Entries are sorted lazily, either
+ * when the internal arrays must grow or when {@link #build} is invoked.
+ *
+ * @author Cameron Beccario
+ */
+public interface ConstSortedMapBuilder<K, V> extends ConstMapBuilder<K, V> {
+
+    /**
+     * @return the comparator of the maps built by this builder, or null for {@link Comparable natural ordering}.
+     */
+    Comparator<? super K> comparator();
+
+    @Override ConstSortedMapBuilder<K, V> put(K key, V value);
+
+    @Override ConstSortedMapBuilder<K, V> putAll(Map<? extends K, ? extends V> map);
+
+    @Override ConstSortedMap<K, V> build();
+}
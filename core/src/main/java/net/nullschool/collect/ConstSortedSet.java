@@ -84,6 +84,61 @@ public interface ConstSortedSet<E> extends SortedSet<E>, ConstSet<E> {
      */
     @Override ConstSortedSet<E> withoutAll(Collection<?> c);
 
+    /**
+     * Returns a set containing the elements of this set plus the elements of the specified collection. The result
+     * is the same as {@link #withAll}, but is computed by merging: when the collection is a {@link SortedSet} having
+     * the same ordering as this set, the two sets are merged in O(N + M) time.
+     *
+     * @param c the elements to join with the elements in this set.
+     * @return a ConstSortedSet containing the elements found in either this set or the specified collection.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this or the resulting set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and either
+     *                              this or the resulting set does not allow nulls.
+     */
+    ConstSortedSet<E> union(Collection<? extends E> c);
+
+    /**
+     * Returns a set containing the elements of this set that are also elements of the specified collection. Unlike
+     * {@link #retainAll}, membership is determined by this set's ordering rather than by the collection's
+     * {@link Collection#contains} method. When the collection is a {@link SortedSet} having the same ordering as
+     * this set, the two sets are merged in O(N + M) time.
+     *
+     * @param c the elements to intersect with the elements in this set.
+     * @return a ConstSortedSet containing the elements found in both this set and the specified collection.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and this
+     *                              set does not allow nulls.
+     */
+    ConstSortedSet<E> intersect(Collection<?> c);
+
+    /**
+     * Returns a set containing the elements of this set that are not elements of the specified collection. Unlike
+     * {@link #withoutAll}, membership is determined by this set's ordering rather than by the collection's
+     * {@link Collection#contains} method. When the collection is a {@link SortedSet} having the same ordering as
+     * this set, the two sets are merged in O(N + M) time.
+     *
+     * @param c the elements to remove.
+     * @return a ConstSortedSet containing the elements of this set not found in the specified collection.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and this
+     *                              set does not allow nulls.
+     */
+    ConstSortedSet<E> difference(Collection<?> c);
+
+    /**
+     * Returns a set containing the elements found in exactly one of this set and the specified collection. When the
+     * collection is a {@link SortedSet} having the same ordering as this set, the two sets are merged in O(N + M)
+     * time.
+     *
+     * @param c the elements to join with the elements in this set.
+     * @return a ConstSortedSet containing the elements found in either this set or the specified collection, but not
+     *         both.
+     * @throws ClassCastException if one of the elements is of a type not suitable for this or the resulting set.
+     * @throws NullPointerException if the specified collection is null, or if one of its elements is null and either
+     *                              this or the resulting set does not allow nulls.
+     */
+    ConstSortedSet<E> symmetricDifference(Collection<? extends E> c);
+
     /**
      * Returns a new ConstSortedSet containing all the elements of this set less than {@code toElement}.
      *
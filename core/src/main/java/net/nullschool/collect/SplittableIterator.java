@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect;
+
+import java.util.Iterator;
+
+
+/**
+ * 2013-06-27<p/>
+ *
+ * An iterator over a fixed, known number of elements that can be split into two iterators covering disjoint halves
+ * of the remaining elements. Splitting is exact and preserves encounter order: the iterator returned by {@link
+ * #trySplit} covers a prefix of the remaining elements, and this iterator continues with the suffix. Large
+ * collections can thus be partitioned recursively for processing on multiple threads, e.g., with fork/join tasks.<p/>
+ *
+ * Instances are obtained from const collections whose contents cannot change, so the iteration is unaffected by
+ * concurrent activity and the elements are distinct (or sorted) exactly when the source collection's elements are.
+ * This interface plays the role of {@code java.util.Spliterator} on Java 7 platforms.
+ *
+ * @param <E> the element type
+ *
+ * @author Cameron Beccario
+ */
+public interface SplittableIterator<E> extends Iterator<E> {
+
+    /**
+     * Returns the exact number of elements this iterator has yet to return.
+     *
+     * @return the number of remaining elements.
+     */
+    int remaining();
+
+    /**
+     * Splits off the first half of the remaining elements into a new iterator, leaving this iterator to cover the
+     * second half. Returns null, without changing this iterator, when fewer than two elements remain.
+     *
+     * @return an iterator over the prefix of the remaining elements, or null if this iterator cannot be split.
+     */
+    SplittableIterator<E> trySplit();
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect;
+
+
+/**
+ * 2013-06-27<p/>
+ *
+ * A {@link MapIterator} over a fixed, known number of entries that can be split into two iterators covering disjoint
+ * halves of the remaining entries. See {@link SplittableIterator} for the splitting contract.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ *
+ * @author Cameron Beccario
+ */
+public interface SplittableMapIterator<K, V> extends MapIterator<K, V> {
+
+    /**
+     * Returns the exact number of entries this iterator has yet to move to.
+     *
+     * @return the number of remaining entries.
+     */
+    int remaining();
+
+    /**
+     * Splits off the first half of the remaining entries into a new iterator, leaving this iterator to cover the
+     * second half. Returns null, without changing this iterator, when fewer than two entries remain. The current
+     * entry of this iterator, if any, is unaffected; the new iterator has no current entry.
+     *
+     * @return an iterator over the prefix of the remaining entries, or null if this iterator cannot be split.
+     */
+    SplittableMapIterator<K, V> trySplit();
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+
+
+/**
+ * 2013-06-22<p/>
+ *
+ * Operations on persistent B-trees, the storage used by the larger sorted sets and maps. A tree is an immutable
+ * {@link Node}; every operation that modifies a tree returns a new root, copying only the nodes along the path to
+ * the modification and sharing all others with the original tree. Each node records the number of entries
+ * beneath it, so entries can also be located by index in O(log(N)) time.<p/>
+ *
+ * Leaves of a map's tree store both keys and values. Leaves of a set's tree store keys only. All leaves are at
+ * the same depth, but nodes are allowed to be less than half full, which lets {@link #slice} extract a range of
+ * entries by copying only the nodes along the two edges of the range.
+ *
+ * @author Cameron Beccario
+ */
+final class BTree {
+
+    private BTree() {
+        throw new AssertionError();
+    }
+
+    /**
+     * The maximum number of entries in a leaf, or children of a branch.
+     */
+    static final int MAX = 32;
+
+    /**
+     * Nodes shrinking below this length are merged with a neighbor, when possible.
+     */
+    private static final int MIN = MAX / 2;
+
+    static final class Node {
+        final Object[] keys;    // a leaf's keys, or the least key of each of a branch's children.
+        final Object[] values;  // a map leaf's values, otherwise null.
+        final Node[] children;  // a branch's children, or null for a leaf.
+        final int size;         // the number of entries contained in this node and its descendants.
+
+        Node(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+            this.children = null;
+            this.size = keys.length;
+        }
+
+        Node(Object[] keys, Node[] children) {
+            int size = 0;
+            for (Node child : children) {
+                size += child.size;
+            }
+            this.keys = keys;
+            this.values = null;
+            this.children = children;
+            this.size = size;
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        int length() {
+            return keys.length;
+        }
+    }
+
+    private static Node branch(Node[] children) {
+        Object[] keys = new Object[children.length];
+        for (int i = 0; i < children.length; i++) {
+            keys[i] = children[i].keys[0];
+        }
+        return new Node(keys, children);
+    }
+
+    private static int search(Object[] keys, Object key, Comparator<?> comparator) {
+        // Cast is safe because the comparator performs type checking when the compare method is invoked.
+        @SuppressWarnings("unchecked") Comparator<Object> c = (Comparator<Object>)comparator;
+        return Arrays.binarySearch(keys, key, c);
+    }
+
+    private static int childIndex(Node branch, Object key, Comparator<?> comparator) {
+        int i = search(branch.keys, key, comparator);
+        return i >= 0 ? i : Math.max(flip(i) - 1, 0);  // keys less than the least key go to the first child.
+    }
+
+    /**
+     * Constructs a tree from the specified sorted and unique keys, and associated values if the tree is for a map.
+     *
+     * @param keys the trusted keys.
+     * @param values the trusted values, or null for a set.
+     * @return the root of the tree.
+     */
+    static Node build(Object[] keys, Object[] values) {
+        return build(keys, values, keys.length);
+    }
+
+    /**
+     * Constructs a tree from the first {@code size} sorted and unique keys of the specified array, and associated
+     * values if the tree is for a map. Entries beyond {@code size} are ignored, so the arrays may be partially filled
+     * buffers.
+     *
+     * @param keys the trusted keys.
+     * @param values the trusted values, or null for a set.
+     * @param size the number of entries to take from the arrays.
+     * @return the root of the tree.
+     */
+    static Node build(Object[] keys, Object[] values, int size) {
+        int count = (size + MAX - 1) / MAX;
+        Node[] level = new Node[count];
+        for (int i = 0; i < count; i++) {
+            // Distribute the entries evenly so that no leaf is left nearly empty.
+            int from = (int)((long)size * i / count);
+            int to = (int)((long)size * (i + 1) / count);
+            level[i] = new Node(
+                Arrays.copyOfRange(keys, from, to),
+                values != null ? Arrays.copyOfRange(values, from, to) : null);
+        }
+        while (level.length > 1) {
+            count = (level.length + MAX - 1) / MAX;
+            Node[] parents = new Node[count];
+            for (int i = 0; i < count; i++) {
+                int from = (int)((long)level.length * i / count);
+                int to = (int)((long)level.length * (i + 1) / count);
+                parents[i] = branch(Arrays.copyOfRange(level, from, to));
+            }
+            level = parents;
+        }
+        return level[0];
+    }
+
+    /**
+     * Returns the leaf where the specified key resides, or would reside if it were in the tree.
+     */
+    static Node leafFor(Node node, Object key, Comparator<?> comparator) {
+        while (!node.isLeaf()) {
+            node = node.children[childIndex(node, key, comparator)];
+        }
+        return node;
+    }
+
+    /**
+     * Returns the index of the specified key within the specified leaf, or {@code (-insertion_point - 1)} just
+     * like {@link Arrays#binarySearch}.
+     */
+    static int indexIn(Node leaf, Object key, Comparator<?> comparator) {
+        return search(leaf.keys, key, comparator);
+    }
+
+    /**
+     * Returns the number of keys in the tree less than the specified key.
+     */
+    static int rank(Node node, Object key, Comparator<?> comparator) {
+        int rank = 0;
+        while (!node.isLeaf()) {
+            int ci = childIndex(node, key, comparator);
+            for (int i = 0; i < ci; i++) {
+                rank += node.children[i].size;
+            }
+            node = node.children[ci];
+        }
+        int i = search(node.keys, key, comparator);
+        return rank + (i >= 0 ? i : flip(i));
+    }
+
+    /**
+     * Returns the index of the specified key in the tree, or {@code (-rank - 1)} if the tree does not contain the
+     * key, just like {@link Arrays#binarySearch}.
+     */
+    static int indexOf(Node node, Object key, Comparator<?> comparator) {
+        int rank = 0;
+        while (!node.isLeaf()) {
+            int ci = childIndex(node, key, comparator);
+            for (int i = 0; i < ci; i++) {
+                rank += node.children[i].size;
+            }
+            node = node.children[ci];
+        }
+        int i = search(node.keys, key, comparator);
+        return i >= 0 ? rank + i : flip(rank + flip(i));
+    }
+
+    /**
+     * Returns the key at the specified index. Unlike {@link #leafAt}, this method does not allocate.
+     */
+    static Object keyAt(Node node, int index) {
+        while (!node.isLeaf()) {
+            Node[] children = node.children;
+            int i = 0;
+            while (index >= children[i].size) {
+                index -= children[i++].size;
+            }
+            node = children[i];
+        }
+        return node.keys[index];
+    }
+
+    /**
+     * Returns the leaf containing the entry at the specified index, storing the index of the leaf's first entry
+     * in {@code start[0]}.
+     */
+    static Node leafAt(Node node, int index, int[] start) {
+        int offset = 0;
+        while (!node.isLeaf()) {
+            Node[] children = node.children;
+            int i = 0;
+            while (index - offset >= children[i].size) {
+                offset += children[i++].size;
+            }
+            node = children[i];
+        }
+        start[0] = offset;
+        return node;
+    }
+
+    static Node first(Node node) {
+        while (!node.isLeaf()) {
+            node = node.children[0];
+        }
+        return node;
+    }
+
+    static Node last(Node node) {
+        while (!node.isLeaf()) {
+            node = node.children[node.children.length - 1];
+        }
+        return node;
+    }
+
+    /**
+     * Copies all keys of the tree, in order, into a new array.
+     */
+    static Object[] keys(Node root) {
+        Object[] result = new Object[root.size];
+        copyInto(root, result, false, 0);
+        return result;
+    }
+
+    /**
+     * Copies all values of a map's tree, in key order, into a new array.
+     */
+    static Object[] values(Node root) {
+        Object[] result = new Object[root.size];
+        copyInto(root, result, true, 0);
+        return result;
+    }
+
+    private static int copyInto(Node node, Object[] result, boolean values, int offset) {
+        if (node.isLeaf()) {
+            System.arraycopy(values ? node.values : node.keys, 0, result, offset, node.size);
+            return offset + node.size;
+        }
+        for (Node child : node.children) {
+            offset = copyInto(child, result, values, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the tree that results from associating the key with the value, or the same tree if nothing changed.
+     * The value is ignored for a set's tree.
+     *
+     * @return the new root of the tree.
+     */
+    static Node put(Node root, Object key, Object value, Comparator<?> comparator) {
+        Node result = insert(root, key, value, comparator);
+        if (result.length() > MAX) {
+            Node[] halves = split(result);
+            result = branch(halves);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the node that results from associating the key with the value. The result may have one more entry
+     * or child than MAX, in which case the parent must split it.
+     */
+    private static Node insert(Node node, Object key, Object value, Comparator<?> comparator) {
+        if (node.isLeaf()) {
+            int i = search(node.keys, key, comparator);
+            if (i >= 0) {
+                return node.values == null || Objects.equals(value, node.values[i]) ?
+                    node :
+                    new Node(node.keys, BasicTools.replace(node.values, i, value));
+            }
+            i = flip(i);
+            return new Node(
+                BasicTools.insert(node.keys, i, key),
+                node.values != null ? BasicTools.insert(node.values, i, value) : null);
+        }
+
+        int ci = childIndex(node, key, comparator);
+        Node child = node.children[ci];
+        Node newChild = insert(child, key, value, comparator);
+        if (newChild == child) {
+            return node;
+        }
+        if (newChild.length() <= MAX) {
+            return branch(replaceChild(node.children, ci, newChild));
+        }
+        Node[] halves = split(newChild);
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, ci);
+        children[ci] = halves[0];
+        children[ci + 1] = halves[1];
+        System.arraycopy(node.children, ci + 1, children, ci + 2, node.children.length - ci - 1);
+        return branch(children);
+    }
+
+    private static Node[] replaceChild(Node[] children, int index, Node child) {
+        Node[] result = children.clone();
+        result[index] = child;
+        return result;
+    }
+
+    private static Node[] split(Node node) {
+        int half = node.length() / 2;
+        int length = node.length();
+        if (node.isLeaf()) {
+            return new Node[] {
+                new Node(
+                    Arrays.copyOfRange(node.keys, 0, half),
+                    node.values != null ? Arrays.copyOfRange(node.values, 0, half) : null),
+                new Node(
+                    Arrays.copyOfRange(node.keys, half, length),
+                    node.values != null ? Arrays.copyOfRange(node.values, half, length) : null)};
+        }
+        return new Node[] {
+            new Node(Arrays.copyOfRange(node.keys, 0, half), Arrays.copyOfRange(node.children, 0, half)),
+            new Node(Arrays.copyOfRange(node.keys, half, length), Arrays.copyOfRange(node.children, half, length))};
+    }
+
+    /**
+     * Returns the tree that results from removing the key, or the same tree if the key was not found.
+     *
+     * @return the new root of the tree, possibly empty.
+     */
+    static Node remove(Node root, Object key, Comparator<?> comparator) {
+        Node result = delete(root, key, comparator);
+        while (!result.isLeaf() && result.length() == 1) {
+            result = result.children[0];  // remove unnecessary levels from the top of the tree.
+        }
+        return result;
+    }
+
+    private static Node delete(Node node, Object key, Comparator<?> comparator) {
+        if (node.isLeaf()) {
+            int i = search(node.keys, key, comparator);
+            return i < 0 ?
+                node :
+                new Node(BasicTools.delete(node.keys, i), node.values != null ? BasicTools.delete(node.values, i) : null);
+        }
+
+        int ci = childIndex(node, key, comparator);
+        Node child = node.children[ci];
+        Node newChild = delete(child, key, comparator);
+        if (newChild == child) {
+            return node;
+        }
+        Node[] children = node.children;
+        if (newChild.size == 0) {
+            return children.length == 1 ? newChild : branch(deleteChild(children, ci));
+        }
+        if (newChild.length() < MIN && children.length > 1) {
+            // Merge the shrinking child with a neighbor if they fit together in one node.
+            int left = ci > 0 ? ci - 1 : ci;
+            Node a = left == ci ? newChild : children[left];
+            Node b = left == ci ? children[ci + 1] : newChild;
+            if (a.length() + b.length() <= MAX) {
+                return branch(replaceChild(deleteChild(children, left + 1), left, concat(a, b)));
+            }
+        }
+        return branch(replaceChild(children, ci, newChild));
+    }
+
+    private static Node[] deleteChild(Node[] children, int index) {
+        Node[] result = new Node[children.length - 1];
+        System.arraycopy(children, 0, result, 0, index);
+        System.arraycopy(children, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private static Node concat(Node a, Node b) {
+        Object[] keys = concat(a.keys, b.keys);
+        if (a.isLeaf()) {
+            return new Node(keys, a.values != null ? concat(a.values, b.values) : null);
+        }
+        Node[] children = Arrays.copyOf(a.children, a.children.length + b.children.length);
+        System.arraycopy(b.children, 0, children, a.children.length, b.children.length);
+        return new Node(keys, children);
+    }
+
+    private static Object[] concat(Object[] a, Object[] b) {
+        Object[] result = copy(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /**
+     * Returns the tree containing only the entries having indices in the range [from, to). Only nodes along the
+     * edges of the range are copied.
+     *
+     * @return the new root of the tree, possibly the same as the original root.
+     */
+    static Node slice(Node root, int from, int to) {
+        assert 0 <= from && from < to && to <= root.size;
+        Node result = sliceNode(root, from, to);
+        while (!result.isLeaf() && result.length() == 1) {
+            result = result.children[0];
+        }
+        return result;
+    }
+
+    private static Node sliceNode(Node node, int from, int to) {
+        if (from == 0 && to == node.size) {
+            return node;
+        }
+        if (node.isLeaf()) {
+            return new Node(
+                Arrays.copyOfRange(node.keys, from, to),
+                node.values != null ? Arrays.copyOfRange(node.values, from, to) : null);
+        }
+        List<Node> children = new ArrayList<>();
+        int start = 0;
+        for (Node child : node.children) {
+            int end = start + child.size;
+            if (end > from && start < to) {
+                children.add(sliceNode(child, Math.max(from - start, 0), Math.min(to - start, child.size)));
+            }
+            start = end;
+        }
+        return branch(children.toArray(new Node[children.size()]));
+    }
+}
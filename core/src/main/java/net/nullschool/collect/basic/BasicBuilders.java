@@ -0,0 +1,379 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.*;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-23<p/>
+ *
+ * Implementations of the const collection builders. Each builder appends to arrays that it grows in place, and on
+ * {@link ConstListBuilder#build build} hands those arrays to the appropriate {@code condenseTo} method. Set and map
+ * builders defer uniqueness (and ordering, for sorted builders) until their arrays must grow or are built. After
+ * a build, the arrays are owned by the built collection: they are full, so the next modification of the builder
+ * necessarily allocates new arrays.
+ *
+ * @author Cameron Beccario
+ */
+final class BasicBuilders {
+
+    private BasicBuilders() {
+        throw new AssertionError();
+    }
+
+    private static final int MIN_CAPACITY = 8;
+
+    private static int capacityFor(int size, int additional) {
+        return Math.max(MIN_CAPACITY, size + Math.max(additional, size >> 1));
+    }
+
+    /**
+     * A builder for BasicConstList.
+     */
+    static final class ListBuilder<E> implements ConstListBuilder<E> {
+
+        private Object[] elements;
+        private int size;
+
+        ListBuilder(Object[] trustedElements) {
+            assert trustedElements.getClass() == Object[].class;
+            this.elements = trustedElements;
+            this.size = trustedElements.length;
+        }
+
+        @Override public ListBuilder<E> add(E e) {
+            if (size == elements.length) {
+                elements = copy(elements, capacityFor(size, 1));
+            }
+            elements[size++] = e;
+            return this;
+        }
+
+        @Override public ListBuilder<E> addAll(Collection<? extends E> c) {
+            Object[] additional = c.toArray();
+            if (size + additional.length > elements.length) {
+                elements = copy(elements, capacityFor(size, additional.length));
+            }
+            System.arraycopy(additional, 0, elements, size, additional.length);
+            size += additional.length;
+            return this;
+        }
+
+        @Override public int size() {
+            return size;
+        }
+
+        @Override public ConstList<E> build() {
+            if (size != elements.length) {
+                elements = copy(elements, size);
+            }
+            return condenseToList(elements);
+        }
+    }
+
+    /**
+     * The common implementation of the set builders. The elements in the range [0, unique) are known to be unique
+     * and, for sorted builders, sorted. The elements in the range [unique, size) have yet to be merged.
+     */
+    private static abstract class ElementsBuilder<E> {
+
+        private Object[] elements;
+        private int size;
+        private int unique;
+
+        ElementsBuilder(Object[] trustedUniqueElements) {
+            assert trustedUniqueElements.getClass() == Object[].class;
+            this.elements = trustedUniqueElements;
+            this.size = this.unique = trustedUniqueElements.length;
+        }
+
+        /**
+         * Returns a new array of the unique elements, merging the additional elements into the unique elements.
+         */
+        abstract Object[] union(Object[] unique, Object[] additional);
+
+        private void merge() {
+            if (unique < size) {
+                elements = union(Arrays.copyOf(elements, unique), Arrays.copyOfRange(elements, unique, size));
+                size = unique = elements.length;
+            }
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > elements.length) {
+                merge();
+                elements = copy(elements, capacityFor(size, additional));
+            }
+        }
+
+        final void append(E e) {
+            ensureCapacity(1);
+            elements[size++] = e;
+        }
+
+        final void appendAll(Collection<? extends E> c) {
+            Object[] additional = c.toArray();
+            ensureCapacity(additional.length);
+            System.arraycopy(additional, 0, elements, size, additional.length);
+            size += additional.length;
+        }
+
+        final Object[] merged() {
+            merge();
+            if (size != elements.length) {
+                elements = copy(elements, size);
+            }
+            return elements;
+        }
+    }
+
+    /**
+     * A builder for BasicConstSet.
+     */
+    static final class SetBuilder<E> extends ElementsBuilder<E> implements ConstSetBuilder<E> {
+
+        SetBuilder(Object[] trustedUniqueElements) {
+            super(trustedUniqueElements);
+        }
+
+        @Override Object[] union(Object[] unique, Object[] additional) {
+            return unionInto(unique, additional);
+        }
+
+        @Override public SetBuilder<E> add(E e) {
+            append(e);
+            return this;
+        }
+
+        @Override public SetBuilder<E> addAll(Collection<? extends E> c) {
+            appendAll(c);
+            return this;
+        }
+
+        @Override public ConstSet<E> build() {
+            return condenseToSet(merged());
+        }
+    }
+
+    /**
+     * A builder for BasicConstSortedSet.
+     */
+    static final class SortedSetBuilder<E> extends ElementsBuilder<E> implements ConstSortedSetBuilder<E> {
+
+        private final Comparator<? super E> comparator;
+
+        SortedSetBuilder(Comparator<? super E> comparator, Object[] trustedSortedUniqueElements) {
+            super(trustedSortedUniqueElements);
+            this.comparator = comparator;
+        }
+
+        @Override public Comparator<? super E> comparator() {
+            return comparator;
+        }
+
+        @Override Object[] union(Object[] unique, Object[] additional) {
+            return unionInto(unique, additional, comparator);
+        }
+
+        @Override public SortedSetBuilder<E> add(E e) {
+            append(checkType(comparator, e));
+            return this;
+        }
+
+        @Override public SortedSetBuilder<E> addAll(Collection<? extends E> c) {
+            for (E e : c) {
+                checkType(comparator, e);
+            }
+            appendAll(c);
+            return this;
+        }
+
+        @Override public ConstSortedSet<E> build() {
+            return condenseToSortedSet(comparator, merged());
+        }
+    }
+
+    /**
+     * The common implementation of the map builders. The entries in the range [0, unique) are known to have unique
+     * keys and, for sorted builders, to be sorted. The entries in the range [unique, size) have yet to be merged.
+     */
+    private static abstract class EntriesBuilder<K, V> {
+
+        Object[] keys;
+        Object[] values;
+        private int size;
+        private int unique;
+
+        EntriesBuilder(MapColumns trustedUniqueColumns) {
+            this(trustedUniqueColumns, trustedUniqueColumns.keys.length);
+        }
+
+        EntriesBuilder(MapColumns trustedColumns, int unique) {
+            assert trustedColumns.keys.getClass() == Object[].class;
+            assert trustedColumns.values.getClass() == Object[].class;
+            this.keys = trustedColumns.keys;
+            this.values = trustedColumns.values;
+            this.size = this.unique = unique;
+        }
+
+        /**
+         * Merges the pending entries in the range [unique, size) of the columns into the unique entries in the range
+         * [0, unique), either in place or by replacing the columns, and returns the number of unique entries.
+         */
+        abstract int union(int unique, int size);
+
+        private void merge() {
+            if (unique < size) {
+                size = unique = union(unique, size);
+            }
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > keys.length) {
+                merge();
+                int capacity = capacityFor(size, additional);
+                keys = copy(keys, capacity);
+                values = copy(values, capacity);
+            }
+        }
+
+        final void append(K key, V value) {
+            ensureCapacity(1);
+            keys[size] = key;
+            values[size++] = value;
+        }
+
+        final void appendAll(Map<? extends K, ? extends V> map) {
+            MapColumns mc = copy(map);
+            ensureCapacity(mc.keys.length);
+            System.arraycopy(mc.keys, 0, keys, size, mc.keys.length);
+            System.arraycopy(mc.values, 0, values, size, mc.values.length);
+            size += mc.keys.length;
+        }
+
+        final MapColumns merged() {
+            merge();
+            if (size != keys.length) {
+                keys = copy(keys, size);
+                values = copy(values, size);
+            }
+            return new MapColumns(keys, values);
+        }
+    }
+
+    /**
+     * A builder for BasicConstMap.
+     */
+    static final class MapBuilder<K, V> extends EntriesBuilder<K, V> implements ConstMapBuilder<K, V> {
+
+        MapBuilder(MapColumns trustedUniqueColumns) {
+            super(trustedUniqueColumns);
+        }
+
+        MapBuilder(int capacity) {
+            super(new MapColumns(new Object[capacity], new Object[capacity]), 0);
+        }
+
+        @Override int union(int unique, int size) {
+            return uniqueInto(keys, values, unique, size);
+        }
+
+        @Override public MapBuilder<K, V> put(K key, V value) {
+            append(key, value);
+            return this;
+        }
+
+        @Override public MapBuilder<K, V> putAll(Map<? extends K, ? extends V> map) {
+            appendAll(map);
+            return this;
+        }
+
+        @Override public ConstMap<K, V> build() {
+            return condenseToMap(merged());
+        }
+    }
+
+    /**
+     * A builder for BasicConstSortedMap.
+     */
+    static final class SortedMapBuilder<K, V> extends EntriesBuilder<K, V> implements ConstSortedMapBuilder<K, V> {
+
+        private final Comparator<? super K> comparator;
+
+        SortedMapBuilder(Comparator<? super K> comparator, MapColumns trustedSortedUniqueColumns) {
+            super(trustedSortedUniqueColumns);
+            this.comparator = comparator;
+        }
+
+        SortedMapBuilder(Comparator<? super K> comparator, int capacity) {
+            super(new MapColumns(new Object[capacity], new Object[capacity]), 0);
+            this.comparator = comparator;
+        }
+
+        @Override public Comparator<? super K> comparator() {
+            return comparator;
+        }
+
+        @Override int union(int unique, int size) {
+            MapColumns mc;
+            if (unique == 0) {
+                // Nothing has been sorted yet, so sort everything at once rather than inserting each entry in turn.
+                // The current columns serve as the sort's workspace.
+                MapColumns pending = size == keys.length ?
+                    new MapColumns(keys, values) :
+                    new MapColumns(copy(keys, size), copy(values, size));
+                mc = new MapColumns(new Object[size], new Object[size]);
+                size = ParallelSort.sortUnique(pending, mc, comparator);
+            }
+            else {
+                mc = unionInto(
+                    Arrays.copyOf(keys, unique),
+                    Arrays.copyOf(values, unique),
+                    Arrays.copyOfRange(keys, unique, size),
+                    Arrays.copyOfRange(values, unique, size),
+                    comparator);
+                size = mc.keys.length;
+            }
+            keys = mc.keys;
+            values = mc.values;
+            return size;
+        }
+
+        @Override public SortedMapBuilder<K, V> put(K key, V value) {
+            append(checkType(comparator, key), value);
+            return this;
+        }
+
+        @Override public SortedMapBuilder<K, V> putAll(Map<? extends K, ? extends V> map) {
+            for (K key : map.keySet()) {
+                checkType(comparator, key);
+            }
+            appendAll(map);
+            return this;
+        }
+
+        @Override public BasicConstSortedMap<K, V> build() {
+            return condenseToSortedMap(comparator, merged());
+        }
+    }
+}
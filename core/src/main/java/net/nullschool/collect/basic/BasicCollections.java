@@ -17,8 +17,11 @@
 package net.nullschool.collect.basic;
 
 import net.nullschool.collect.*;
+import net.nullschool.util.InternPool;
 import net.nullschool.util.ObjectTools;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 import static net.nullschool.collect.basic.BasicTools.*;
@@ -33,7 +36,12 @@ import static net.nullschool.util.ArrayTools.EMPTY_OBJECT_ARRAY;
  * elements.
  *
  * @see BasicConstList
+ * @see BasicConstDictionaryList
+ * @see BasicConstIntList
+ * @see BasicConstLongList
+ * @see BasicConstDoubleList
  * @see BasicConstSet
+ * @see BasicConstBitSet
  * @see BasicConstSortedSet
  * @see BasicConstMap
  * @see BasicConstSortedMap
@@ -46,6 +54,68 @@ public final class BasicCollections {
         throw new AssertionError();
     }
 
+    /**
+     * Sets and maps having at least this many elements are constructed with a hash index, trading a little memory
+     * for O(1) membership tests rather than O(N) linear scans. Configurable with the system property
+     * {@code net.nullschool.collect.basic.hashThreshold}.
+     */
+    static final int HASH_THRESHOLD = Math.max(2, Integer.getInteger("net.nullschool.collect.basic.hashThreshold", 16));
+
+    /**
+     * Maps having at least this many entries, all of whose keys are Strings, are constructed with a minimal perfect
+     * hash index, so that each lookup is a single probe and one String comparison. Configurable with the system
+     * property {@code net.nullschool.collect.basic.stringHashThreshold}.
+     */
+    static final int STRING_HASH_THRESHOLD =
+        Math.max(2, Integer.getInteger("net.nullschool.collect.basic.stringHashThreshold", 8));
+
+    /**
+     * Lists having at least this many elements are constructed as persistent vectors, trading slower indexed access
+     * for O(1) appends and O(log32(N)) replacements rather than O(N) array copies. Configurable with the system
+     * property {@code net.nullschool.collect.basic.vectorThreshold}.
+     */
+    static final int VECTOR_THRESHOLD =
+        Math.max(2, Integer.getInteger("net.nullschool.collect.basic.vectorThreshold", 64));
+
+    /**
+     * Sorted sets and maps having at least this many elements are constructed as persistent B-trees, trading slower
+     * lookups for O(log(N)) modifications and range views rather than O(N) array copies. Configurable with the
+     * system property {@code net.nullschool.collect.basic.treeThreshold}.
+     */
+    static final int TREE_THRESHOLD = Math.max(2, Integer.getInteger("net.nullschool.collect.basic.treeThreshold", 64));
+
+    /**
+     * Sublists having at least this many elements are constructed as views that share the storage of the original
+     * list, rather than as copies. Configurable with the system property
+     * {@code net.nullschool.collect.basic.viewThreshold}.
+     */
+    static final int VIEW_THRESHOLD = Math.max(2, Integer.getInteger("net.nullschool.collect.basic.viewThreshold", 16));
+
+    /**
+     * A sublist covering less than 1/VIEW_COMPACTION_RATIO of the original list is copied even when it meets the
+     * {@link #VIEW_THRESHOLD}, so that a small view does not pin a much larger list in memory. Because the copy is
+     * proportional to the size of the sublist, this bounds the memory retained by a view to a constant factor of
+     * its own size. Configurable with the system property {@code net.nullschool.collect.basic.viewCompactionRatio}.
+     */
+    static final int VIEW_COMPACTION_RATIO =
+        Math.max(1, Integer.getInteger("net.nullschool.collect.basic.viewCompactionRatio", 4));
+
+    /**
+     * Appending a list to a list, or layering a map over a map, produces a lazy composite of the two rather than a
+     * merged copy when both operands have at least this many elements. Smaller operands are cheap enough to copy.
+     * Configurable with the system property {@code net.nullschool.collect.basic.compositeThreshold}.
+     */
+    static final int COMPOSITE_THRESHOLD =
+        Math.max(1, Integer.getInteger("net.nullschool.collect.basic.compositeThreshold", 64));
+
+    /**
+     * A composite nested more than this many levels deep is materialized into an ordinary list or map, bounding the
+     * cost of reads on the composite to a constant factor. Configurable with the system property
+     * {@code net.nullschool.collect.basic.compositeDepthLimit}.
+     */
+    static final int COMPOSITE_DEPTH_LIMIT =
+        Math.max(1, Integer.getInteger("net.nullschool.collect.basic.compositeDepthLimit", 8));
+
 
     // -----------------------------------------------------------------------------------------------------------------
     // BasicConstList utility methods
@@ -126,7 +196,7 @@ public final class BasicCollections {
         elements[4] = e4;
         elements[5] = e5;
         System.arraycopy(additional, 0, elements, 6, additional.length);
-        return new BasicListN<>(elements);
+        return condenseToList(elements);
     }
 
     /**
@@ -167,6 +237,64 @@ public final class BasicCollections {
         return condenseToList(copy(iterator));
     }
 
+    /**
+     * Converts the specified collection into a dictionary encoded ConstList, which stores each distinct element
+     * once and represents the list as packed codes into those distinct elements. This representation suits large
+     * lists having few distinct values. Element equality is determined by {@link Object#equals}. Collections of
+     * fewer than two elements produce ordinary lists.
+     *
+     * @param collection the collection.
+     * @return a persistent list containing the elements of the specified collection in the order they appear.
+     * @throws NullPointerException if {@code collection} is null.
+     * @see BasicConstDictionaryList
+     */
+    public static <E> ConstList<E> asDictionaryList(Collection<? extends E> collection) {
+        if (collection instanceof BasicConstDictionaryList) {
+            @SuppressWarnings("unchecked") BasicConstList<E> covariant = (BasicConstList<E>)collection;
+            return covariant;  // The collection is already dictionary encoded.
+        }
+        return BasicListD.of(copy(collection));
+    }
+
+    /**
+     * Constructs a dictionary encoded ConstList from a dictionary of distinct values and the code of each element,
+     * where element {@code i} of the resulting list is {@code dictionary[codes[i]]}. This is the inverse of {@link
+     * BasicConstDictionaryList#dictionary} and {@link BasicConstDictionaryList#code}. Fewer than two codes produce
+     * an ordinary list.
+     *
+     * @param dictionary the distinct values referenced by the codes.
+     * @param codes the dictionary index of each element of the list.
+     * @return a persistent list of the decoded elements.
+     * @throws NullPointerException if either argument is null.
+     * @throws IllegalArgumentException if the dictionary contains duplicate values or a code is not a valid index
+     *                                  into the dictionary.
+     */
+    public static <E> ConstList<E> dictionaryListOf(E[] dictionary, int[] codes) {
+        Object[] values = copy(dictionary);
+        if (new HashSet<>(Arrays.asList(values)).size() != values.length) {
+            throw new IllegalArgumentException("duplicate dictionary value");
+        }
+        for (int code : codes) {
+            if (code < 0 || values.length <= code) {
+                throw new IllegalArgumentException("invalid code: " + code);
+            }
+        }
+        if (codes.length < 2) {
+            return codes.length == 0 ? BasicList0.<E>instance() : new BasicList1<E>(values[codes[0]]);
+        }
+        return BasicListD.of(values, codes.clone());
+    }
+
+    /**
+     * Returns a new, empty builder of ConstLists. Building a list this way avoids both the intermediate copy made
+     * when converting a JDK collection and the full copy made by each invocation of {@link ConstList#with}.
+     *
+     * @return a new list builder.
+     */
+    public static <E> ConstListBuilder<E> newListBuilder() {
+        return new BasicBuilders.ListBuilder<>(EMPTY_OBJECT_ARRAY);
+    }
+
     /**
      * Instantiates the appropriate AbstractBasicConstList implementation from the specified array of elements. The
      * array reference <b>must be trusted</b>:
@@ -175,6 +303,8 @@ public final class BasicCollections {
      *     <li>the component type is Object instead of a narrower type such as String or Integer</li>
      * </ol>
      *
+     * Lists having {@link #VECTOR_THRESHOLD} or more elements are constructed as persistent vectors.
+     *
      * @param trustedElements the Object array of elements.
      * @return a size-appropriate implementation of AbstractBasicConstList.
      */
@@ -183,8 +313,216 @@ public final class BasicCollections {
         switch (trustedElements.length) {
             case 0: return BasicList0.instance();
             case 1: return new BasicList1<>(trustedElements[0]);
-            default: return new BasicListN<>(trustedElements);
+            default:
+                return trustedElements.length < VECTOR_THRESHOLD ?
+                    new BasicListN<E>(trustedElements) :
+                    BasicListT.<E>of(trustedElements);
+        }
+    }
+
+    /**
+     * Returns the elements of the specified list in the range [fromIndex, toIndex), either as a view sharing the
+     * list's storage or, if the range is smaller than {@link #VIEW_THRESHOLD} or would cover only a small fraction
+     * of the list (see {@link #VIEW_COMPACTION_RATIO}), as a copy. The range must be valid for the list.
+     *
+     * @param list the list to slice, which must not itself be a view.
+     * @param fromIndex the starting index, inclusive.
+     * @param toIndex the ending index, exclusive.
+     * @return the sublist.
+     */
+    static <E> BasicConstList<E> sliceList(BasicConstList<E> list, int fromIndex, int toIndex) {
+        assert 0 <= fromIndex && fromIndex <= toIndex && toIndex <= list.size();
+        final int size = toIndex - fromIndex;
+        if (size == list.size()) {
+            return list;
+        }
+        if (size < VIEW_THRESHOLD || size < list.size() / VIEW_COMPACTION_RATIO) {
+            Object[] elements = new Object[size];
+            for (int i = 0; i < size; i++) {
+                elements[i] = list.get(fromIndex + i);
+            }
+            return condenseToList(elements);
+        }
+        return new BasicListV<>(list, fromIndex, size);
+    }
+
+    /**
+     * Returns the concatenation of the specified list and collection as a lazy composite, or null if the operands
+     * do not qualify: the collection must itself be a BasicConstList, so that it can be shared safely, and both
+     * operands must meet the {@link #COMPOSITE_THRESHOLD}.
+     *
+     * @param left the list to append to.
+     * @param right the collection to append.
+     * @return the composite list, or null if the caller should copy instead.
+     */
+    static <E> BasicConstList<E> concatList(BasicConstList<E> left, Collection<? extends E> right) {
+        if (right instanceof BasicConstList &&
+            left.size() >= COMPOSITE_THRESHOLD &&
+            right.size() >= COMPOSITE_THRESHOLD) {
+            // Cast is safe because the list is immutable: it can only ever produce elements of type E.
+            @SuppressWarnings("unchecked") BasicConstList<E> list = (BasicConstList<E>)right;
+            return BasicListC.of(left, list);
+        }
+        return null;
+    }
+
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // BasicConstIntList utility methods
+
+    /**
+     * Returns an empty ConstIntList.
+     *
+     * @return a persistent empty list of ints.
+     */
+    public static ConstIntList emptyIntList() {
+        return BasicIntList.instance();
+    }
+
+    /**
+     * Returns a ConstIntList of the specified elements.
+     *
+     * @param elements the elements of the list.
+     * @return a persistent list containing the specified elements in the order they appear.
+     * @throws NullPointerException if {@code elements} is null.
+     */
+    public static ConstIntList intListOf(int... elements) {
+        return condenseToIntList(elements.clone());
+    }
+
+    /**
+     * Converts the specified collection of Integers into a ConstIntList.
+     *
+     * @param collection the collection.
+     * @return a persistent list containing the unboxed elements of the collection in the order they appear.
+     * @throws NullPointerException if {@code collection} is null or contains a null element.
+     */
+    public static ConstIntList asIntList(Collection<? extends Integer> collection) {
+        if (collection instanceof BasicConstIntList) {
+            return (BasicConstIntList)collection;  // The collection is already a ConstIntList.
+        }
+        int[] elements = BasicIntList.unbox(collection);
+        if (elements == null) {
+            throw new NullPointerException("null element");
+        }
+        return condenseToIntList(elements);
+    }
+
+    /**
+     * Instantiates a BasicConstIntList from the specified array of elements. The array reference <b>must be
+     * trusted</b>: it was defensively copied or is guaranteed to be invisible to external clients.
+     *
+     * @param trustedElements the array of elements.
+     * @return an implementation of BasicConstIntList.
+     */
+    static BasicConstIntList condenseToIntList(int[] trustedElements) {
+        return trustedElements.length == 0 ? BasicIntList.instance() : new BasicIntList(trustedElements);
+    }
+
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // BasicConstLongList utility methods
+
+    /**
+     * Returns an empty ConstLongList.
+     *
+     * @return a persistent empty list of longs.
+     */
+    public static ConstLongList emptyLongList() {
+        return BasicLongList.instance();
+    }
+
+    /**
+     * Returns a ConstLongList of the specified elements.
+     *
+     * @param elements the elements of the list.
+     * @return a persistent list containing the specified elements in the order they appear.
+     * @throws NullPointerException if {@code elements} is null.
+     */
+    public static ConstLongList longListOf(long... elements) {
+        return condenseToLongList(elements.clone());
+    }
+
+    /**
+     * Converts the specified collection of Longs into a ConstLongList.
+     *
+     * @param collection the collection.
+     * @return a persistent list containing the unboxed elements of the collection in the order they appear.
+     * @throws NullPointerException if {@code collection} is null or contains a null element.
+     */
+    public static ConstLongList asLongList(Collection<? extends Long> collection) {
+        if (collection instanceof BasicConstLongList) {
+            return (BasicConstLongList)collection;  // The collection is already a ConstLongList.
+        }
+        long[] elements = BasicLongList.unbox(collection);
+        if (elements == null) {
+            throw new NullPointerException("null element");
+        }
+        return condenseToLongList(elements);
+    }
+
+    /**
+     * Instantiates a BasicConstLongList from the specified array of elements. The array reference <b>must be
+     * trusted</b>: it was defensively copied or is guaranteed to be invisible to external clients.
+     *
+     * @param trustedElements the array of elements.
+     * @return an implementation of BasicConstLongList.
+     */
+    static BasicConstLongList condenseToLongList(long[] trustedElements) {
+        return trustedElements.length == 0 ? BasicLongList.instance() : new BasicLongList(trustedElements);
+    }
+
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // BasicConstDoubleList utility methods
+
+    /**
+     * Returns an empty ConstDoubleList.
+     *
+     * @return a persistent empty list of doubles.
+     */
+    public static ConstDoubleList emptyDoubleList() {
+        return BasicDoubleList.instance();
+    }
+
+    /**
+     * Returns a ConstDoubleList of the specified elements.
+     *
+     * @param elements the elements of the list.
+     * @return a persistent list containing the specified elements in the order they appear.
+     * @throws NullPointerException if {@code elements} is null.
+     */
+    public static ConstDoubleList doubleListOf(double... elements) {
+        return condenseToDoubleList(elements.clone());
+    }
+
+    /**
+     * Converts the specified collection of Doubles into a ConstDoubleList.
+     *
+     * @param collection the collection.
+     * @return a persistent list containing the unboxed elements of the collection in the order they appear.
+     * @throws NullPointerException if {@code collection} is null or contains a null element.
+     */
+    public static ConstDoubleList asDoubleList(Collection<? extends Double> collection) {
+        if (collection instanceof BasicConstDoubleList) {
+            return (BasicConstDoubleList)collection;  // The collection is already a ConstDoubleList.
         }
+        double[] elements = BasicDoubleList.unbox(collection);
+        if (elements == null) {
+            throw new NullPointerException("null element");
+        }
+        return condenseToDoubleList(elements);
+    }
+
+    /**
+     * Instantiates a BasicConstDoubleList from the specified array of elements. The array reference <b>must be
+     * trusted</b>: it was defensively copied or is guaranteed to be invisible to external clients.
+     *
+     * @param trustedElements the array of elements.
+     * @return an implementation of BasicConstDoubleList.
+     */
+    static BasicConstDoubleList condenseToDoubleList(double[] trustedElements) {
+        return trustedElements.length == 0 ? BasicDoubleList.instance() : new BasicDoubleList(trustedElements);
     }
 
 
@@ -222,7 +560,7 @@ public final class BasicCollections {
     public static <E> ConstSet<E> setOf(E e0, E e1) {
         return Objects.equals(e1, e0) ?
             new BasicSet1<E>(e0) :
-            new BasicSetN<E>(new Object[] {e0, e1});
+            BasicCollections.<E>condenseToSet(new Object[] {e0, e1});
     }
 
     /**
@@ -322,6 +660,83 @@ public final class BasicCollections {
         return condenseToSet(unionInto(EMPTY_OBJECT_ARRAY, copy(iterator)));
     }
 
+    /**
+     * Returns a new, empty builder of ConstSets. Duplicate elements are removed lazily, so adding an element is
+     * amortized O(1).
+     *
+     * @return a new set builder.
+     */
+    public static <E> ConstSetBuilder<E> newSetBuilder() {
+        return new BasicBuilders.SetBuilder<>(EMPTY_OBJECT_ARRAY);
+    }
+
+    /**
+     * Returns the ConstSet represented by the specified bitmask over the universe of the specified element type,
+     * which is either an enum having at most 64 constants or Integer. Bit {@code i} selects the enum constant
+     * having ordinal {@code i}, or the Integer {@code i}. This is the inverse of {@link BasicConstBitSet#bits}.
+     *
+     * @param elementType the enum class or Integer.class.
+     * @param bits the bitmask of elements.
+     * @return a persistent set of the selected elements.
+     * @throws NullPointerException if {@code elementType} is null.
+     * @throws IllegalArgumentException if the element type cannot be represented as a bit set, or if a bit is set
+     *                                  that has no corresponding enum constant.
+     */
+    public static <E> ConstSet<E> bitSetOf(Class<E> elementType, long bits) {
+        Object[] universe = BasicSetM.universeOf(elementType);
+        if (universe == null) {
+            throw new IllegalArgumentException("unsupported bit set element type: " + elementType);
+        }
+        if (universe.length < Long.SIZE && bits >>> universe.length != 0) {
+            throw new IllegalArgumentException("bits outside universe of " + elementType + ": " + bits);
+        }
+        return BasicSetM.of(elementType, bits);
+    }
+
+    /**
+     * Returns a ConstSet of the specified ints. If every element lies in [0, 64), the set is a {@link
+     * BasicConstBitSet}, otherwise it is an ordinary set.
+     *
+     * @param elements the elements of the set.
+     * @return a persistent set containing the unique elements.
+     * @throws NullPointerException if {@code elements} is null.
+     */
+    public static ConstSet<Integer> smallIntSetOf(int... elements) {
+        long bits = 0;
+        for (int element : elements) {
+            if (element < 0 || Long.SIZE <= element) {
+                Object[] boxed = new Object[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    boxed[i] = elements[i];
+                }
+                return condenseToSet(unionInto(EMPTY_OBJECT_ARRAY, boxed));
+            }
+            bits |= 1L << element;
+        }
+        return BasicSetM.of(Integer.class, bits);
+    }
+
+    /**
+     * Returns a ConstSet of the specified enum constants. If the enum has at most 64 constants, the set is a {@link
+     * BasicConstBitSet} and iterates in ordinal order, otherwise it is an ordinary set that iterates in the order
+     * the elements appear.
+     *
+     * @param elementType the enum class.
+     * @param elements the elements of the set.
+     * @return a persistent set containing the unique elements.
+     * @throws NullPointerException if {@code elementType}, {@code elements}, or any element is null.
+     */
+    @SafeVarargs
+    public static <E extends Enum<E>> ConstSet<E> enumSetOf(Class<E> elementType, E... elements) {
+        long bits = 0;
+        for (E element : elements) {
+            bits |= 1L << elementType.cast(element).ordinal();
+        }
+        return BasicSetM.universeOf(elementType) != null ?
+            BasicSetM.of(elementType, bits) :
+            BasicCollections.<E>condenseToSet(unionInto(EMPTY_OBJECT_ARRAY, elements));
+    }
+
     /**
      * Instantiates the appropriate AbstractBasicConstSet implementation from the specified array of elements. The
      * array reference <b>must be trusted</b>:
@@ -331,6 +746,9 @@ public final class BasicCollections {
      *     <li><i>the array contains only unique elements</i></li>
      * </ol>
      *
+     * Sets having {@link #HASH_THRESHOLD} or more elements are given a hash index. Bit sets are never produced here;
+     * they must be requested explicitly. See {@link #enumSetOf}.
+     *
      * @param trustedElements the Object array of elements.
      * @return a size-appropriate implementation of AbstractBasicConstSet.
      */
@@ -339,7 +757,10 @@ public final class BasicCollections {
         switch (trustedElements.length) {
             case 0: return BasicSet0.instance();
             case 1: return new BasicSet1<>(trustedElements[0]);
-            default: return new BasicSetN<>(trustedElements);
+            default:
+                return trustedElements.length < HASH_THRESHOLD ?
+                    new BasicSetN<E>(trustedElements) :
+                    new BasicSetH<E>(trustedElements);
         }
     }
 
@@ -357,6 +778,16 @@ public final class BasicCollections {
         return BasicSortedSet0.instance(comparator);
     }
 
+    /**
+     * Returns an empty ConstNavigableSet with the ordering of the specified comparator.
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @return a persistent empty navigable set.
+     */
+    public static <E> ConstNavigableSet<E> emptyNavigableSet(Comparator<? super E> comparator) {
+        return BasicSortedSet0.instance(comparator);
+    }
+
     /**
      * Returns a ConstSortedSet with a single element and the ordering of the specified comparator.
      *
@@ -503,6 +934,22 @@ public final class BasicCollections {
         return condenseToSortedSet(set.comparator(), set.toArray());
     }
 
+    /**
+     * Converts the specified sorted set into a ConstNavigableSet with the same elements and ordering. Every set
+     * returned by the sorted set methods of this class is already navigable, so this method returns such sets
+     * without copying.
+     *
+     * @param set the sorted set.
+     * @return a persistent navigable set containing the exact elements and ordering of the specified set.
+     * @throws NullPointerException if {@code set} is null.
+     */
+    public static <E> ConstNavigableSet<E> asNavigableSet(SortedSet<E> set) {
+        if (set instanceof BasicConstSortedSet) {
+            return (BasicConstSortedSet<E>)set;  // The set is already a ConstNavigableSet.
+        }
+        return condenseToSortedSet(set.comparator(), set.toArray());
+    }
+
     /**
      * Converts the specified collection into a ConstSortedSet comprised of the unique elements from the collection,
      * having the ordering of the specified comparator.
@@ -545,6 +992,46 @@ public final class BasicCollections {
         return condenseToSortedSet(comparator, unionInto(EMPTY_OBJECT_ARRAY, copy(iterator), comparator));
     }
 
+    /**
+     * Converts the specified collection into a ConstSortedSet comprised of the unique elements from the collection,
+     * having the ordering of the specified comparator, just as {@link #asSortedSet(Comparator, Collection)} does but
+     * sorting on multiple threads. The elements are merge sorted by fork/join tasks, and duplicates are then removed
+     * in parallel. Collections of fewer than a few thousand elements are sorted on the calling thread.
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @param collection the collection.
+     * @return a persistent sorted set containing the unique elements from the collection in sorted order.
+     * @throws NullPointerException if any element is null and the comparator is either null or does not permit nulls,
+     *                              or the {@code collection} itself is null.
+     * @throws ClassCastException if any element is of a type not compatible for comparison.
+     */
+    public static <E> ConstSortedSet<E> asSortedSetParallel(
+        Comparator<? super E> comparator,
+        Collection<? extends E> collection) {
+
+        if (collection instanceof SortedSet) {
+            @SuppressWarnings("unchecked") SortedSet<E> covariant = (SortedSet<E>)collection;
+            if (Objects.equals(comparator, covariant.comparator())) {
+                return asSortedSet(covariant);  // the set is already in the desired sorted order.
+            }
+        }
+        Object[] elements = copy(collection);
+        Object[] unique = new Object[elements.length];
+        int size = ParallelSort.sortUnique(new MapColumns(elements, null), new MapColumns(unique, null), comparator);
+        return condenseToSortedSet(comparator, unique, size);
+    }
+
+    /**
+     * Returns a new, empty builder of ConstSortedSets. Elements are sorted and duplicates removed lazily, so adding
+     * an element is amortized O(log(N)).
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @return a new sorted set builder.
+     */
+    public static <E> ConstSortedSetBuilder<E> newSortedSetBuilder(Comparator<? super E> comparator) {
+        return new BasicBuilders.SortedSetBuilder<>(comparator, EMPTY_OBJECT_ARRAY);
+    }
+
     /**
      * Instantiates the appropriate AbstractBasicConstSortedSet implementation from the specified array of elements.
      * The array reference <b>must be trusted</b>:
@@ -555,6 +1042,8 @@ public final class BasicCollections {
      *     <li><i>the array is already sorted using the specified comparator</i></li>
      * </ol>
      *
+     * Sets having {@link #TREE_THRESHOLD} or more elements are constructed as B-trees.
+     *
      * @param trustedElements the Object array of elements.
      * @return a size-appropriate implementation of AbstractBasicConstSet.
      */
@@ -563,10 +1052,35 @@ public final class BasicCollections {
         switch (trustedElements.length) {
             case 0: return BasicSortedSet0.instance(comparator);
             case 1: return new BasicSortedSet1<>(comparator, trustedElements[0]);
-            default: return new BasicSortedSetN<>(comparator, trustedElements);
+            default:
+                return trustedElements.length < TREE_THRESHOLD ?
+                    new BasicSortedSetN<E>(comparator, trustedElements) :
+                    new BasicSortedSetB<E>(comparator, BTree.build(trustedElements, null));
         }
     }
 
+    /**
+     * Instantiates the appropriate AbstractBasicConstSortedSet implementation from the first {@code size} elements
+     * of the specified array, which <b>must be trusted</b> just as for {@link #condenseToSortedSet(Comparator,
+     * Object[])}. The array is copied only when it is partially filled and the set is too small to be a B-tree.
+     *
+     * @param trustedElements the Object array of elements, possibly partially filled.
+     * @param size the number of elements to take from the array.
+     * @return a size-appropriate implementation of AbstractBasicConstSet.
+     */
+    static <E> BasicConstSortedSet<E> condenseToSortedSet(
+        Comparator<? super E> comparator,
+        Object[] trustedElements,
+        int size) {
+
+        if (size < TREE_THRESHOLD) {
+            return condenseToSortedSet(
+                comparator,
+                size == trustedElements.length ? trustedElements : copy(trustedElements, size));
+        }
+        return new BasicSortedSetB<>(comparator, BTree.build(trustedElements, null, size));
+    }
+
 
     // -----------------------------------------------------------------------------------------------------------------
     // BasicConstMap utility methods
@@ -690,6 +1204,80 @@ public final class BasicCollections {
         return condenseToMap(unionInto(EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY, mc.keys, mc.values));
     }
 
+    /**
+     * Constructs a ConstMap from the unique entries encountered while iterating with the specified iterator. The
+     * entries are accumulated in columns that grow in place and duplicate keys are resolved in a single pass, so no
+     * intermediate map is needed. Duplicate keys are not retained, but their associated values replace the values
+     * associated with existing keys, just as repeated calls to {@link Map#put} behaves. {@link Object#equals} and
+     * {@link Object#hashCode} are used to test for uniqueness.
+     *
+     * @param entries the iterator of entries.
+     * @return a persistent map containing the unique entries of the iteration in the order they appear.
+     * @throws NullPointerException if {@code entries} is null or produces a null entry.
+     */
+    public static <K, V> ConstMap<K, V> asMap(Iterator<? extends Map.Entry<? extends K, ? extends V>> entries) {
+        ConstMapBuilder<K, V> builder = newMapBuilder();
+        while (entries.hasNext()) {
+            Map.Entry<? extends K, ? extends V> entry = entries.next();
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns an empty ConstMap implemented as a hash array mapped trie. Maps derived from this map by {@link
+     * ConstMap#with} and {@link ConstMap#without} share structure with it, so each modification costs
+     * O(log32(N)) rather than O(N). Such maps iterate their entries in hash order rather than insertion order.
+     *
+     * @return a persistent empty hash trie map.
+     */
+    public static <K, V> ConstMap<K, V> emptyHashTrieMap() {
+        return BasicMapT.instance();
+    }
+
+    /**
+     * Converts the specified map into a ConstMap implemented as a hash array mapped trie. See {@link
+     * #emptyHashTrieMap}. {@link Object#equals} and {@link Object#hashCode} are used to test for uniqueness.
+     *
+     * @param map the map.
+     * @return a persistent hash trie map containing the unique entries from the map, in hash order.
+     * @throws NullPointerException if {@code map} is null.
+     */
+    public static <K, V> ConstMap<K, V> asHashTrieMap(Map<? extends K, ? extends V> map) {
+        return BasicMapT.<K, V>instance().withAll(map);
+    }
+
+    /**
+     * Returns a new, empty builder of ConstMaps. Duplicate keys are resolved lazily, so putting an entry is
+     * amortized O(1).
+     *
+     * @return a new map builder.
+     */
+    public static <K, V> ConstMapBuilder<K, V> newMapBuilder() {
+        return new BasicBuilders.MapBuilder<>(new MapColumns(EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY));
+    }
+
+    /**
+     * Returns a new, empty builder of ConstMaps having room for the specified number of entries, suitable for bulk
+     * loading a map whose size is known in advance, such as when decoding a serialized map. The columns grow in
+     * place if more entries are put. When exactly the expected number of entries is put and their keys are unique,
+     * {@link ConstMapBuilder#build} hands the columns to the resulting map without copying them.
+     *
+     * @param expectedSize the expected number of entries.
+     * @return a new map builder.
+     * @throws IllegalArgumentException if {@code expectedSize} is negative.
+     */
+    public static <K, V> ConstMapBuilder<K, V> newMapBuilder(int expectedSize) {
+        return new BasicBuilders.MapBuilder<>(checkExpectedSize(expectedSize));
+    }
+
+    private static int checkExpectedSize(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("negative expected size: " + expectedSize);
+        }
+        return expectedSize;
+    }
+
     /**
      * Instantiates the appropriate AbstractBasicConstMap implementation from the specified columns. The embedded
      * columns <b>must be trusted</b>:
@@ -716,6 +1304,9 @@ public final class BasicCollections {
      *     <li><i>the arrays are the same length</i></li>
      * </ol>
      *
+     * Maps having {@link #HASH_THRESHOLD} or more entries are given a hash index. Maps having
+     * {@link #STRING_HASH_THRESHOLD} or more entries, all with String keys, are given a perfect hash index instead.
+     *
      * @param trustedKeys the Object array of keys.
      * @param trustedValues the Object array of values.
      * @return a size-appropriate implementation of AbstractBasicConstMap.
@@ -727,10 +1318,43 @@ public final class BasicCollections {
         switch (trustedKeys.length) {
             case 0: return BasicMap0.instance();
             case 1: return new BasicMap1<>(trustedKeys[0], trustedValues[0]);
-            default: return new BasicMapN<>(trustedKeys, trustedValues);
+            default:
+                if (trustedKeys.length >= STRING_HASH_THRESHOLD && BasicMapS.allStrings(trustedKeys)) {
+                    BasicMapS<K, V> result = BasicMapS.tryCreate(trustedKeys, trustedValues);
+                    if (result != null) {
+                        return result;
+                    }
+                }
+                return trustedKeys.length < HASH_THRESHOLD ?
+                    new BasicMapN<K, V>(trustedKeys, trustedValues) :
+                    new BasicMapH<K, V>(trustedKeys, trustedValues);
         }
     }
 
+    private static boolean meetsCompositeThreshold(Map<?, ?> map) {
+        // The size of a layered map is unknown until it is materialized, but its base alone meets the threshold.
+        return map instanceof BasicMapL || map.size() >= COMPOSITE_THRESHOLD;
+    }
+
+    /**
+     * Returns the specified map layered over the specified base map as a lazy composite, or null if the operands do
+     * not qualify: the overlay must itself be an unsorted BasicConstMap, so that it can be shared safely and agrees
+     * with the base about key equality, and both maps must meet the {@link #COMPOSITE_THRESHOLD}.
+     *
+     * @param base the map providing entries not in the overlay.
+     * @param overlay the map whose entries take precedence.
+     * @return the layered map, or null if the caller should copy instead.
+     */
+    static <K, V> BasicConstMap<K, V> layerMap(BasicConstMap<K, V> base, Map<? extends K, ? extends V> overlay) {
+        if (overlay instanceof BasicConstMap && !(overlay instanceof SortedMap) &&
+            meetsCompositeThreshold(base) && meetsCompositeThreshold(overlay)) {
+            // Cast is safe because the map is immutable: it can only ever produce keys of type K and values of type V.
+            @SuppressWarnings("unchecked") BasicConstMap<K, V> map = (BasicConstMap<K, V>)overlay;
+            return BasicMapL.of(base, map);
+        }
+        return null;
+    }
+
 
     // -----------------------------------------------------------------------------------------------------------------
     // BasicConstSortedMap utility methods
@@ -745,6 +1369,16 @@ public final class BasicCollections {
         return BasicSortedMap0.instance(comparator);
     }
 
+    /**
+     * Returns an empty ConstNavigableMap with the ordering of the specified comparator.
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @return a persistent empty navigable map.
+     */
+    public static <K, V> ConstNavigableMap<K, V> emptyNavigableMap(Comparator<? super K> comparator) {
+        return BasicSortedMap0.instance(comparator);
+    }
+
     /**
      * Returns a ConstSortedMap with a single entry and the ordering of the specified comparator.
      *
@@ -902,6 +1536,22 @@ public final class BasicCollections {
         return condenseToSortedMap(map.comparator(), copy(map));
     }
 
+    /**
+     * Converts the specified sorted map into a ConstNavigableMap with the same entries and ordering. Every map
+     * returned by the sorted map methods of this class is already navigable, so this method returns such maps
+     * without copying.
+     *
+     * @param map the sorted map.
+     * @return a persistent navigable map containing the exact entries and ordering of the specified map.
+     * @throws NullPointerException if {@code map} is null.
+     */
+    public static <K, V> ConstNavigableMap<K, V> asNavigableMap(SortedMap<K, V> map) {
+        if (map instanceof BasicConstSortedMap) {
+            return (BasicConstSortedMap<K, V>)map;  // The map is already a ConstNavigableMap.
+        }
+        return condenseToSortedMap(map.comparator(), copy(map));
+    }
+
     /**
      * Converts the specified map into a ConstSortedMap comprised of the unique entries from the map having the
      * ordering of the specified comparator.
@@ -929,6 +1579,130 @@ public final class BasicCollections {
             unionInto(EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY, mc.keys, mc.values, comparator));
     }
 
+    /**
+     * Constructs a ConstSortedMap from the unique entries encountered while iterating with the specified iterator.
+     * The resulting entries are sorted with the specified comparator. Duplicate keys are not retained, but their
+     * associated values replace the values associated with existing keys, just as repeated calls to {@link Map#put}
+     * behaves.
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @param entries the iterator of entries.
+     * @return a persistent sorted map containing the unique entries of the iteration in sorted order.
+     * @throws NullPointerException if any key is null and the comparator is null or does not permit nulls, or if
+     *                              {@code entries} is null or produces a null entry.
+     * @throws ClassCastException if any key is of a type not compatible for comparison.
+     */
+    public static <K, V> ConstSortedMap<K, V> asSortedMap(
+        Comparator<? super K> comparator,
+        Iterator<? extends Map.Entry<? extends K, ? extends V>> entries) {
+
+        BasicBuilders.SortedMapBuilder<K, V> builder = new BasicBuilders.SortedMapBuilder<>(comparator, 0);
+        while (entries.hasNext()) {
+            Map.Entry<? extends K, ? extends V> entry = entries.next();
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Converts the specified map into a ConstSortedMap comprised of the unique entries from the map having the
+     * ordering of the specified comparator, just as {@link #asSortedMap(Comparator, Map)} does but sorting on
+     * multiple threads. The entries are merge sorted by fork/join tasks, and keys that are equal according to the
+     * comparator are then collapsed in parallel, the last such entry's value replacing the others'. Maps of fewer
+     * than a few thousand entries are sorted on the calling thread.
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @param map the map.
+     * @return a persistent sorted map containing the unique entries from the map in sorted order.
+     * @throws NullPointerException if any key is null and the comparator is null or does not permit nulls, or if
+     *                              the {@code map} is null.
+     * @throws ClassCastException if any key is of a type not compatible for comparison.
+     */
+    public static <K, V> ConstSortedMap<K, V> asSortedMapParallel(
+        Comparator<? super K> comparator,
+        Map<? extends K, ? extends V> map) {
+
+        if (map instanceof SortedMap) {
+            @SuppressWarnings("unchecked") SortedMap<K, V> covariant = (SortedMap<K, V>)map;
+            if (Objects.equals(comparator, covariant.comparator())) {
+                return asSortedMap(covariant);  // the map is already in the desired sorted order.
+            }
+        }
+        MapColumns mc = copy(map);
+        MapColumns unique = new MapColumns(new Object[mc.keys.length], new Object[mc.keys.length]);
+        int size = ParallelSort.sortUnique(mc, unique, comparator);
+        return condenseToSortedMap(comparator, unique.keys, unique.values, size);
+    }
+
+    /**
+     * Returns a new, empty builder of ConstSortedMaps. Entries are sorted and duplicate keys resolved lazily, so
+     * putting an entry is amortized O(log(N)).
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @return a new sorted map builder.
+     */
+    public static <K, V> ConstSortedMapBuilder<K, V> newSortedMapBuilder(Comparator<? super K> comparator) {
+        return new BasicBuilders.SortedMapBuilder<>(comparator, new MapColumns(EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY));
+    }
+
+    /**
+     * Returns a new, empty builder of ConstSortedMaps having room for the specified number of entries, suitable for
+     * bulk loading a map whose size is known in advance, such as when decoding a serialized map. The columns grow
+     * in place if more entries are put. The entries are sorted all at once when the builder is built, or when the
+     * columns must first grow.
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @param expectedSize the expected number of entries.
+     * @return a new sorted map builder.
+     * @throws IllegalArgumentException if {@code expectedSize} is negative.
+     */
+    public static <K, V> ConstSortedMapBuilder<K, V> newSortedMapBuilder(
+        Comparator<? super K> comparator,
+        int expectedSize) {
+
+        return new BasicBuilders.SortedMapBuilder<>(comparator, checkExpectedSize(expectedSize));
+    }
+
+    /**
+     * Opens a ConstSortedMap backed by the specified memory-mapped file, as written by {@link MappedSortedMapWriter}.
+     * Keys and values reside outside the Java heap and are decoded lazily on each access, so very large maps impose
+     * no garbage collection overhead. Key lookups are O(log(N)), decoding a key at each step of a binary search.
+     * Modifications, such as {@link ConstSortedMap#with}, leave the file unchanged and return a map that overlays
+     * the changes, copy-on-write, on the heap.<p/>
+     *
+     * The file is mapped read-only and must not be modified while the map, or any map derived from it, is in use.
+     * The mapping is released when the map becomes unreachable.
+     *
+     * @param file the file to open.
+     * @param comparator the comparator used to write the file, or null for {@link Comparable natural ordering}.
+     * @param keyCodec the codec used to write the keys.
+     * @param valueCodec the codec used to write the values.
+     * @return a persistent sorted map of the file's entries.
+     * @throws IOException if the file cannot be read or is not in the expected format.
+     * @throws NullPointerException if file or either codec is null.
+     */
+    public static <K, V> ConstSortedMap<K, V> openSortedMap(
+        Path file,
+        Comparator<? super K> comparator,
+        ByteCodec<K> keyCodec,
+        ByteCodec<V> valueCodec) throws IOException {
+
+        return openSortedMap(file, comparator, keyCodec, valueCodec, MappedTable.SEGMENT_BITS);
+    }
+
+    static <K, V> ConstNavigableMap<K, V> openSortedMap(
+        Path file,
+        Comparator<? super K> comparator,
+        ByteCodec<K> keyCodec,
+        ByteCodec<V> valueCodec,
+        int segmentBits) throws IOException {
+
+        MappedTable<K, V> table = MappedTable.open(file, keyCodec, valueCodec, segmentBits);
+        return table.count() == 0 ?
+            BasicSortedMap0.<K, V>instance(comparator) :
+            new BasicSortedMapM<>(comparator, table, 0, table.count());
+    }
+
     /**
      * Instantiates the appropriate AbstractBasicConstSortedMap implementation from the specified columns. The
      * embedded columns <b>must be trusted</b>:
@@ -959,6 +1733,7 @@ public final class BasicCollections {
      *     <li><i>the keys array contains only unique keys</i></li>
      *     <li><i>the arrays are already sorted using the specified comparator and are the same length</i></li>
      * </ol>
+     * Maps having {@link #TREE_THRESHOLD} or more entries are constructed as B-trees.
      *
      * @param comparator the comparator, or null for {@link Comparable natural ordering}.
      * @param trustedKeys the Object array of keys.
@@ -976,7 +1751,86 @@ public final class BasicCollections {
         switch (trustedKeys.length) {
             case 0: return BasicSortedMap0.instance(comparator);
             case 1: return new BasicSortedMap1<>(comparator, trustedKeys[0], trustedValues[0]);
-            default: return new BasicSortedMapN<>(comparator, trustedKeys, trustedValues);
+            default:
+                return trustedKeys.length < TREE_THRESHOLD ?
+                    new BasicSortedMapN<K, V>(comparator, trustedKeys, trustedValues) :
+                    new BasicSortedMapB<K, V>(comparator, BTree.build(trustedKeys, trustedValues));
+        }
+    }
+
+    /**
+     * Instantiates the appropriate AbstractBasicConstSortedMap implementation from the first {@code size} entries
+     * of the specified arrays, which <b>must be trusted</b> just as for {@link #condenseToSortedMap(Comparator,
+     * Object[], Object[])}. The arrays are copied only when they are partially filled and the map is too small to
+     * be a B-tree.
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @param trustedKeys the Object array of keys, possibly partially filled.
+     * @param trustedValues the Object array of values, possibly partially filled.
+     * @param size the number of entries to take from the arrays.
+     * @return a size-appropriate implementation of AbstractBasicConstSortedMap.
+     */
+    static <K, V> BasicConstSortedMap<K, V> condenseToSortedMap(
+        Comparator<? super K> comparator,
+        Object[] trustedKeys,
+        Object[] trustedValues,
+        int size) {
+
+        if (size < TREE_THRESHOLD) {
+            return size == trustedKeys.length ?
+                BasicCollections.<K, V>condenseToSortedMap(comparator, trustedKeys, trustedValues) :
+                BasicCollections.<K, V>condenseToSortedMap(
+                    comparator,
+                    copy(trustedKeys, size),
+                    copy(trustedValues, size));
+        }
+        return new BasicSortedMapB<>(comparator, BTree.build(trustedKeys, trustedValues, size));
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+    // Interning utility methods
+
+    private static final InternPool<Object> interned = new InternPool<>();
+
+    /**
+     * Returns the canonical instance of the specified const collection, in the manner of {@link String#intern}.
+     * Equal collections of the same class and iteration order (and, for sorted sets, the same comparator) intern to
+     * the same instance, allowing duplicates to be garbage collected and making {@code equals} an identity check in
+     * the common case. Canonical instances are weakly held and are released when no longer reachable elsewhere.<p/>
+     *
+     * Interning is shallow: elements are compared by {@code equals} and are not themselves interned.
+     *
+     * @param collection the collection to intern.
+     * @return the canonical instance equal to {@code collection}, or {@code collection} itself.
+     * @throws NullPointerException if collection is null.
+     */
+    public static <C extends ConstCollection<?>> C intern(C collection) {
+        @SuppressWarnings("unchecked") C canonical = (C)interned.intern(collection);
+        if (canonical != collection && canonical instanceof SortedSet &&
+                !Objects.equals(((SortedSet<?>)canonical).comparator(), ((SortedSet<?>)collection).comparator())) {
+            return collection;
+        }
+        return canonical;
+    }
+
+    /**
+     * Returns the canonical instance of the specified const map, in the manner of {@link String#intern}. Equal maps
+     * of the same class and iteration order (and, for sorted maps, the same comparator) intern to the same instance,
+     * allowing duplicates to be garbage collected and making {@code equals} an identity check in the common case.
+     * Canonical instances are weakly held and are released when no longer reachable elsewhere.<p/>
+     *
+     * Interning is shallow: keys and values are compared by {@code equals} and are not themselves interned.
+     *
+     * @param map the map to intern.
+     * @return the canonical instance equal to {@code map}, or {@code map} itself.
+     * @throws NullPointerException if map is null.
+     */
+    public static <M extends ConstMap<?, ?>> M intern(M map) {
+        @SuppressWarnings("unchecked") M canonical = (M)interned.intern(map);
+        if (canonical != map && canonical instanceof SortedMap &&
+                !Objects.equals(((SortedMap<?, ?>)canonical).comparator(), ((SortedMap<?, ?>)map).comparator())) {
+            return map;
         }
+        return canonical;
     }
 }
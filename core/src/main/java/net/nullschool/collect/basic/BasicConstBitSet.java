@@ -0,0 +1,83 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstSet;
+
+import java.util.Collection;
+
+
+/**
+ * 2013-07-02<p/>
+ *
+ * A {@link ConstSet} whose elements are drawn from a small, fixed universe of at most 64 values and are stored as a
+ * single {@code long} bitmask. The universe is either the constants of an enum, where bit {@code i} represents the
+ * constant having ordinal {@code i}, or the Integers [0, 64), where bit {@code i} represents {@code i}. Membership
+ * tests, {@code with}, {@code without}, and set algebra with another bit set of the same universe are single word
+ * operations. Iteration follows bit order, i.e., ordinal or numeric order.<p/>
+ *
+ * Bit sets are constructed only on request, so the insertion order of ordinary sets is preserved. Introducing an
+ * element from outside the universe, such as {@code null}, produces an ordinary {@link BasicConstSet}.<p/>
+ *
+ * See {@link BasicCollections} for utility methods that construct instances of this set.
+ *
+ * @see BasicCollections#bitSetOf
+ * @see BasicCollections#enumSetOf
+ * @see BasicCollections#smallIntSetOf
+ *
+ * @author Cameron Beccario
+ */
+public abstract class BasicConstBitSet<E> extends BasicConstSet<E> {
+
+    BasicConstBitSet() {
+    }
+
+    /**
+     * Returns the type of this set's universe: an enum class, or Integer.
+     *
+     * @return the element type.
+     */
+    public abstract Class<E> elementType();
+
+    /**
+     * Returns the bitmask of this set's elements, where bit {@code i} is set when this set contains the element of
+     * the universe having ordinal (or value) {@code i}.
+     *
+     * @return the bitmask.
+     */
+    public abstract long bits();
+
+    /**
+     * Returns a set containing only those elements of this set that are also contained by the specified
+     * collection.
+     *
+     * @param c the collection to intersect with.
+     * @return the intersection of this set and the collection.
+     * @throws NullPointerException if {@code c} is null.
+     */
+    public abstract ConstSet<E> intersect(Collection<?> c);
+
+    // -------------------------------------------------------------------------
+    // Java serialization support
+
+    @Override Object writeReplace() {
+        return new BitSetProxy(elementType(), bits());
+    }
+
+    private static final long serialVersionUID = 1;
+}
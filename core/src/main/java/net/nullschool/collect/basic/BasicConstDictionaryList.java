@@ -0,0 +1,63 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+
+
+/**
+ * 2013-07-01<p/>
+ *
+ * A {@link ConstList} that stores each distinct element once in a dictionary, and the list itself as an array of
+ * codes indexing into that dictionary. Codes are packed into bytes, shorts, or ints depending on the size of the
+ * dictionary, so a list of millions of elements drawn from a handful of distinct values, such as status codes or
+ * enum constants, costs roughly one byte per element. Modifications produce lists that are also dictionary
+ * encoded.<p/>
+ *
+ * See {@link BasicCollections} for utility methods that construct instances of this list.
+ *
+ * @see BasicCollections#asDictionaryList
+ * @see BasicCollections#dictionaryListOf
+ *
+ * @author Cameron Beccario
+ */
+public abstract class BasicConstDictionaryList<E> extends BasicConstList<E> {
+
+    BasicConstDictionaryList() {
+    }
+
+    /**
+     * Returns the distinct values that this list's codes refer to. Every element of this list is equal to the
+     * dictionary entry at the element's {@link #code code}, although the dictionary may contain values that do not
+     * appear in the list.
+     *
+     * @return the dictionary of values.
+     */
+    public abstract ConstList<E> dictionary();
+
+    /**
+     * Returns the dictionary code of the element at the specified index.
+     *
+     * @param index the index of the element.
+     * @return the index into the {@link #dictionary} of the element's value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public abstract int code(int index);
+
+    private static final long serialVersionUID = 1;
+}
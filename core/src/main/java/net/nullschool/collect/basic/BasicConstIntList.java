@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstIntList;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * A {@link ConstIntList} that uses a {@code int} array to store its elements, avoiding the memory cost and
+ * indirection of boxing each element. Methods inherited from ConstList that may introduce elements other than
+ * ints, such as {@code with(null)}, return an ordinary {@link BasicConstList}.<p/>
+ *
+ * See {@link BasicCollections} for utility methods that construct instances of this list.
+ *
+ * @see BasicCollections#emptyIntList
+ * @see BasicCollections#intListOf
+ *
+ * @author Cameron Beccario
+ */
+public abstract class BasicConstIntList extends BasicConstList<Integer> implements ConstIntList {
+
+    BasicConstIntList() {
+    }
+
+    @Override public abstract ConstIntList subList(int fromIndex, int toIndex);
+
+    // -------------------------------------------------------------------------
+    // Java serialization support
+
+    @Override Object writeReplace() {
+        return new PrimitiveListProxy(toIntArray());
+    }
+
+    private static final long serialVersionUID = 1;
+}
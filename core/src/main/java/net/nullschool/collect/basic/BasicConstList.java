@@ -18,6 +18,8 @@ package net.nullschool.collect.basic;
 
 import net.nullschool.collect.AbstractUnmodifiableIterator;
 import net.nullschool.collect.ConstList;
+import net.nullschool.collect.ConstListBuilder;
+import net.nullschool.collect.SplittableIterator;
 
 import java.io.*;
 import java.util.*;
@@ -29,6 +31,12 @@ import java.util.*;
  * A {@link ConstList} that uses an array to store its elements, providing a memory efficient implementation of
  * ConstList but with O(N) complexity for most list operations. This list allows {@code null} elements.<p/>
  *
+ * Larger lists are stored as persistent vectors, a trie of 32-element arrays, so that appending an element is
+ * amortized O(1) and replacing an element is O(log32(N)).<p/>
+ *
+ * Appending one large list to another with {@link #withAll} is O(1): the result is a rope that shares both lists
+ * rather than copying them.<p/>
+ *
  * See {@link BasicCollections} for utility methods that construct instances of this list.
  *
  * @see BasicCollections#emptyList
@@ -98,8 +106,103 @@ public abstract class BasicConstList<E> extends AbstractList<E> implements Const
         return new ListIter(start);
     }
 
+    private class SplitIter extends AbstractUnmodifiableIterator<E> implements SplittableIterator<E> {
+
+        private int i;
+        private final int end;
+
+        SplitIter(int start, int end) {
+            this.i = start;
+            this.end = end;
+        }
+
+        @Override public boolean hasNext() {
+            return i < end;
+        }
+
+        @Override public E next() {
+            if (i < end) {
+                return get(i++);
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override public int remaining() {
+            return end - i;
+        }
+
+        @Override public SplittableIterator<E> trySplit() {
+            final int start = i, mid = (start + end) >>> 1;
+            if (mid == start) {
+                return null;
+            }
+            i = mid;
+            return new SplitIter(start, mid);
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements of this list that can be split for processing on multiple threads. The
+     * iterator splits exactly, by position, and preserves the list's iteration order.
+     *
+     * @return a new splittable iterator.
+     */
+    public SplittableIterator<E> splittableIterator() {
+        return new SplitIter(0, size());
+    }
+
     @Override public abstract ConstList<E> subList(int fromIndex, int toIndex);
 
+    /**
+     * Returns a new builder initialized with the elements of this list, for efficiently constructing a list derived
+     * from this one. No visible change to this list occurs.
+     *
+     * @return a new list builder.
+     */
+    public ConstListBuilder<E> toBuilder() {
+        return new BasicBuilders.ListBuilder<>(toArray());
+    }
+
+    /**
+     * The memoized hash code, or zero if not yet computed. This list is deeply immutable by contract, so the hash
+     * never changes and can be cached using the racy single-check idiom: a thread that reads zero simply recomputes
+     * and writes the same value.
+     */
+    private transient int hash;
+
+    /**
+     * Computes the hash code of this list as defined by {@link List#hashCode}. Implementations override this
+     * method rather than {@link #hashCode}, which memoizes the result.
+     */
+    int computeHashCode() {
+        return super.hashCode();
+    }
+
+    @Override public final int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            hash = h = computeHashCode();
+        }
+        return h;
+    }
+
+    /**
+     * Returns true if both this list and the specified object have memoized hash codes that differ, proving the two
+     * are not equal without comparing their contents.
+     */
+    boolean hashesDiffer(Object that) {
+        if (that instanceof BasicConstList) {
+            int thisHash = hash;
+            int thatHash = ((BasicConstList<?>)that).hash;
+            return thisHash != 0 && thatHash != 0 && thisHash != thatHash;
+        }
+        return false;
+    }
+
+    @Override public boolean equals(Object that) {
+        return this == that || !hashesDiffer(that) && super.equals(that);
+    }
+
     // -------------------------------------------------------------------------
     // Mutation methods marked final, always throw UnsupportedOperationException
 
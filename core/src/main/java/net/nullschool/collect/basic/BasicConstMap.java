@@ -30,6 +30,12 @@ import java.util.*;
  * This maps allows {@code null} keys and values, and uses {@link Object#equals} and {@link Object#hashCode} to test
  * for map membership.<p/>
  *
+ * Larger maps, those having more than a handful of entries, also maintain a hash index of their keys so that key
+ * lookups are O(1) and most map construction operations are O(N).<p/>
+ *
+ * Merging one large map into another with {@link #withAll} is O(1): the result layers the new entries over the
+ * existing ones and is materialized only when its entries are first iterated.<p/>
+ *
  * Note that this map is not sorted. See {@link BasicConstSortedMap} for a ConstSortedMap implementation.<p/>
  *
  * See {@link BasicCollections} for utility methods that construct instances of this map.
@@ -90,6 +96,74 @@ public abstract class BasicConstMap<K, V> extends AbstractIterableMap<K, V> impl
         return new Iter();
     }
 
+    private class SplitIter implements SplittableMapIterator<K, V> {
+
+        private int start;
+        private final int end;
+        private int cursor = -1;
+
+        SplitIter(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override public boolean hasNext() {
+            return start < end;
+        }
+
+        @Override public K next() {
+            final int i = start;
+            if (i < end) {
+                start = i + 1;
+                return getKey(cursor = i);
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override public V value() {
+            final int i = cursor;
+            if (i >= 0) {
+                return getValue(i);
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override public Map.Entry<K, V> entry() {
+            final int i = cursor;
+            if (i >= 0) {
+                return new AbstractMap.SimpleImmutableEntry<>(getKey(i), getValue(i));
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override public int remaining() {
+            return end - start;
+        }
+
+        @Override public SplittableMapIterator<K, V> trySplit() {
+            final int lo = start, mid = (lo + end) >>> 1;
+            if (mid == lo) {
+                return null;
+            }
+            start = mid;
+            return new SplitIter(lo, mid);
+        }
+    }
+
+    /**
+     * Returns an iterator over the entries of this map that can be split for processing on multiple threads. The
+     * iterator splits exactly, by position, and preserves the map's iteration order.
+     *
+     * @return a new splittable iterator.
+     */
+    public SplittableMapIterator<K, V> splittableIterator() {
+        return new SplitIter(0, size());
+    }
+
     @Override public abstract ConstSet<K> keySet();
 
     @Override public abstract ConstCollection<V> values();
@@ -109,6 +183,57 @@ public abstract class BasicConstMap<K, V> extends AbstractIterableMap<K, V> impl
 
     @Override public abstract ConstSet<Map.Entry<K, V>> entrySet();
 
+    /**
+     * Returns a new builder initialized with the entries of this map, for efficiently constructing a map derived
+     * from this one. No visible change to this map occurs.
+     *
+     * @return a new map builder.
+     */
+    public ConstMapBuilder<K, V> toBuilder() {
+        return new BasicBuilders.MapBuilder<>(BasicTools.copy(this));
+    }
+
+    /**
+     * The memoized hash code, or zero if not yet computed. This map is deeply immutable by contract, so the hash
+     * never changes and can be cached using the racy single-check idiom: a thread that reads zero simply recomputes
+     * and writes the same value.
+     */
+    private transient int hash;
+
+    /**
+     * Computes the hash code of this map as defined by {@link Map#hashCode}. Implementations override this
+     * method rather than {@link #hashCode}, which memoizes the result.
+     */
+    int computeHashCode() {
+        return super.hashCode();
+    }
+
+    @Override public final int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            hash = h = computeHashCode();
+        }
+        return h;
+    }
+
+    /**
+     * Returns true if both this map and the specified object have memoized hash codes that differ, proving the two
+     * are not equal without comparing their contents.
+     */
+    boolean hashesDiffer(Object that) {
+        // Sorted collections may consider elements equal that have different hash codes. See the sorted overrides.
+        if (that instanceof BasicConstMap && !(that instanceof SortedMap)) {
+            int thisHash = hash;
+            int thatHash = ((BasicConstMap<?, ?>)that).hash;
+            return thisHash != 0 && thatHash != 0 && thisHash != thatHash;
+        }
+        return false;
+    }
+
+    @Override public boolean equals(Object that) {
+        return this == that || !hashesDiffer(that) && super.equals(that);
+    }
+
     // -------------------------------------------------------------------------
     // Mutation methods marked final, always throw UnsupportedOperationException
 
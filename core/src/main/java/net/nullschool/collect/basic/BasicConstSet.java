@@ -18,6 +18,8 @@ package net.nullschool.collect.basic;
 
 import net.nullschool.collect.AbstractUnmodifiableIterator;
 import net.nullschool.collect.ConstSet;
+import net.nullschool.collect.ConstSetBuilder;
+import net.nullschool.collect.SplittableIterator;
 
 import java.io.*;
 import java.util.*;
@@ -31,6 +33,9 @@ import java.util.*;
  * This set allows {@code null} elements and uses {@link Object#equals} and {@link Object#hashCode} to test for set
  * membership.<p/>
  *
+ * Larger sets, those having more than a handful of elements, also maintain a hash index so that membership tests
+ * are O(1) and most set construction operations are O(N).<p/>
+ *
  * Note that this set is not sorted. See {@link BasicConstSortedSet} for a ConstSortedSet implementation.<p/>
  *
  * See {@link BasicCollections} for utility methods that construct instances of this set.
@@ -68,6 +73,102 @@ public abstract class BasicConstSet<E> extends AbstractSet<E> implements ConstSe
         return new Iter();
     }
 
+    private class SplitIter extends AbstractUnmodifiableIterator<E> implements SplittableIterator<E> {
+
+        private int i;
+        private final int end;
+
+        SplitIter(int start, int end) {
+            this.i = start;
+            this.end = end;
+        }
+
+        @Override public boolean hasNext() {
+            return i < end;
+        }
+
+        @Override public E next() {
+            if (i < end) {
+                return get(i++);
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override public int remaining() {
+            return end - i;
+        }
+
+        @Override public SplittableIterator<E> trySplit() {
+            final int start = i, mid = (start + end) >>> 1;
+            if (mid == start) {
+                return null;
+            }
+            i = mid;
+            return new SplitIter(start, mid);
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements of this set that can be split for processing on multiple threads. The
+     * iterator splits exactly, by position, and preserves the set's iteration order.
+     *
+     * @return a new splittable iterator.
+     */
+    public SplittableIterator<E> splittableIterator() {
+        return new SplitIter(0, size());
+    }
+
+    /**
+     * Returns a new builder initialized with the elements of this set, for efficiently constructing a set derived
+     * from this one. No visible change to this set occurs.
+     *
+     * @return a new set builder.
+     */
+    public ConstSetBuilder<E> toBuilder() {
+        return new BasicBuilders.SetBuilder<>(toArray());
+    }
+
+    /**
+     * The memoized hash code, or zero if not yet computed. This set is deeply immutable by contract, so the hash
+     * never changes and can be cached using the racy single-check idiom: a thread that reads zero simply recomputes
+     * and writes the same value.
+     */
+    private transient int hash;
+
+    /**
+     * Computes the hash code of this set as defined by {@link Set#hashCode}. Implementations override this
+     * method rather than {@link #hashCode}, which memoizes the result.
+     */
+    int computeHashCode() {
+        return super.hashCode();
+    }
+
+    @Override public final int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            hash = h = computeHashCode();
+        }
+        return h;
+    }
+
+    /**
+     * Returns true if both this set and the specified object have memoized hash codes that differ, proving the two
+     * are not equal without comparing their contents.
+     */
+    boolean hashesDiffer(Object that) {
+        // Sorted collections may consider elements equal that have different hash codes. See the sorted overrides.
+        if (that instanceof BasicConstSet && !(that instanceof SortedSet)) {
+            int thisHash = hash;
+            int thatHash = ((BasicConstSet<?>)that).hash;
+            return thisHash != 0 && thatHash != 0 && thisHash != thatHash;
+        }
+        return false;
+    }
+
+    @Override public boolean equals(Object that) {
+        return this == that || !hashesDiffer(that) && super.equals(that);
+    }
+
     // -------------------------------------------------------------------------
     // Mutation methods marked final, always throw UnsupportedOperationException
 
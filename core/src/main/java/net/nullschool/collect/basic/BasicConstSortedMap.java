@@ -23,6 +23,10 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.util.*;
 
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static net.nullschool.util.ArrayTools.EMPTY_OBJECT_ARRAY;
+
 
 /**
  * 2013-04-29<p/>
@@ -33,14 +37,20 @@ import java.util.*;
  * natural ordering} if the comparator is {@code null}. This map allows {@code null} keys only if the associated
  * {@link Comparator} allows nulls.<p/>
  *
+ * Larger maps are stored as persistent B-trees so that modifications and range views are O(log(N)).<p/>
+ *
+ * This map is also a {@link ConstNavigableMap}. Closest-match key lookups such as {@link #floorKey} are O(log(N))
+ * and do not allocate. The {@link #descendingMap} is a reversed copy, constructed in O(N).<p/>
+ *
  * See {@link BasicCollections} for utility methods that construct instances of this map.
  *
  * @see BasicCollections#emptySortedMap
  * @see BasicCollections#sortedMapOf
+ * @see BasicCollections#asNavigableMap
  *
  * @author Cameron Beccario
  */
-public abstract class BasicConstSortedMap<K, V> extends BasicConstMap<K, V> implements ConstSortedMap<K, V> {
+public abstract class BasicConstSortedMap<K, V> extends BasicConstMap<K, V> implements ConstNavigableMap<K, V> {
 
     final Comparator<? super K> comparator;
 
@@ -56,12 +66,234 @@ public abstract class BasicConstSortedMap<K, V> extends BasicConstMap<K, V> impl
         return ObjectTools.compare(left, right, comparator);
     }
 
-    @Override public abstract ConstSortedSet<K> keySet();
+    /**
+     * Returns the index of the specified key, or {@code (-insertion_point - 1)} just like {@link
+     * Arrays#binarySearch}. This implementation performs a binary search using {@link #getKey}. Subclasses override
+     * this method when they can search more efficiently.
+     */
+    int indexOf(Object key) {
+        // Cast to K is safe here because the comparator will do type checking when the compare method is invoked.
+        @SuppressWarnings("unchecked") K k = (K)key;
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(getKey(mid), k);
+            if (cmp < 0) {
+                low = mid + 1;
+            }
+            else if (cmp > 0) {
+                high = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return flip(low);
+    }
+
+    private K keyAt(int index) {
+        return 0 <= index && index < size() ? getKey(index) : null;
+    }
+
+    private Entry<K, V> entryAt(int index) {
+        return 0 <= index && index < size() ?
+            new AbstractMap.SimpleImmutableEntry<>(getKey(index), getValue(index)) :
+            null;
+    }
+
+    @Override public K lowerKey(K key) {
+        return keyAt(lowerIndex(indexOf(key)));
+    }
+
+    @Override public K floorKey(K key) {
+        return keyAt(floorIndex(indexOf(key)));
+    }
+
+    @Override public K ceilingKey(K key) {
+        return keyAt(ceilingIndex(indexOf(key)));
+    }
+
+    @Override public K higherKey(K key) {
+        return keyAt(higherIndex(indexOf(key)));
+    }
+
+    @Override public Entry<K, V> lowerEntry(K key) {
+        return entryAt(lowerIndex(indexOf(key)));
+    }
+
+    @Override public Entry<K, V> floorEntry(K key) {
+        return entryAt(floorIndex(indexOf(key)));
+    }
+
+    @Override public Entry<K, V> ceilingEntry(K key) {
+        return entryAt(ceilingIndex(indexOf(key)));
+    }
+
+    @Override public Entry<K, V> higherEntry(K key) {
+        return entryAt(higherIndex(indexOf(key)));
+    }
+
+    @Override public Entry<K, V> firstEntry() {
+        return entryAt(0);
+    }
+
+    @Override public Entry<K, V> lastEntry() {
+        return entryAt(size() - 1);
+    }
+
+    @Override public ConstNavigableSet<K> navigableKeySet() {
+        return keySet();
+    }
+
+    @Override public ConstNavigableSet<K> descendingKeySet() {
+        return keySet().descendingSet();
+    }
+
+    @Override public ConstNavigableMap<K, V> descendingMap() {
+        MapColumns mc = BasicTools.copy(this);
+        Collections.reverse(Arrays.asList(mc.keys));
+        Collections.reverse(Arrays.asList(mc.values));
+        return condenseToSortedMap(reverseOrder(comparator), mc);
+    }
+
+    /**
+     * Returns the entries in the index range [fromIndex, toIndex) as a map, in terms of the exclusive range
+     * methods.
+     */
+    private ConstNavigableMap<K, V> range(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return BasicSortedMap0.instance(comparator);
+        }
+        if (fromIndex == 0 && toIndex == size()) {
+            return this;
+        }
+        return toIndex == size() ? tailMap(getKey(fromIndex)) : subMap(getKey(fromIndex), getKey(toIndex));
+    }
+
+    @Override public ConstNavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        int i = indexOf(toKey);
+        return range(0, inclusive ? higherIndex(i) : ceilingIndex(i));
+    }
+
+    @Override public ConstNavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        int i = indexOf(fromKey);
+        return range(inclusive ? ceilingIndex(i) : higherIndex(i), size());
+    }
+
+    @Override public ConstNavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey cannot be greater than toKey");
+        }
+        int from = indexOf(fromKey);
+        int to = indexOf(toKey);
+        return range(
+            fromInclusive ? ceilingIndex(from) : higherIndex(from),
+            toInclusive ? higherIndex(to) : ceilingIndex(to));
+    }
+
+    /**
+     * Returns this map's entries as columns in sorted order. The caller must not modify the resulting arrays, which
+     * may be the map's own backing arrays.
+     */
+    MapColumns sortedColumns() {
+        return BasicTools.copy(this);
+    }
+
+    /**
+     * Returns true if the specified map is a sorted map having the same ordering as this map.
+     */
+    boolean sharesOrdering(Map<?, ?> map) {
+        return map instanceof SortedMap && Objects.equals(comparator, ((SortedMap<?, ?>)map).comparator());
+    }
+
+    /**
+     * Returns true if the specified collection of keys is a sorted set having the same ordering as this map.
+     */
+    boolean sharesOrdering(Collection<?> keys) {
+        return keys instanceof SortedSet && Objects.equals(comparator, ((SortedSet<?>)keys).comparator());
+    }
+
+    /**
+     * Returns the unique entries of the specified map as columns sorted with the specified comparator. The caller
+     * must not modify the resulting arrays, which may be the map's own backing arrays.
+     */
+    static MapColumns sortedColumns(Comparator<?> comparator, Map<?, ?> map) {
+        if (map instanceof SortedMap && Objects.equals(comparator, ((SortedMap<?, ?>)map).comparator())) {
+            // Already in the desired order.
+            return map instanceof BasicConstSortedMap ? ((BasicConstSortedMap<?, ?>)map).sortedColumns() : copy(map);
+        }
+        MapColumns mc = copy(map);
+        return unionInto(EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY, mc.keys, mc.values, comparator);
+    }
+
+    /**
+     * Merges this map with the specified sorted columns, keeping the entries selected by the merge flags. The right
+     * values are null when merging with keys only.
+     */
+    private ConstNavigableMap<K, V> merge(int keep, Object[] rightKeys, Object[] rightValues) {
+        MapColumns left = sortedColumns();
+        if (rightKeys.length == 0) {
+            return (keep & KEEP_LEFT) != 0 ? this : BasicSortedMap0.<K, V>instance(comparator);
+        }
+        int capacity = mergeCapacity(keep, left.keys.length, rightKeys.length);
+        Object[] resultKeys = new Object[capacity];
+        Object[] resultValues = new Object[capacity];
+        int size = BasicTools.merge(
+            keep,
+            left.keys,
+            left.values,
+            rightKeys,
+            rightValues,
+            comparator,
+            resultKeys,
+            resultValues);
+        if (size == left.keys.length && (keep & KEEP_RIGHT) == 0) {
+            return this;  // The entries of this map were all kept and nothing was added or replaced.
+        }
+        return BasicCollections.<K, V>condenseToSortedMap(comparator, resultKeys, resultValues, size);
+    }
+
+    @Override public ConstNavigableMap<K, V> union(Map<? extends K, ? extends V> map) {
+        MapColumns mc = sortedColumns(comparator, map);
+        return merge(UNION, mc.keys, mc.values);
+    }
+
+    @Override public ConstNavigableMap<K, V> intersect(Collection<?> keys) {
+        return merge(INTERSECTION, BasicConstSortedSet.sortedArray(comparator, keys), null);
+    }
+
+    @Override public ConstNavigableMap<K, V> difference(Collection<?> keys) {
+        return merge(DIFFERENCE, BasicConstSortedSet.sortedArray(comparator, keys), null);
+    }
+
+    @Override public ConstNavigableMap<K, V> symmetricDifference(Map<? extends K, ? extends V> map) {
+        MapColumns mc = sortedColumns(comparator, map);
+        return merge(SYMMETRIC_DIFFERENCE, mc.keys, mc.values);
+    }
+
+    @Override boolean hashesDiffer(Object that) {
+        // Sorted maps compare keys using the comparator (or natural ordering), which need not be consistent with
+        // equals. Two equal sorted maps may therefore have different hash codes, so the hashes prove nothing.
+        return false;
+    }
+
+    @Override public ConstSortedMapBuilder<K, V> toBuilder() {
+        return new BasicBuilders.SortedMapBuilder<>(comparator, BasicTools.copy(this));
+    }
+
+    @Override public abstract ConstNavigableSet<K> keySet();
 
     @Override public abstract ConstCollection<V> values();
 
     @Override public abstract ConstSet<Map.Entry<K, V>> entrySet();
 
+    // -------------------------------------------------------------------------
+    // Mutation methods marked final, always throw UnsupportedOperationException
+
+    @Deprecated @Override public final Entry<K, V> pollFirstEntry() { throw new UnsupportedOperationException(); }
+    @Deprecated @Override public final Entry<K, V> pollLastEntry()  { throw new UnsupportedOperationException(); }
+
     // -------------------------------------------------------------------------
     // Java serialization support
 
@@ -16,13 +16,20 @@
 
 package net.nullschool.collect.basic;
 
+import net.nullschool.collect.AbstractUnmodifiableIterator;
+import net.nullschool.collect.ConstNavigableSet;
 import net.nullschool.collect.ConstSortedSet;
+import net.nullschool.collect.ConstSortedSetBuilder;
 import net.nullschool.util.ObjectTools;
 
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.util.*;
 
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static net.nullschool.util.ArrayTools.EMPTY_OBJECT_ARRAY;
+
 
 /**
  * 2013-03-18<p/>
@@ -33,14 +40,20 @@ import java.util.*;
  * natural ordering} if the comparator is {@code null}. This set allows {@code null} elements only if the associated
  * {@link Comparator} allows nulls.<p/>
  *
+ * Larger sets are stored as persistent B-trees so that modifications and range views are O(log(N)).<p/>
+ *
+ * This set is also a {@link ConstNavigableSet}. Closest-match lookups such as {@link #floor} are O(log(N)) and do
+ * not allocate. The {@link #descendingSet} is a reversed copy, constructed in O(N).<p/>
+ *
  * See {@link BasicCollections} for utility methods that construct instances of this set.
  *
  * @see BasicCollections#emptySortedSet
  * @see BasicCollections#sortedSetOf
+ * @see BasicCollections#asNavigableSet
  *
  * @author Cameron Beccario
  */
-public abstract class BasicConstSortedSet<E> extends BasicConstSet<E> implements ConstSortedSet<E> {
+public abstract class BasicConstSortedSet<E> extends BasicConstSet<E> implements ConstNavigableSet<E> {
 
     final Comparator<? super E> comparator;
 
@@ -56,6 +69,199 @@ public abstract class BasicConstSortedSet<E> extends BasicConstSet<E> implements
         return ObjectTools.compare(left, right, comparator);
     }
 
+    /**
+     * Returns the index of the specified element, or {@code (-insertion_point - 1)} just like {@link
+     * Arrays#binarySearch}. This implementation performs a binary search using {@link #get}. Subclasses override
+     * this method when they can search more efficiently.
+     */
+    int indexOf(Object o) {
+        // Cast to E is safe here because the comparator will do type checking when the compare method is invoked.
+        @SuppressWarnings("unchecked") E e = (E)o;
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(get(mid), e);
+            if (cmp < 0) {
+                low = mid + 1;
+            }
+            else if (cmp > 0) {
+                high = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return flip(low);
+    }
+
+    private E elementAt(int index) {
+        return 0 <= index && index < size() ? get(index) : null;
+    }
+
+    @Override public E lower(E e) {
+        return elementAt(lowerIndex(indexOf(e)));
+    }
+
+    @Override public E floor(E e) {
+        return elementAt(floorIndex(indexOf(e)));
+    }
+
+    @Override public E ceiling(E e) {
+        return elementAt(ceilingIndex(indexOf(e)));
+    }
+
+    @Override public E higher(E e) {
+        return elementAt(higherIndex(indexOf(e)));
+    }
+
+    private class DescendingIter extends AbstractUnmodifiableIterator<E> {
+
+        private int cursor = size();
+
+        @Override public boolean hasNext() {
+            return cursor != 0;
+        }
+
+        @Override public E next() {
+            final int i = cursor;
+            if (i != 0) {
+                return get(cursor = i - 1);
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override public Iterator<E> descendingIterator() {
+        return new DescendingIter();
+    }
+
+    @Override public ConstNavigableSet<E> descendingSet() {
+        Object[] elements = toArray();
+        Collections.reverse(Arrays.asList(elements));
+        return condenseToSortedSet(reverseOrder(comparator), elements);
+    }
+
+    /**
+     * Returns the elements in the index range [fromIndex, toIndex) as a set, in terms of the exclusive range
+     * methods.
+     */
+    private ConstNavigableSet<E> range(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return BasicSortedSet0.instance(comparator);
+        }
+        if (fromIndex == 0 && toIndex == size()) {
+            return this;
+        }
+        return toIndex == size() ? tailSet(get(fromIndex)) : subSet(get(fromIndex), get(toIndex));
+    }
+
+    @Override public ConstNavigableSet<E> headSet(E toElement, boolean inclusive) {
+        int i = indexOf(toElement);
+        return range(0, inclusive ? higherIndex(i) : ceilingIndex(i));
+    }
+
+    @Override public ConstNavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+        int i = indexOf(fromElement);
+        return range(inclusive ? ceilingIndex(i) : higherIndex(i), size());
+    }
+
+    @Override public ConstNavigableSet<E> subSet(
+        E fromElement,
+        boolean fromInclusive,
+        E toElement,
+        boolean toInclusive) {
+
+        if (compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("fromElement cannot be greater than toElement");
+        }
+        int from = indexOf(fromElement);
+        int to = indexOf(toElement);
+        return range(
+            fromInclusive ? ceilingIndex(from) : higherIndex(from),
+            toInclusive ? higherIndex(to) : ceilingIndex(to));
+    }
+
+    /**
+     * Returns this set's elements in sorted order. The caller must not modify the resulting array, which may be
+     * the set's own backing array.
+     */
+    Object[] sortedArray() {
+        return toArray();
+    }
+
+    /**
+     * Returns true if the specified collection is a sorted set having the same ordering as this set, so that its
+     * iteration order and its notion of membership agree with this set's.
+     */
+    boolean sharesOrdering(Collection<?> c) {
+        return c instanceof SortedSet && Objects.equals(comparator, ((SortedSet<?>)c).comparator());
+    }
+
+    /**
+     * Returns the unique elements of the specified collection sorted with the specified comparator. The caller must
+     * not modify the resulting array, which may be the collection's own backing array.
+     */
+    static Object[] sortedArray(Comparator<?> comparator, Collection<?> c) {
+        if (c instanceof SortedSet && Objects.equals(comparator, ((SortedSet<?>)c).comparator())) {
+            // Already in the desired order.
+            return c instanceof BasicConstSortedSet ? ((BasicConstSortedSet<?>)c).sortedArray() : c.toArray();
+        }
+        // Cast to comparator of object is safe here because each comparator will do its own type checking when
+        // the compare method is invoked.
+        @SuppressWarnings("unchecked") Comparator<Object> objComparator = (Comparator<Object>)comparator;
+        return unionInto(EMPTY_OBJECT_ARRAY, c.toArray(), objComparator);
+    }
+
+    /**
+     * Merges this set with the specified collection, keeping the elements selected by the merge flags.
+     */
+    private ConstNavigableSet<E> merge(int keep, Collection<?> c) {
+        Object[] left = sortedArray();
+        Object[] right = sortedArray(comparator, c);
+        if (right.length == 0) {
+            return (keep & KEEP_LEFT) != 0 ? this : BasicSortedSet0.<E>instance(comparator);
+        }
+        Object[] result = new Object[mergeCapacity(keep, left.length, right.length)];
+        int size = BasicTools.merge(keep, left, null, right, null, comparator, result, null);
+        if (size == left.length && keep != SYMMETRIC_DIFFERENCE) {
+            return this;  // The elements of this set were all kept and nothing was added.
+        }
+        return condenseToSortedSet(comparator, result, size);
+    }
+
+    @Override public ConstNavigableSet<E> union(Collection<? extends E> c) {
+        return merge(UNION, c);
+    }
+
+    @Override public ConstNavigableSet<E> intersect(Collection<?> c) {
+        return merge(INTERSECTION, c);
+    }
+
+    @Override public ConstNavigableSet<E> difference(Collection<?> c) {
+        return merge(DIFFERENCE, c);
+    }
+
+    @Override public ConstNavigableSet<E> symmetricDifference(Collection<? extends E> c) {
+        return merge(SYMMETRIC_DIFFERENCE, c);
+    }
+
+    @Override boolean hashesDiffer(Object that) {
+        // Sorted sets compare elements using the comparator (or natural ordering), which need not be consistent with
+        // equals. Two equal sorted sets may therefore have different hash codes, so the hashes prove nothing.
+        return false;
+    }
+
+    @Override public ConstSortedSetBuilder<E> toBuilder() {
+        return new BasicBuilders.SortedSetBuilder<>(comparator, toArray());
+    }
+
+    // -------------------------------------------------------------------------
+    // Mutation methods marked final, always throw UnsupportedOperationException
+
+    @Deprecated @Override public final E pollFirst() { throw new UnsupportedOperationException(); }
+    @Deprecated @Override public final E pollLast()  { throw new UnsupportedOperationException(); }
+
     // -------------------------------------------------------------------------
     // Java serialization support
 
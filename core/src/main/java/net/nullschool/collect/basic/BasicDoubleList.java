@@ -0,0 +1,217 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.ConstDoubleList;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static net.nullschool.collect.basic.PrimitiveArrays.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * A BasicConstDoubleList backed by a {@code double} array. Bounds checking and copying are shared with the other primitive
+ * lists through {@link PrimitiveArrays}.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstDoubleList.class)
+final class BasicDoubleList extends BasicConstDoubleList {
+
+    private static final BasicDoubleList EMPTY = new BasicDoubleList(new double[0]);
+
+    static BasicDoubleList instance() {
+        return EMPTY;
+    }
+
+    private final double[] elements;
+
+    BasicDoubleList(double[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Returns a new array of the unboxed elements of the specified collection, or null if any element is not
+     * a Double.
+     */
+    static double[] unbox(Collection<?> c) {
+        Object[] boxed = c.toArray();
+        double[] result = new double[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            Object o = boxed[i];
+            if (!(o instanceof Double)) {
+                return null;
+            }
+            result[i] = (Double)o;
+        }
+        return result;
+    }
+
+    private static int hash(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return (int)(bits ^ (bits >>> 32));
+    }
+
+    private static boolean same(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    private BasicConstList<Double> boxed() {
+        return condenseToList(toArray());
+    }
+
+    @Override public int size() {
+        return elements.length;
+    }
+
+    @Override public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    @Override public Double get(int index) {
+        return elements[index];
+    }
+
+    @Override public double getDouble(int index) {
+        return elements[index];
+    }
+
+    @Override public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override public int indexOf(Object o) {
+        return o instanceof Double ? indexOfDouble((Double)o) : -1;
+    }
+
+    @Override public int indexOfDouble(double value) {
+        for (int i = 0; i < elements.length; i++) {
+            if (same(elements[i], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override public int lastIndexOf(Object o) {
+        if (o instanceof Double) {
+            double value = (Double)o;
+            for (int i = elements.length - 1; i >= 0; i--) {
+                if (same(elements[i], value)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override public double[] toDoubleArray() {
+        return elements.clone();
+    }
+
+    @Override public Object[] toArray() {
+        Object[] result = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            result[i] = elements[i];
+        }
+        return result;
+    }
+
+    @Override public ConstDoubleList withDouble(double value) {
+        return withDouble(elements.length, value);
+    }
+
+    @Override public ConstDoubleList withDouble(int index, double value) {
+        double[] result = insert(elements, index, 1);
+        result[index] = value;
+        return new BasicDoubleList(result);
+    }
+
+    @Override public ConstDoubleList replaceDouble(int index, double value) {
+        checkIndex(index, elements.length);
+        double[] result = elements.clone();
+        result[index] = value;
+        return new BasicDoubleList(result);
+    }
+
+    @Override public ConstList<Double> with(Double e) {
+        return with(elements.length, e);
+    }
+
+    @Override public ConstList<Double> with(int index, Double e) {
+        return e != null ? withDouble(index, e) : boxed().with(index, e);
+    }
+
+    @Override public ConstList<Double> withAll(Collection<? extends Double> c) {
+        return withAll(elements.length, c);
+    }
+
+    @Override public ConstList<Double> withAll(int index, Collection<? extends Double> c) {
+        checkPosition(index, elements.length);
+        if (c.isEmpty()) {
+            return this;
+        }
+        double[] additional = unbox(c);
+        return additional != null ? new BasicDoubleList(insert(elements, index, additional)) : boxed().withAll(index, c);
+    }
+
+    @Override public ConstList<Double> replace(int index, Double e) {
+        return e != null ? replaceDouble(index, e) : boxed().replace(index, e);
+    }
+
+    @Override public ConstDoubleList without(Object o) {
+        int index = indexOf(o);
+        return index < 0 ? this : delete(index);
+    }
+
+    @Override public ConstDoubleList delete(int index) {
+        return condenseToDoubleList(PrimitiveArrays.delete(elements, index));
+    }
+
+    @Override public ConstDoubleList withoutAll(Collection<?> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        double[] result = deleteAll(elements, this, c);
+        return result == elements ? this : condenseToDoubleList(result);
+    }
+
+    @Override public ConstDoubleList subList(int fromIndex, int toIndex) {
+        return condenseToDoubleList(copyRange(elements, fromIndex, toIndex));
+    }
+
+    @Override public boolean equals(Object o) {
+        if (o instanceof BasicDoubleList) {
+            return this == o || !hashesDiffer(o) && Arrays.equals(elements, ((BasicDoubleList)o).elements);
+        }
+        return super.equals(o);
+    }
+
+    @Override int computeHashCode() {
+        int result = 1;
+        for (double value : elements) {
+            result = 31 * result + hash(value);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.ConstIntList;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static net.nullschool.collect.basic.PrimitiveArrays.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * A BasicConstIntList backed by a {@code int} array. Bounds checking and copying are shared with the other primitive
+ * lists through {@link PrimitiveArrays}.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstIntList.class)
+final class BasicIntList extends BasicConstIntList {
+
+    private static final BasicIntList EMPTY = new BasicIntList(new int[0]);
+
+    static BasicIntList instance() {
+        return EMPTY;
+    }
+
+    private final int[] elements;
+
+    BasicIntList(int[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Returns a new array of the unboxed elements of the specified collection, or null if any element is not
+     * an Integer.
+     */
+    static int[] unbox(Collection<?> c) {
+        Object[] boxed = c.toArray();
+        int[] result = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            Object o = boxed[i];
+            if (!(o instanceof Integer)) {
+                return null;
+            }
+            result[i] = (Integer)o;
+        }
+        return result;
+    }
+
+    private static int hash(int value) {
+        return value;
+    }
+
+    private static boolean same(int a, int b) {
+        return a == b;
+    }
+
+    private BasicConstList<Integer> boxed() {
+        return condenseToList(toArray());
+    }
+
+    @Override public int size() {
+        return elements.length;
+    }
+
+    @Override public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    @Override public Integer get(int index) {
+        return elements[index];
+    }
+
+    @Override public int getInt(int index) {
+        return elements[index];
+    }
+
+    @Override public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override public int indexOf(Object o) {
+        return o instanceof Integer ? indexOfInt((Integer)o) : -1;
+    }
+
+    @Override public int indexOfInt(int value) {
+        for (int i = 0; i < elements.length; i++) {
+            if (same(elements[i], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override public int lastIndexOf(Object o) {
+        if (o instanceof Integer) {
+            int value = (Integer)o;
+            for (int i = elements.length - 1; i >= 0; i--) {
+                if (same(elements[i], value)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override public int[] toIntArray() {
+        return elements.clone();
+    }
+
+    @Override public Object[] toArray() {
+        Object[] result = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            result[i] = elements[i];
+        }
+        return result;
+    }
+
+    @Override public ConstIntList withInt(int value) {
+        return withInt(elements.length, value);
+    }
+
+    @Override public ConstIntList withInt(int index, int value) {
+        int[] result = insert(elements, index, 1);
+        result[index] = value;
+        return new BasicIntList(result);
+    }
+
+    @Override public ConstIntList replaceInt(int index, int value) {
+        checkIndex(index, elements.length);
+        int[] result = elements.clone();
+        result[index] = value;
+        return new BasicIntList(result);
+    }
+
+    @Override public ConstList<Integer> with(Integer e) {
+        return with(elements.length, e);
+    }
+
+    @Override public ConstList<Integer> with(int index, Integer e) {
+        return e != null ? withInt(index, e) : boxed().with(index, e);
+    }
+
+    @Override public ConstList<Integer> withAll(Collection<? extends Integer> c) {
+        return withAll(elements.length, c);
+    }
+
+    @Override public ConstList<Integer> withAll(int index, Collection<? extends Integer> c) {
+        checkPosition(index, elements.length);
+        if (c.isEmpty()) {
+            return this;
+        }
+        int[] additional = unbox(c);
+        return additional != null ? new BasicIntList(insert(elements, index, additional)) : boxed().withAll(index, c);
+    }
+
+    @Override public ConstList<Integer> replace(int index, Integer e) {
+        return e != null ? replaceInt(index, e) : boxed().replace(index, e);
+    }
+
+    @Override public ConstIntList without(Object o) {
+        int index = indexOf(o);
+        return index < 0 ? this : delete(index);
+    }
+
+    @Override public ConstIntList delete(int index) {
+        return condenseToIntList(PrimitiveArrays.delete(elements, index));
+    }
+
+    @Override public ConstIntList withoutAll(Collection<?> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        int[] result = deleteAll(elements, this, c);
+        return result == elements ? this : condenseToIntList(result);
+    }
+
+    @Override public ConstIntList subList(int fromIndex, int toIndex) {
+        return condenseToIntList(copyRange(elements, fromIndex, toIndex));
+    }
+
+    @Override public boolean equals(Object o) {
+        if (o instanceof BasicIntList) {
+            return this == o || !hashesDiffer(o) && Arrays.equals(elements, ((BasicIntList)o).elements);
+        }
+        return super.equals(o);
+    }
+
+    @Override int computeHashCode() {
+        int result = 1;
+        for (int value : elements) {
+            result = 31 * result + hash(value);
+        }
+        return result;
+    }
+}
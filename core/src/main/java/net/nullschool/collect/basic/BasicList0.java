@@ -144,7 +144,7 @@ final class BasicList0<E> extends BasicConstList<E> {
         return this == that || that instanceof List && ((List<?>)that).isEmpty();
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return 1;
     }
 
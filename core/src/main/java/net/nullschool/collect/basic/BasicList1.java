@@ -142,7 +142,7 @@ final class BasicList1<E> extends BasicConstList<E> {
         return this == that || that instanceof List && equals((List<?>)that);
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return 31 + Objects.hashCode(e0);
     }
 }
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.AbstractUnmodifiableIterator;
+import net.nullschool.collect.ConstList;
+import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.ArrayTools;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-07-04<p/>
+ *
+ * A list that is the lazy concatenation of two other lists, forming a rope. Appending one large list to another is
+ * O(1) because neither is copied. Indexed access descends the rope, so its cost grows with the depth of the rope;
+ * once the depth exceeds {@link BasicCollections#COMPOSITE_DEPTH_LIMIT} the rope is materialized into an ordinary
+ * list. Ropes are constructed by {@link BasicCollections#concatList}.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstList.class)
+final class BasicListC<E> extends BasicConstList<E> {
+
+    private final BasicConstList<E> left;
+    private final BasicConstList<E> right;
+    private final int size;
+    private final int depth;
+
+    private BasicListC(BasicConstList<E> left, BasicConstList<E> right, int depth) {
+        assert !left.isEmpty() && !right.isEmpty();
+        this.left = left;
+        this.right = right;
+        this.size = left.size() + right.size();
+        this.depth = depth;
+    }
+
+    private static int depthOf(List<?> list) {
+        return list instanceof BasicListC ? ((BasicListC<?>)list).depth : 0;
+    }
+
+    /**
+     * Returns the concatenation of two lists, materialized if the resulting rope would be too deep.
+     */
+    static <E> BasicConstList<E> of(BasicConstList<E> left, BasicConstList<E> right) {
+        if (left.isEmpty()) {
+            return right;
+        }
+        if (right.isEmpty()) {
+            return left;
+        }
+        final int depth = Math.max(depthOf(left), depthOf(right)) + 1;
+        if (depth > COMPOSITE_DEPTH_LIMIT) {
+            Object[] elements = new Object[left.size() + right.size()];
+            copyInto(left, elements, 0);
+            copyInto(right, elements, left.size());
+            return condenseToList(elements);
+        }
+        return new BasicListC<>(left, right, depth);
+    }
+
+    private static <E> BasicConstList<E> of(ConstList<E> left, ConstList<E> right) {
+        // Every list produced by the modification methods of a BasicConstList is itself a BasicConstList.
+        return of((BasicConstList<E>)left, (BasicConstList<E>)right);
+    }
+
+    /**
+     * Copies the elements of the specified list into the destination array starting at the specified offset.
+     */
+    private static void copyInto(BasicConstList<?> list, Object[] dest, int offset) {
+        if (list instanceof BasicListC) {
+            BasicListC<?> rope = (BasicListC<?>)list;
+            copyInto(rope.left, dest, offset);
+            copyInto(rope.right, dest, offset + rope.left.size());
+        }
+        else {
+            System.arraycopy(list.toArray(), 0, dest, offset, list.size());
+        }
+    }
+
+    /**
+     * Appends the leaves of the specified list, in order, to the specified collection.
+     */
+    private static <E> void collectLeaves(BasicConstList<E> list, Collection<BasicConstList<E>> leaves) {
+        if (list instanceof BasicListC) {
+            BasicListC<E> rope = (BasicListC<E>)list;
+            collectLeaves(rope.left, leaves);
+            collectLeaves(rope.right, leaves);
+        }
+        else {
+            leaves.add(list);
+        }
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    @Override public E get(int index) {
+        if (index < 0 || size <= index) {
+            throw new IndexOutOfBoundsException();
+        }
+        BasicConstList<E> list = this;
+        while (list instanceof BasicListC) {
+            BasicListC<E> rope = (BasicListC<E>)list;
+            final int leftSize = rope.left.size();
+            if (index < leftSize) {
+                list = rope.left;
+            }
+            else {
+                list = rope.right;
+                index -= leftSize;
+            }
+        }
+        return list.get(index);
+    }
+
+    @Override public boolean contains(Object o) {
+        return left.contains(o) || right.contains(o);
+    }
+
+    @Override public int indexOf(Object o) {
+        int index = left.indexOf(o);
+        if (index < 0) {
+            index = right.indexOf(o);
+            return index < 0 ? -1 : left.size() + index;
+        }
+        return index;
+    }
+
+    @Override public int lastIndexOf(Object o) {
+        int index = right.lastIndexOf(o);
+        return index < 0 ? left.lastIndexOf(o) : left.size() + index;
+    }
+
+    /**
+     * Iterates each leaf in turn with the leaf's own iterator, avoiding a rope descent for every element.
+     */
+    private final class Iter extends AbstractUnmodifiableIterator<E> {
+
+        private final Iterator<BasicConstList<E>> leaves;
+        private Iterator<E> current = Collections.emptyIterator();
+
+        private Iter() {
+            List<BasicConstList<E>> list = new ArrayList<>();
+            collectLeaves(BasicListC.this, list);
+            leaves = list.iterator();
+        }
+
+        @Override public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (!leaves.hasNext()) {
+                    return false;
+                }
+                current = leaves.next().iterator();
+            }
+            return true;
+        }
+
+        @Override public E next() {
+            if (hasNext()) {
+                return current.next();
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override public Iterator<E> iterator() {
+        return new Iter();
+    }
+
+    @Override public Object[] toArray() {
+        Object[] result = new Object[size];
+        copyInto(this, result, 0);
+        return result;
+    }
+
+    @Override public ConstList<E> with(E e) {
+        return of(left, right.with(e));
+    }
+
+    @Override public ConstList<E> with(int index, E e) {
+        final int leftSize = left.size();
+        return index < leftSize ? of(left.with(index, e), right) : of(left, right.with(index - leftSize, e));
+    }
+
+    @Override public ConstList<E> withAll(Collection<? extends E> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        BasicConstList<E> rope = concatList(this, c);
+        return rope != null ? rope : of(left, right.withAll(c));
+    }
+
+    @Override public ConstList<E> withAll(int index, Collection<? extends E> c) {
+        if (index == size) {
+            return withAll(c);
+        }
+        if (0 <= index && index < size) {
+            if (c.isEmpty()) {
+                return this;
+            }
+            final int leftSize = left.size();
+            return index < leftSize ?
+                of(left.withAll(index, c), right) :
+                of(left, right.withAll(index - leftSize, c));
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override public ConstList<E> replace(int index, E e) {
+        final int leftSize = left.size();
+        return index < leftSize ? of(left.replace(index, e), right) : of(left, right.replace(index - leftSize, e));
+    }
+
+    @Override public ConstList<E> without(Object o) {
+        int index = indexOf(o);
+        return index < 0 ? this : delete(index);
+    }
+
+    @Override public ConstList<E> delete(int index) {
+        final int leftSize = left.size();
+        return index < leftSize ? of(left.delete(index), right) : of(left, right.delete(index - leftSize));
+    }
+
+    @Override public ConstList<E> withoutAll(Collection<?> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        Object[] shrunk = deleteAll(toArray(), c);
+        return shrunk.length == size ? this : BasicCollections.<E>condenseToList(shrunk);
+    }
+
+    @Override public ConstList<E> subList(int fromIndex, int toIndex) {
+        ArrayTools.checkRange(fromIndex, toIndex, size);
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        }
+        final int leftSize = left.size();
+        if (toIndex <= leftSize) {
+            return left.subList(fromIndex, toIndex);
+        }
+        if (fromIndex >= leftSize) {
+            return right.subList(fromIndex - leftSize, toIndex - leftSize);
+        }
+        // The range spans both sides, so it is itself the concatenation of two sublists.
+        return of(left.subList(fromIndex, leftSize), right.subList(0, toIndex - leftSize));
+    }
+}
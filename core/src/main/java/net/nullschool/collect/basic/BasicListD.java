@@ -0,0 +1,261 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.ArrayTools;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-07-01<p/>
+ *
+ * A dictionary encoded list. The codes are held by exactly one of three arrays, chosen by the size of the
+ * dictionary: bytes for up to 256 values, shorts for up to 65536 values, and ints otherwise. Codes are unsigned.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstDictionaryList.class)
+final class BasicListD<E> extends BasicConstDictionaryList<E> {
+
+    private static final int BYTE_LIMIT = 1 << 8;
+    private static final int SHORT_LIMIT = 1 << 16;
+
+    private final Object[] dictionary;
+    private final byte[] byteCodes;
+    private final short[] shortCodes;
+    private final int[] intCodes;
+    private final int size;
+
+    private BasicListD(Object[] dictionary, byte[] byteCodes, short[] shortCodes, int[] intCodes, int size) {
+        assert dictionary.getClass() == Object[].class;
+        assert size > 1;
+        this.dictionary = dictionary;
+        this.byteCodes = byteCodes;
+        this.shortCodes = shortCodes;
+        this.intCodes = intCodes;
+        this.size = size;
+    }
+
+    /**
+     * Dictionary encodes the specified array of elements. The array reference <b>must be trusted</b>, as described
+     * by {@link BasicCollections#condenseToList}. Arrays of fewer than two elements are not encoded.
+     *
+     * @param trustedElements the Object array of elements.
+     * @return a dictionary encoded list of the elements.
+     */
+    static <E> BasicConstList<E> of(Object[] trustedElements) {
+        if (trustedElements.length < 2) {
+            return condenseToList(trustedElements);
+        }
+        Map<Object, Integer> codesByValue = new HashMap<>();
+        int[] codes = new int[trustedElements.length];
+        for (int i = 0; i < trustedElements.length; i++) {
+            Integer code = codesByValue.get(trustedElements[i]);
+            if (code == null) {
+                codesByValue.put(trustedElements[i], code = codesByValue.size());
+            }
+            codes[i] = code;
+        }
+        Object[] dictionary = new Object[codesByValue.size()];
+        for (Map.Entry<Object, Integer> entry : codesByValue.entrySet()) {
+            dictionary[entry.getValue()] = entry.getKey();
+        }
+        return of(dictionary, codes);
+    }
+
+    /**
+     * Constructs a list from the specified dictionary and codes. Both array references <b>must be trusted</b>: the
+     * dictionary must hold distinct values in an Object array, and each code must be a valid dictionary index.
+     *
+     * @param trustedDictionary the distinct values.
+     * @param trustedCodes the dictionary index of each element, at least two of them.
+     * @return a dictionary encoded list.
+     */
+    static <E> BasicListD<E> of(Object[] trustedDictionary, int[] trustedCodes) {
+        final int size = trustedCodes.length;
+        if (trustedDictionary.length <= BYTE_LIMIT) {
+            byte[] codes = new byte[size];
+            for (int i = 0; i < size; i++) {
+                codes[i] = (byte)trustedCodes[i];
+            }
+            return new BasicListD<>(trustedDictionary, codes, null, null, size);
+        }
+        if (trustedDictionary.length <= SHORT_LIMIT) {
+            short[] codes = new short[size];
+            for (int i = 0; i < size; i++) {
+                codes[i] = (short)trustedCodes[i];
+            }
+            return new BasicListD<>(trustedDictionary, null, codes, null, size);
+        }
+        return new BasicListD<>(trustedDictionary, null, null, trustedCodes, size);
+    }
+
+    @Override public ConstList<E> dictionary() {
+        return condenseToList(dictionary.clone());
+    }
+
+    @Override public int code(int index) {
+        return byteCodes != null ?
+            byteCodes[index] & 0xff :
+            shortCodes != null ?
+                shortCodes[index] & 0xffff :
+                intCodes[index];
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    @Override public E get(int index) {
+        @SuppressWarnings("unchecked") E e = (E)dictionary[code(index)];
+        return e;
+    }
+
+    @Override public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override public int indexOf(Object o) {
+        // Search for the code rather than the value, so that each element costs an int comparison.
+        int code = ArrayTools.indexOf(o, dictionary);
+        if (code >= 0) {
+            for (int i = 0; i < size; i++) {
+                if (code(i) == code) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override public int lastIndexOf(Object o) {
+        int code = ArrayTools.indexOf(o, dictionary);
+        if (code >= 0) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (code(i) == code) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override public Object[] toArray() {
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = dictionary[code(i)];
+        }
+        return result;
+    }
+
+    @Override public ConstList<E> with(E e) {
+        return with(size, e);
+    }
+
+    @Override public ConstList<E> with(int index, E e) {
+        return of(insert(toArray(), index, e));
+    }
+
+    @Override public ConstList<E> withAll(Collection<? extends E> c) {
+        return withAll(size, c);
+    }
+
+    @Override public ConstList<E> withAll(int index, Collection<? extends E> c) {
+        if (0 <= index && index <= size) {
+            return c.isEmpty() ? this : BasicListD.<E>of(insertAll(toArray(), index, c));
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override public ConstList<E> replace(int index, E e) {
+        int code = ArrayTools.indexOf(e, dictionary);
+        if (code < 0) {
+            return of(BasicTools.replace(toArray(), index, e));
+        }
+        // The value is already in the dictionary, so only the codes need to be copied.
+        if (byteCodes != null) {
+            byte[] codes = byteCodes.clone();
+            codes[index] = (byte)code;
+            return new BasicListD<>(dictionary, codes, null, null, size);
+        }
+        if (shortCodes != null) {
+            short[] codes = shortCodes.clone();
+            codes[index] = (short)code;
+            return new BasicListD<>(dictionary, null, codes, null, size);
+        }
+        int[] codes = intCodes.clone();
+        codes[index] = code;
+        return new BasicListD<>(dictionary, null, null, codes, size);
+    }
+
+    @Override public ConstList<E> without(Object o) {
+        int index = indexOf(o);
+        return index < 0 ? this : delete(index);
+    }
+
+    @Override public ConstList<E> delete(int index) {
+        return of(BasicTools.delete(toArray(), index));
+    }
+
+    @Override public ConstList<E> withoutAll(Collection<?> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        Object[] shrunk = deleteAll(toArray(), c);
+        return shrunk.length == size ? this : BasicListD.<E>of(shrunk);
+    }
+
+    @Override public ConstList<E> subList(int fromIndex, int toIndex) {
+        ArrayTools.checkRange(fromIndex, toIndex, size);
+        return sliceList(this, fromIndex, toIndex);
+    }
+
+    @Override int computeHashCode() {
+        int[] hashes = new int[dictionary.length];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = Objects.hashCode(dictionary[i]);
+        }
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + hashes[code(i)];
+        }
+        return result;
+    }
+
+    @Override public boolean equals(Object that) {
+        if (that instanceof BasicListD && ((BasicListD<?>)that).dictionary == dictionary) {
+            // Lists sharing a dictionary are equal exactly when their codes are equal.
+            BasicListD<?> other = (BasicListD<?>)that;
+            return
+                Arrays.equals(byteCodes, other.byteCodes) &&
+                Arrays.equals(shortCodes, other.shortCodes) &&
+                Arrays.equals(intCodes, other.intCodes);
+        }
+        return super.equals(that);
+    }
+}
@@ -88,7 +88,7 @@ final class BasicListN<E> extends BasicConstList<E> {
     }
 
     @Override public ConstList<E> with(int index, E e) {
-        return new BasicListN<>(insert(elements, index, e));
+        return condenseToList(insert(elements, index, e));
     }
 
     @Override public ConstList<E> withAll(Collection<? extends E> c) {
@@ -97,7 +97,7 @@ final class BasicListN<E> extends BasicConstList<E> {
 
     @Override public ConstList<E> withAll(int index, Collection<? extends E> c) {
         if (0 <= index && index <= elements.length) {
-            return c.isEmpty() ? this : new BasicListN<E>(insertAll(elements, index, c));
+            return c.isEmpty() ? this : BasicCollections.<E>condenseToList(insertAll(elements, index, c));
         }
         throw new IndexOutOfBoundsException();
     }
@@ -124,10 +124,11 @@ final class BasicListN<E> extends BasicConstList<E> {
     }
 
     @Override public ConstList<E> subList(int fromIndex, int toIndex) {
-        return condenseToList(Arrays.copyOfRange(elements, fromIndex, toIndex));
+        ArrayTools.checkRange(fromIndex, toIndex, elements.length);
+        return sliceList(this, fromIndex, toIndex);
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return Arrays.hashCode(elements);
     }
 }
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.AbstractUnmodifiableIterator;
+import net.nullschool.collect.ConstList;
+import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.ArrayTools;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static net.nullschool.util.ArrayTools.EMPTY_OBJECT_ARRAY;
+
+
+/**
+ * 2013-06-21<p/>
+ *
+ * A list implemented as a persistent vector: a bit-partitioned trie of 32-element leaves plus a tail buffer holding
+ * the last (up to) 32 elements. Appending an element and removing the last element are amortized O(1), while
+ * {@link #get} and {@link #replace} are O(log32(N)). Modifications copy only the tail or the path from the root to
+ * the affected leaf; all other nodes are shared with the original list. Insertions and deletions anywhere other
+ * than the end of the list rebuild the list in O(N), just as for the array based lists.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstList.class)
+final class BasicListT<E> extends BasicConstList<E> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    private final int size;
+    private final int shift;      // the number of index bits resolved above the leaves, a multiple of BITS.
+    private final Object[] root;  // the trie, containing all elements preceding the tail.
+    private final Object[] tail;  // the last 1 to 32 elements, not yet pushed into the trie.
+
+    private BasicListT(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Constructs a vector from the specified array of elements. The array reference <b>must be trusted</b>, as
+     * described by {@link BasicCollections#condenseToList}.
+     *
+     * @param trustedElements the Object array of elements.
+     * @return a new vector containing the elements.
+     */
+    static <E> BasicListT<E> of(Object[] trustedElements) {
+        assert trustedElements.getClass() == Object[].class;
+        assert trustedElements.length > 1;
+        final int size = trustedElements.length;
+        final int tailOffset = tailOffset(size);
+        BasicListT<E> result = new BasicListT<>(0, BITS, EMPTY_NODE, EMPTY_OBJECT_ARRAY);
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            Object[] leaf = Arrays.copyOfRange(trustedElements, i, i + WIDTH);
+            result = i == 0 ? new BasicListT<E>(WIDTH, BITS, EMPTY_NODE, leaf) : result.pushTail(leaf, i + WIDTH);
+        }
+        Object[] tail = Arrays.copyOfRange(trustedElements, tailOffset, size);
+        return tailOffset == 0 ? new BasicListT<E>(size, BITS, EMPTY_NODE, tail) : result.pushTail(tail, size);
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private static Object[] newPath(int level, Object[] leaf) {
+        Object[] node = leaf;
+        for (; level > 0; level -= BITS) {
+            Object[] parent = new Object[WIDTH];
+            parent[0] = node;
+            node = parent;
+        }
+        return node;
+    }
+
+    private static Object[] replaceInTrie(int level, Object[] node, int index, Object e) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = e;
+        }
+        else {
+            int i = (index >>> level) & MASK;
+            result[i] = replaceInTrie(level - BITS, (Object[])node[i], index, e);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the leaf array containing the element at the specified index.
+     */
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[])node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * Returns a new list having this list's full tail pushed into the trie and the specified array as the new tail.
+     */
+    private BasicListT<E> pushTail(Object[] newTail, int newSize) {
+        assert tail.length == WIDTH;
+        if ((size >>> BITS) > (1 << shift)) {
+            // The trie is full, so grow it by adding a new root.
+            Object[] newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            return new BasicListT<>(newSize, shift + BITS, newRoot, newTail);
+        }
+        return new BasicListT<>(newSize, shift, pushTail(shift, root), newTail);
+    }
+
+    private Object[] pushTail(int level, Object[] node) {
+        Object[] result = node.clone();
+        int i = ((size - 1) >>> level) & MASK;
+        if (level == BITS) {
+            result[i] = tail;
+        }
+        else {
+            Object[] child = (Object[])node[i];
+            result[i] = child != null ? pushTail(level - BITS, child) : newPath(level - BITS, tail);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the trie that results from removing its last leaf, or null if the trie becomes empty.
+     */
+    private Object[] popTail(int level, Object[] node) {
+        int i = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] child = popTail(level - BITS, (Object[])node[i]);
+            if (child == null && i == 0) {
+                return null;
+            }
+            Object[] result = node.clone();
+            result[i] = child;
+            return result;
+        }
+        if (i == 0) {
+            return null;
+        }
+        Object[] result = node.clone();
+        result[i] = null;
+        return result;
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    @Override public E get(int index) {
+        if (0 <= index && index < size) {
+            @SuppressWarnings("unchecked") E e = (E)leafFor(index)[index & MASK];
+            return e;
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Iterates the leaves directly, avoiding a trie descent for every element.
+     */
+    private final class Iter extends AbstractUnmodifiableIterator<E> {
+
+        private int i = 0;
+        private Object[] leaf;
+
+        @Override public boolean hasNext() {
+            return i < size;
+        }
+
+        @Override public E next() {
+            if (i < size) {
+                if ((i & MASK) == 0) {
+                    leaf = leafFor(i);
+                }
+                @SuppressWarnings("unchecked") E e = (E)leaf[i++ & MASK];
+                return e;
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override public Iterator<E> iterator() {
+        return new Iter();
+    }
+
+    @Override public Object[] toArray() {
+        Object[] result = new Object[size];
+        final int tailOffset = tailOffset(size);
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            System.arraycopy(leafFor(i), 0, result, i, WIDTH);
+        }
+        System.arraycopy(tail, 0, result, tailOffset, tail.length);
+        return result;
+    }
+
+    @Override public <T> T[] toArray(T[] a) {
+        // Cast is safe because Array.newInstance will return an array of type T[].
+        @SuppressWarnings("unchecked") T[] result = a.length < size ?
+            (T[])Array.newInstance(a.getClass().getComponentType(), size) :
+            a;
+        // noinspection SuspiciousSystemArraycopy
+        System.arraycopy(toArray(), 0, result, 0, size);
+        if (result.length > size) {
+            result[size] = null;
+        }
+        return result;
+    }
+
+    @Override public ConstList<E> with(E e) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = copy(tail, tail.length + 1);
+            newTail[tail.length] = e;
+            return new BasicListT<>(size + 1, shift, root, newTail);
+        }
+        return pushTail(new Object[] {e}, size + 1);
+    }
+
+    @Override public ConstList<E> with(int index, E e) {
+        return index == size ? with(e) : BasicCollections.<E>condenseToList(insert(toArray(), index, e));
+    }
+
+    @Override public ConstList<E> withAll(Collection<? extends E> c) {
+        BasicConstList<E> rope = concatList(this, c);
+        if (rope != null) {
+            return rope;
+        }
+        ConstList<E> result = this;
+        for (E e : c) {
+            result = result.with(e);
+        }
+        return result;
+    }
+
+    @Override public ConstList<E> withAll(int index, Collection<? extends E> c) {
+        if (index == size) {
+            return withAll(c);
+        }
+        if (0 <= index && index < size) {
+            return c.isEmpty() ? this : BasicCollections.<E>condenseToList(insertAll(toArray(), index, c));
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override public ConstList<E> replace(int index, E e) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        final int tailOffset = tailOffset(size);
+        return index >= tailOffset ?
+            new BasicListT<E>(size, shift, root, BasicTools.replace(tail, index - tailOffset, e)) :
+            new BasicListT<E>(size, shift, replaceInTrie(shift, root, index, e), tail);
+    }
+
+    @Override public ConstList<E> without(Object o) {
+        int index = indexOf(o);
+        return index < 0 ? this : delete(index);
+    }
+
+    @Override public ConstList<E> delete(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (index != size - 1 || size <= VECTOR_THRESHOLD) {
+            return condenseToList(BasicTools.delete(toArray(), index));
+        }
+        // Remove the last element.
+        if (tail.length > 1) {
+            return new BasicListT<>(size - 1, shift, root, copy(tail, tail.length - 1));
+        }
+        Object[] newTail = leafFor(size - 2);
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        else if (shift > BITS && newRoot[1] == null) {
+            // The root has only one child, so remove a level from the trie.
+            newRoot = (Object[])newRoot[0];
+            newShift -= BITS;
+        }
+        return new BasicListT<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    @Override public ConstList<E> withoutAll(Collection<?> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        Object[] shrunk = deleteAll(toArray(), c);
+        return shrunk.length == size ? this : BasicCollections.<E>condenseToList(shrunk);
+    }
+
+    @Override public ConstList<E> subList(int fromIndex, int toIndex) {
+        ArrayTools.checkRange(fromIndex, toIndex, size);
+        return sliceList(this, fromIndex, toIndex);
+    }
+}
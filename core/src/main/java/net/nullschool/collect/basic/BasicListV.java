@@ -0,0 +1,128 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.ArrayTools;
+
+import java.util.Collection;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-25<p/>
+ *
+ * A list that is a view of a contiguous range of a larger list, sharing the larger list's storage rather than
+ * copying it. Because both lists are immutable, the view is indistinguishable from a copy. Views are constructed by
+ * {@link BasicCollections#sliceList}, which copies instead when the view would be small relative to its parent.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstList.class)
+final class BasicListV<E> extends BasicConstList<E> {
+
+    private final BasicConstList<E> parent;  // never itself a view
+    private final int offset;
+    private final int size;
+
+    BasicListV(BasicConstList<E> parent, int offset, int size) {
+        assert !(parent instanceof BasicListV);
+        assert 0 <= offset && 1 < size && offset + size <= parent.size();
+        this.parent = parent;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    @Override public E get(int index) {
+        if (index < 0 || size <= index) {
+            throw new IndexOutOfBoundsException();
+        }
+        return parent.get(offset + index);
+    }
+
+    @Override public Object[] toArray() {
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = parent.get(offset + i);
+        }
+        return result;
+    }
+
+    @Override public ConstList<E> with(E e) {
+        return with(size, e);
+    }
+
+    @Override public ConstList<E> with(int index, E e) {
+        return condenseToList(insert(toArray(), index, e));
+    }
+
+    @Override public ConstList<E> withAll(Collection<? extends E> c) {
+        BasicConstList<E> rope = concatList(this, c);
+        return rope != null ? rope : withAll(size, c);
+    }
+
+    @Override public ConstList<E> withAll(int index, Collection<? extends E> c) {
+        if (0 <= index && index <= size) {
+            return c.isEmpty() ? this : BasicCollections.<E>condenseToList(insertAll(toArray(), index, c));
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override public ConstList<E> replace(int index, E e) {
+        return condenseToList(BasicTools.replace(toArray(), index, e));
+    }
+
+    @Override public ConstList<E> without(Object o) {
+        int index = indexOf(o);
+        return index < 0 ? this : delete(index);
+    }
+
+    @Override public ConstList<E> delete(int index) {
+        // Removing the first or last element just narrows the view.
+        if (index == 0) {
+            return subList(1, size);
+        }
+        if (index == size - 1) {
+            return subList(0, index);
+        }
+        return condenseToList(BasicTools.delete(toArray(), index));
+    }
+
+    @Override public ConstList<E> withoutAll(Collection<?> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        Object[] shrunk = deleteAll(toArray(), c);
+        return shrunk.length == size ? this : BasicCollections.<E>condenseToList(shrunk);
+    }
+
+    @Override public ConstList<E> subList(int fromIndex, int toIndex) {
+        ArrayTools.checkRange(fromIndex, toIndex, size);
+        if (fromIndex == 0 && toIndex == size) {
+            return this;
+        }
+        return sliceList(parent, offset + fromIndex, offset + toIndex);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.ConstLongList;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static net.nullschool.collect.basic.PrimitiveArrays.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * A BasicConstLongList backed by a {@code long} array. Bounds checking and copying are shared with the other primitive
+ * lists through {@link PrimitiveArrays}.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstLongList.class)
+final class BasicLongList extends BasicConstLongList {
+
+    private static final BasicLongList EMPTY = new BasicLongList(new long[0]);
+
+    static BasicLongList instance() {
+        return EMPTY;
+    }
+
+    private final long[] elements;
+
+    BasicLongList(long[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Returns a new array of the unboxed elements of the specified collection, or null if any element is not
+     * a Long.
+     */
+    static long[] unbox(Collection<?> c) {
+        Object[] boxed = c.toArray();
+        long[] result = new long[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            Object o = boxed[i];
+            if (!(o instanceof Long)) {
+                return null;
+            }
+            result[i] = (Long)o;
+        }
+        return result;
+    }
+
+    private static int hash(long value) {
+        return (int)(value ^ (value >>> 32));
+    }
+
+    private static boolean same(long a, long b) {
+        return a == b;
+    }
+
+    private BasicConstList<Long> boxed() {
+        return condenseToList(toArray());
+    }
+
+    @Override public int size() {
+        return elements.length;
+    }
+
+    @Override public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    @Override public Long get(int index) {
+        return elements[index];
+    }
+
+    @Override public long getLong(int index) {
+        return elements[index];
+    }
+
+    @Override public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override public int indexOf(Object o) {
+        return o instanceof Long ? indexOfLong((Long)o) : -1;
+    }
+
+    @Override public int indexOfLong(long value) {
+        for (int i = 0; i < elements.length; i++) {
+            if (same(elements[i], value)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override public int lastIndexOf(Object o) {
+        if (o instanceof Long) {
+            long value = (Long)o;
+            for (int i = elements.length - 1; i >= 0; i--) {
+                if (same(elements[i], value)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override public long[] toLongArray() {
+        return elements.clone();
+    }
+
+    @Override public Object[] toArray() {
+        Object[] result = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            result[i] = elements[i];
+        }
+        return result;
+    }
+
+    @Override public ConstLongList withLong(long value) {
+        return withLong(elements.length, value);
+    }
+
+    @Override public ConstLongList withLong(int index, long value) {
+        long[] result = insert(elements, index, 1);
+        result[index] = value;
+        return new BasicLongList(result);
+    }
+
+    @Override public ConstLongList replaceLong(int index, long value) {
+        checkIndex(index, elements.length);
+        long[] result = elements.clone();
+        result[index] = value;
+        return new BasicLongList(result);
+    }
+
+    @Override public ConstList<Long> with(Long e) {
+        return with(elements.length, e);
+    }
+
+    @Override public ConstList<Long> with(int index, Long e) {
+        return e != null ? withLong(index, e) : boxed().with(index, e);
+    }
+
+    @Override public ConstList<Long> withAll(Collection<? extends Long> c) {
+        return withAll(elements.length, c);
+    }
+
+    @Override public ConstList<Long> withAll(int index, Collection<? extends Long> c) {
+        checkPosition(index, elements.length);
+        if (c.isEmpty()) {
+            return this;
+        }
+        long[] additional = unbox(c);
+        return additional != null ? new BasicLongList(insert(elements, index, additional)) : boxed().withAll(index, c);
+    }
+
+    @Override public ConstList<Long> replace(int index, Long e) {
+        return e != null ? replaceLong(index, e) : boxed().replace(index, e);
+    }
+
+    @Override public ConstLongList without(Object o) {
+        int index = indexOf(o);
+        return index < 0 ? this : delete(index);
+    }
+
+    @Override public ConstLongList delete(int index) {
+        return condenseToLongList(PrimitiveArrays.delete(elements, index));
+    }
+
+    @Override public ConstLongList withoutAll(Collection<?> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        long[] result = deleteAll(elements, this, c);
+        return result == elements ? this : condenseToLongList(result);
+    }
+
+    @Override public ConstLongList subList(int fromIndex, int toIndex) {
+        return condenseToLongList(copyRange(elements, fromIndex, toIndex));
+    }
+
+    @Override public boolean equals(Object o) {
+        if (o instanceof BasicLongList) {
+            return this == o || !hashesDiffer(o) && Arrays.equals(elements, ((BasicLongList)o).elements);
+        }
+        return super.equals(o);
+    }
+
+    @Override int computeHashCode() {
+        int result = 1;
+        for (long value : elements) {
+            result = 31 * result + hash(value);
+        }
+        return result;
+    }
+}
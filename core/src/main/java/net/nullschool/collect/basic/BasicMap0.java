@@ -106,7 +106,7 @@ final class BasicMap0<K, V> extends BasicConstMap<K, V> {
         return this == that || that instanceof Map && ((Map<?, ?>)that).isEmpty();
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return 0;
     }
 
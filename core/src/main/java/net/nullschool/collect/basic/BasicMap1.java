@@ -115,7 +115,7 @@ final class BasicMap1<K, V> extends BasicConstMap<K, V> {
         return !keys.contains(k0) ? this : BasicCollections.<K, V>emptyMap();
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return AbstractEntry.hashCode(k0, v0);
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.*;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-07-04<p/>
+ *
+ * A map that lazily layers one map over another, so that merging two large maps with {@code withAll} is O(1).
+ * Lookups consult the overlay first and then the base. Operations that depend on the order of entries, such as
+ * iteration and the views, first materialize the layers into an ordinary map having the same entries in the same
+ * order as an eager merge, and reuse it thereafter. Layering more than {@link
+ * BasicCollections#COMPOSITE_DEPTH_LIMIT} deep materializes immediately, bounding the cost of each lookup. Layered
+ * maps are constructed by {@link BasicCollections#layerMap}.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstMap.class)
+final class BasicMapL<K, V> extends BasicConstMap<K, V> {
+
+    private final BasicConstMap<K, V> base;
+    private final BasicConstMap<K, V> overlay;
+    private final int depth;
+
+    /**
+     * The materialized map, or null if not yet materialized. The layers never change, so the materialized map can
+     * be cached using the racy single-check idiom. It is safely published because all its fields are final.
+     */
+    private transient BasicConstMap<K, V> flat;
+
+    private BasicMapL(BasicConstMap<K, V> base, BasicConstMap<K, V> overlay, int depth) {
+        this.base = base;
+        this.overlay = overlay;
+        this.depth = depth;
+    }
+
+    private static int depthOf(Map<?, ?> map) {
+        return map instanceof BasicMapL ? ((BasicMapL<?, ?>)map).depth : 0;
+    }
+
+    /**
+     * Returns the overlay layered on the base, materialized if the result would be layered too deeply.
+     */
+    static <K, V> BasicConstMap<K, V> of(BasicConstMap<K, V> base, BasicConstMap<K, V> overlay) {
+        final int depth = Math.max(depthOf(base), depthOf(overlay)) + 1;
+        BasicMapL<K, V> result = new BasicMapL<>(base, overlay, depth);
+        return depth > COMPOSITE_DEPTH_LIMIT ? result.flatten() : result;
+    }
+
+    /**
+     * Returns the materialized map, constructing it on first use.
+     */
+    BasicConstMap<K, V> flatten() {
+        BasicConstMap<K, V> result = flat;
+        if (result == null) {
+            MapColumns baseColumns = copy(base);
+            MapColumns overlayColumns = copy(overlay);
+            flat = result = condenseToMap(
+                unionInto(baseColumns.keys, baseColumns.values, overlayColumns.keys, overlayColumns.values));
+        }
+        return result;
+    }
+
+    @Override public int size() {
+        return flatten().size();
+    }
+
+    @Override public boolean isEmpty() {
+        return false;  // The base is never empty.
+    }
+
+    @Override public boolean containsKey(Object key) {
+        BasicConstMap<K, V> f = flat;
+        if (f != null) {
+            return f.containsKey(key);
+        }
+        return overlay.containsKey(key) || base.containsKey(key);
+    }
+
+    @Override public boolean containsValue(Object value) {
+        return flatten().containsValue(value);
+    }
+
+    @Override public V get(Object key) {
+        BasicConstMap<K, V> f = flat;
+        if (f != null) {
+            return f.get(key);
+        }
+        // The overlay may map the key to null, so absence must be distinguished from a null value.
+        V value = overlay.get(key);
+        return value != null || overlay.containsKey(key) ? value : base.get(key);
+    }
+
+    @Override K getKey(int index) {
+        return flatten().getKey(index);
+    }
+
+    @Override V getValue(int index) {
+        return flatten().getValue(index);
+    }
+
+    @Override public MapIterator<K, V> iterator() {
+        return flatten().iterator();
+    }
+
+    @Override public SplittableMapIterator<K, V> splittableIterator() {
+        return flatten().splittableIterator();
+    }
+
+    @Override public ConstSet<K> keySet() {
+        return flatten().keySet();
+    }
+
+    @Override public ConstCollection<V> values() {
+        return flatten().values();
+    }
+
+    @Override public ConstSet<Entry<K, V>> entrySet() {
+        return flatten().entrySet();
+    }
+
+    @Override public ConstMap<K, V> with(K key, V value) {
+        if (containsKey(key) && Objects.equals(value, get(key))) {
+            return this;
+        }
+        // Cast is safe because every map produced by the modification methods of a BasicConstMap is itself one.
+        return of(base, (BasicConstMap<K, V>)overlay.with(key, value));
+    }
+
+    @Override public ConstMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+        if (map.isEmpty()) {
+            return this;
+        }
+        BasicConstMap<K, V> layered = layerMap(this, map);
+        return layered != null ? layered : flatten().withAll(map);
+    }
+
+    @Override public ConstMap<K, V> without(Object key) {
+        return containsKey(key) ? flatten().without(key) : this;
+    }
+
+    @Override public ConstMap<K, V> withoutAll(Collection<?> keysToDelete) {
+        return keysToDelete.isEmpty() ? this : flatten().withoutAll(keysToDelete);
+    }
+
+    @Override int computeHashCode() {
+        return flatten().hashCode();
+    }
+}
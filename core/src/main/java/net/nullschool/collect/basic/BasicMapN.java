@@ -115,7 +115,7 @@ final class BasicMapN<K, V> extends BasicConstMap<K, V>  {
             return new BasicMapN<>(keys, replace(values, index, value));
         }
         final int length = keys.length;
-        return new BasicMapN<>(insert(keys, length, key), insert(values, length, value));
+        return condenseToMap(insert(keys, length, key), insert(values, length, value));
     }
 
     @Override public ConstMap<K, V> withAll(Map<? extends K, ? extends V> map) {
@@ -138,7 +138,7 @@ final class BasicMapN<K, V> extends BasicConstMap<K, V>  {
         return condenseToMap(deleteAll(keys, values, keysToDelete));
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         int result = 0;
         for (int i = 0; i < keys.length; i++) {
             result += AbstractEntry.hashCode(keys[i], values[i]);
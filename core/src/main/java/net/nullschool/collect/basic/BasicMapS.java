@@ -0,0 +1,330 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.*;
+import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.ArrayTools;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-28<p/>
+ *
+ * A map of String keys to values, stored in insertion order like {@link BasicMapN}, with a minimal perfect hash
+ * function to index the keys. A lookup computes the key's (cached) String hash code, reads one displacement from the
+ * table, and then compares the key against exactly one candidate with {@link String#equals}. There is no probing.
+ * Used for maps whose keys are all Strings and whose size is at least
+ * {@link BasicCollections#STRING_HASH_THRESHOLD}.<p/>
+ *
+ * The hash function is found at construction using the "hash and displace" technique: keys are distributed into
+ * buckets of about two keys each, then, in order of decreasing bucket size, each bucket is assigned the first
+ * displacement that maps all its keys to distinct unoccupied slots. The slots number exactly as many as the keys.
+ * Construction fails, and the map falls back to {@link BasicMapH}, only in the unlikely event that two keys share
+ * the same hash code and bucket or the search exhausts a budget of O(n log n) displacement attempts shared by all
+ * buckets. Construction therefore takes O(n log n) time in the worst case, and about n ln n attempts typically.<p/>
+ *
+ * The hash function depends on the entire key set, so any modification that adds or removes a key constructs a new
+ * map and finds a new hash function for it. Only replacing the value of an existing key shares the hash function.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstMap.class)
+final class BasicMapS<K, V> extends BasicConstMap<K, V> {
+
+    private final K[] keys;
+    private final V[] values;
+    private final int[] displacements;  // the displacement of each bucket
+    private final int[] slots;          // the index of the key assigned to each slot
+
+    @SuppressWarnings("unchecked")
+    private BasicMapS(Object[] keys, Object[] values, int[] displacements, int[] slots) {
+        assert keys.getClass() == Object[].class;
+        assert values.getClass() == Object[].class;
+        assert keys.length == values.length;
+        assert keys.length > 1;
+        this.keys = (K[])keys;
+        this.values = (V[])values;
+        this.displacements = displacements;
+        this.slots = slots;
+    }
+
+    /**
+     * Returns true if all the specified keys are Strings.
+     */
+    static boolean allStrings(Object[] keys) {
+        for (Object key : keys) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Constructs a new map from the specified arrays of unique String keys and their values, or returns null if a
+     * perfect hash function could not be found for the keys. See {@link BasicCollections#condenseToMap} for the
+     * requirements of the arrays.
+     */
+    static <K, V> BasicMapS<K, V> tryCreate(Object[] trustedKeys, Object[] trustedValues) {
+        assert allStrings(trustedKeys);
+        final int size = trustedKeys.length;
+        int[] displacements = new int[bucketCount(size)];
+        int[] slots = new int[size];
+        return perfectHash(trustedKeys, displacements, slots) ?
+            new BasicMapS<K, V>(trustedKeys, trustedValues, displacements, slots) :
+            null;
+    }
+
+    private static int bucketCount(int size) {
+        return (size + 1) >>> 1;
+    }
+
+    /**
+     * Mixes the bits of h using the 32-bit finalizer from MurmurHash3.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Maps the 32-bit value x uniformly onto the range [0, n) without division.
+     */
+    private static int range(int x, int n) {
+        return (int)(((x & 0xFFFFFFFFL) * n) >>> 32);
+    }
+
+    static int bucketOf(int hash, int bucketCount) {
+        return range(mix(hash), bucketCount);
+    }
+
+    private static int slotOf(int hash, int displacement, int slotCount) {
+        return range(mix(hash + displacement * 0x9E3779B9), slotCount);
+    }
+
+    /**
+     * Finds a displacement for each bucket such that every key maps to a distinct slot, filling in the displacement
+     * and slot tables. Returns false if no such assignment was found.
+     */
+    private static boolean perfectHash(Object[] keys, int[] displacements, int[] slots) {
+        final int size = keys.length;
+        final int bucketCount = displacements.length;
+
+        // Group the keys by bucket using a counting sort: members[starts[b]..starts[b+1]) are the keys of bucket b.
+        int[] hashes = new int[size];
+        int[] starts = new int[bucketCount + 1];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = keys[i].hashCode();
+            starts[bucketOf(hashes[i], bucketCount) + 1]++;
+        }
+        for (int b = 0; b < bucketCount; b++) {
+            starts[b + 1] += starts[b];
+        }
+        int[] members = new int[size];
+        int[] fill = Arrays.copyOf(starts, bucketCount);
+        for (int i = 0; i < size; i++) {
+            members[fill[bucketOf(hashes[i], bucketCount)]++] = i;
+        }
+
+        // Order the buckets by decreasing size, again using a counting sort.
+        int maxBucketSize = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            maxBucketSize = Math.max(maxBucketSize, starts[b + 1] - starts[b]);
+        }
+        int[] bySize = new int[maxBucketSize + 2];
+        for (int b = 0; b < bucketCount; b++) {
+            bySize[maxBucketSize - (starts[b + 1] - starts[b]) + 1]++;
+        }
+        for (int s = 0; s <= maxBucketSize; s++) {
+            bySize[s + 1] += bySize[s];
+        }
+        int[] order = new int[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[bySize[maxBucketSize - (starts[b + 1] - starts[b])]++] = b;
+        }
+
+        // Place each bucket at the first displacement where all its keys land in distinct free slots. Slot entries
+        // are 1-based while being filled so that zero marks a free slot. The attempts of all buckets draw from one
+        // budget, so a key set that hashes poorly fails early rather than searching each bucket at length.
+        long budget = 2L * size * (32 - Integer.numberOfLeadingZeros(size)) + 1024;
+        int[] candidates = new int[maxBucketSize];
+        for (int b : order) {
+            final int start = starts[b], end = starts[b + 1];
+            if (start == end) {
+                break;  // all remaining buckets are empty.
+            }
+            for (int i = start; i < end; i++) {
+                for (int j = start; j < i; j++) {
+                    if (hashes[members[i]] == hashes[members[j]]) {
+                        return false;  // no displacement can separate keys having the same hash.
+                    }
+                }
+            }
+            int displacement = 0;
+            search:
+            while (true) {
+                if (--budget < 0) {
+                    return false;
+                }
+                displacement++;
+                for (int i = start; i < end; i++) {
+                    int slot = slotOf(hashes[members[i]], displacement, size);
+                    if (slots[slot] != 0) {
+                        continue search;
+                    }
+                    for (int j = 0; j < i - start; j++) {
+                        if (candidates[j] == slot) {
+                            continue search;
+                        }
+                    }
+                    candidates[i - start] = slot;
+                }
+                break;
+            }
+            displacements[b] = displacement;
+            for (int i = start; i < end; i++) {
+                slots[candidates[i - start]] = members[i] + 1;
+            }
+        }
+        for (int s = 0; s < size; s++) {
+            slots[s]--;
+        }
+        return true;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;  // only a String can equal a String.
+        }
+        final int hash = key.hashCode();
+        final int index = slots[slotOf(hash, displacements[bucketOf(hash, displacements.length)], slots.length)];
+        return key.equals(keys[index]) ? index : -1;
+    }
+
+    @Override public int size() {
+        return keys.length;
+    }
+
+    @Override public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override public boolean containsValue(Object value) {
+        return ArrayTools.indexOf(value, values) >= 0;
+    }
+
+    @Override protected boolean containsEntry(Object key, Object value) {
+        int index = indexOf(key);
+        return index >= 0 && Objects.equals(value, values[index]);
+    }
+
+    @Override K getKey(int index) {
+        return keys[index];
+    }
+
+    @Override V getValue(int index) {
+        return values[index];
+    }
+
+    @Override public V get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override public ConstSet<K> keySet() {
+        return condenseToSet(keys);
+    }
+
+    @Override public ConstCollection<V> values() {
+        return condenseToList(values);
+    }
+
+    @Override public ConstSet<Entry<K, V>> entrySet() {
+        return new BasicConstEntriesView() {
+
+            @Override public ConstSet<Entry<K, V>> with(Entry<K, V> entry) {
+                return contains(entry) ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).with(entry);
+            }
+
+            @Override public ConstSet<Entry<K, V>> withAll(Collection<? extends Entry<K, V>> c) {
+                return c.isEmpty() ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).withAll(c);
+            }
+
+            @Override public ConstSet<Entry<K, V>> without(Object entry) {
+                return !contains(entry) ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).without(entry);
+            }
+
+            @Override public ConstSet<Entry<K, V>> withoutAll(Collection<?> c) {
+                return c.isEmpty() ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).withoutAll(c);
+            }
+        };
+    }
+
+    @Override public ConstMap<K, V> with(K key, V value) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            if (Objects.equals(value, values[index])) {
+                return this;
+            }
+            // The keys are unchanged, so the hash function can be shared.
+            return new BasicMapS<>(keys, BasicTools.replace(values, index, value), displacements, slots);
+        }
+        final int length = keys.length;
+        return condenseToMap(insert(keys, length, key), insert(values, length, value));
+    }
+
+    @Override public ConstMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+        if (map.isEmpty()) {
+            return this;
+        }
+        BasicConstMap<K, V> layered = layerMap(this, map);
+        if (layered != null) {
+            return layered;
+        }
+        MapColumns mc = copy(map);
+        return condenseToMap(unionInto(keys, values, mc.keys, mc.values));
+    }
+
+    @Override public ConstMap<K, V> without(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? this : BasicCollections.<K, V>condenseToMap(delete(keys, index), delete(values, index));
+    }
+
+    @Override public ConstMap<K, V> withoutAll(Collection<?> keysToDelete) {
+        if (keysToDelete.isEmpty()) {
+            return this;
+        }
+        return condenseToMap(deleteAll(keys, values, keysToDelete));
+    }
+
+    @Override int computeHashCode() {
+        int result = 0;
+        for (int i = 0; i < keys.length; i++) {
+            result += AbstractEntry.hashCode(keys[i], values[i]);
+        }
+        return result;
+    }
+}
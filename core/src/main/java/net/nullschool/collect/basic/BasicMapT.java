@@ -0,0 +1,470 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.*;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-20<p/>
+ *
+ * A map implemented as a hash array mapped trie (HAMT). Each level of the trie consumes five bits of a key's hash
+ * code, so lookups, {@link #with}, and {@link #without} are all O(log32(N)). Modifications copy only the path from
+ * the root to the affected node; all other nodes are shared between the original map and the result. Keys that have
+ * identical hash codes are stored together in a collision node at the bottom of the trie.<p/>
+ *
+ * Unlike the array based maps, this map iterates its entries in hash order rather than insertion order. It is
+ * constructed only by request, via {@link BasicCollections#emptyHashTrieMap} and
+ * {@link BasicCollections#asHashTrieMap}, and thereafter all modifications produce another BasicMapT. For
+ * serialization purposes it is just another BasicConstMap.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstMap.class)
+final class BasicMapT<K, V> extends BasicConstMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 8;  // seven bitmap levels cover all 32 hash bits, plus one collision level.
+    private static final Object NOT_FOUND = new Object();
+
+    private static final BasicMapT<Object, Object> EMPTY = new BasicMapT<>(new BitmapNode(0, new Object[0], 0));
+
+    /**
+     * A node of the trie. Entries are stored as consecutive key/value pairs in the {@code array}. A pair whose key
+     * is itself a Node represents a sub-trie (and the corresponding value is unused). Because the Node class is
+     * private, a Node instance can never be a key of the map. Every node other than the root has at least two
+     * entries.
+     */
+    private static abstract class Node {
+        final Object[] array;
+        final int size;  // the number of entries contained in this node and all of its descendants.
+
+        Node(Object[] array, int size) {
+            this.array = array;
+            this.size = size;
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        final int bitmap;  // the set of hash fragments present at this level.
+
+        BitmapNode(int bitmap, Object[] array, int size) {
+            super(array, size);
+            this.bitmap = bitmap;
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        final int hash;  // the full hash code shared by all keys of this node.
+
+        CollisionNode(int hash, Object[] array) {
+            super(array, array.length / 2);
+            this.hash = hash;
+        }
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static int slot(int bitmap, int bit) {
+        return Integer.bitCount(bitmap & (bit - 1)) * 2;
+    }
+
+    private static int collisionSlot(CollisionNode node, Object key) {
+        Object[] array = node.array;
+        for (int i = 0; i < array.length; i += 2) {
+            if (Objects.equals(key, array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object find(Node node, Object key, int hash) {
+        for (int shift = 0; ; shift += BITS) {
+            if (node instanceof CollisionNode) {
+                CollisionNode cn = (CollisionNode)node;
+                int i = cn.hash == hash ? collisionSlot(cn, key) : -1;
+                return i >= 0 ? cn.array[i + 1] : NOT_FOUND;
+            }
+            BitmapNode bn = (BitmapNode)node;
+            int bit = bit(hash, shift);
+            if ((bn.bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = slot(bn.bitmap, bit);
+            Object k = bn.array[i];
+            if (k instanceof Node) {
+                node = (Node)k;
+            }
+            else {
+                return Objects.equals(key, k) ? bn.array[i + 1] : NOT_FOUND;
+            }
+        }
+    }
+
+    /**
+     * Creates a node containing exactly two entries having distinct keys.
+     */
+    private static Node pair(Object k0, Object v0, int h0, Object k1, Object v1, int h1, int shift) {
+        if (h0 == h1) {
+            return new CollisionNode(h0, new Object[] {k0, v0, k1, v1});
+        }
+        int f0 = (h0 >>> shift) & MASK;
+        int f1 = (h1 >>> shift) & MASK;
+        if (f0 == f1) {
+            return new BitmapNode(1 << f0, new Object[] {pair(k0, v0, h0, k1, v1, h1, shift + BITS), null}, 2);
+        }
+        return f0 < f1 ?
+            new BitmapNode((1 << f0) | (1 << f1), new Object[] {k0, v0, k1, v1}, 2) :
+            new BitmapNode((1 << f0) | (1 << f1), new Object[] {k1, v1, k0, v0}, 2);
+    }
+
+    /**
+     * Returns the node that results from associating the key with the value, or the same node if nothing changed.
+     */
+    private static Node with(Node node, Object key, Object value, int hash, int shift) {
+        if (node instanceof CollisionNode) {
+            CollisionNode cn = (CollisionNode)node;
+            if (cn.hash != hash) {
+                // Push the collision node one level down so the new key can branch off at this level.
+                BitmapNode parent = new BitmapNode(bit(cn.hash, shift), new Object[] {cn, null}, cn.size);
+                return with(parent, key, value, hash, shift);
+            }
+            int i = collisionSlot(cn, key);
+            if (i < 0) {
+                Object[] array = copy(cn.array, cn.array.length + 2);
+                array[cn.array.length] = key;
+                array[cn.array.length + 1] = value;
+                return new CollisionNode(hash, array);
+            }
+            return Objects.equals(value, cn.array[i + 1]) ?
+                cn :
+                new CollisionNode(hash, BasicTools.replace(cn.array, i + 1, value));
+        }
+
+        BitmapNode bn = (BitmapNode)node;
+        int bit = bit(hash, shift);
+        int i = slot(bn.bitmap, bit);
+        if ((bn.bitmap & bit) == 0) {
+            Object[] array = new Object[bn.array.length + 2];
+            System.arraycopy(bn.array, 0, array, 0, i);
+            array[i] = key;
+            array[i + 1] = value;
+            System.arraycopy(bn.array, i, array, i + 2, bn.array.length - i);
+            return new BitmapNode(bn.bitmap | bit, array, bn.size + 1);
+        }
+        Object k = bn.array[i];
+        if (k instanceof Node) {
+            Node child = (Node)k;
+            Node newChild = with(child, key, value, hash, shift + BITS);
+            return newChild == child ?
+                bn :
+                new BitmapNode(bn.bitmap, BasicTools.replace(bn.array, i, newChild), bn.size - child.size + newChild.size);
+        }
+        if (Objects.equals(key, k)) {
+            return Objects.equals(value, bn.array[i + 1]) ?
+                bn :
+                new BitmapNode(bn.bitmap, BasicTools.replace(bn.array, i + 1, value), bn.size);
+        }
+        // Two distinct keys share this slot, so split it into a sub-trie.
+        Object[] array = BasicTools.replace(bn.array, i, pair(k, bn.array[i + 1], spread(k), key, value, hash, shift + BITS));
+        array[i + 1] = null;
+        return new BitmapNode(bn.bitmap, array, bn.size + 1);
+    }
+
+    /**
+     * Returns the node that results from removing the key, the same node if the key was not found, or null if the
+     * node is now empty.
+     */
+    private static Node without(Node node, Object key, int hash, int shift) {
+        if (node instanceof CollisionNode) {
+            CollisionNode cn = (CollisionNode)node;
+            int i = cn.hash == hash ? collisionSlot(cn, key) : -1;
+            return i < 0 ? cn : new CollisionNode(hash, delete(delete(cn.array, i), i));
+        }
+
+        BitmapNode bn = (BitmapNode)node;
+        int bit = bit(hash, shift);
+        if ((bn.bitmap & bit) == 0) {
+            return bn;
+        }
+        int i = slot(bn.bitmap, bit);
+        Object k = bn.array[i];
+        if (k instanceof Node) {
+            Node child = (Node)k;
+            Node newChild = without(child, key, hash, shift + BITS);
+            if (newChild == child) {
+                return bn;
+            }
+            Object[] array = bn.array.clone();
+            if (newChild.size == 1) {
+                // Only one entry remains in the sub-trie, so pull it up into this node.
+                array[i] = newChild.array[0];
+                array[i + 1] = newChild.array[1];
+            }
+            else {
+                array[i] = newChild;
+            }
+            return new BitmapNode(bn.bitmap, array, bn.size - 1);
+        }
+        if (!Objects.equals(key, k)) {
+            return bn;
+        }
+        if (bn.bitmap == bit) {
+            return null;
+        }
+        return new BitmapNode(bn.bitmap ^ bit, delete(delete(bn.array, i), i), bn.size - 1);
+    }
+
+    /**
+     * Returns the array containing the specified entry, with the entry's key located at index {@code cursor[0]}.
+     */
+    private static Object[] locate(Node node, int index, int[] cursor) {
+        outer:
+        while (true) {
+            Object[] array = node.array;
+            for (int i = 0; i < array.length; i += 2) {
+                Object k = array[i];
+                if (k instanceof Node) {
+                    Node child = (Node)k;
+                    if (index < child.size) {
+                        node = child;
+                        continue outer;
+                    }
+                    index -= child.size;
+                }
+                else if (index-- == 0) {
+                    cursor[0] = i;
+                    return array;
+                }
+            }
+            throw new AssertionError();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> BasicMapT<K, V> instance() {
+        return (BasicMapT<K, V>)EMPTY;
+    }
+
+    private final Node root;
+
+    private BasicMapT(Node root) {
+        this.root = root;
+    }
+
+    @Override public int size() {
+        return root.size;
+    }
+
+    @Override public boolean containsKey(Object key) {
+        return find(root, key, spread(key)) != NOT_FOUND;
+    }
+
+    @Override protected boolean containsEntry(Object key, Object value) {
+        Object found = find(root, key, spread(key));
+        return found != NOT_FOUND && Objects.equals(value, found);
+    }
+
+    @Override public V get(Object key) {
+        Object found = find(root, key, spread(key));
+        @SuppressWarnings("unchecked") V value = found != NOT_FOUND ? (V)found : null;
+        return value;
+    }
+
+    @Override K getKey(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        int[] cursor = new int[1];
+        @SuppressWarnings("unchecked") K key = (K)locate(root, index, cursor)[cursor[0]];
+        return key;
+    }
+
+    @Override V getValue(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        int[] cursor = new int[1];
+        @SuppressWarnings("unchecked") V value = (V)locate(root, index, cursor)[cursor[0] + 1];
+        return value;
+    }
+
+    /**
+     * Iterates the trie depth first, maintaining a stack of the nodes currently being visited.
+     */
+    private final class Iter implements MapIterator<K, V> {
+
+        private final Object[][] stack = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private int depth = 0;
+        private int remaining = size();
+        private Object[] current;  // the array containing the current entry, or null if iteration has not started.
+        private int cursor;
+
+        Iter() {
+            stack[0] = root.array;
+        }
+
+        @Override public boolean hasNext() {
+            return remaining != 0;
+        }
+
+        @Override public K next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            while (true) {
+                Object[] array = stack[depth];
+                int i = positions[depth];
+                if (i == array.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = i + 2;
+                Object k = array[i];
+                if (k instanceof Node) {
+                    stack[++depth] = ((Node)k).array;
+                    positions[depth] = 0;
+                    continue;
+                }
+                remaining--;
+                current = array;
+                cursor = i;
+                @SuppressWarnings("unchecked") K key = (K)k;
+                return key;
+            }
+        }
+
+        @Override public V value() {
+            if (current != null) {
+                @SuppressWarnings("unchecked") V value = (V)current[cursor + 1];
+                return value;
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override public Map.Entry<K, V> entry() {
+            if (current != null) {
+                @SuppressWarnings("unchecked") K key = (K)current[cursor];
+                return new AbstractMap.SimpleImmutableEntry<>(key, value());
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Override public MapIterator<K, V> iterator() {
+        return new Iter();
+    }
+
+    private Object[] copyKeys() {
+        Object[] keys = new Object[size()];
+        int i = 0;
+        for (MapIterator<K, V> iter = iterator(); iter.hasNext();) {
+            keys[i++] = iter.next();
+        }
+        return keys;
+    }
+
+    private Object[] copyValues() {
+        Object[] values = new Object[size()];
+        int i = 0;
+        for (MapIterator<K, V> iter = iterator(); iter.hasNext();) {
+            iter.next();
+            values[i++] = iter.value();
+        }
+        return values;
+    }
+
+    @Override public ConstSet<K> keySet() {
+        return condenseToSet(copyKeys());
+    }
+
+    @Override public ConstCollection<V> values() {
+        return condenseToList(copyValues());
+    }
+
+    @Override public ConstSet<Entry<K, V>> entrySet() {
+        return new BasicConstEntriesView() {
+
+            @Override public ConstSet<Entry<K, V>> with(Entry<K, V> entry) {
+                return contains(entry) ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).with(entry);
+            }
+
+            @Override public ConstSet<Entry<K, V>> withAll(Collection<? extends Entry<K, V>> c) {
+                return c.isEmpty() ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).withAll(c);
+            }
+
+            @Override public ConstSet<Entry<K, V>> without(Object entry) {
+                return !contains(entry) ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).without(entry);
+            }
+
+            @Override public ConstSet<Entry<K, V>> withoutAll(Collection<?> c) {
+                return c.isEmpty() ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).withoutAll(c);
+            }
+        };
+    }
+
+    private BasicMapT<K, V> withRoot(Node newRoot) {
+        return newRoot == root ? this : newRoot == null ? BasicMapT.<K, V>instance() : new BasicMapT<K, V>(newRoot);
+    }
+
+    @Override public BasicMapT<K, V> with(K key, V value) {
+        return withRoot(with(root, key, value, spread(key), 0));
+    }
+
+    @Override public BasicMapT<K, V> withAll(Map<? extends K, ? extends V> map) {
+        Node node = root;
+        for (MapIterator<? extends K, ? extends V> iter = IteratorTools.newMapIterator(map); iter.hasNext();) {
+            K key = iter.next();
+            node = with(node, key, iter.value(), spread(key), 0);
+        }
+        return withRoot(node);
+    }
+
+    @Override public BasicMapT<K, V> without(Object key) {
+        return withRoot(without(root, key, spread(key), 0));
+    }
+
+    @Override public BasicMapT<K, V> withoutAll(Collection<?> keysToDelete) {
+        // Just like deleteAll, the collection's contains method determines which keys get removed.
+        Objects.requireNonNull(keysToDelete);
+        Node node = root;
+        if (!keysToDelete.isEmpty()) {
+            for (MapIterator<K, V> iter = iterator(); iter.hasNext();) {
+                K key = iter.next();
+                if (keysToDelete.contains(key)) {
+                    node = without(node, key, spread(key), 0);
+                }
+            }
+        }
+        return withRoot(node);
+    }
+}
@@ -98,7 +98,7 @@ final class BasicSet0<E> extends BasicConstSet<E> {
         return this == that || that instanceof Set && ((Set<?>)that).isEmpty();
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return 0;
     }
 
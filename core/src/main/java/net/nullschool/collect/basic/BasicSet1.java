@@ -63,7 +63,7 @@ final class BasicSet1<E> extends BasicConstSet<E> {
     }
 
     @Override public ConstSet<E> with(E e) {
-        return contains(e) ? this : new BasicSetN<E>(new Object[] {e0, e});
+        return contains(e) ? this : BasicCollections.<E>condenseToSet(new Object[] {e0, e});
     }
 
     @Override public ConstSet<E> withAll(Collection<? extends E> c) {
@@ -82,7 +82,7 @@ final class BasicSet1<E> extends BasicConstSet<E> {
         return !c.contains(e0) ? this : BasicCollections.<E>emptySet();
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return Objects.hashCode(e0);
     }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.AbstractUnmodifiableIterator;
+import net.nullschool.collect.ConstSet;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+
+
+/**
+ * 2013-07-02<p/>
+ *
+ * A bit set. The universe array maps each bit to its element, and is shared by all sets of the same element type.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstBitSet.class)
+final class BasicSetM<E> extends BasicConstBitSet<E> {
+
+    private static final Object[] INTEGERS = new Object[Long.SIZE];
+    static {
+        for (int i = 0; i < INTEGERS.length; i++) {
+            INTEGERS[i] = i;
+        }
+    }
+
+    private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<Object[]>() {
+        @Override protected Object[] computeValue(Class<?> type) {
+            Object[] constants = type.getEnumConstants();
+            return constants.length <= Long.SIZE ? constants : null;
+        }
+    };
+
+    private final Class<E> type;
+    private final Object[] universe;
+    private final long bits;
+
+    private BasicSetM(Class<E> type, Object[] universe, long bits) {
+        assert bits != 0;
+        this.type = type;
+        this.universe = universe;
+        this.bits = bits;
+    }
+
+    /**
+     * Returns the universe of the specified element type, or null if the type cannot be represented as a bit set.
+     */
+    static Object[] universeOf(Class<?> type) {
+        return type == Integer.class ? INTEGERS : type.isEnum() ? ENUM_CONSTANTS.get(type) : null;
+    }
+
+    /**
+     * Returns the set having the specified bits, drawn from the specified universe.
+     */
+    private static <E> BasicConstSet<E> of(Class<E> type, Object[] universe, long bits) {
+        return bits == 0 ? BasicSet0.<E>instance() : new BasicSetM<>(type, universe, bits);
+    }
+
+    /**
+     * Returns the set having the specified bits for the specified element type. The type must have a universe.
+     */
+    static <E> BasicConstSet<E> of(Class<E> type, long bits) {
+        return of(type, universeOf(type), bits);
+    }
+
+    /**
+     * Returns the bit representing the specified object, or -1 if the object is not in this set's universe.
+     */
+    private int bitOf(Object o) {
+        if (type == Integer.class) {
+            if (o instanceof Integer) {
+                int i = (Integer)o;
+                return 0 <= i && i < Long.SIZE ? i : -1;
+            }
+        }
+        else if (o instanceof Enum && ((Enum<?>)o).getDeclaringClass() == type) {
+            return ((Enum<?>)o).ordinal();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the specified object is a bit set of this set's universe.
+     */
+    private boolean sharesUniverse(Object o) {
+        return o instanceof BasicSetM && ((BasicSetM<?>)o).type == type;
+    }
+
+    private BasicConstSet<E> withBits(long newBits) {
+        return newBits == bits ? this : of(type, universe, newBits);
+    }
+
+    @Override public Class<E> elementType() {
+        return type;
+    }
+
+    @Override public long bits() {
+        return bits;
+    }
+
+    @Override public int size() {
+        return Long.bitCount(bits);
+    }
+
+    @Override public boolean contains(Object o) {
+        int bit = bitOf(o);
+        return bit >= 0 && (bits & 1L << bit) != 0;
+    }
+
+    @Override public boolean containsAll(Collection<?> c) {
+        return sharesUniverse(c) ? (((BasicSetM<?>)c).bits & ~bits) == 0 : super.containsAll(c);
+    }
+
+    @Override E get(int index) {
+        long remaining = bits;
+        for (int i = 0; i < index; i++) {
+            remaining &= remaining - 1;  // clear the lowest set bit
+        }
+        if (index < 0 || remaining == 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        @SuppressWarnings("unchecked") E e = (E)universe[Long.numberOfTrailingZeros(remaining)];
+        return e;
+    }
+
+    private final class Iter extends AbstractUnmodifiableIterator<E> {
+
+        private long remaining = bits;
+
+        @Override public boolean hasNext() {
+            return remaining != 0;
+        }
+
+        @Override public E next() {
+            if (remaining != 0) {
+                @SuppressWarnings("unchecked") E e = (E)universe[Long.numberOfTrailingZeros(remaining)];
+                remaining &= remaining - 1;
+                return e;
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override public Iterator<E> iterator() {
+        return new Iter();
+    }
+
+    @Override public Object[] toArray() {
+        Object[] result = new Object[size()];
+        long remaining = bits;
+        for (int i = 0; remaining != 0; i++, remaining &= remaining - 1) {
+            result[i] = universe[Long.numberOfTrailingZeros(remaining)];
+        }
+        return result;
+    }
+
+    @Override public ConstSet<E> with(E e) {
+        int bit = bitOf(e);
+        return bit >= 0 ?
+            withBits(bits | 1L << bit) :
+            BasicCollections.<E>condenseToSet(insert(toArray(), size(), e));
+    }
+
+    @Override public ConstSet<E> withAll(Collection<? extends E> c) {
+        if (sharesUniverse(c)) {
+            return withBits(bits | ((BasicSetM<?>)c).bits);
+        }
+        long newBits = bits;
+        for (Object element : c) {
+            int bit = bitOf(element);
+            if (bit < 0) {
+                // An element outside the universe, so this set can no longer be represented with bits.
+                return BasicCollections.<E>condenseToSet(unionInto(toArray(), c.toArray()));
+            }
+            newBits |= 1L << bit;
+        }
+        return withBits(newBits);
+    }
+
+    @Override public ConstSet<E> without(Object o) {
+        int bit = bitOf(o);
+        return bit >= 0 ? withBits(bits & ~(1L << bit)) : this;
+    }
+
+    /**
+     * Returns the bits of the elements of the specified collection that are in this set's universe.
+     */
+    private long bitsOf(Collection<?> c) {
+        if (sharesUniverse(c)) {
+            return ((BasicSetM<?>)c).bits;
+        }
+        long result = 0;
+        for (Object element : c) {
+            int bit = bitOf(element);
+            if (bit >= 0) {
+                result |= 1L << bit;
+            }
+        }
+        return result;
+    }
+
+    @Override public ConstSet<E> withoutAll(Collection<?> c) {
+        return withBits(bits & ~bitsOf(c));
+    }
+
+    @Override public ConstSet<E> intersect(Collection<?> c) {
+        return withBits(bits & bitsOf(c));
+    }
+
+    @Override public boolean equals(Object that) {
+        return sharesUniverse(that) ? ((BasicSetM<?>)that).bits == bits : super.equals(that);
+    }
+}
@@ -74,7 +74,7 @@ final class BasicSetN<E> extends BasicConstSet<E> {
     }
 
     @Override public ConstSet<E> with(E e) {
-        return contains(e) ? this : new BasicSetN<E>(insert(elements, elements.length, e));
+        return contains(e) ? this : BasicCollections.<E>condenseToSet(insert(elements, elements.length, e));
     }
 
     @Override public ConstSet<E> withAll(Collection<? extends E> c) {
@@ -82,7 +82,7 @@ final class BasicSetN<E> extends BasicConstSet<E> {
             return this;
         }
         Object[] expanded = unionInto(elements, c.toArray());
-        return expanded.length == size() ? this : new BasicSetN<E>(expanded);
+        return expanded.length == size() ? this : BasicCollections.<E>condenseToSet(expanded);
     }
 
     @Override public ConstSet<E> without(Object o) {
@@ -98,7 +98,7 @@ final class BasicSetN<E> extends BasicConstSet<E> {
         return shrunk.length == size() ? this : BasicCollections.<E>condenseToSet(shrunk);
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         int hash = 0;
         for (Object o : elements) {
             hash += Objects.hashCode(o);
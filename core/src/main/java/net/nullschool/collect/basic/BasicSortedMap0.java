@@ -20,6 +20,7 @@ import net.nullschool.collect.*;
 import net.nullschool.reflect.PublicInterfaceRef;
 
 import java.util.*;
+import static net.nullschool.collect.basic.BasicTools.*;
 import static net.nullschool.collect.basic.BasicCollections.*;
 
 
@@ -82,8 +83,8 @@ final class BasicSortedMap0<K, V> extends BasicConstSortedMap<K, V> {
         throw new NoSuchElementException();
     }
 
-    @Override public ConstSortedSet<K> keySet() {
-        return emptySortedSet(comparator);
+    @Override public ConstNavigableSet<K> keySet() {
+        return BasicSortedSet0.instance(comparator);
     }
 
     @Override public ConstCollection<V> values() {
@@ -94,34 +95,34 @@ final class BasicSortedMap0<K, V> extends BasicConstSortedMap<K, V> {
         return emptySet();
     }
 
-    @Override public ConstSortedMap<K, V> with(K key, V value) {
-        return sortedMapOf(comparator, key, value);
+    @Override public ConstNavigableMap<K, V> with(K key, V value) {
+        return new BasicSortedMap1<>(comparator, checkType(comparator, key), value);
     }
 
-    @Override public ConstSortedMap<K, V> withAll(Map<? extends K, ? extends V> map) {
-        return map.isEmpty() ? this : asSortedMap(comparator, map);
+    @Override public ConstNavigableMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+        return map.isEmpty() ? this : (ConstNavigableMap<K, V>)asSortedMap(comparator, map);
     }
 
-    @Override public ConstSortedMap<K, V> without(Object key) {
+    @Override public ConstNavigableMap<K, V> without(Object key) {
         return this;
     }
 
-    @Override public ConstSortedMap<K, V> withoutAll(Collection<?> keys) {
+    @Override public ConstNavigableMap<K, V> withoutAll(Collection<?> keys) {
         Objects.requireNonNull(keys);
         return this;
     }
 
-    @Override public ConstSortedMap<K, V> headMap(K toKey) {
+    @Override public ConstNavigableMap<K, V> headMap(K toKey) {
         compare(toKey, toKey);  // type check
         return this;
     }
 
-    @Override public ConstSortedMap<K, V> tailMap(K fromKey) {
+    @Override public ConstNavigableMap<K, V> tailMap(K fromKey) {
         compare(fromKey, fromKey);  // type check
         return this;
     }
 
-    @Override public ConstSortedMap<K, V> subMap(K fromKey, K toKey) {
+    @Override public ConstNavigableMap<K, V> subMap(K fromKey, K toKey) {
         if (compare(fromKey, toKey) > 0) {
             throw new IllegalArgumentException("fromKey cannot be greater than toKey");
         }
@@ -132,7 +133,7 @@ final class BasicSortedMap0<K, V> extends BasicConstSortedMap<K, V> {
         return this == that || that instanceof Map && ((Map<?, ?>)that).isEmpty();
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return 0;
     }
 
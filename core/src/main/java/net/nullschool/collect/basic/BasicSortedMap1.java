@@ -86,8 +86,8 @@ final class BasicSortedMap1<K, V> extends BasicConstSortedMap<K, V> {
         return k0;
     }
 
-    @Override public ConstSortedSet<K> keySet() {
-        return sortedSetOf(comparator, k0);
+    @Override public ConstNavigableSet<K> keySet() {
+        return new BasicSortedSet1<>(comparator, k0);
     }
 
     @Override public ConstCollection<V> values() {
@@ -100,7 +100,7 @@ final class BasicSortedMap1<K, V> extends BasicConstSortedMap<K, V> {
         return setOf(iter.entry());
     }
 
-    @Override public ConstSortedMap<K, V> with(K key, V value) {
+    @Override public ConstNavigableMap<K, V> with(K key, V value) {
         int cmp = compare(key, k0);
         if (cmp == 0) {
             if (Objects.equals(value, v0)) {
@@ -113,7 +113,7 @@ final class BasicSortedMap1<K, V> extends BasicConstSortedMap<K, V> {
             new BasicSortedMapN<K, V>(comparator, new Object[] {k0, key}, new Object[] {v0, value});
     }
 
-    @Override public ConstSortedMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+    @Override public ConstNavigableMap<K, V> withAll(Map<? extends K, ? extends V> map) {
         if (map.isEmpty()) {
             return this;
         }
@@ -123,34 +123,34 @@ final class BasicSortedMap1<K, V> extends BasicConstSortedMap<K, V> {
             unionInto(new Object[] {k0}, new Object[] {v0}, mc.keys, mc.values, comparator));
     }
 
-    @Override public ConstSortedMap<K, V> without(Object key) {
-        return !containsKey(key) ? this : BasicCollections.<K, V>emptySortedMap(comparator);
+    @Override public ConstNavigableMap<K, V> without(Object key) {
+        return !containsKey(key) ? this : BasicSortedMap0.<K, V>instance(comparator);
     }
 
-    @Override public ConstSortedMap<K, V> withoutAll(Collection<?> keys) {
+    @Override public ConstNavigableMap<K, V> withoutAll(Collection<?> keys) {
         // Just like AbstractCollection.removeAll, use the specified collection's "contains" method
         // to test for equality rather than this map's comparator.
-        return !keys.contains(k0) ? this : BasicCollections.<K, V>emptySortedMap(comparator);
+        return !keys.contains(k0) ? this : BasicSortedMap0.<K, V>instance(comparator);
     }
 
-    @Override public ConstSortedMap<K, V> headMap(K toKey) {
-        return compare(k0, toKey) < 0 ? this : BasicCollections.<K, V>emptySortedMap(comparator);
+    @Override public ConstNavigableMap<K, V> headMap(K toKey) {
+        return compare(k0, toKey) < 0 ? this : BasicSortedMap0.<K, V>instance(comparator);
     }
 
-    @Override public ConstSortedMap<K, V> tailMap(K fromKey) {
-        return compare(fromKey, k0) <= 0 ? this : BasicCollections.<K, V>emptySortedMap(comparator);
+    @Override public ConstNavigableMap<K, V> tailMap(K fromKey) {
+        return compare(fromKey, k0) <= 0 ? this : BasicSortedMap0.<K, V>instance(comparator);
     }
 
-    @Override public ConstSortedMap<K, V> subMap(K fromKey, K toKey) {
+    @Override public ConstNavigableMap<K, V> subMap(K fromKey, K toKey) {
         if (compare(fromKey, toKey) > 0) {
             throw new IllegalArgumentException("fromKey cannot be greater than toKey");
         }
         int from = compare(fromKey, k0);
         int to = compare(k0, toKey);
-        return from <= 0 && to < 0 ? this : BasicCollections.<K, V>emptySortedMap(comparator);
+        return from <= 0 && to < 0 ? this : BasicSortedMap0.<K, V>instance(comparator);
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return AbstractEntry.hashCode(k0, v0);
     }
 }
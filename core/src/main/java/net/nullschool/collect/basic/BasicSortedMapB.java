@@ -0,0 +1,250 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.*;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-22<p/>
+ *
+ * A sorted map backed by a persistent {@link BTree}. Lookups, {@link #with}, and {@link #without} are O(log(N)),
+ * and {@link #headMap}, {@link #tailMap}, and {@link #subMap} share all nodes of the tree lying within the
+ * requested range.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstSortedMap.class)
+final class BasicSortedMapB<K, V> extends BasicConstSortedMap<K, V> {
+
+    private final BTree.Node root;
+
+    BasicSortedMapB(Comparator<? super K> comparator, BTree.Node root) {
+        super(comparator);
+        assert root.size > 1;
+        this.root = root;
+    }
+
+    /**
+     * Returns a map for the specified tree, switching to the array based representation if the tree is small.
+     */
+    private ConstNavigableMap<K, V> condense(BTree.Node newRoot) {
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot.size < TREE_THRESHOLD ?
+            BasicCollections.<K, V>condenseToSortedMap(comparator, BTree.keys(newRoot), BTree.values(newRoot)) :
+            new BasicSortedMapB<K, V>(comparator, newRoot);
+    }
+
+    @Override public int size() {
+        return root.size;
+    }
+
+    @Override public boolean containsKey(Object key) {
+        return BTree.indexIn(BTree.leafFor(root, key, comparator), key, comparator) >= 0;
+    }
+
+    @Override protected boolean containsEntry(Object key, Object value) {
+        BTree.Node leaf = BTree.leafFor(root, key, comparator);
+        int i = BTree.indexIn(leaf, key, comparator);
+        return i >= 0 && Objects.equals(value, leaf.values[i]);
+    }
+
+    @Override public V get(Object key) {
+        BTree.Node leaf = BTree.leafFor(root, key, comparator);
+        int i = BTree.indexIn(leaf, key, comparator);
+        @SuppressWarnings("unchecked") V value = i >= 0 ? (V)leaf.values[i] : null;
+        return value;
+    }
+
+    @Override int indexOf(Object key) {
+        return BTree.indexOf(root, key, comparator);
+    }
+
+    @Override K getKey(int index) {
+        if (0 <= index && index < root.size) {
+            @SuppressWarnings("unchecked") K key = (K)BTree.keyAt(root, index);
+            return key;
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override V getValue(int index) {
+        if (0 <= index && index < root.size) {
+            int[] start = new int[1];
+            @SuppressWarnings("unchecked") V value = (V)BTree.leafAt(root, index, start).values[index - start[0]];
+            return value;
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Iterates the leaves directly, avoiding a tree descent for every entry.
+     */
+    private final class Iter implements MapIterator<K, V> {
+
+        private final int[] start = new int[1];
+        private int i = -1;
+        private BTree.Node leaf;
+        private int end = 0;  // the index following the current leaf's last entry.
+
+        @Override public boolean hasNext() {
+            return i + 1 < root.size;
+        }
+
+        @Override public K next() {
+            if (i + 1 < root.size) {
+                if (++i == end) {
+                    leaf = BTree.leafAt(root, i, start);
+                    end = start[0] + leaf.size;
+                }
+                @SuppressWarnings("unchecked") K key = (K)leaf.keys[i - start[0]];
+                return key;
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override public V value() {
+            if (leaf != null) {
+                @SuppressWarnings("unchecked") V value = (V)leaf.values[i - start[0]];
+                return value;
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override public Entry<K, V> entry() {
+            if (leaf != null) {
+                @SuppressWarnings("unchecked") K key = (K)leaf.keys[i - start[0]];
+                return new AbstractMap.SimpleImmutableEntry<>(key, value());
+            }
+            throw new IllegalStateException();
+        }
+
+        @Override public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Override public MapIterator<K, V> iterator() {
+        return new Iter();
+    }
+
+    @Override public K firstKey() {
+        @SuppressWarnings("unchecked") K key = (K)BTree.first(root).keys[0];
+        return key;
+    }
+
+    @Override public K lastKey() {
+        BTree.Node last = BTree.last(root);
+        @SuppressWarnings("unchecked") K key = (K)last.keys[last.size - 1];
+        return key;
+    }
+
+    @Override MapColumns sortedColumns() {
+        return new MapColumns(BTree.keys(root), BTree.values(root));
+    }
+
+    @Override public ConstNavigableSet<K> keySet() {
+        return condenseToSortedSet(comparator, BTree.keys(root));
+    }
+
+    @Override public ConstCollection<V> values() {
+        return condenseToList(BTree.values(root));
+    }
+
+    @Override public ConstSet<Entry<K, V>> entrySet() {
+        return new BasicConstEntriesView() {
+
+            @Override public ConstSet<Entry<K, V>> with(Entry<K, V> entry) {
+                return contains(entry) ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).with(entry);
+            }
+
+            @Override public ConstSet<Entry<K, V>> withAll(Collection<? extends Entry<K, V>> c) {
+                return c.isEmpty() ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).withAll(c);
+            }
+
+            @Override public ConstSet<Entry<K, V>> without(Object entry) {
+                return !contains(entry) ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).without(entry);
+            }
+
+            @Override public ConstSet<Entry<K, V>> withoutAll(Collection<?> c) {
+                return c.isEmpty() ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).withoutAll(c);
+            }
+        };
+    }
+
+    @Override public ConstNavigableMap<K, V> with(K key, V value) {
+        return condense(BTree.put(root, key, value, comparator));
+    }
+
+    @Override public ConstNavigableMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+        if (sharesOrdering(map) && map.size() >= root.size / BTree.MAX) {
+            // Each put copies a path through the tree, so merging is cheaper once map is a sizeable fraction of this.
+            return union(map);
+        }
+        BTree.Node node = root;
+        for (MapIterator<? extends K, ? extends V> iter = IteratorTools.newMapIterator(map); iter.hasNext();) {
+            K key = iter.next();
+            node = BTree.put(node, key, iter.value(), comparator);
+        }
+        return condense(node);
+    }
+
+    @Override public ConstNavigableMap<K, V> without(Object key) {
+        return condense(BTree.remove(root, key, comparator));
+    }
+
+    @Override public ConstNavigableMap<K, V> withoutAll(Collection<?> keysToDelete) {
+        if (keysToDelete.isEmpty()) {
+            return this;
+        }
+        if (sharesOrdering(keysToDelete)) {
+            return difference(keysToDelete);  // membership in keysToDelete agrees with this map's ordering, so merge.
+        }
+        MapColumns mc = deleteAll(BTree.keys(root), BTree.values(root), keysToDelete);
+        return mc.keys.length == size() ? this : BasicCollections.<K, V>condenseToSortedMap(comparator, mc);
+    }
+
+    private ConstNavigableMap<K, V> subMap(int fromIndex, int toIndex) {
+        if (fromIndex == 0 && toIndex == root.size) {
+            return this;
+        }
+        return fromIndex < toIndex ? condense(BTree.slice(root, fromIndex, toIndex)) : BasicSortedMap0.<K, V>instance(comparator);
+    }
+
+    @Override public ConstNavigableMap<K, V> headMap(K toKey) {
+        return subMap(0, BTree.rank(root, toKey, comparator));
+    }
+
+    @Override public ConstNavigableMap<K, V> tailMap(K fromKey) {
+        return subMap(BTree.rank(root, fromKey, comparator), root.size);
+    }
+
+    @Override public ConstNavigableMap<K, V> subMap(K fromKey, K toKey) {
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey cannot be greater than toKey");
+        }
+        return subMap(BTree.rank(root, fromKey, comparator), BTree.rank(root, toKey, comparator));
+    }
+}
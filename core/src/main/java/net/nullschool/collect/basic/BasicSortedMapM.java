@@ -0,0 +1,612 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.*;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static net.nullschool.util.ArrayTools.EMPTY_OBJECT_ARRAY;
+
+
+/**
+ * 2013-06-29<p/>
+ *
+ * A sorted map backed by a range of rows in a memory-mapped {@link MappedTable}. Keys and values are decoded lazily
+ * on each access, so the map's entries reside outside the Java heap.<p/>
+ *
+ * Modifications are applied copy-on-write to a small overlay held on the heap: rows removed from the table, rows
+ * whose values have been replaced, and inserted entries whose keys are absent from the table. The table itself is
+ * shared, unchanged, by every map derived from it. Lookups cost O(log(N)) key decodings plus O(log(M)) for an
+ * overlay of M changes. Deriving a new map copies the overlay, so this map suits large, mostly read-only tables
+ * with comparatively few changes. Bulk changes of K keys derive the new overlay in one pass, costing
+ * O(K log(N)) key decodings plus O(K log(K) + M).
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstSortedMap.class)
+final class BasicSortedMapM<K, V> extends BasicConstSortedMap<K, V> {
+
+    private static final int[] EMPTY_INT_ARRAY = new int[0];
+    private static final Object ABSENT = new Object();
+
+    private final MappedTable<K, V> table;
+    private final int fromRow;              // the first table row of this map, inclusive
+    private final int toRow;                // the last table row of this map, exclusive
+    private final int[] removedRows;        // sorted table rows absent from this map
+    private final int[] replacedRows;       // sorted table rows whose values have been replaced...
+    private final V[] replacedValues;       // ...by these values
+    private final K[] insertedKeys;         // sorted keys that do not occur in the table rows of this map...
+    private final V[] insertedValues;       // ...associated with these values...
+    private final int[] insertedRows;       // ...and ordered just before these table rows
+    private final int[] insertedIndexes;    // the position of each inserted key in this map
+    private final int size;
+
+    BasicSortedMapM(Comparator<? super K> comparator, MappedTable<K, V> table, int fromRow, int toRow) {
+        this(
+            comparator, table, fromRow, toRow,
+            EMPTY_INT_ARRAY,
+            EMPTY_INT_ARRAY, EMPTY_OBJECT_ARRAY,
+            EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY, EMPTY_INT_ARRAY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BasicSortedMapM(
+        Comparator<? super K> comparator,
+        MappedTable<K, V> table,
+        int fromRow,
+        int toRow,
+        int[] removedRows,
+        int[] replacedRows,
+        Object[] replacedValues,
+        Object[] insertedKeys,
+        Object[] insertedValues,
+        int[] insertedRows) {
+
+        super(comparator);
+        assert 0 <= fromRow && fromRow <= toRow && toRow <= table.count();
+        assert replacedRows.length == replacedValues.length;
+        assert insertedKeys.length == insertedValues.length && insertedKeys.length == insertedRows.length;
+        this.table = table;
+        this.fromRow = fromRow;
+        this.toRow = toRow;
+        this.removedRows = removedRows;
+        this.replacedRows = replacedRows;
+        this.replacedValues = (V[])replacedValues;
+        this.insertedKeys = (K[])insertedKeys;
+        this.insertedValues = (V[])insertedValues;
+        this.insertedRows = insertedRows;
+        this.insertedIndexes = new int[insertedRows.length];
+        for (int i = 0; i < insertedRows.length; i++) {
+            // Position = inserted keys before this one + table rows before this one - removed rows before this one.
+            int row = insertedRows[i];
+            insertedIndexes[i] = i + (row - fromRow) - countBelow(removedRows, row);
+        }
+        this.size = (toRow - fromRow) - removedRows.length + insertedKeys.length;
+        assert size > 0;
+    }
+
+    /**
+     * Returns the number of elements in the sorted array that are less than the specified value.
+     */
+    private static int countBelow(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return index >= 0 ? index : flip(index);
+    }
+
+    private static int[] insert(int[] original, int index, int e) {
+        int[] result = new int[original.length + 1];
+        System.arraycopy(original, 0, result, 0, index);
+        result[index] = e;
+        System.arraycopy(original, index, result, index + 1, original.length - index);
+        return result;
+    }
+
+    private static int[] delete(int[] original, int index) {
+        int[] result = new int[original.length - 1];
+        System.arraycopy(original, 0, result, 0, index);
+        System.arraycopy(original, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private ConstNavigableMap<K, V> derive(
+        int fromRow,
+        int toRow,
+        int[] removedRows,
+        int[] replacedRows,
+        Object[] replacedValues,
+        Object[] insertedKeys,
+        Object[] insertedValues,
+        int[] insertedRows) {
+
+        if ((toRow - fromRow) - removedRows.length + insertedKeys.length == 0) {
+            return BasicSortedMap0.<K, V>instance(comparator);
+        }
+        return new BasicSortedMapM<>(
+            comparator, table, fromRow, toRow,
+            removedRows,
+            replacedRows, replacedValues,
+            insertedKeys, insertedValues, insertedRows);
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the table row of the specified position, where position counts only the rows of this map that have
+     * not been removed.
+     */
+    private int rowAt(int position) {
+        // The value (removedRows[i] - fromRow - i) is the position the ith removed row would have had. This value
+        // is non-decreasing, so binary search for the number of removed rows at or before the desired position.
+        final int[] removed = removedRows;
+        int low = 0;
+        int high = removed.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (removed[mid] - fromRow - mid <= position) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return fromRow + position + low;
+    }
+
+    private V valueOfRow(int row) {
+        int index = Arrays.binarySearch(replacedRows, row);
+        return index >= 0 ? replacedValues[index] : table.value(row);
+    }
+
+    @Override K getKey(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        int i = Arrays.binarySearch(insertedIndexes, index);
+        return i >= 0 ? insertedKeys[i] : table.key(rowAt(index - flip(i)));
+    }
+
+    @Override V getValue(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        int i = Arrays.binarySearch(insertedIndexes, index);
+        return i >= 0 ? insertedValues[i] : valueOfRow(rowAt(index - flip(i)));
+    }
+
+    private int searchInserted(Object key) {
+        // Cast to K is safe here because the comparator will do type checking when the compare method is invoked.
+        @SuppressWarnings("unchecked") K k = (K)key;
+        return Arrays.binarySearch(insertedKeys, k, comparator);
+    }
+
+    private int searchTable(Object key) {
+        @SuppressWarnings("unchecked") K k = (K)key;
+        return table.search(fromRow, toRow, k, comparator);
+    }
+
+    /**
+     * Returns the value associated with the key, or ABSENT if this map does not contain the key.
+     */
+    private Object find(Object key) {
+        int index = searchInserted(key);
+        if (index >= 0) {
+            return insertedValues[index];
+        }
+        int row = searchTable(key);
+        return row < 0 || Arrays.binarySearch(removedRows, row) >= 0 ? ABSENT : valueOfRow(row);
+    }
+
+    @Override public boolean containsKey(Object key) {
+        return find(key) != ABSENT;
+    }
+
+    @Override public boolean containsValue(Object value) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(value, getValue(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override protected boolean containsEntry(Object key, Object value) {
+        Object found = find(key);
+        return found != ABSENT && Objects.equals(value, found);
+    }
+
+    @Override public V get(Object key) {
+        Object found = find(key);
+        @SuppressWarnings("unchecked") V result = found != ABSENT ? (V)found : null;
+        return result;
+    }
+
+    @Override public K firstKey() {
+        return getKey(0);
+    }
+
+    @Override public K lastKey() {
+        return getKey(size - 1);
+    }
+
+    @Override public ConstNavigableSet<K> keySet() {
+        return condenseToSortedSet(comparator, copy(this).keys);
+    }
+
+    @Override public ConstCollection<V> values() {
+        return condenseToList(copy(this).values);
+    }
+
+    @Override public ConstSet<Entry<K, V>> entrySet() {
+        return new BasicConstEntriesView() {
+
+            @Override public ConstSet<Entry<K, V>> with(Entry<K, V> entry) {
+                return contains(entry) ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).with(entry);
+            }
+
+            @Override public ConstSet<Entry<K, V>> withAll(Collection<? extends Entry<K, V>> c) {
+                return c.isEmpty() ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).withAll(c);
+            }
+
+            @Override public ConstSet<Entry<K, V>> without(Object entry) {
+                return !contains(entry) ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).without(entry);
+            }
+
+            @Override public ConstSet<Entry<K, V>> withoutAll(Collection<?> c) {
+                return c.isEmpty() ? this : BasicCollections.<Entry<K, V>>condenseToSet(toArray()).withoutAll(c);
+            }
+        };
+    }
+
+    @Override public ConstNavigableMap<K, V> with(K key, V value) {
+        int index = searchInserted(key);
+        if (index >= 0) {
+            if (Objects.equals(value, insertedValues[index])) {
+                return this;
+            }
+            return derive(
+                fromRow, toRow,
+                removedRows,
+                replacedRows, replacedValues,
+                insertedKeys, BasicTools.replace(insertedValues, index, value), insertedRows);
+        }
+
+        int row = searchTable(key);
+        if (row < 0) {
+            index = flip(index);
+            return derive(
+                fromRow, toRow,
+                removedRows,
+                replacedRows, replacedValues,
+                BasicTools.insert(insertedKeys, index, key),
+                BasicTools.insert(insertedValues, index, value),
+                insert(insertedRows, index, flip(row)));
+        }
+
+        int[] removed = removedRows;
+        int removedIndex = Arrays.binarySearch(removed, row);
+        int replacedIndex = Arrays.binarySearch(replacedRows, row);
+        if (removedIndex >= 0) {
+            removed = delete(removed, removedIndex);  // restore the row
+        }
+        else if (Objects.equals(value, replacedIndex >= 0 ? replacedValues[replacedIndex] : table.value(row))) {
+            return this;
+        }
+
+        int[] replaced = replacedRows;
+        Object[] replacements = replacedValues;
+        if (Objects.equals(value, table.value(row))) {
+            if (replacedIndex >= 0) {
+                replaced = delete(replaced, replacedIndex);
+                replacements = BasicTools.delete(replacements, replacedIndex);
+            }
+        }
+        else if (replacedIndex >= 0) {
+            replacements = BasicTools.replace(replacements, replacedIndex, value);
+        }
+        else {
+            replacedIndex = flip(replacedIndex);
+            replaced = insert(replaced, replacedIndex, row);
+            replacements = BasicTools.insert(replacements, replacedIndex, value);
+        }
+        return derive(
+            fromRow, toRow,
+            removed,
+            replaced, replacements,
+            insertedKeys, insertedValues, insertedRows);
+    }
+
+    @Override public ConstNavigableMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+        if (map.isEmpty()) {
+            return this;
+        }
+        // Sort the new entries, then resolve each against the overlay and the table. The keys ascend, so the table
+        // rows they resolve to ascend too, and each part of the overlay is rebuilt with a single merge.
+        MapColumns mc = copy(map);
+        mc = unionInto(EMPTY_OBJECT_ARRAY, EMPTY_OBJECT_ARRAY, mc.keys, mc.values, comparator);
+        final int count = mc.keys.length;
+
+        Object[] values = insertedValues;          // values of the existing inserted keys, copied on first change
+        Object[] addedKeys = new Object[count];    // keys absent from both the overlay and the table...
+        Object[] addedValues = new Object[count];  // ...their values...
+        int[] addedRows = new int[count];          // ...and the table rows they precede
+        int added = 0;
+        int[] changedRows = new int[count];        // table rows that are restored or receive new values...
+        Object[] changedValues = new Object[count];  // ...the new values, or ABSENT if equal to the table's value
+        int changed = 0;
+        for (int i = 0; i < count; i++) {
+            Object key = mc.keys[i];
+            Object value = mc.values[i];
+            int index = searchInserted(key);
+            if (index >= 0) {
+                if (!Objects.equals(value, values[index])) {
+                    if (values == insertedValues) {
+                        values = copy(insertedValues);
+                    }
+                    values[index] = value;
+                }
+                continue;
+            }
+            int row = searchTable(key);
+            if (row < 0) {
+                addedKeys[added] = key;
+                addedValues[added] = value;
+                addedRows[added++] = flip(row);
+            }
+            else if (Arrays.binarySearch(removedRows, row) >= 0 || !Objects.equals(value, valueOfRow(row))) {
+                changedRows[changed] = row;
+                changedValues[changed++] = Objects.equals(value, table.value(row)) ? ABSENT : value;
+            }
+        }
+        if (values == insertedValues && added == 0 && changed == 0) {
+            return this;
+        }
+
+        // Merge the added keys into the inserted keys.
+        final int insertedCount = insertedKeys.length + added;
+        Object[] keys = new Object[insertedCount];
+        Object[] newValues = new Object[insertedCount];
+        int[] rows = new int[insertedCount];
+        for (int i = 0, j = 0, k = 0; k < insertedCount; k++) {
+            @SuppressWarnings("unchecked") K addedKey = j < added ? (K)addedKeys[j] : null;
+            if (j == added || (i < insertedKeys.length && compare(insertedKeys[i], addedKey) < 0)) {
+                keys[k] = insertedKeys[i];
+                newValues[k] = values[i];
+                rows[k] = insertedRows[i++];
+            }
+            else {
+                keys[k] = addedKeys[j];
+                newValues[k] = addedValues[j];
+                rows[k] = addedRows[j++];
+            }
+        }
+
+        // Restore the changed rows that were removed.
+        int[] removed = new int[removedRows.length];
+        int removedCount = 0;
+        for (int i = 0, j = 0; i < removedRows.length; i++) {
+            while (j < changed && changedRows[j] < removedRows[i]) {
+                j++;
+            }
+            if (j == changed || changedRows[j] != removedRows[i]) {
+                removed[removedCount++] = removedRows[i];
+            }
+        }
+
+        // Merge the changed rows into the replaced rows, dropping those whose values now equal the table's.
+        int[] replaced = new int[replacedRows.length + changed];
+        Object[] replacements = new Object[replaced.length];
+        int replacedCount = 0;
+        for (int i = 0, j = 0; i < replacedRows.length || j < changed;) {
+            int row;
+            Object value;
+            if (j == changed || (i < replacedRows.length && replacedRows[i] < changedRows[j])) {
+                row = replacedRows[i];
+                value = replacedValues[i++];
+            }
+            else {
+                row = changedRows[j];
+                value = changedValues[j++];
+                if (i < replacedRows.length && replacedRows[i] == row) {
+                    i++;  // superseded
+                }
+            }
+            if (value != ABSENT) {
+                replaced[replacedCount] = row;
+                replacements[replacedCount++] = value;
+            }
+        }
+
+        return derive(
+            fromRow, toRow,
+            Arrays.copyOf(removed, removedCount),
+            Arrays.copyOf(replaced, replacedCount), Arrays.copyOf(replacements, replacedCount),
+            keys, newValues, rows);
+    }
+
+    @Override public ConstNavigableMap<K, V> without(Object key) {
+        int index = searchInserted(key);
+        if (index >= 0) {
+            return derive(
+                fromRow, toRow,
+                removedRows,
+                replacedRows, replacedValues,
+                BasicTools.delete(insertedKeys, index),
+                BasicTools.delete(insertedValues, index),
+                delete(insertedRows, index));
+        }
+
+        int row = searchTable(key);
+        if (row < 0) {
+            return this;
+        }
+        int removedIndex = Arrays.binarySearch(removedRows, row);
+        if (removedIndex >= 0) {
+            return this;
+        }
+
+        int[] replaced = replacedRows;
+        Object[] replacements = replacedValues;
+        int replacedIndex = Arrays.binarySearch(replaced, row);
+        if (replacedIndex >= 0) {
+            replaced = delete(replaced, replacedIndex);
+            replacements = BasicTools.delete(replacements, replacedIndex);
+        }
+        return derive(
+            fromRow, toRow,
+            insert(removedRows, flip(removedIndex), row),
+            replaced, replacements,
+            insertedKeys, insertedValues, insertedRows);
+    }
+
+    @Override public ConstNavigableMap<K, V> withoutAll(Collection<?> keysToDelete) {
+        if (keysToDelete.isEmpty()) {
+            return this;
+        }
+        // Resolve each key against the overlay and the table, then rebuild each part of the overlay with a single
+        // pass: inserted keys are filtered, and the sorted rows to remove are merged into the removed rows.
+        boolean[] deleted = new boolean[insertedKeys.length];
+        int deletedCount = 0;
+        int[] rows = new int[keysToDelete.size()];
+        int count = 0;
+        for (Object key : keysToDelete) {
+            int index = searchInserted(key);
+            if (index >= 0) {
+                if (!deleted[index]) {
+                    deleted[index] = true;
+                    deletedCount++;
+                }
+                continue;
+            }
+            int row = searchTable(key);
+            if (row >= 0 && Arrays.binarySearch(removedRows, row) < 0) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        Arrays.sort(rows, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || rows[unique - 1] != rows[i]) {
+                rows[unique++] = rows[i];
+            }
+        }
+        if (deletedCount == 0 && unique == 0) {
+            return this;
+        }
+
+        // Filter the inserted keys.
+        final int insertedCount = insertedKeys.length - deletedCount;
+        Object[] keys = new Object[insertedCount];
+        Object[] values = new Object[insertedCount];
+        int[] inserted = new int[insertedCount];
+        for (int i = 0, k = 0; i < insertedKeys.length; i++) {
+            if (!deleted[i]) {
+                keys[k] = insertedKeys[i];
+                values[k] = insertedValues[i];
+                inserted[k++] = insertedRows[i];
+            }
+        }
+
+        // Merge the rows to remove into the removed rows. The two are disjoint.
+        int[] removed = new int[removedRows.length + unique];
+        for (int i = 0, j = 0, k = 0; k < removed.length; k++) {
+            removed[k] = j == unique || (i < removedRows.length && removedRows[i] < rows[j]) ?
+                removedRows[i++] :
+                rows[j++];
+        }
+
+        // Drop the replaced values of removed rows.
+        int[] replaced = new int[replacedRows.length];
+        Object[] replacements = new Object[replaced.length];
+        int replacedCount = 0;
+        for (int i = 0, j = 0; i < replacedRows.length; i++) {
+            while (j < unique && rows[j] < replacedRows[i]) {
+                j++;
+            }
+            if (j == unique || rows[j] != replacedRows[i]) {
+                replaced[replacedCount] = replacedRows[i];
+                replacements[replacedCount++] = replacedValues[i];
+            }
+        }
+
+        return derive(
+            fromRow, toRow,
+            removed,
+            Arrays.copyOf(replaced, replacedCount), Arrays.copyOf(replacements, replacedCount),
+            keys, values, inserted);
+    }
+
+    private int ceilingRow(K key) {
+        int row = searchTable(key);
+        return row >= 0 ? row : flip(row);
+    }
+
+    private int ceilingInserted(K key) {
+        int index = searchInserted(key);
+        return index >= 0 ? index : flip(index);
+    }
+
+    private ConstNavigableMap<K, V> subMap(int newFromRow, int newToRow, int fromIndex, int toIndex) {
+        if (newFromRow == fromRow && newToRow == toRow && fromIndex == 0 && toIndex == insertedKeys.length) {
+            return this;
+        }
+        int removedFrom = countBelow(removedRows, newFromRow);
+        int removedTo = countBelow(removedRows, newToRow);
+        int replacedFrom = countBelow(replacedRows, newFromRow);
+        int replacedTo = countBelow(replacedRows, newToRow);
+        return derive(
+            newFromRow, newToRow,
+            Arrays.copyOfRange(removedRows, removedFrom, removedTo),
+            Arrays.copyOfRange(replacedRows, replacedFrom, replacedTo),
+            Arrays.copyOfRange(replacedValues, replacedFrom, replacedTo, Object[].class),
+            Arrays.copyOfRange(insertedKeys, fromIndex, toIndex, Object[].class),
+            Arrays.copyOfRange(insertedValues, fromIndex, toIndex, Object[].class),
+            Arrays.copyOfRange(insertedRows, fromIndex, toIndex));
+    }
+
+    @Override public ConstNavigableMap<K, V> headMap(K toKey) {
+        return subMap(fromRow, ceilingRow(toKey), 0, ceilingInserted(toKey));
+    }
+
+    @Override public ConstNavigableMap<K, V> tailMap(K fromKey) {
+        return subMap(ceilingRow(fromKey), toRow, ceilingInserted(fromKey), insertedKeys.length);
+    }
+
+    @Override public ConstNavigableMap<K, V> subMap(K fromKey, K toKey) {
+        if (compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey cannot be greater than toKey");
+        }
+        return subMap(ceilingRow(fromKey), ceilingRow(toKey), ceilingInserted(fromKey), ceilingInserted(toKey));
+    }
+
+    @Override int computeHashCode() {
+        int result = 0;
+        for (MapIterator<K, V> iter = iterator(); iter.hasNext();) {
+            result += AbstractEntry.hashCode(iter.next(), iter.value());
+        }
+        return result;
+    }
+}
@@ -52,7 +52,7 @@ final class BasicSortedMapN<K, V> extends BasicConstSortedMap<K, V> {
         return keys.length;
     }
 
-    private int indexOf(Object o) {
+    @Override int indexOf(Object o) {
         // Cast to K is safe here because the comparator will do type checking when the compare method is invoked.
         @SuppressWarnings("unchecked") K k = (K)o;
         return Arrays.binarySearch(keys, k, comparator);
@@ -92,7 +92,7 @@ final class BasicSortedMapN<K, V> extends BasicConstSortedMap<K, V> {
         return keys[keys.length - 1];
     }
 
-    @Override public ConstSortedSet<K> keySet() {
+    @Override public ConstNavigableSet<K> keySet() {
         return condenseToSortedSet(comparator, keys);
     }
 
@@ -100,6 +100,10 @@ final class BasicSortedMapN<K, V> extends BasicConstSortedMap<K, V> {
         return condenseToList(values);
     }
 
+    @Override MapColumns sortedColumns() {
+        return new MapColumns(keys, values);
+    }
+
     @Override public ConstSet<Entry<K, V>> entrySet() {
         // UNDONE: this is the same as BasicMapN...
         return new BasicConstEntriesView() {
@@ -124,7 +128,7 @@ final class BasicSortedMapN<K, V> extends BasicConstSortedMap<K, V> {
         };
     }
 
-    @Override public ConstSortedMap<K, V> with(K key, V value) {
+    @Override public ConstNavigableMap<K, V> with(K key, V value) {
         int index = indexOf(key);
         if (index >= 0) {
             if (Objects.equals(value, values[index])) {
@@ -133,32 +137,38 @@ final class BasicSortedMapN<K, V> extends BasicConstSortedMap<K, V> {
             return new BasicSortedMapN<>(comparator, keys, replace(values, index, value));
         }
         index = flip(index);
-        return new BasicSortedMapN<>(comparator, insert(keys, index, key), insert(values, index, value));
+        return condenseToSortedMap(comparator, insert(keys, index, key), insert(values, index, value));
     }
 
-    @Override public ConstSortedMap<K, V> withAll(Map<? extends K, ? extends V> map) {
+    @Override public ConstNavigableMap<K, V> withAll(Map<? extends K, ? extends V> map) {
         if (map.isEmpty()) {
             return this;
         }
+        if (sharesOrdering(map)) {
+            return union(map);
+        }
         MapColumns mc = copy(map);
         return condenseToSortedMap(comparator, unionInto(keys, values, mc.keys, mc.values, comparator));
     }
 
-    @Override public ConstSortedMap<K, V> without(Object key) {
+    @Override public ConstNavigableMap<K, V> without(Object key) {
         int index = indexOf(key);
         return index < 0 ?
             this :
             BasicCollections.<K, V>condenseToSortedMap(comparator, delete(keys, index), delete(values, index));
     }
 
-    @Override public ConstSortedMap<K, V> withoutAll(Collection<?> keysToDelete) {
+    @Override public ConstNavigableMap<K, V> withoutAll(Collection<?> keysToDelete) {
         if (keysToDelete.isEmpty()) {
             return this;
         }
+        if (sharesOrdering(keysToDelete)) {
+            return difference(keysToDelete);  // membership in keysToDelete agrees with this map's ordering, so merge.
+        }
         return condenseToSortedMap(comparator, deleteAll(keys, values, keysToDelete));
     }
 
-    private ConstSortedMap<K, V> subMap(int fromIndex, int toIndex) {
+    private ConstNavigableMap<K, V> subMap(int fromIndex, int toIndex) {
         if (fromIndex < 0) {
             fromIndex = flip(fromIndex);
         }
@@ -174,22 +184,22 @@ final class BasicSortedMapN<K, V> extends BasicConstSortedMap<K, V> {
             Arrays.copyOfRange(values, fromIndex, toIndex));
     }
 
-    @Override public ConstSortedMap<K, V> headMap(K toKey) {
+    @Override public ConstNavigableMap<K, V> headMap(K toKey) {
         return subMap(0, indexOf(toKey));
     }
 
-    @Override public ConstSortedMap<K, V> tailMap(K fromKey) {
+    @Override public ConstNavigableMap<K, V> tailMap(K fromKey) {
         return subMap(indexOf(fromKey), keys.length);
     }
 
-    @Override public ConstSortedMap<K, V> subMap(K fromKey, K toKey) {
+    @Override public ConstNavigableMap<K, V> subMap(K fromKey, K toKey) {
         if (compare(fromKey, toKey) > 0) {
             throw new IllegalArgumentException("fromKey cannot be greater than toKey");
         }
         return subMap(indexOf(fromKey), indexOf(toKey));
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         // UNDONE: this is the same as BasicMapN...
         int result = 0;
         for (int i = 0; i < keys.length; i++) {
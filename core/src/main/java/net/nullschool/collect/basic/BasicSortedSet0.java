@@ -16,12 +16,13 @@
 
 package net.nullschool.collect.basic;
 
-import net.nullschool.collect.ConstSortedSet;
+import net.nullschool.collect.ConstNavigableSet;
 import net.nullschool.reflect.PublicInterfaceRef;
 import net.nullschool.util.ArrayTools;
 
 import java.util.*;
 
+import static net.nullschool.collect.basic.BasicTools.*;
 import static net.nullschool.collect.basic.BasicCollections.*;
 
 
@@ -87,34 +88,34 @@ final class BasicSortedSet0<E> extends BasicConstSortedSet<E> {
         return a;
     }
 
-    @Override public ConstSortedSet<E> with(E e) {
-        return sortedSetOf(comparator, e);
+    @Override public ConstNavigableSet<E> with(E e) {
+        return new BasicSortedSet1<>(comparator, checkType(comparator, e));
     }
 
-    @Override public ConstSortedSet<E> withAll(Collection<? extends E> c) {
-        return c.isEmpty() ? this : asSortedSet(comparator, c);
+    @Override public ConstNavigableSet<E> withAll(Collection<? extends E> c) {
+        return c.isEmpty() ? this : (ConstNavigableSet<E>)asSortedSet(comparator, c);
     }
 
-    @Override public ConstSortedSet<E> without(Object o) {
+    @Override public ConstNavigableSet<E> without(Object o) {
         return this;
     }
 
-    @Override public ConstSortedSet<E> withoutAll(Collection<?> c) {
+    @Override public ConstNavigableSet<E> withoutAll(Collection<?> c) {
         Objects.requireNonNull(c);
         return this;
     }
 
-    @Override public ConstSortedSet<E> headSet(E toElement) {
+    @Override public ConstNavigableSet<E> headSet(E toElement) {
         BasicTools.checkType(comparator, toElement);
         return this;
     }
 
-    @Override public ConstSortedSet<E> tailSet(E fromElement) {
+    @Override public ConstNavigableSet<E> tailSet(E fromElement) {
         BasicTools.checkType(comparator, fromElement);
         return this;
     }
 
-    @Override public ConstSortedSet<E> subSet(E fromElement, E toElement) {
+    @Override public ConstNavigableSet<E> subSet(E fromElement, E toElement) {
         if (compare(fromElement, toElement) > 0) {
             throw new IllegalArgumentException("fromElement cannot be greater than toElement");
         }
@@ -125,7 +126,7 @@ final class BasicSortedSet0<E> extends BasicConstSortedSet<E> {
         return this == that || that instanceof Set && ((Set<?>)that).isEmpty();
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return 0;
     }
 
@@ -16,7 +16,7 @@
 
 package net.nullschool.collect.basic;
 
-import net.nullschool.collect.ConstSortedSet;
+import net.nullschool.collect.ConstNavigableSet;
 import net.nullschool.reflect.PublicInterfaceRef;
 
 import java.util.*;
@@ -73,7 +73,7 @@ final class BasicSortedSet1<E> extends BasicConstSortedSet<E> {
         return new Object[] {e0};
     }
 
-    @Override public ConstSortedSet<E> with(E e) {
+    @Override public ConstNavigableSet<E> with(E e) {
         int cmp = compare(e, e0);
         return cmp == 0 ?
             this :
@@ -82,7 +82,7 @@ final class BasicSortedSet1<E> extends BasicConstSortedSet<E> {
                 new BasicSortedSetN<>(comparator, new Object[] {e0, e});
     }
 
-    @Override public ConstSortedSet<E> withAll(Collection<? extends E> c) {
+    @Override public ConstNavigableSet<E> withAll(Collection<? extends E> c) {
         if (c.isEmpty()) {
             return this;
         }
@@ -90,34 +90,34 @@ final class BasicSortedSet1<E> extends BasicConstSortedSet<E> {
         return expanded.length == size() ? this : condenseToSortedSet(comparator, expanded);
     }
 
-    @Override public ConstSortedSet<E> without(Object o) {
-        return !contains(o) ? this : emptySortedSet(comparator);
+    @Override public ConstNavigableSet<E> without(Object o) {
+        return !contains(o) ? this : BasicSortedSet0.<E>instance(comparator);
     }
 
-    @Override public ConstSortedSet<E> withoutAll(Collection<?> c) {
+    @Override public ConstNavigableSet<E> withoutAll(Collection<?> c) {
         // Just like AbstractCollection.removeAll, use the specified collection's "contains" method
         // to test for equality rather than this set's comparator.
-        return !c.contains(e0) ? this : emptySortedSet(comparator);
+        return !c.contains(e0) ? this : BasicSortedSet0.<E>instance(comparator);
     }
 
-    @Override public ConstSortedSet<E> headSet(E toElement) {
-        return compare(e0, toElement) < 0 ? this : emptySortedSet(comparator);
+    @Override public ConstNavigableSet<E> headSet(E toElement) {
+        return compare(e0, toElement) < 0 ? this : BasicSortedSet0.<E>instance(comparator);
     }
 
-    @Override public ConstSortedSet<E> tailSet(E fromElement) {
-        return compare(fromElement, e0) <= 0 ? this : emptySortedSet(comparator);
+    @Override public ConstNavigableSet<E> tailSet(E fromElement) {
+        return compare(fromElement, e0) <= 0 ? this : BasicSortedSet0.<E>instance(comparator);
     }
 
-    @Override public ConstSortedSet<E> subSet(E fromElement, E toElement) {
+    @Override public ConstNavigableSet<E> subSet(E fromElement, E toElement) {
         if (compare(fromElement, toElement) > 0) {
             throw new IllegalArgumentException("fromElement cannot be greater than toElement");
         }
         int from = compare(fromElement, e0);
         int to = compare(e0, toElement);
-        return from <= 0 && to < 0 ? this : emptySortedSet(comparator);
+        return from <= 0 && to < 0 ? this : BasicSortedSet0.<E>instance(comparator);
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         return Objects.hashCode(e0);
     }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.AbstractUnmodifiableIterator;
+import net.nullschool.collect.ConstNavigableSet;
+import net.nullschool.reflect.PublicInterfaceRef;
+
+import java.util.*;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-22<p/>
+ *
+ * A sorted set backed by a persistent {@link BTree}. Membership tests, {@link #with}, and {@link #without} are
+ * O(log(N)), and {@link #headSet}, {@link #tailSet}, and {@link #subSet} share all nodes of the tree lying within
+ * the requested range.
+ *
+ * @author Cameron Beccario
+ */
+@PublicInterfaceRef(BasicConstSortedSet.class)
+final class BasicSortedSetB<E> extends BasicConstSortedSet<E> {
+
+    private final BTree.Node root;
+
+    BasicSortedSetB(Comparator<? super E> comparator, BTree.Node root) {
+        super(comparator);
+        assert root.size > 1;
+        this.root = root;
+    }
+
+    /**
+     * Returns a set for the specified tree, switching to the array based representation if the tree is small.
+     */
+    private ConstNavigableSet<E> condense(BTree.Node newRoot) {
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot.size < TREE_THRESHOLD ?
+            BasicCollections.<E>condenseToSortedSet(comparator, BTree.keys(newRoot)) :
+            new BasicSortedSetB<E>(comparator, newRoot);
+    }
+
+    @Override public int size() {
+        return root.size;
+    }
+
+    @Override public boolean contains(Object o) {
+        return BTree.indexIn(BTree.leafFor(root, o, comparator), o, comparator) >= 0;
+    }
+
+    @Override int indexOf(Object o) {
+        return BTree.indexOf(root, o, comparator);
+    }
+
+    @Override E get(int index) {
+        if (0 <= index && index < root.size) {
+            @SuppressWarnings("unchecked") E e = (E)BTree.keyAt(root, index);
+            return e;
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Iterates the leaves directly, avoiding a tree descent for every element.
+     */
+    private final class Iter extends AbstractUnmodifiableIterator<E> {
+
+        private final int[] start = new int[1];
+        private int i = 0;
+        private BTree.Node leaf;
+        private int end = 0;  // the index following the current leaf's last element.
+
+        @Override public boolean hasNext() {
+            return i < root.size;
+        }
+
+        @Override public E next() {
+            if (i < root.size) {
+                if (i == end) {
+                    leaf = BTree.leafAt(root, i, start);
+                    end = start[0] + leaf.size;
+                }
+                @SuppressWarnings("unchecked") E e = (E)leaf.keys[i++ - start[0]];
+                return e;
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override public Iterator<E> iterator() {
+        return new Iter();
+    }
+
+    @Override public E first() {
+        @SuppressWarnings("unchecked") E e = (E)BTree.first(root).keys[0];
+        return e;
+    }
+
+    @Override public E last() {
+        BTree.Node last = BTree.last(root);
+        @SuppressWarnings("unchecked") E e = (E)last.keys[last.size - 1];
+        return e;
+    }
+
+    @Override public Object[] toArray() {
+        return BTree.keys(root);
+    }
+
+    @Override public ConstNavigableSet<E> with(E e) {
+        return condense(BTree.put(root, e, null, comparator));
+    }
+
+    @Override public ConstNavigableSet<E> withAll(Collection<? extends E> c) {
+        if (sharesOrdering(c) && c.size() >= root.size / BTree.MAX) {
+            // Each put copies a path through the tree, so merging is cheaper once c is a sizeable fraction of this set.
+            return union(c);
+        }
+        BTree.Node node = root;
+        for (E e : c) {
+            node = BTree.put(node, e, null, comparator);
+        }
+        return condense(node);
+    }
+
+    @Override public ConstNavigableSet<E> without(Object o) {
+        return condense(BTree.remove(root, o, comparator));
+    }
+
+    @Override public ConstNavigableSet<E> withoutAll(Collection<?> c) {
+        if (c.isEmpty()) {
+            return this;
+        }
+        if (sharesOrdering(c)) {
+            return difference(c);  // membership in c agrees with this set's ordering, so merge.
+        }
+        // deleteAll uses the collection's contains method to test for equality, just as
+        // AbstractCollection.removeAll does.
+        Object[] shrunk = deleteAll(BTree.keys(root), c);
+        return shrunk.length == size() ? this : condenseToSortedSet(comparator, shrunk);
+    }
+
+    private ConstNavigableSet<E> subSet(int fromIndex, int toIndex) {
+        if (fromIndex == 0 && toIndex == root.size) {
+            return this;
+        }
+        return fromIndex < toIndex ? condense(BTree.slice(root, fromIndex, toIndex)) : BasicSortedSet0.<E>instance(comparator);
+    }
+
+    @Override public ConstNavigableSet<E> headSet(E toElement) {
+        return subSet(0, BTree.rank(root, toElement, comparator));
+    }
+
+    @Override public ConstNavigableSet<E> tailSet(E fromElement) {
+        return subSet(BTree.rank(root, fromElement, comparator), root.size);
+    }
+
+    @Override public ConstNavigableSet<E> subSet(E fromElement, E toElement) {
+        if (compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("fromElement cannot be greater than toElement");
+        }
+        return subSet(BTree.rank(root, fromElement, comparator), BTree.rank(root, toElement, comparator));
+    }
+}
@@ -16,7 +16,7 @@
 
 package net.nullschool.collect.basic;
 
-import net.nullschool.collect.ConstSortedSet;
+import net.nullschool.collect.ConstNavigableSet;
 import net.nullschool.reflect.PublicInterfaceRef;
 
 import java.util.*;
@@ -47,7 +47,7 @@ final class BasicSortedSetN<E> extends BasicConstSortedSet<E> {
         return elements.length;
     }
 
-    private int indexOf(Object o) {
+    @Override int indexOf(Object o) {
         // Cast to E is safe here because the comparator will do type checking when the compare method is invoked.
         @SuppressWarnings("unchecked") E e = (E)o;
         return Arrays.binarySearch(elements, e, comparator);
@@ -73,35 +73,45 @@ final class BasicSortedSetN<E> extends BasicConstSortedSet<E> {
         return elements.clone();
     }
 
-    @Override public ConstSortedSet<E> with(E e) {
+    @Override Object[] sortedArray() {
+        return elements;
+    }
+
+    @Override public ConstNavigableSet<E> with(E e) {
         int index = indexOf(e);
-        return index >= 0 ? this : new BasicSortedSetN<>(comparator, insert(elements, flip(index), e));
+        return index >= 0 ? this : condenseToSortedSet(comparator, insert(elements, flip(index), e));
     }
 
-    @Override public ConstSortedSet<E> withAll(Collection<? extends E> c) {
+    @Override public ConstNavigableSet<E> withAll(Collection<? extends E> c) {
         if (c.isEmpty()) {
             return this;
         }
+        if (sharesOrdering(c)) {
+            return union(c);
+        }
         Object[] expanded = unionInto(elements, c.toArray(), comparator);
-        return expanded.length == size() ? this : new BasicSortedSetN<>(comparator, expanded);
+        return expanded.length == size() ? this : condenseToSortedSet(comparator, expanded);
     }
 
-    @Override public ConstSortedSet<E> without(Object o) {
+    @Override public ConstNavigableSet<E> without(Object o) {
         int index = indexOf(o);
         return index < 0 ? this : condenseToSortedSet(comparator, delete(elements, index));
     }
 
-    @Override public ConstSortedSet<E> withoutAll(Collection<?> c) {
+    @Override public ConstNavigableSet<E> withoutAll(Collection<?> c) {
         if (c.isEmpty()) {
             return this;
         }
+        if (sharesOrdering(c)) {
+            return difference(c);  // membership in c agrees with this set's ordering, so merge.
+        }
         // deleteAll uses the collection's contains method to test for equality, just as
         // AbstractCollection.removeAll does.
         Object[] shrunk = deleteAll(elements, c);
         return shrunk.length == size() ? this : condenseToSortedSet(comparator, shrunk);
     }
 
-    private ConstSortedSet<E> subSet(int fromIndex, int toIndex) {
+    private ConstNavigableSet<E> subSet(int fromIndex, int toIndex) {
         if (fromIndex < 0) {
             fromIndex = flip(fromIndex);
         }
@@ -114,22 +124,22 @@ final class BasicSortedSetN<E> extends BasicConstSortedSet<E> {
         return condenseToSortedSet(comparator, Arrays.copyOfRange(elements, fromIndex, toIndex));
     }
 
-    @Override public ConstSortedSet<E> headSet(E toElement) {
+    @Override public ConstNavigableSet<E> headSet(E toElement) {
         return subSet(0, indexOf(toElement));
     }
 
-    @Override public ConstSortedSet<E> tailSet(E fromElement) {
+    @Override public ConstNavigableSet<E> tailSet(E fromElement) {
         return subSet(indexOf(fromElement), elements.length);
     }
 
-    @Override public ConstSortedSet<E> subSet(E fromElement, E toElement) {
+    @Override public ConstNavigableSet<E> subSet(E fromElement, E toElement) {
         if (compare(fromElement, toElement) > 0) {
             throw new IllegalArgumentException("fromElement cannot be greater than toElement");
         }
         return subSet(indexOf(fromElement), indexOf(toElement));
     }
 
-    @Override public int hashCode() {
+    @Override int computeHashCode() {
         int hash = 0;
         for (Object o : elements) {
             hash += Objects.hashCode(o);
@@ -305,13 +305,32 @@ class BasicTools {
      * @throws NullPointerException if either {@code original} or {@code additional} arrays are null.
      */
     static Object[] unionInto(Object[] original, Object[] additional) {
-        // CONSIDER: this method is O(N^2). Switch to a different algorithm above a certain size?
         Object[] result = copy(original, original.length + additional.length);
         int cursor = original.length;
-        for (Object element : additional) {
-            // Do a linear search of the resulting elements found so far.
-            if (indexOf(element, result, 0, cursor) < 0) {
-                result[cursor++] = element;
+        if (result.length < BasicCollections.HASH_THRESHOLD) {
+            for (Object element : additional) {
+                // Do a linear search of the resulting elements found so far.
+                if (indexOf(element, result, 0, cursor) < 0) {
+                    result[cursor++] = element;
+                }
+            }
+        }
+        else {
+            // Large enough that an O(N^2) search is expensive, so index the resulting elements with a hash table.
+            // Duplicates in the original array are retained because each one simply occupies its own slot.
+            int[] table = new int[hashTableLength(result.length)];
+            for (int i = 0; i < cursor; i++) {
+                int slot = hashSlot(result[i], result, table);
+                if (table[slot] == 0) {
+                    table[slot] = i + 1;
+                }
+            }
+            for (Object element : additional) {
+                int slot = hashSlot(element, result, table);
+                if (table[slot] == 0) {
+                    result[cursor++] = element;
+                    table[slot] = cursor;
+                }
             }
         }
         // Truncate if array was not completely filled.
@@ -390,27 +409,79 @@ class BasicTools {
         final int length = originalLength + additionalLength;
         Object[] resultKeys = copy(originalKeys, length);
         Object[] resultValues = copy(originalValues, length);
+        System.arraycopy(additionalKeys, 0, resultKeys, originalLength, additionalLength);
+        System.arraycopy(additionalValues, 0, resultValues, originalLength, additionalLength);
 
-        int cursor = originalLength;
-        for (int i = 0; i < additionalLength; i++) {
-            Object newKey = additionalKeys[i];
-            Object newValue = additionalValues[i];
-            int index = indexOf(newKey, resultKeys, 0, cursor);
-            if (index < 0) {
-                // Add a new unique entry
-                resultKeys[cursor] = newKey;
-                resultValues[cursor++] = newValue;
-            }
-            else {
-                // Replace value of existing entry
-                resultValues[index] = newValue;
-            }
-        }
+        int cursor = uniqueInto(resultKeys, resultValues, originalLength, length);
         return new MapColumns(
             cursor < length ? copy(resultKeys, cursor) : resultKeys,
             cursor < length ? copy(resultValues, cursor) : resultValues);
     }
 
+    /**
+     * Merges, in place, the entries in the range [unique, size) of the specified columns into the entries in the
+     * range [0, unique), using {@link Object#equals} and {@link Object#hashCode} to test for uniqueness. The first
+     * occurrence of each key keeps its position, and receives the value of the last occurrence, just as repeated
+     * calls to {@link Map#put} would behave. The merged entries are compacted to the front of the columns, and the
+     * contents of the columns beyond them are unspecified.<p/>
+     *
+     * Only the entries in the range [unique, size) are checked for duplicates among themselves: keys in the range
+     * [0, unique) are assumed to be unique already, or if not, the first occurrence of such a key is the one whose
+     * value gets replaced.
+     *
+     * @param keys the keys.
+     * @param values the values.
+     * @param unique the number of leading entries to merge into.
+     * @param size the number of entries in the columns.
+     * @return the number of entries remaining after the merge.
+     */
+    static int uniqueInto(Object[] keys, Object[] values, int unique, int size) {
+        int cursor = unique;
+        if (size < BasicCollections.HASH_THRESHOLD) {
+            for (int i = unique; i < size; i++) {
+                Object newKey = keys[i];
+                Object newValue = values[i];
+                int index = indexOf(newKey, keys, 0, cursor);
+                if (index < 0) {
+                    // Add a new unique entry
+                    keys[cursor] = newKey;
+                    values[cursor++] = newValue;
+                }
+                else {
+                    // Replace value of existing entry
+                    values[index] = newValue;
+                }
+            }
+        }
+        else {
+            // Large enough that an O(N^2) search is expensive, so index the merged keys with a hash table. The
+            // cursor never passes the entry being merged, so the table only ever refers to entries already merged.
+            int[] table = new int[hashTableLength(size)];
+            for (int i = 0; i < cursor; i++) {
+                int slot = hashSlot(keys[i], keys, table);
+                if (table[slot] == 0) {
+                    table[slot] = i + 1;
+                }
+            }
+            for (int i = unique; i < size; i++) {
+                Object newKey = keys[i];
+                int slot = hashSlot(newKey, keys, table);
+                int entry = table[slot];
+                if (entry == 0) {
+                    // Add a new unique entry
+                    keys[cursor] = newKey;
+                    values[cursor++] = values[i];
+                    table[slot] = cursor;
+                }
+                else {
+                    // Replace value of existing entry
+                    values[entry - 1] = values[i];
+                }
+            }
+        }
+        return cursor;
+    }
+
     /**
      * Returns new map columns, having component type Object, that are the result of merging the original columns'
      * entries with all unique entries from the additional columns not already contained in the original columns.
@@ -477,6 +548,219 @@ class BasicTools {
             cursor < length ? copy(resultValues, cursor) : resultValues);
     }
 
+    // Flags that select which keys a merge keeps: keys found only in the left operand, keys found in both operands,
+    // and keys found only in the right operand.
+    static final int KEEP_LEFT = 1;
+    static final int KEEP_BOTH = 2;
+    static final int KEEP_RIGHT = 4;
+
+    static final int UNION = KEEP_LEFT | KEEP_BOTH | KEEP_RIGHT;
+    static final int INTERSECTION = KEEP_BOTH;
+    static final int DIFFERENCE = KEEP_LEFT;
+    static final int SYMMETRIC_DIFFERENCE = KEEP_LEFT | KEEP_RIGHT;
+
+    /**
+     * Returns the maximum number of keys that a merge of the specified operand sizes can produce.
+     *
+     * @param keep the merge flags, such as {@link #UNION}.
+     * @param leftSize the size of the left operand.
+     * @param rightSize the size of the right operand.
+     * @return the length of a result array large enough to hold the merge.
+     */
+    static int mergeCapacity(int keep, int leftSize, int rightSize) {
+        if ((keep & KEEP_RIGHT) != 0) {
+            return (keep & KEEP_LEFT) != 0 ? leftSize + rightSize : rightSize;
+        }
+        return (keep & KEEP_LEFT) != 0 ? leftSize : min(leftSize, rightSize);
+    }
+
+    /**
+     * Merges two sorted, duplicate-free columns of keys (and optionally values) into the result columns, keeping
+     * the keys selected by the {@code keep} flags. Keys are compared using {@link Comparator#compare}, or {@link
+     * Comparable natural ordering} if the comparator is null. When a key occurs in both operands, the left key is
+     * kept along with the right value if the right operand has values, otherwise the left value, just as would
+     * occur when calling {@link Map#put} on an existing key.<p/>
+     *
+     * Runs of keys occurring in only one operand are found by galloping: an exponential search followed by a binary
+     * search. The merge is therefore O(N + M) in the worst case, but needs only O(M log(N/M)) comparisons when the
+     * smaller operand's keys fall into few runs of the larger one.<p/>
+     *
+     * <em>NOTE:</em> If either operand's keys are not sorted and unique under the specified comparator (or natural
+     * ordering if the comparator is null), then the behavior of this method is undefined.
+     *
+     * @param keep the merge flags, such as {@link #UNION}.
+     * @param leftKeys the left operand's sorted keys.
+     * @param leftValues the left operand's values, or null if the operands have no values.
+     * @param rightKeys the right operand's sorted keys.
+     * @param rightValues the right operand's values, or null if the right operand has no values.
+     * @param comparator the comparison operator, or null if natural ordering is to be used.
+     * @param resultKeys the array to receive the merged keys, at least {@link #mergeCapacity} in length.
+     * @param resultValues the array to receive the merged values, or null if the left operand has no values.
+     * @return the number of keys written to the result.
+     * @throws NullPointerException if any two keys are null and the comparator is either null or does not permit
+     *                              null arguments.
+     * @throws ClassCastException if any two keys' types are not compatible for comparison.
+     */
+    static int merge(
+        int keep,
+        Object[] leftKeys,
+        Object[] leftValues,
+        Object[] rightKeys,
+        Object[] rightValues,
+        Comparator<?> comparator,
+        Object[] resultKeys,
+        Object[] resultValues) {
+
+        assert (keep & KEEP_RIGHT) == 0 || leftValues == null || rightValues != null;
+        // Cast to comparator of object is safe here because each comparator will do its own type checking when
+        // the compare method is invoked.
+        @SuppressWarnings("unchecked") Comparator<Object> c = (Comparator<Object>)comparator;
+
+        int i = 0;
+        int j = 0;
+        int cursor = 0;
+        while (i < leftKeys.length && j < rightKeys.length) {
+            int cmp = ObjectTools.compare(leftKeys[i], rightKeys[j], c);
+            if (cmp < 0) {
+                int end = gallop(leftKeys, i + 1, leftKeys.length, rightKeys[j], c);
+                if ((keep & KEEP_LEFT) != 0) {
+                    cursor = copyRun(leftKeys, leftValues, i, end, resultKeys, resultValues, cursor);
+                }
+                i = end;
+            }
+            else if (cmp > 0) {
+                int end = gallop(rightKeys, j + 1, rightKeys.length, leftKeys[i], c);
+                if ((keep & KEEP_RIGHT) != 0) {
+                    cursor = copyRun(rightKeys, rightValues, j, end, resultKeys, resultValues, cursor);
+                }
+                j = end;
+            }
+            else {
+                if ((keep & KEEP_BOTH) != 0) {
+                    resultKeys[cursor] = leftKeys[i];
+                    if (resultValues != null) {
+                        resultValues[cursor] = rightValues != null ? rightValues[j] : leftValues[i];
+                    }
+                    cursor++;
+                }
+                i++;
+                j++;
+            }
+        }
+        if ((keep & KEEP_LEFT) != 0) {
+            cursor = copyRun(leftKeys, leftValues, i, leftKeys.length, resultKeys, resultValues, cursor);
+        }
+        if ((keep & KEEP_RIGHT) != 0) {
+            cursor = copyRun(rightKeys, rightValues, j, rightKeys.length, resultKeys, resultValues, cursor);
+        }
+        return cursor;
+    }
+
+    /**
+     * Returns the index of the first key in the sorted range [from, to) that is not less than the specified key, or
+     * {@code to} if there is no such key. The range is probed at exponentially increasing distances from
+     * {@code from} before finishing with a binary search, so the cost is logarithmic in the distance moved rather
+     * than in the length of the range.
+     */
+    private static int gallop(Object[] keys, int from, int to, Object key, Comparator<Object> c) {
+        int low = from;  // all keys before low are less than key.
+        int high = from;
+        long distance = 1;
+        while (high < to && ObjectTools.compare(keys[high], key, c) < 0) {
+            low = high + 1;
+            high = (int)min(from + distance, to);
+            distance <<= 1;
+        }
+        return low < high ? ceilingIndex(Arrays.binarySearch(keys, low, high, key, c)) : low;
+    }
+
+    private static int copyRun(
+        Object[] keys,
+        Object[] values,
+        int from,
+        int to,
+        Object[] resultKeys,
+        Object[] resultValues,
+        int cursor) {
+
+        System.arraycopy(keys, from, resultKeys, cursor, to - from);
+        if (resultValues != null) {
+            System.arraycopy(values, from, resultValues, cursor, to - from);
+        }
+        return cursor + to - from;
+    }
+
+    /**
+     * Returns the length of a hash table suitable for indexing the specified number of elements. The length is
+     * always a power of two and at least twice the number of elements, so open addressing probes remain short.
+     *
+     * @param count the number of elements to index.
+     * @return the hash table length.
+     */
+    static int hashTableLength(int count) {
+        return Integer.highestOneBit(Math.max(count * 2 - 1, 1)) << 1;
+    }
+
+    /**
+     * Scrambles the hash code of the specified object so that both the high and low order bits contribute to the
+     * slot selected by a power-of-two sized hash table.
+     *
+     * @param o the object, which may be null.
+     * @return the spread hash code.
+     */
+    static int spread(Object o) {
+        int h = Objects.hashCode(o) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Finds the slot of the specified element within a linear probing hash table. Each non-zero entry of the
+     * table is the 1-based index of an element in the {@code elements} array, and zero marks an empty slot.
+     * Elements are compared using {@link Object#equals}. The returned slot either refers to the matching element
+     * or is the empty slot where the element would be inserted.
+     *
+     * @param element the element to find.
+     * @param elements the indexed elements.
+     * @param table the hash table, having a power-of-two length and at least one empty slot.
+     * @return the slot of the element or the empty slot where it belongs.
+     */
+    static int hashSlot(Object element, Object[] elements, int[] table) {
+        final int mask = table.length - 1;
+        int slot = spread(element) & mask;
+        for (int entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (Objects.equals(element, elements[entry - 1])) {
+                break;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the index of the specified element using a hash table constructed by {@link #hashIndex}.
+     *
+     * @param element the element to find.
+     * @param elements the indexed elements.
+     * @param table the hash table.
+     * @return the index of the element within {@code elements}, or -1 if not found.
+     */
+    static int hashIndexOf(Object element, Object[] elements, int[] table) {
+        return table[hashSlot(element, elements, table)] - 1;
+    }
+
+    /**
+     * Builds a hash table that indexes the specified array of unique elements. See {@link #hashSlot}.
+     *
+     * @param elements the unique elements to index.
+     * @return the hash table.
+     */
+    static int[] hashIndex(Object[] elements) {
+        int[] table = new int[hashTableLength(elements.length)];
+        for (int i = 0; i < elements.length; i++) {
+            table[hashSlot(elements[i], elements, table)] = i + 1;
+        }
+        return table;
+    }
+
     /**
      * Flips a negative index into the corresponding proper positive index, as according to the formula described
      * by {@link Arrays#binarySearch(Object[], Object)}: {@code i := (-insertion_point - 1)}. This method returns
@@ -489,6 +773,57 @@ class BasicTools {
         return -1 - i;
     }
 
+    /**
+     * Given the result of a binary search for a key, returns the index of the greatest element strictly less than
+     * the key, or -1 if there is no such element.
+     */
+    static int lowerIndex(int i) {
+        return (i >= 0 ? i : flip(i)) - 1;
+    }
+
+    /**
+     * Given the result of a binary search for a key, returns the index of the greatest element less than or equal to
+     * the key, or -1 if there is no such element.
+     */
+    static int floorIndex(int i) {
+        return i >= 0 ? i : flip(i) - 1;
+    }
+
+    /**
+     * Given the result of a binary search for a key, returns the index of the least element greater than or equal to
+     * the key, or the array length if there is no such element.
+     */
+    static int ceilingIndex(int i) {
+        return i >= 0 ? i : flip(i);
+    }
+
+    /**
+     * Given the result of a binary search for a key, returns the index of the least element strictly greater than
+     * the key, or the array length if there is no such element.
+     */
+    static int higherIndex(int i) {
+        return i >= 0 ? i + 1 : flip(i);
+    }
+
+    /**
+     * Returns a comparator that imposes the reverse ordering of the specified comparator. Unlike {@link
+     * Collections#reverseOrder(Comparator)}, reversing the reverse of natural ordering yields {@code null}, so that
+     * a twice-reversed collection has the same comparator as the original.
+     *
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @return the reversing comparator, or null for natural ordering.
+     */
+    static <T> Comparator<? super T> reverseOrder(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            return Collections.reverseOrder();
+        }
+        if (comparator == Collections.reverseOrder()) {
+            return null;
+        }
+        @SuppressWarnings("unchecked") Comparator<T> c = (Comparator<T>)comparator;
+        return Collections.reverseOrder(c);
+    }
+
     /**
      * Ensures the specified object is of a type compatible with the provided comparator.
      *
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import java.io.*;
+
+
+/**
+ * 2013-07-02<p/>
+ *
+ * A serialization proxy for BasicConstBitSet. The set is written as its element type and bitmask using the Java
+ * Serialization Proxy pattern, so that it is deserialized as a bit set rather than an ordinary set.
+ *
+ * @author Cameron Beccario
+ */
+final class BitSetProxy implements Serializable {
+
+    private static final long serialVersionUID = 1;
+    private final Class<?> elementType;
+    private final long bits;
+
+    BitSetProxy(Class<?> elementType, long bits) {
+        this.elementType = elementType;
+        this.bits = bits;
+    }
+
+    Object readResolve() throws ObjectStreamException {
+        try {
+            return BasicCollections.bitSetOf(elementType, bits);
+        }
+        catch (IllegalArgumentException | NullPointerException e) {
+            InvalidObjectException ioe = new InvalidObjectException("invalid bit set: " + elementType);
+            ioe.initCause(e);
+            throw ioe;
+        }
+    }
+}
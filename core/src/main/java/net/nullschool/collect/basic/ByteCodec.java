@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * 2013-06-29<p/>
+ *
+ * Converts objects to and from their binary representation, for storing keys and values outside of the Java heap.
+ * See {@link ByteCodecs} for codecs of common types.
+ *
+ * @see MappedSortedMapWriter
+ * @see BasicCollections#openSortedMap
+ *
+ * @author Cameron Beccario
+ */
+public interface ByteCodec<T> {
+
+    /**
+     * Encodes the specified object.
+     *
+     * @param value the object to encode.
+     * @return the encoded bytes.
+     * @throws NullPointerException if value is null and this codec does not support nulls.
+     */
+    byte[] encode(T value);
+
+    /**
+     * Decodes an object from the remaining bytes of the specified buffer. The buffer is positioned at the start of
+     * the object's encoding and limited to its end. The buffer is exclusive to this invocation, so its position and
+     * limit may be freely modified.
+     *
+     * @param buffer the buffer to read.
+     * @return the decoded object.
+     */
+    T decode(ByteBuffer buffer);
+}
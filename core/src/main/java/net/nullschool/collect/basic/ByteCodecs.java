@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * 2013-06-29<p/>
+ *
+ * Utility methods for obtaining {@link ByteCodec} instances of common types. None of these codecs support nulls.
+ *
+ * @author Cameron Beccario
+ */
+public final class ByteCodecs {
+
+    private ByteCodecs() {
+        throw new AssertionError();
+    }
+
+    private enum StringCodec implements ByteCodec<String> {
+        INSTANCE;
+
+        @Override public byte[] encode(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override public String decode(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                return new String(
+                    buffer.array(),
+                    buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining(),
+                    StandardCharsets.UTF_8);
+            }
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    }
+
+    private enum IntegerCodec implements ByteCodec<Integer> {
+        INSTANCE;
+
+        @Override public byte[] encode(Integer value) {
+            return ByteBuffer.allocate(4).putInt(value).array();
+        }
+
+        @Override public Integer decode(ByteBuffer buffer) {
+            return buffer.getInt(buffer.position());
+        }
+    }
+
+    private enum LongCodec implements ByteCodec<Long> {
+        INSTANCE;
+
+        @Override public byte[] encode(Long value) {
+            return ByteBuffer.allocate(8).putLong(value).array();
+        }
+
+        @Override public Long decode(ByteBuffer buffer) {
+            return buffer.getLong(buffer.position());
+        }
+    }
+
+    /**
+     * Returns a codec that encodes strings as UTF-8.
+     */
+    public static ByteCodec<String> strings() {
+        return StringCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a codec that encodes integers as four big-endian bytes.
+     */
+    public static ByteCodec<Integer> integers() {
+        return IntegerCodec.INSTANCE;
+    }
+
+    /**
+     * Returns a codec that encodes longs as eight big-endian bytes.
+     */
+    public static ByteCodec<Long> longs() {
+        return LongCodec.INSTANCE;
+    }
+}
@@ -67,7 +67,7 @@ final class ListProxy implements Serializable {
                 for (int i = 0; i < size; i++) {
                     elements[i] = in.readObject();
                 }
-                return new BasicListN<>(elements);
+                return BasicCollections.condenseToList(elements);
         }
     }
 
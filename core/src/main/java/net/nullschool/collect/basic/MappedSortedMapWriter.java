@@ -0,0 +1,189 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static net.nullschool.collect.basic.MappedTable.*;
+import static net.nullschool.util.ObjectTools.compare;
+
+
+/**
+ * 2013-06-29<p/>
+ *
+ * Writes a file of sorted key/value records that can be opened as a memory-mapped {@link
+ * net.nullschool.collect.ConstSortedMap} using {@link BasicCollections#openSortedMap}. Entries are streamed to the
+ * file as they are put, so maps much larger than the Java heap can be written. Entries must be put in strictly
+ * ascending key order, as defined by the writer's comparator. The same comparator must be provided when the file is
+ * opened. The file is complete only once the writer has been {@link #close closed}.<p/>
+ *
+ * This class is not thread-safe.
+ *
+ * @author Cameron Beccario
+ */
+public final class MappedSortedMapWriter<K, V> implements Closeable {
+
+    private final Path file;
+    private final Path indexFile;
+    private final DataOutputStream out;
+    private final DataOutputStream indexOut;
+    private final Comparator<? super K> comparator;
+    private final ByteCodec<K> keyCodec;
+    private final ByteCodec<V> valueCodec;
+    private long position = HEADER_LENGTH;
+    private int count;
+    private int maxRecordLength;
+    private K lastKey;
+    private boolean closed;
+
+    /**
+     * Creates a writer of the specified file, replacing the file if it already exists.
+     *
+     * @param file the file to write.
+     * @param comparator the comparator, or null for {@link Comparable natural ordering}.
+     * @param keyCodec the codec of the keys.
+     * @param valueCodec the codec of the values.
+     * @throws IOException if the file cannot be created.
+     * @throws NullPointerException if file or either codec is null.
+     */
+    public MappedSortedMapWriter(
+        Path file,
+        Comparator<? super K> comparator,
+        ByteCodec<K> keyCodec,
+        ByteCodec<V> valueCodec) throws IOException {
+
+        if (keyCodec == null || valueCodec == null) {
+            throw new NullPointerException();
+        }
+        this.file = file;
+        this.comparator = comparator;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        this.out.write(new byte[HEADER_LENGTH]);  // placeholder, written on close
+        this.indexFile = Files.createTempFile(file.toAbsolutePath().getParent(), "index", ".tmp");
+        this.indexOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)));
+    }
+
+    /**
+     * Writes all entries of the specified sorted map to a file, using the map's comparator.
+     *
+     * @param file the file to write.
+     * @param map the entries to write.
+     * @param keyCodec the codec of the keys.
+     * @param valueCodec the codec of the values.
+     * @throws IOException if the file cannot be written.
+     * @throws NullPointerException if any argument is null, or if the map contains a null key or value.
+     */
+    public static <K, V> void write(
+        Path file,
+        SortedMap<K, ? extends V> map,
+        ByteCodec<K> keyCodec,
+        ByteCodec<V> valueCodec) throws IOException {
+
+        try (MappedSortedMapWriter<K, V> writer =
+                 new MappedSortedMapWriter<>(file, map.comparator(), keyCodec, valueCodec)) {
+            for (Map.Entry<K, ? extends V> entry : map.entrySet()) {
+                writer.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Appends an entry to the file.
+     *
+     * @param key the key, which must be greater than the key of the previously put entry.
+     * @param value the value.
+     * @return this writer.
+     * @throws IOException if the entry cannot be written.
+     * @throws IllegalArgumentException if the key is not greater than the previous key, or if the encoded entry is
+     *                                  too large.
+     * @throws IllegalStateException if this writer is closed.
+     * @throws NullPointerException if the key or value is null.
+     * @throws ClassCastException if the key is of a type not compatible for comparison.
+     */
+    public MappedSortedMapWriter<K, V> put(K key, V value) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("closed");
+        }
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        if (count > 0 && compare(lastKey, key, comparator) >= 0) {
+            throw new IllegalArgumentException("keys must be put in ascending order: " + key);
+        }
+        if (count == Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("too many entries");
+        }
+        byte[] keyBytes = keyCodec.encode(key);
+        byte[] valueBytes = valueCodec.encode(value);
+        long recordLength = 4L + keyBytes.length + valueBytes.length;
+        if (recordLength > MAX_RECORD_LENGTH) {
+            throw new IllegalArgumentException("entry too large: " + key);
+        }
+        indexOut.writeLong(position);
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.write(valueBytes);
+        position += recordLength;
+        maxRecordLength = Math.max(maxRecordLength, (int)recordLength);
+        lastKey = key;
+        count++;
+        return this;
+    }
+
+    /**
+     * Completes the file by appending the index of records and writing the header. Closing a closed writer has no
+     * effect.
+     *
+     * @throws IOException if the file cannot be completed.
+     */
+    @Override public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            indexOut.writeLong(position);
+            indexOut.close();
+            Files.copy(indexFile, out);
+            out.close();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+                header.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(maxRecordLength).putLong(position);
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            }
+        }
+        finally {
+            indexOut.close();
+            out.close();
+            Files.deleteIfExists(indexFile);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+
+import static net.nullschool.util.ObjectTools.compare;
+
+
+/**
+ * 2013-06-29<p/>
+ *
+ * A read-only table of sorted key/value records stored in a memory-mapped file. Records are decoded on each access;
+ * nothing but the mapping itself is retained, so the table's contents reside outside the Java heap.<p/>
+ *
+ * The file format, as produced by {@link MappedSortedMapWriter}, is:
+ * <pre>
+ *     header:  int magic, int version, int count, int maxRecordLength, long indexPosition
+ *     records: (int keyLength, byte[keyLength] key, byte[] value) x count
+ *     index:   long recordPosition x (count + 1)
+ * </pre>
+ * The length of a record is the difference between its position and the position of the following record. All
+ * values are big-endian.<p/>
+ *
+ * A MappedByteBuffer is limited to 2GB, so the file is mapped in segments. Consecutive segments overlap by the length
+ * of the longest record, ensuring every record and index entry lies wholly within at least one segment. A segment
+ * plus its overlap must itself fit in one mapping, so the length of a record is limited to
+ * {@link #MAX_RECORD_LENGTH}, just under 1GB.
+ *
+ * @author Cameron Beccario
+ */
+final class MappedTable<K, V> {
+
+    static final int MAGIC = 0x4752534d;  // "GRSM"
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = 24;
+    static final int SEGMENT_BITS = 30;
+    static final int MAX_RECORD_LENGTH = Integer.MAX_VALUE - (1 << SEGMENT_BITS);
+
+    private final ByteBuffer[] segments;
+    private final int segmentBits;
+    private final long segmentMask;
+    private final long indexPosition;
+    private final int count;
+    private final ByteCodec<K> keyCodec;
+    private final ByteCodec<V> valueCodec;
+
+    private MappedTable(
+        ByteBuffer[] segments,
+        int segmentBits,
+        long indexPosition,
+        int count,
+        ByteCodec<K> keyCodec,
+        ByteCodec<V> valueCodec) {
+
+        this.segments = segments;
+        this.segmentBits = segmentBits;
+        this.segmentMask = (1L << segmentBits) - 1;
+        this.indexPosition = indexPosition;
+        this.count = count;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * Maps the specified file into memory.
+     *
+     * @param file the file to map.
+     * @param keyCodec the codec of the keys.
+     * @param valueCodec the codec of the values.
+     * @param segmentBits the log2 of the segment length, at most {@link #SEGMENT_BITS}. Exposed for testing.
+     * @return the mapped table.
+     * @throws IOException if the file cannot be read or is not in the expected format.
+     */
+    static <K, V> MappedTable<K, V> open(
+        Path file,
+        ByteCodec<K> keyCodec,
+        ByteCodec<V> valueCodec,
+        int segmentBits) throws IOException {
+
+        if (keyCodec == null || valueCodec == null) {
+            throw new NullPointerException();
+        }
+        assert 0 < segmentBits && segmentBits <= SEGMENT_BITS;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_LENGTH) {
+                throw new StreamCorruptedException("not a mapped sorted map: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+            if (header.getInt() != MAGIC) {
+                throw new StreamCorruptedException("not a mapped sorted map: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new StreamCorruptedException("unsupported version " + version + ": " + file);
+            }
+            int count = header.getInt();
+            int maxRecordLength = header.getInt();
+            long indexPosition = header.getLong();
+            if (count < 0 ||
+                    maxRecordLength < 0 ||
+                    maxRecordLength > MAX_RECORD_LENGTH ||
+                    indexPosition < HEADER_LENGTH ||
+                    indexPosition + 8L * (count + 1) != size) {
+                throw new StreamCorruptedException("corrupt header: " + file);
+            }
+
+            long segmentLength = 1L << segmentBits;
+            long overlap = Math.max(maxRecordLength, 8);
+            ByteBuffer[] segments = new ByteBuffer[(int)((size + segmentLength - 1) >>> segmentBits)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long)i << segmentBits;
+                segments[i] = channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    start,
+                    Math.min(size - start, segmentLength + overlap));
+            }
+            return new MappedTable<>(segments, segmentBits, indexPosition, count, keyCodec, valueCodec);
+        }
+    }
+
+    /**
+     * Returns the number of records in this table.
+     */
+    int count() {
+        return count;
+    }
+
+    private long position(int row) {
+        long position = indexPosition + 8L * row;
+        return segments[(int)(position >>> segmentBits)].getLong((int)(position & segmentMask));
+    }
+
+    /**
+     * Returns a buffer positioned at the start of the specified row's record and limited to its end.
+     */
+    private ByteBuffer record(int row) {
+        long start = position(row);
+        long end = position(row + 1);
+        ByteBuffer buffer = segments[(int)(start >>> segmentBits)].duplicate();
+        int offset = (int)(start & segmentMask);
+        buffer.limit(offset + (int)(end - start));
+        buffer.position(offset);
+        return buffer;
+    }
+
+    /**
+     * Decodes the key of the specified row.
+     */
+    K key(int row) {
+        ByteBuffer buffer = record(row);
+        int keyLength = buffer.getInt();
+        buffer.limit(buffer.position() + keyLength);
+        return keyCodec.decode(buffer);
+    }
+
+    /**
+     * Decodes the value of the specified row.
+     */
+    V value(int row) {
+        ByteBuffer buffer = record(row);
+        int keyLength = buffer.getInt();
+        buffer.position(buffer.position() + keyLength);
+        return valueCodec.decode(buffer);
+    }
+
+    /**
+     * Binary searches the rows in the range [fromRow, toRow) for the specified key, decoding O(log(N)) keys.
+     *
+     * @return the row of the key, if found, otherwise {@code (-(insertion point) - 1)}. See
+     *         {@link java.util.Arrays#binarySearch(Object[], int, int, Object, Comparator)}.
+     */
+    int search(int fromRow, int toRow, K key, Comparator<? super K> comparator) {
+        int low = fromRow;
+        int high = toRow - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(key(mid), key, comparator);
+            if (cmp < 0) {
+                low = mid + 1;
+            }
+            else if (cmp > 0) {
+                high = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.util.ObjectTools;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static net.nullschool.collect.basic.BasicTools.*;
+
+
+/**
+ * 2013-07-06<p/>
+ *
+ * A fork/join merge sort of map columns, used to construct large sorted sets and maps on multiple threads. Keys
+ * are sorted stably, carrying their values along with them, then duplicate keys are removed in parallel: the first
+ * key of each run of equal keys is kept along with the last value of the run, just as repeated calls to {@link
+ * Map#put} would behave.<p/>
+ *
+ * Tasks run in the caller's fork/join pool when invoked from within one, otherwise in a shared pool of daemon
+ * threads sized to the number of processors.
+ *
+ * @author Cameron Beccario
+ */
+final class ParallelSort {
+
+    private ParallelSort() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Ranges having at most this many keys are sorted, merged, and deduplicated sequentially.
+     */
+    static final int GRAIN = 1 << 12;
+
+    /**
+     * Ranges having at most this many keys are insertion sorted.
+     */
+    private static final int INSERTION_GRAIN = 16;
+
+    private static final class SharedPool {
+        // Workers of a ForkJoinPool are daemon threads, so the pool never prevents the JVM from exiting.
+        static final ForkJoinPool INSTANCE = new ForkJoinPool();
+    }
+
+    /**
+     * Sorts the specified columns and removes duplicate keys, writing the unique entries to the front of the result
+     * columns. The result columns must be the same length as the source columns, and must have values exactly when
+     * the source columns do.
+     *
+     * @param columns the keys and values to sort, which are left in sorted order. The values are null when sorting
+     *                keys only.
+     * @param result the columns that receive the unique entries.
+     * @param comparator the comparator, or null for natural ordering.
+     * @return the number of unique entries written to the result.
+     * @throws NullPointerException if any key is null and the comparator is null or does not permit nulls.
+     * @throws ClassCastException if any key is of a type not compatible for comparison.
+     */
+    static int sortUnique(MapColumns columns, MapColumns result, Comparator<?> comparator) {
+        // Cast to comparator of object is safe here because each comparator will do its own type checking when
+        // the compare method is invoked.
+        @SuppressWarnings("unchecked") Comparator<Object> c = (Comparator<Object>)comparator;
+        final int size = columns.keys.length;
+        if (size == 0) {
+            return 0;
+        }
+        checkType(c, columns.keys[0]);  // Check comparability even when there is nothing to compare with.
+        // The result columns double as the sort's workspace until the sorted entries are back in the source columns.
+        run(new Sort(columns, result, c, 0, size, false), size);
+        final int chunks = (size + GRAIN - 1) / GRAIN;
+        int[] offsets = new int[chunks + 1];
+        run(new Dedupe(columns, result, c, offsets, 0, chunks, true), size);
+        for (int i = 0; i < chunks; i++) {
+            offsets[i + 1] += offsets[i];  // Convert per-chunk counts into starting offsets.
+        }
+        run(new Dedupe(columns, result, c, offsets, 0, chunks, false), size);
+        return offsets[chunks];
+    }
+
+    private static void run(ForkJoinTask<?> task, int size) {
+        if (size <= GRAIN || ForkJoinTask.inForkJoinPool()) {
+            // Either too small to fork at all, so it runs entirely in the caller, or the caller is already a worker.
+            task.invoke();
+        }
+        else {
+            SharedPool.INSTANCE.invoke(task);
+        }
+    }
+
+    private static void copy(MapColumns src, int srcPos, MapColumns dst, int dstPos, int length) {
+        System.arraycopy(src.keys, srcPos, dst.keys, dstPos, length);
+        if (src.values != null) {
+            System.arraycopy(src.values, srcPos, dst.values, dstPos, length);
+        }
+    }
+
+    private static void set(MapColumns dst, int index, MapColumns src, int srcIndex) {
+        dst.keys[index] = src.keys[srcIndex];
+        if (src.values != null) {
+            dst.values[index] = src.values[srcIndex];
+        }
+    }
+
+    /**
+     * Stably insertion sorts the range [lo, hi) of the specified columns.
+     */
+    private static void insertionSort(MapColumns a, Comparator<Object> c, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            Object key = a.keys[i];
+            Object value = a.values != null ? a.values[i] : null;
+            int j = i;
+            for (; j > lo && ObjectTools.compare(a.keys[j - 1], key, c) > 0; j--) {
+                set(a, j, a, j - 1);
+            }
+            a.keys[j] = key;
+            if (a.values != null) {
+                a.values[j] = value;
+            }
+        }
+    }
+
+    /**
+     * Stably merges the sorted ranges [lo1, hi1) and [lo2, hi2) of src into dst starting at index d.
+     */
+    private static void merge(
+        MapColumns src,
+        MapColumns dst,
+        Comparator<Object> c,
+        int lo1,
+        int hi1,
+        int lo2,
+        int hi2,
+        int d) {
+
+        while (lo1 < hi1 && lo2 < hi2) {
+            // Ties take the left key first, keeping the sort stable.
+            set(dst, d++, src, ObjectTools.compare(src.keys[lo2], src.keys[lo1], c) < 0 ? lo2++ : lo1++);
+        }
+        copy(src, lo1, dst, d, hi1 - lo1);
+        copy(src, lo2, dst, d + hi1 - lo1, hi2 - lo2);
+    }
+
+    /**
+     * Sorts the range [lo, hi) of a, using w as a workspace of the same size. The sorted range is left in w when
+     * {@code intoWorkspace} is true, otherwise in a. Each level of the recursion sorts its halves into the opposite
+     * array from the one it merges into, so no level copies.
+     */
+    private static final class Sort extends RecursiveAction {
+
+        private final MapColumns a;
+        private final MapColumns w;
+        private final Comparator<Object> c;
+        private final int lo;
+        private final int hi;
+        private final boolean intoWorkspace;
+
+        Sort(MapColumns a, MapColumns w, Comparator<Object> c, int lo, int hi, boolean intoWorkspace) {
+            this.a = a;
+            this.w = w;
+            this.c = c;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoWorkspace = intoWorkspace;
+        }
+
+        @Override protected void compute() {
+            if (hi - lo <= GRAIN) {
+                sequential(lo, hi, intoWorkspace);
+                return;
+            }
+            final int mid = (lo + hi) >>> 1;
+            invokeAll(new Sort(a, w, c, lo, mid, !intoWorkspace), new Sort(a, w, c, mid, hi, !intoWorkspace));
+            new Merge(intoWorkspace ? a : w, intoWorkspace ? w : a, c, lo, mid, mid, hi, lo).compute();
+        }
+
+        private void sequential(int lo, int hi, boolean intoWorkspace) {
+            if (hi - lo <= INSERTION_GRAIN) {
+                if (intoWorkspace) {
+                    copy(a, lo, w, lo, hi - lo);
+                }
+                insertionSort(intoWorkspace ? w : a, c, lo, hi);
+                return;
+            }
+            final int mid = (lo + hi) >>> 1;
+            sequential(lo, mid, !intoWorkspace);
+            sequential(mid, hi, !intoWorkspace);
+            merge(intoWorkspace ? a : w, intoWorkspace ? w : a, c, lo, mid, mid, hi, lo);
+        }
+    }
+
+    /**
+     * Merges two sorted ranges of src into dst. Large merges are split in two by finding where the middle key of
+     * the longer range falls in the shorter range, and both halves proceed in parallel.
+     */
+    private static final class Merge extends RecursiveAction {
+
+        private final MapColumns src;
+        private final MapColumns dst;
+        private final Comparator<Object> c;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int d;
+
+        Merge(MapColumns src, MapColumns dst, Comparator<Object> c, int lo1, int hi1, int lo2, int hi2, int d) {
+            this.src = src;
+            this.dst = dst;
+            this.c = c;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.d = d;
+        }
+
+        @Override protected void compute() {
+            final int length1 = hi1 - lo1;
+            final int length2 = hi2 - lo2;
+            if (length1 + length2 <= GRAIN) {
+                merge(src, dst, c, lo1, hi1, lo2, hi2, d);
+                return;
+            }
+            int mid1, mid2;
+            if (length1 >= length2) {
+                mid1 = (lo1 + hi1) >>> 1;
+                mid2 = search(src.keys[mid1], lo2, hi2, false);  // right keys equal to the split go after it.
+            }
+            else {
+                mid2 = (lo2 + hi2) >>> 1;
+                mid1 = search(src.keys[mid2], lo1, hi1, true);   // left keys equal to the split go before it.
+            }
+            invokeAll(
+                new Merge(src, dst, c, lo1, mid1, lo2, mid2, d),
+                new Merge(src, dst, c, mid1, hi1, mid2, hi2, d + (mid1 - lo1) + (mid2 - lo2)));
+        }
+
+        /**
+         * Returns the index of the first key in [lo, hi) greater than the specified key if {@code after} is true,
+         * otherwise the index of the first key greater than or equal to it.
+         */
+        private int search(Object key, int lo, int hi, boolean after) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = ObjectTools.compare(src.keys[mid], key, c);
+                if (cmp < 0 || cmp == 0 && after) {
+                    lo = mid + 1;
+                }
+                else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Removes duplicate keys from sorted columns in two passes over fixed-size chunks. The counting pass records
+     * the number of unique keys in each chunk, which the caller converts into offsets so that the copying pass can
+     * write every chunk's unique entries to their final positions independently.
+     */
+    private static final class Dedupe extends RecursiveAction {
+
+        private final MapColumns sorted;
+        private final MapColumns result;
+        private final Comparator<Object> c;
+        private final int[] offsets;
+        private final int fromChunk;
+        private final int toChunk;
+        private final boolean counting;
+
+        Dedupe(
+            MapColumns sorted,
+            MapColumns result,
+            Comparator<Object> c,
+            int[] offsets,
+            int fromChunk,
+            int toChunk,
+            boolean counting) {
+
+            this.sorted = sorted;
+            this.result = result;
+            this.c = c;
+            this.offsets = offsets;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.counting = counting;
+        }
+
+        private boolean startsRun(int index) {
+            return index == 0 || ObjectTools.compare(sorted.keys[index - 1], sorted.keys[index], c) != 0;
+        }
+
+        @Override protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                final int mid = (fromChunk + toChunk) >>> 1;
+                invokeAll(
+                    new Dedupe(sorted, result, c, offsets, fromChunk, mid, counting),
+                    new Dedupe(sorted, result, c, offsets, mid, toChunk, counting));
+                return;
+            }
+            final int size = sorted.keys.length;
+            final int lo = fromChunk * GRAIN;
+            final int hi = Math.min(lo + GRAIN, size);
+            if (counting) {
+                int unique = 0;
+                for (int i = lo; i < hi; i++) {
+                    if (startsRun(i)) {
+                        unique++;
+                    }
+                }
+                offsets[fromChunk + 1] = unique;
+                return;
+            }
+            int cursor = offsets[fromChunk];
+            for (int i = lo; i < hi; i++) {
+                if (startsRun(i)) {
+                    // Keep the first key of the run, and the value of the last entry of the run, which may extend
+                    // past the end of this chunk.
+                    int last = i;
+                    while (last + 1 < size && !startsRun(last + 1)) {
+                        last++;
+                    }
+                    result.keys[cursor] = sorted.keys[i];
+                    if (sorted.values != null) {
+                        result.values[cursor] = sorted.values[last];
+                    }
+                    cursor++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Bounds checking and copying shared by the primitive lists: BasicIntList, BasicLongList, and BasicDoubleList.
+ * Each method accepts an array of any primitive component type and returns a new array of the same type, leaving
+ * the three lists to differ only in how they read, compare, and hash their elements.
+ *
+ * @author Cameron Beccario
+ */
+final class PrimitiveArrays {
+
+    private PrimitiveArrays() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns a new array having the same component type as the specified array and the specified length.
+     */
+    private static <A> A newArray(A original, int length) {
+        @SuppressWarnings("unchecked") A result = (A)Array.newInstance(original.getClass().getComponentType(), length);
+        return result;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if index is not in the range [0, length).
+     */
+    static void checkIndex(int index, int length) {
+        if (index < 0 || length <= index) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if index is not in the range [0, length].
+     */
+    static void checkPosition(int index, int length) {
+        if (index < 0 || length < index) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns a new array that is the result of opening a gap of the specified length in an existing array at the
+     * specified index. All elements occurring after {@code index} are shifted down, and the elements of the gap
+     * are left for the caller to assign.
+     *
+     * @param original the array.
+     * @param index the index of the gap.
+     * @param count the length of the gap.
+     * @return a new array having the elements of the original and a gap of {@code count} elements at index.
+     * @throws IndexOutOfBoundsException if index is less than zero or greater than the length of the original.
+     */
+    static <A> A insert(A original, int index, int count) {
+        final int length = Array.getLength(original);
+        checkPosition(index, length);
+        A result = newArray(original, length + count);
+        System.arraycopy(original, 0, result, 0, index);
+        System.arraycopy(original, index, result, index + count, length - index);
+        return result;
+    }
+
+    /**
+     * Returns a new array that is the result of inserting all the elements of {@code additional} into an existing
+     * array starting at the specified index. All original elements occurring after {@code index} are shifted down
+     * to make room for the new elements.
+     *
+     * @param original the array.
+     * @param index the starting index where the new elements should be inserted.
+     * @param additional the array of elements to insert.
+     * @return a new array having all the elements of the original with the new elements inserted at index.
+     * @throws IndexOutOfBoundsException if index is less than zero or greater than the length of the original.
+     */
+    static <A> A insert(A original, int index, A additional) {
+        final int count = Array.getLength(additional);
+        A result = insert(original, index, count);
+        System.arraycopy(additional, 0, result, index, count);
+        return result;
+    }
+
+    /**
+     * Returns a new array that is the result of removing the element at the specified index. All elements
+     * occurring after {@code index} are shifted up to fill the gap.
+     *
+     * @param original the array.
+     * @param index the index of the element to delete.
+     * @return a new array containing all elements of the original, but with the specified element removed.
+     * @throws IndexOutOfBoundsException if index is less than 0 or greater than or equal to the length of the original.
+     */
+    static <A> A delete(A original, int index) {
+        final int length = Array.getLength(original);
+        checkIndex(index, length);
+        A result = newArray(original, length - 1);
+        System.arraycopy(original, 0, result, 0, index);
+        System.arraycopy(original, index + 1, result, index, length - 1 - index);
+        return result;
+    }
+
+    /**
+     * Returns a new array containing the elements of the original in the range [fromIndex, toIndex).
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the bounds of the original.
+     */
+    static <A> A copyRange(A original, int fromIndex, int toIndex) {
+        if (fromIndex < 0 || Array.getLength(original) < toIndex || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+        A result = newArray(original, toIndex - fromIndex);
+        System.arraycopy(original, fromIndex, result, 0, toIndex - fromIndex);
+        return result;
+    }
+
+    /**
+     * Returns a new array that is the result of removing from the original array all elements contained in the
+     * specified collection, or the original array itself if no elements are removed. The elements are tested for
+     * membership in their boxed form, as provided by {@code boxed}, a list view of the original array. Retained
+     * elements are copied in runs without boxing.
+     *
+     * @param original the array.
+     * @param boxed the list whose elements are the boxed elements of {@code original}.
+     * @param c the collection of elements to delete.
+     * @return a new array containing all elements of the original except those in c, or the original.
+     * @throws NullPointerException if original, boxed, or c is null.
+     */
+    static <A> A deleteAll(A original, List<?> boxed, Collection<?> c) {
+        final int length = Array.getLength(original);
+        A result = null;
+        int size = 0;
+        int runStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (c.contains(boxed.get(i))) {
+                if (result == null) {
+                    result = newArray(original, length - 1);
+                }
+                System.arraycopy(original, runStart, result, size, i - runStart);
+                size += i - runStart;
+                runStart = i + 1;
+            }
+        }
+        if (result == null) {
+            return original;
+        }
+        System.arraycopy(original, runStart, result, size, length - runStart);
+        size += length - runStart;
+        return size == length - 1 ? result : copyRange(result, 0, size);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import java.io.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * A serialization proxy for the primitive lists: BasicConstIntList, BasicConstLongList, and BasicConstDoubleList.
+ * The elements are written as a single primitive array using the Java Serialization Proxy pattern.
+ *
+ * @author Cameron Beccario
+ */
+final class PrimitiveListProxy implements Serializable {
+
+    private static final long serialVersionUID = 1;
+    private final Object elements;  // an int[], long[], or double[]
+
+    PrimitiveListProxy(Object elements) {
+        this.elements = elements;
+    }
+
+    Object readResolve() throws ObjectStreamException {
+        // The deserialized array is not visible to any other object, so it can be used directly.
+        if (elements instanceof int[]) {
+            return BasicCollections.condenseToIntList((int[])elements);
+        }
+        if (elements instanceof long[]) {
+            return BasicCollections.condenseToLongList((long[])elements);
+        }
+        if (elements instanceof double[]) {
+            return BasicCollections.condenseToDoubleList((double[])elements);
+        }
+        throw new InvalidObjectException("unexpected elements: " + elements);
+    }
+}
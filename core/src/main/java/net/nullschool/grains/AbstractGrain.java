@@ -46,6 +46,28 @@ public abstract class AbstractGrain extends AbstractIterableMap<String, Object>
      */
     @Override public abstract Object get(Object key);
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p/>This implementation finds the key at the slot using the factory referenced by this class's
+     * {@link GrainFactoryRef}, then invokes {@link #get(Object)}. Implementers should override this method to
+     * access the property directly.
+     */
+    @Override public Object get(int slot) {
+        return get(GrainTools.basisKeyAt(GrainTools.factoryFor(getClass()), slot));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p/>This implementation finds the key at the slot using the factory referenced by this class's
+     * {@link GrainFactoryRef}, then invokes {@link #with(String, Object)}. Implementers should override this
+     * method to access the property directly.
+     */
+    @Override public Grain with(int slot, Object value) {
+        return with(GrainTools.basisKeyAt(GrainTools.factoryFor(getClass()), slot), value);
+    }
+
     protected class BasisIter implements MapIterator<String, Object> {
 
         private static final int BAD = -1;
@@ -80,6 +102,9 @@ public abstract class AbstractGrain extends AbstractIterableMap<String, Object>
         }
 
         @Override public Entry<String, Object> entry() {
+            // This iterator backs the entry set view, whose entries callers may retain, so each entry must be a new
+            // object. Walks that consume entries immediately should call next and value directly, as the serializers
+            // do.
             final int i = cursor;
             if (i != BAD) {
                 final String key = keys[i];
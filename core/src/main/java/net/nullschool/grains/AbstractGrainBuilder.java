@@ -44,6 +44,17 @@ public abstract class AbstractGrainBuilder extends AbstractIterableMap<String, O
 
     @Override public abstract Object remove(Object key);  // the iterator uses this, so must be defined by implementers
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p/>This implementation finds the key at the slot using the factory referenced by this class's
+     * {@link GrainFactoryRef}, then invokes {@link #put(String, Object)}. Implementers should override this
+     * method to access the property directly.
+     */
+    @Override public Object put(int slot, Object value) {
+        return put(GrainTools.basisKeyAt(GrainTools.factoryFor(getClass()), slot), value);
+    }
+
     /**
      * An implementation of MapIterator that iterates over an array of basis keys provided by implementers of
      * AbstractGrainBuilder.
@@ -82,6 +93,8 @@ public abstract class AbstractGrainBuilder extends AbstractIterableMap<String, O
         }
 
         @Override public Entry<String, Object> entry() {
+            // A new entry for each call: entries of the entry set view may be retained, and each writes through to
+            // its own key. Walks that consume entries immediately should call next and value directly.
             final int i = cursor;
             if (i != BAD) {
                 final String key = keys[i];
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains;
+
+import net.nullschool.util.InternPool;
+
+import java.util.Objects;
+
+
+/**
+ * 2013-07-09<p/>
+ *
+ * A partial implementation of GrainFactory for hand-written factories. Implementers provide the basis properties,
+ * default value, and builders; this class provides {@link #intern} using a pool private to the factory, and
+ * {@link #getNewDecoder} using a decoder that puts entries into a new builder. Generated factories do not extend
+ * this class, as they implement both methods directly.
+ *
+ * @author Cameron Beccario
+ */
+public abstract class AbstractGrainFactory implements GrainFactory {
+
+    private final InternPool<Grain> interned = new InternPool<>();
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p/>This implementation returns a decoder that puts each entry into the builder returned by
+     * {@link #getNewBuilder}, then builds the grain.
+     */
+    @Override public GrainDecoder getNewDecoder() {
+        return new BuilderDecoder(getNewBuilder());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p/>This implementation interns the grain in a pool owned by this factory instance. The grain must be of the
+     * same class as the {@link #getDefaultValue default value}.
+     */
+    @Override public Grain intern(Grain grain) {
+        return interned.intern(getDefaultValue().getClass().cast(Objects.requireNonNull(grain)));
+    }
+}
@@ -30,8 +30,8 @@ import java.io.Serializable;
  * An abstract serialization proxy for use by {@link Grain} implementations. This class follows the Java Serialization
  * Proxy pattern. Grains that make use of this proxy are serialized as the sequence of key-value pairs encountered
  * when {@link Grain#iterator iterating} over the grain. Grains are deserialized by instantiating a
- * {@link GrainBuilder}, adding to it all the key-value pairs from the ObjectInputStream, then calling
- * {@link GrainBuilder#build}.<p/>
+ * {@link GrainDecoder}, adding to it all the key-value pairs from the ObjectInputStream, then calling
+ * {@link GrainDecoder#decode}.<p/>
  *
  * To use this proxy, the Grain implementer should extend this class, provide an implementation of {@link #newBuilder},
  * then define a {@code writeReplace} method which constructs the proxy and sets the grain as the proxy's payload.
@@ -76,6 +76,15 @@ public abstract class AbstractGrainProxy implements Serializable {
      */
     protected abstract GrainBuilder newBuilder();
 
+    /**
+     * Returns a new decoder instance used to deserialize the grain. When all key-value pairs from the input stream
+     * are put into the decoder, the {@link GrainDecoder#decode} method is invoked and the return value is used as the
+     * deserialization result. By default, the decoder puts entries into the builder returned by {@link #newBuilder}.
+     */
+    protected GrainDecoder newDecoder() {
+        return new BuilderDecoder(newBuilder());
+    }
+
     /**
      * Writes the grain in the form {int_size, k0, v0, k1, v1, ..., kN, vN}.
      *
@@ -101,20 +110,20 @@ public abstract class AbstractGrainProxy implements Serializable {
 
     /**
      * Constructs a grain instance from the serialized form described by {@link #writeObject}. The grain's type is
-     * determined by the builders it returns from {@link #newBuilder}.
+     * determined by the decoders it returns from {@link #newDecoder}.
      *
      * @param in the stream containing the serialized form.
      */
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        GrainBuilder builder = newBuilder();
+        GrainDecoder decoder = newDecoder();
         in.defaultReadObject();
         int size = in.readInt();
         for (int i = 0; i < size; i++) {
             String key = (String)in.readObject();
             Object value = in.readObject();
-            builder.put(key, value);
+            decoder.put(key, value);
         }
-        grain = builder.build();
+        grain = decoder.decode();
     }
 
     protected Object readResolve() {
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains;
+
+import java.util.Objects;
+
+
+/**
+ * 2013-07-09<p/>
+ *
+ * A GrainDecoder that puts each entry into a {@link GrainBuilder} and builds the grain from it.
+ *
+ * @author Cameron Beccario
+ */
+final class BuilderDecoder implements GrainDecoder {
+
+    private final GrainBuilder builder;
+
+    BuilderDecoder(GrainBuilder builder) {
+        this.builder = Objects.requireNonNull(builder);
+    }
+
+    @Override public GrainDecoder put(String key, Object value) {
+        builder.put(key, value);
+        return this;
+    }
+
+    @Override public GrainDecoder put(int slot, Object value) {
+        builder.put(slot, value);
+        return this;
+    }
+
+    @Override public Grain decode() {
+        return builder.build();
+    }
+}
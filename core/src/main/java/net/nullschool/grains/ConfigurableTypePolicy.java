@@ -48,6 +48,7 @@ public final class ConfigurableTypePolicy implements TypePolicy {
         .withImmutableMapping(Collection.class, ConstCollection.class)
         .withImmutableMapping(SortedSet.class, ConstSortedSet.class)
         .withImmutableMapping(SortedMap.class, ConstSortedMap.class)
+        .withImmutableTypes(ConstIntList.class, ConstLongList.class, ConstDoubleList.class)  // Unboxed ConstLists.
         ;
 
 
@@ -77,6 +77,33 @@ public interface Grain extends ConstMap<String, Object> {
      */
     @Override Grain with(String key, Object value);
 
+    /**
+     * Returns the value of the basis property at the specified slot. A property's slot is its index in the
+     * iteration order of {@link GrainFactory#getBasisProperties}, so {@code get(slot)} is equivalent to
+     * {@code get(key)} for the key at that index, without the cost of looking up the key.
+     *
+     * @param slot the slot of the basis property.
+     * @return the value of the basis property.
+     * @throws IndexOutOfBoundsException if the slot does not refer to a basis property.
+     */
+    Object get(int slot);
+
+    /**
+     * Returns a grain containing the entries of this grain, but with the basis property at the specified slot
+     * associated with the specified value. No visible change to this grain occurs.<p/>
+     *
+     * The effect of this call is equivalent to invoking {@link #with(String, Object)} with the key at that slot.
+     * Extensions do not have slots.
+     *
+     * @param slot the slot of the basis property.
+     * @param value the value to be associated with the basis property, or {@code null} for its default value.
+     * @return a grain containing this grain's associations conjoined with the specified association.
+     * @throws IndexOutOfBoundsException if the slot does not refer to a basis property.
+     * @throws ClassCastException if the value is of a type not suitable for the property.
+     * @throws IllegalArgumentException if some property of the value is not suitable for the property.
+     */
+    Grain with(int slot, Object value);
+
     /**
      * Returns a grain containing the entries of this grain plus all the entries of the specified map. No visible
      * change to this grain occurs.<p/>
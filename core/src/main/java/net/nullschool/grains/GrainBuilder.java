@@ -69,6 +69,20 @@ public interface GrainBuilder extends IterableMap<String, Object> {
      */
     Object put(String key, Object value);
 
+    /**
+     * Associates the basis property at the specified slot with the specified value. A property's slot is its index
+     * in the iteration order of {@link GrainFactory#getBasisProperties}, so the effect of this call is equivalent to
+     * invoking {@link #put(String, Object)} with the key at that index, without the cost of looking up the key.
+     *
+     * @param slot the slot of the basis property.
+     * @param value the value to be associated with the basis property, or {@code null} for its default value.
+     * @return the previous value of the basis property.
+     * @throws IndexOutOfBoundsException if the slot does not refer to a basis property.
+     * @throws ClassCastException if the value is of a type not suitable for the property.
+     * @throws IllegalArgumentException if some property of the value is not suitable for the property.
+     */
+    Object put(int slot, Object value);
+
     /**
      * {@inheritDoc}<p/>
      *
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains;
+
+
+/**
+ * 2013-07-09<p/>
+ *
+ * Collects the entries of a grain as they are decoded, then constructs the grain in a single step. A decoder is a
+ * lighter weight alternative to a {@link GrainBuilder} for serialization frameworks: it is write-only, accepts basis
+ * values by {@link GrainFactory#getBasisProperties slot}, and may defer the conversion of values until
+ * {@link #decode}. A decoder is intended for a single use and makes no guarantees for thread safety.
+ *
+ * @author Cameron Beccario
+ */
+public interface GrainDecoder {
+
+    /**
+     * Associates the specified key with the specified value. If the key is a basis key, the value is assigned to
+     * that basis property, otherwise the entry becomes an extension. A {@code null} value represents the <i>default
+     * value</i> of a basis key.
+     *
+     * @param key the key to associate.
+     * @param value the value to be associated with the key.
+     * @return this decoder.
+     * @throws NullPointerException if the key is null.
+     * @throws IllegalArgumentException if the key is not a basis key and the grain does not permit extensions.
+     */
+    GrainDecoder put(String key, Object value);
+
+    /**
+     * Assigns the specified value to the basis property at the specified slot. A {@code null} value represents the
+     * <i>default value</i> of the property.
+     *
+     * @param slot the slot of the basis property.
+     * @param value the value to be associated with the basis property.
+     * @return this decoder.
+     * @throws IndexOutOfBoundsException if the slot does not refer to a basis property.
+     */
+    GrainDecoder put(int slot, Object value);
+
+    /**
+     * Constructs a grain from the entries put into this decoder. Values that are not suitable for their keys may be
+     * rejected either by this method or when they are put.
+     *
+     * @return a new grain.
+     * @throws ClassCastException if a value is of a type not suitable for its key.
+     * @throws IllegalArgumentException if some property of a value is not suitable for its key.
+     */
+    Grain decode();
+}
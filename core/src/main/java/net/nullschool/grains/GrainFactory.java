@@ -39,7 +39,27 @@ public interface GrainFactory {
     GrainBuilder getNewBuilder();
 
     /**
-     * Returns a map of basis keys to property descriptors.
+     * Constructs and returns a new decoder, which constructs a grain from the entries put into it. Unset basis
+     * properties take their default values. Serialization frameworks should prefer a decoder to a builder.
+     */
+    GrainDecoder getNewDecoder();
+
+    /**
+     * Returns a map of basis keys to property descriptors. The map's iteration order is stable, and the index of
+     * each property in that order is its <i>slot</i>, for use with {@link Grain#get(int)}, {@link Grain#with(int,
+     * Object)}, and {@link GrainBuilder#put(int, Object)}. See {@link GrainTools#slotOf}.
      */
     Map<String, GrainProperty> getBasisProperties();
+
+    /**
+     * Returns the canonical instance of the specified grain, in the manner of {@link String#intern}. Equal grains
+     * constructed by this factory intern to the same instance, which is weakly held by the factory and released when
+     * no longer reachable elsewhere. Interning is shallow: property values are not themselves interned.
+     *
+     * @param grain a grain constructed by this factory.
+     * @return the canonical instance equal to {@code grain}, or {@code grain} itself.
+     * @throws NullPointerException if grain is null.
+     * @throws ClassCastException if grain is not of the type constructed by this factory.
+     */
+    Grain intern(Grain grain);
 }
@@ -28,7 +28,8 @@ import java.lang.annotation.Target;
  * Marks a type as a Grain schema. A Grain schema is an interface which defines the set of properties to use as the
  * basis for a generated grain implementation. The optional {@code targetPackage} attribute defines into which
  * package the code-generated output classes should be placed, defaulting to the schema's package when
- * {@code targetPackage} is undefined.
+ * {@code targetPackage} is undefined. The optional {@code closed} attribute generates a grain that permits no
+ * extensions.
  *
  * @author Cameron Beccario
  */
@@ -40,4 +41,12 @@ public @interface GrainSchema {
      * The package to use for the generated grain implementation.
      */
     String targetPackage() default "";
+
+    /**
+     * True if the generated grain implementation is closed, i.e., permits no extensions. A closed grain stores only
+     * its basis properties, so it omits the extension map from each instance and from its builders. Associating a
+     * closed grain or its builder with a key that is not a basis key throws IllegalArgumentException, whereas
+     * disassociating such a key has no effect.
+     */
+    boolean closed() default false;
 }
@@ -16,7 +16,10 @@
 
 package net.nullschool.grains;
 
+import net.nullschool.collect.ConstCollection;
 import net.nullschool.collect.ConstMap;
+import net.nullschool.collect.basic.BasicCollections;
+
 import static net.nullschool.collect.basic.BasicCollections.*;
 
 
@@ -91,4 +94,71 @@ public final class GrainTools {
         }
         return asMap(keys, properties);
     }
+
+    /**
+     * Returns the slot of the specified basis key, i.e., its index in the iteration order of the factory's
+     * {@link GrainFactory#getBasisProperties basis properties}. Resolving a key to its slot once permits subsequent
+     * accesses through {@link Grain#get(int)}, {@link Grain#with(int, Object)}, and
+     * {@link GrainBuilder#put(int, Object)} to bypass key lookup.
+     *
+     * @param factory the factory that defines the basis.
+     * @param key the basis key.
+     * @return the slot of the key, or -1 if the key is not a basis key.
+     * @throws NullPointerException if factory is null.
+     */
+    public static int slotOf(GrainFactory factory, String key) {
+        int slot = 0;
+        for (String basisKey : factory.getBasisProperties().keySet()) {
+            if (basisKey.equals(key)) {
+                return slot;
+            }
+            slot++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the basis key at the specified slot, i.e., the key at that index in the iteration order of the
+     * factory's {@link GrainFactory#getBasisProperties basis properties}. This is the inverse of {@link #slotOf}.
+     *
+     * @param factory the factory that defines the basis.
+     * @param slot the slot.
+     * @return the basis key at the slot.
+     * @throws NullPointerException if factory is null.
+     * @throws IndexOutOfBoundsException if the slot does not refer to a basis property.
+     */
+    public static String basisKeyAt(GrainFactory factory, int slot) {
+        if (slot >= 0) {
+            int i = 0;
+            for (String basisKey : factory.getBasisProperties().keySet()) {
+                if (i++ == slot) {
+                    return basisKey;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException(String.valueOf(slot));
+    }
+
+    /**
+     * Returns the canonical instance of the specified value if it is a grain or a const collection, otherwise
+     * returns the value as-is. Grains are interned by their {@link GrainFactory#intern factory}, and const
+     * collections by {@link BasicCollections#intern}. This method is suitable as a post-processing step for
+     * deserializers: interning each value as it is read canonicalizes an entire object graph from the bottom up.
+     *
+     * @param value the value to intern, or null.
+     * @return the canonical instance equal to {@code value}, or {@code value} itself.
+     */
+    public static Object intern(Object value) {
+        if (value instanceof Grain) {
+            Grain grain = (Grain)value;
+            return factoryFor(grain.getClass()).intern(grain);
+        }
+        if (value instanceof ConstCollection) {
+            return BasicCollections.intern((ConstCollection<?>)value);
+        }
+        if (value instanceof ConstMap) {
+            return BasicCollections.intern((ConstMap<?, ?>)value);
+        }
+        return value;
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.util;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+
+/**
+ * 2013-06-26<p/>
+ *
+ * A thread-safe pool of canonical instances, in the manner of {@link String#intern}. Interning a value returns the
+ * pooled instance equal to it, if one exists, otherwise the value itself becomes the pooled instance. Equal values
+ * interned through the same pool thus share a single instance, and comparing them for equality reduces to an identity
+ * check in the common case.<p/>
+ *
+ * Pooled instances are weakly referenced: an instance is evicted once it is no longer reachable from outside the
+ * pool. The pool is striped by hash code to reduce contention, so values should be immutable and have inexpensive
+ * (ideally memoized) hash codes.<p/>
+ *
+ * A pooled instance is substituted only for an equal value of exactly the same class. Values of differing classes
+ * may be equal (e.g., a list view and a list copy), but substituting one for the other could violate the caller's
+ * expectations of the value's type. Likewise, equal sets and maps may iterate in different orders, so a pooled set or
+ * map is substituted only when it iterates in the same order as the value. In such cases, the value is returned
+ * as-is.
+ *
+ * @author Cameron Beccario
+ */
+public final class InternPool<T> {
+
+    private static final int STRIPES = 16;  // must be a power of two
+
+    private final WeakHashMap<T, WeakReference<T>>[] stripes;
+
+    /**
+     * Constructs a new, empty pool.
+     */
+    public InternPool() {
+        @SuppressWarnings("unchecked") WeakHashMap<T, WeakReference<T>>[] stripes = new WeakHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new WeakHashMap<>();
+        }
+        this.stripes = stripes;
+    }
+
+    private WeakHashMap<T, WeakReference<T>> stripeFor(Object value) {
+        int h = value.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (STRIPES - 1)];
+    }
+
+    /**
+     * Returns the canonical instance equal to the specified value. If the pool contains no such instance, then the
+     * value is added to the pool and returned.
+     *
+     * @param value the value to intern.
+     * @return the pooled instance equal to {@code value}, or {@code value} itself.
+     * @throws NullPointerException if value is null.
+     */
+    public T intern(T value) {
+        WeakHashMap<T, WeakReference<T>> stripe = stripeFor(Objects.requireNonNull(value));
+        synchronized (stripe) {
+            WeakReference<T> ref = stripe.get(value);
+            T canonical = ref != null ? ref.get() : null;
+            if (canonical == null) {
+                stripe.put(value, new WeakReference<>(value));
+                return value;
+            }
+            return canonical.getClass() == value.getClass() && sameOrder(canonical, value) ? canonical : value;
+        }
+    }
+
+    /**
+     * Returns true if the two equal values iterate in the same order. Lists, and values that are neither
+     * collections nor maps, trivially do.
+     */
+    private static boolean sameOrder(Object a, Object b) {
+        if (a instanceof Map) {
+            return sameOrder(((Map<?, ?>)a).keySet(), ((Map<?, ?>)b).keySet());
+        }
+        if (a instanceof Collection && !(a instanceof List)) {
+            // Equal collections have the same size, so both iterators end together.
+            Iterator<?> ia = ((Collection<?>)a).iterator();
+            Iterator<?> ib = ((Collection<?>)b).iterator();
+            while (ia.hasNext()) {
+                if (!Objects.equals(ia.next(), ib.next())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of instances currently pooled. Instances no longer reachable are not counted.
+     */
+    public int size() {
+        int size = 0;
+        for (WeakHashMap<T, WeakReference<T>> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all instances from the pool.
+     */
+    public void clear() {
+        for (WeakHashMap<T, WeakReference<T>> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+}
@@ -113,6 +113,18 @@ public class AbstractIterableMapTest {
         b = new MockIterableMap<>(singletonMap("a", (Integer)null));
         assertNotEquals(a, b);
         assertNotEquals(b, a);
+
+        // differ by null and non-null values.
+        a = singletonMap("a", 1);
+        b = new MockIterableMap<>(singletonMap("a", (Integer)null));
+        assertNotEquals(a, b);
+        assertNotEquals(b, a);
+
+        // differ by keys that the other map does not permit.
+        a = new TreeMap<>(singletonMap("a", 1));
+        IterableMap<Object, Integer> c = new MockIterableMap<>(singletonMap((Object)2, 1));
+        assertNotEquals(a, c);
+        assertNotEquals(c, a);
     }
 
     @Test
@@ -50,6 +50,20 @@ public class CollectionTestingTools {
         @Override public int hashCode() { return 1; }
     }
 
+    /**
+     * An object with identity equality and a fixed hash code that counts invocations of equals and hashCode.
+     */
+    public static final class CountingObject {
+        private final int hash;
+        public int equalsCount;
+        public int hashCodeCount;
+
+        public CountingObject(int hash) { this.hash = hash; }
+
+        @Override public boolean equals(Object obj) { equalsCount++; return this == obj; }
+        @Override public int hashCode() { hashCodeCount++; return hash; }
+    }
+
     private static <E> E nth(Collection<E> c, int n) {
         Iterator<E> iter = c.iterator();
         int i = 0;
@@ -262,6 +276,58 @@ public class CollectionTestingTools {
         try { actual.previous();   fail(); } catch (NoSuchElementException ignored) {}
     }
 
+    /**
+     * Recursively splits the iterator down to single elements, asserting each split is exact and balanced, then
+     * returns the elements in encounter order.
+     */
+    public static <E> List<E> split_fully(SplittableIterator<E> iter) {
+        List<E> result = new ArrayList<>();
+        int remaining = iter.remaining();
+        SplittableIterator<E> prefix = iter.trySplit();
+        if (prefix == null) {
+            assertTrue(remaining < 2);
+            while (iter.hasNext()) {
+                result.add(iter.next());
+            }
+        }
+        else {
+            assertEquals(remaining, prefix.remaining() + iter.remaining());
+            assertTrue(iter.remaining() - prefix.remaining() <= 1);
+            result.addAll(split_fully(prefix));
+            result.addAll(split_fully(iter));
+        }
+        assertEquals(0, iter.remaining());
+        assertFalse(iter.hasNext());
+        return result;
+    }
+
+    /**
+     * Recursively splits the iterator down to single entries, asserting each split is exact and balanced, then
+     * returns the entries in encounter order.
+     */
+    public static <K, V> List<Map.Entry<K, V>> split_fully(SplittableMapIterator<K, V> iter) {
+        List<Map.Entry<K, V>> result = new ArrayList<>();
+        int remaining = iter.remaining();
+        SplittableMapIterator<K, V> prefix = iter.trySplit();
+        if (prefix == null) {
+            assertTrue(remaining < 2);
+            while (iter.hasNext()) {
+                K key = iter.next();
+                assertEquals(newEntry(key, iter.value()), iter.entry());
+                result.add(iter.entry());
+            }
+        }
+        else {
+            assertEquals(remaining, prefix.remaining() + iter.remaining());
+            assertTrue(iter.remaining() - prefix.remaining() <= 1);
+            result.addAll(split_fully(prefix));
+            result.addAll(split_fully(iter));
+        }
+        assertEquals(0, iter.remaining());
+        assertFalse(iter.hasNext());
+        return result;
+    }
+
     public static void compare_collections(Collection<?> expected, Collection<?> actual) {
         assertEquals(expected.size(), actual.size());
         assertEquals(expected.isEmpty(), actual.isEmpty());
@@ -581,6 +647,108 @@ public class CollectionTestingTools {
         compare_ranges(expected, actual, rangePoints);
     }
 
+    /**
+     * Compares the navigation methods of two navigable sets at each of the specified probe points, including all
+     * inclusive and exclusive ranges between pairs of probes.
+     */
+    @SafeVarargs
+    public static <E> void compare_navigable_sets(NavigableSet<E> expected, NavigableSet<E> actual, E... probes) {
+        compare_sets(expected, actual);
+        compare_iterators(expected.descendingIterator(), actual.descendingIterator());
+        assertEquals(new ArrayList<>(expected.descendingSet()), new ArrayList<>(actual.descendingSet()));
+        compare_iterators(
+            expected.descendingSet().descendingIterator(),
+            actual.descendingSet().descendingIterator());
+
+        for (E from : probes) {
+            assertEquals(expected.lower(from), actual.lower(from));
+            assertEquals(expected.floor(from), actual.floor(from));
+            assertEquals(expected.ceiling(from), actual.ceiling(from));
+            assertEquals(expected.higher(from), actual.higher(from));
+
+            for (boolean fromInclusive : new boolean[] {false, true}) {
+                compare_collections(expected.headSet(from, fromInclusive), actual.headSet(from, fromInclusive));
+                compare_collections(expected.tailSet(from, fromInclusive), actual.tailSet(from, fromInclusive));
+
+                for (E to : probes) {
+                    for (boolean toInclusive : new boolean[] {false, true}) {
+                        NavigableSet<E> expectedSubSet;
+                        try {
+                            expectedSubSet = expected.subSet(from, fromInclusive, to, toInclusive);
+                        }
+                        catch (IllegalArgumentException e) {
+                            try {
+                                actual.subSet(from, fromInclusive, to, toInclusive);
+                                fail();
+                            }
+                            catch (IllegalArgumentException ignored) {
+                            }
+                            continue;
+                        }
+                        compare_collections(expectedSubSet, actual.subSet(from, fromInclusive, to, toInclusive));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares the navigation methods of two navigable maps at each of the specified probe points, including all
+     * inclusive and exclusive ranges between pairs of probes.
+     */
+    @SafeVarargs
+    public static <K, V> void compare_navigable_maps(
+        NavigableMap<K, V> expected,
+        NavigableMap<K, V> actual,
+        K... probes) {
+
+
+        compare_maps(expected, actual);
+        assertEquals(expected.firstEntry(), actual.firstEntry());
+        assertEquals(expected.lastEntry(), actual.lastEntry());
+        compare_collections(expected.navigableKeySet(), actual.navigableKeySet());
+        assertEquals(new ArrayList<>(expected.descendingKeySet()), new ArrayList<>(actual.descendingKeySet()));
+        assertEquals(
+            new ArrayList<>(expected.descendingMap().entrySet()),
+            new ArrayList<>(actual.descendingMap().entrySet()));
+        compare_maps(expected.descendingMap().descendingMap(), actual.descendingMap().descendingMap());
+
+        for (K from : probes) {
+            assertEquals(expected.lowerKey(from), actual.lowerKey(from));
+            assertEquals(expected.floorKey(from), actual.floorKey(from));
+            assertEquals(expected.ceilingKey(from), actual.ceilingKey(from));
+            assertEquals(expected.higherKey(from), actual.higherKey(from));
+            assertEquals(expected.lowerEntry(from), actual.lowerEntry(from));
+            assertEquals(expected.floorEntry(from), actual.floorEntry(from));
+            assertEquals(expected.ceilingEntry(from), actual.ceilingEntry(from));
+            assertEquals(expected.higherEntry(from), actual.higherEntry(from));
+
+            for (boolean fromInclusive : new boolean[] {false, true}) {
+                compare_maps(expected.headMap(from, fromInclusive), actual.headMap(from, fromInclusive));
+                compare_maps(expected.tailMap(from, fromInclusive), actual.tailMap(from, fromInclusive));
+
+                for (K to : probes) {
+                    for (boolean toInclusive : new boolean[] {false, true}) {
+                        NavigableMap<K, V> expectedSubMap;
+                        try {
+                            expectedSubMap = expected.subMap(from, fromInclusive, to, toInclusive);
+                        }
+                        catch (IllegalArgumentException e) {
+                            try {
+                                actual.subMap(from, fromInclusive, to, toInclusive);
+                                fail();
+                            }
+                            catch (IllegalArgumentException ignored) {
+                            }
+                            continue;
+                        }
+                        compare_maps(expectedSubMap, actual.subMap(from, fromInclusive, to, toInclusive));
+                    }
+                }
+            }
+        }
+    }
+
     // =================================================================================================================
     // collection mutations
 
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.*;
+import org.junit.Test;
+
+import java.util.*;
+
+import static java.util.Collections.reverseOrder;
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-23<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicBuildersTest {
+
+    private static final int LARGE = Math.max(VECTOR_THRESHOLD, TREE_THRESHOLD) * 3;
+
+    @Test
+    public void test_list_builder() {
+        ConstListBuilder<Integer> builder = newListBuilder();
+        List<Integer> expected = new ArrayList<>();
+        assertSame(emptyList(), builder.build());
+
+        for (int i = 0; i < LARGE; i++) {
+            builder.add(i % 7);
+            expected.add(i % 7);
+            assertEquals(expected.size(), builder.size());
+        }
+        builder.addAll(Arrays.asList(1, 2, 3));
+        expected.addAll(Arrays.asList(1, 2, 3));
+
+        ConstList<Integer> list = builder.build();
+        compare_lists(expected, list);
+        assertTrue(list instanceof BasicListT);
+    }
+
+    @Test
+    public void test_list_builder_reuse() {
+        ConstListBuilder<Integer> builder = newListBuilder();
+        ConstList<Integer> first = builder.add(1).add(2).build();
+        ConstList<Integer> second = builder.add(3).build();
+        ConstList<Integer> third = builder.addAll(Arrays.asList(4, 5)).build();
+        compare_lists(Arrays.asList(1, 2), first);
+        compare_lists(Arrays.asList(1, 2, 3), second);
+        compare_lists(Arrays.asList(1, 2, 3, 4, 5), third);
+    }
+
+    @Test
+    public void test_set_builder() {
+        ConstSetBuilder<Integer> builder = newSetBuilder();
+        Set<Integer> expected = new LinkedHashSet<>();
+        assertSame(emptySet(), builder.build());
+
+        for (int i = 0; i < LARGE; i++) {
+            builder.add(i % 50);
+            expected.add(i % 50);
+        }
+        builder.addAll(Arrays.asList(100, 3, 101, 100));
+        expected.addAll(Arrays.asList(100, 3, 101, 100));
+
+        ConstSet<Integer> set = builder.build();
+        compare_sets(expected, set);
+        assertArrayEquals(expected.toArray(), set.toArray());
+
+        ConstSet<Integer> more = builder.add(null).add(1).build();
+        expected.add(null);
+        compare_sets(expected, more);
+        assertEquals(52, set.size());  // previous build unaffected
+    }
+
+    @Test
+    public void test_sorted_set_builder() {
+        ConstSortedSetBuilder<Integer> builder = newSortedSetBuilder(reverseOrder());
+        SortedSet<Integer> expected = new TreeSet<>(reverseOrder());
+        assertSame(reverseOrder(), builder.comparator());
+        assertEquals(emptySortedSet(reverseOrder()), builder.build());
+
+        Random random = new Random(42);
+        for (int i = 0; i < LARGE; i++) {
+            int e = random.nextInt(LARGE);
+            builder.add(e);
+            expected.add(e);
+        }
+        builder.addAll(Arrays.asList(-1, -2, -1));
+        expected.addAll(Arrays.asList(-1, -2, -1));
+
+        ConstSortedSet<Integer> set = builder.build();
+        compare_sets(expected, set);
+        assertArrayEquals(expected.toArray(), set.toArray());
+        assertSame(reverseOrder(), set.comparator());
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test_sorted_set_builder_bad_type() {
+        @SuppressWarnings("unchecked") ConstSortedSetBuilder<Object> builder =
+            (ConstSortedSetBuilder)newSortedSetBuilder(null);
+        builder.add(1).add(new Object());
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test_sorted_set_builder_bad_type_all() {
+        @SuppressWarnings("unchecked") ConstSortedSetBuilder<Object> builder =
+            (ConstSortedSetBuilder)newSortedSetBuilder(null);
+        builder.addAll(Arrays.<Object>asList(1, new Object()));
+    }
+
+    @Test
+    public void test_map_builder() {
+        ConstMapBuilder<Integer, String> builder = newMapBuilder();
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        assertSame(emptyMap(), builder.build());
+
+        for (int i = 0; i < LARGE; i++) {
+            builder.put(i % 50, "" + i);
+            expected.put(i % 50, "" + i);
+        }
+        Map<Integer, String> additional = new LinkedHashMap<>();
+        additional.put(100, "x");
+        additional.put(3, "y");
+        builder.putAll(additional);
+        expected.putAll(additional);
+
+        ConstMap<Integer, String> map = builder.build();
+        compare_maps(expected, map);
+        assertArrayEquals(expected.keySet().toArray(), map.keySet().toArray());
+        assertEquals("y", map.get(3));
+
+        ConstMap<Integer, String> more = builder.put(3, "z").build();
+        assertEquals("z", more.get(3));
+        assertEquals("y", map.get(3));  // previous build unaffected
+    }
+
+    @Test
+    public void test_sorted_map_builder() {
+        ConstSortedMapBuilder<Integer, String> builder = newSortedMapBuilder(reverseOrder());
+        SortedMap<Integer, String> expected = new TreeMap<>(reverseOrder());
+        assertSame(reverseOrder(), builder.comparator());
+        assertEquals(emptySortedMap(reverseOrder()), builder.build());
+
+        Random random = new Random(42);
+        for (int i = 0; i < LARGE; i++) {
+            int key = random.nextInt(LARGE);
+            builder.put(key, "" + i);
+            expected.put(key, "" + i);
+        }
+
+        ConstSortedMap<Integer, String> map = builder.build();
+        compare_maps(expected, map);
+        assertArrayEquals(expected.keySet().toArray(), map.keySet().toArray());
+        assertArrayEquals(expected.values().toArray(), map.values().toArray());
+        assertSame(reverseOrder(), map.comparator());
+    }
+
+    @Test
+    public void test_map_builder_expected_size() {
+        for (int size : new int[] {0, 1, 5, LARGE}) {
+            ConstMapBuilder<Integer, Integer> builder = newMapBuilder(size);
+            Map<Integer, Integer> expected = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                builder.put(i / 2, i);  // every key is put twice
+                expected.put(i / 2, i);
+            }
+            compare_maps(expected, builder.build());
+            assertArrayEquals(expected.keySet().toArray(), builder.build().keySet().toArray());
+
+            // Exceeding the expected size grows the columns.
+            builder.put(-1, -1).put(-2, -2);
+            expected.put(-1, -1);
+            expected.put(-2, -2);
+            compare_maps(expected, builder.build());
+        }
+    }
+
+    @Test
+    public void test_sorted_map_builder_expected_size() {
+        Random random = new Random(7);
+        for (int size : new int[] {0, 1, 5, LARGE}) {
+            ConstSortedMapBuilder<Integer, Integer> builder = newSortedMapBuilder(reverseOrder(), size);
+            SortedMap<Integer, Integer> expected = new TreeMap<>(reverseOrder());
+            for (int i = 0; i < size; i++) {
+                int key = random.nextInt(Math.max(1, size / 2));
+                builder.put(key, i);
+                expected.put(key, i);
+            }
+            ConstSortedMap<Integer, Integer> map = builder.build();
+            compare_maps(expected, map);
+            assertArrayEquals(expected.keySet().toArray(), map.keySet().toArray());
+            assertArrayEquals(expected.values().toArray(), map.values().toArray());
+
+            builder.put(size, -1).put(-1, -1);
+            expected.put(size, -1);
+            expected.put(-1, -1);
+            compare_maps(expected, builder.build());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_map_builder_negative_expected_size() {
+        newMapBuilder(-1);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test_sorted_map_builder_bad_type() {
+        @SuppressWarnings("unchecked") ConstSortedMapBuilder<Object, Object> builder =
+            (ConstSortedMapBuilder)newSortedMapBuilder(null);
+        builder.put(1, 1).put(new Object(), 1);
+    }
+
+    @Test
+    public void test_to_builder() {
+        for (int size : new int[] {0, 1, 5, LARGE}) {
+            List<Integer> elements = new ArrayList<>();
+            Map<Integer, Integer> entries = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                elements.add(i);
+                entries.put(i, -i);
+            }
+            List<Integer> expectedList = new ArrayList<>(elements);
+            expectedList.add(-1);
+            Set<Integer> expectedSet = new LinkedHashSet<>(expectedList);
+            Map<Integer, Integer> expectedMap = new LinkedHashMap<>(entries);
+            expectedMap.put(-1, 1);
+
+            BasicConstList<Integer> list = (BasicConstList<Integer>)asList(elements);
+            compare_lists(expectedList, list.toBuilder().add(-1).build());
+            compare_lists(elements, list);
+
+            BasicConstSet<Integer> set = (BasicConstSet<Integer>)asSet(elements);
+            compare_sets(expectedSet, set.toBuilder().add(-1).add(-1).build());
+            compare_sets(new HashSet<>(elements), set);
+
+            BasicConstSortedSet<Integer> sortedSet = (BasicConstSortedSet<Integer>)asSortedSet(null, elements);
+            ConstSortedSet<Integer> sortedSetResult = sortedSet.toBuilder().add(-1).add(-1).build();
+            compare_sets(new TreeSet<>(expectedSet), sortedSetResult);
+            assertEquals(size, sortedSet.size());
+
+            BasicConstMap<Integer, Integer> map = (BasicConstMap<Integer, Integer>)asMap(entries);
+            compare_maps(expectedMap, map.toBuilder().put(-1, 1).build());
+            compare_maps(entries, map);
+
+            BasicConstSortedMap<Integer, Integer> sortedMap =
+                (BasicConstSortedMap<Integer, Integer>)asSortedMap(null, entries);
+            ConstSortedMap<Integer, Integer> sortedMapResult = sortedMap.toBuilder().put(-1, 1).build();
+            compare_maps(new TreeMap<>(expectedMap), sortedMapResult);
+            assertEquals(size, sortedMap.size());
+        }
+    }
+}
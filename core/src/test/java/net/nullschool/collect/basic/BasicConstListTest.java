@@ -17,10 +17,13 @@
 package net.nullschool.collect.basic;
 
 import net.nullschool.collect.ConstList;
+import net.nullschool.collect.SplittableIterator;
 import net.nullschool.reflect.PublicInterfaceRef;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static net.nullschool.collect.basic.BasicCollections.*;
 import static org.junit.Assert.*;
@@ -183,16 +186,103 @@ public class BasicConstListTest {
         assertEquals(BasicListN.class, condenseToList(new Object[] {1, 2, 3, 4, 5, 6}).getClass());
         assertEquals(BasicListN.class, condenseToList(new Object[] {1, 2, 3, 4, 5, 6, 7}).getClass());
         assertEquals(BasicListN.class, condenseToList(new Object[] {1, 2, 3, 4, 5, 6, 7, 8}).getClass());
+        assertEquals(BasicListN.class, condenseToList(new Object[VECTOR_THRESHOLD - 1]).getClass());
+        assertEquals(BasicListT.class, condenseToList(new Object[VECTOR_THRESHOLD]).getClass());
     }
 
     @Test
     public void test_publicInterfaceRef_annotation_present() {
         Collection<Integer> elements = new ArrayList<>();
-        for (int i = 0; i < 15; i++) {
+        for (int i = 0; i < VECTOR_THRESHOLD + 1; i++) {
             assertSame(
                 BasicConstList.class,
                 asList(elements).getClass().getAnnotation(PublicInterfaceRef.class).value());
             elements.add(i);
         }
     }
+
+    @Test
+    public void test_memoized_hashCode() {
+        for (int size : new int[] {1, 2, VECTOR_THRESHOLD}) {
+            CountingObject e = new CountingObject(7);
+            List<Object> expected = new ArrayList<Object>(Collections.nCopies(size, e));
+            ConstList<Object> list = asList(expected);
+            assertEquals(expected.hashCode(), list.hashCode());
+            assertEquals(expected.hashCode(), list.hashCode());
+            assertEquals(size * 3, e.hashCodeCount);  // expected computed twice, list only once
+        }
+    }
+
+    @Test
+    public void test_equals_short_circuits_on_memoized_hashCode() {
+        CountingObject a = new CountingObject(1);
+        CountingObject b = new CountingObject(2);
+        ConstList<Object> x = listOf((Object)a, a, a);
+        ConstList<Object> y = listOf((Object)a, a, b);
+        assertFalse(x.equals(y));
+        assertTrue(a.equalsCount > 0);
+
+        a.equalsCount = 0;
+        x.hashCode();
+        y.hashCode();
+        assertFalse(x.equals(y));
+        assertFalse(y.equals(x));
+        assertEquals(0, a.equalsCount);
+        assertEquals(x, asList(Arrays.asList(a, a, a)));
+    }
+
+    @Test
+    public void test_splittableIterator() {
+        for (int size : new int[] {0, 1, 2, 3, 17, VECTOR_THRESHOLD * 3 + 7}) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                expected.add(i);
+            }
+            for (BasicConstList<Integer> list : Arrays.asList(
+                    (BasicConstList<Integer>)asList(expected),
+                    (BasicConstList<Integer>)asList(expected).subList(0, size / 2 + size / 4))) {
+                assertEquals(list, split_fully(list.splittableIterator()));
+            }
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<Long> {
+        private final SplittableIterator<Integer> iter;
+
+        SumTask(SplittableIterator<Integer> iter) {
+            this.iter = iter;
+        }
+
+        @Override protected Long compute() {
+            if (iter.remaining() > 100) {
+                SumTask left = new SumTask(iter.trySplit());
+                left.fork();
+                return new SumTask(iter).compute() + left.join();
+            }
+            long sum = 0;
+            while (iter.hasNext()) {
+                sum += iter.next();
+            }
+            return sum;
+        }
+    }
+
+    @Test
+    public void test_splittableIterator_fork_join() {
+        int size = 10000;
+        Integer[] elements = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = i;
+        }
+        BasicConstList<Integer> list = (BasicConstList<Integer>)asList(elements);
+        assertEquals(size * (size - 1L) / 2, (long)new ForkJoinPool().invoke(new SumTask(list.splittableIterator())));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void test_splittableIterator_exhausted() {
+        SplittableIterator<Integer> iter = ((BasicConstList<Integer>)listOf(1)).splittableIterator();
+        assertNull(iter.trySplit());
+        assertEquals(1, (int)iter.next());
+        iter.next();
+    }
 }
@@ -16,9 +16,12 @@
 
 package net.nullschool.collect.basic;
 
+import net.nullschool.collect.ConstMap;
+import net.nullschool.collect.ConstSortedMap;
 import net.nullschool.reflect.PublicInterfaceRef;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 import static org.junit.Assert.*;
@@ -163,7 +166,31 @@ public class BasicConstMapTest {
 
     @Test(expected = NullPointerException.class)
     public void test_asMap_map_null() {
-        asMap(null);
+        asMap((Map<?, ?>)null);
+    }
+
+    @Test
+    public void test_asMap_iterator() {
+        Map<?, ?> map;
+        assertSame(emptyMap(), asMap(newMap().entrySet().iterator()));
+        compare_maps(map = newMap(1, 1), asMap(map.entrySet().iterator()));
+        compare_maps(map = newMap(1, 1, 2, 2, 3, 3), asMap(map.entrySet().iterator()));
+
+        // Duplicate keys keep their first position but take their last value.
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < HASH_THRESHOLD * 3; i++) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(i % (HASH_THRESHOLD * 2), i));
+            expected.put(i % (HASH_THRESHOLD * 2), i);
+        }
+        ConstMap<Integer, Integer> result = asMap(entries.iterator());
+        compare_maps(expected, result);
+        assertArrayEquals(expected.keySet().toArray(), result.keySet().toArray());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_asMap_iterator_null() {
+        asMap((Iterator<Map.Entry<?, ?>>)null);
     }
 
     @Test
@@ -175,16 +202,90 @@ public class BasicConstMapTest {
         assertEquals(BasicMapN.class, condenseToMap(a = new Object[] {1, 2, 3, 4}, a).getClass());
         assertEquals(BasicMapN.class, condenseToMap(a = new Object[] {1, 2, 3, 4, 5}, a).getClass());
         assertEquals(BasicMapN.class, condenseToMap(a = new Object[] {1, 2, 3, 4, 5, 6}, a).getClass());
+
+        a = new Object[HASH_THRESHOLD];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i;
+        }
+        Object[] b = Arrays.copyOf(a, a.length - 1);
+        assertEquals(BasicMapN.class, condenseToMap(b, b).getClass());
+        assertEquals(BasicMapH.class, condenseToMap(a, a).getClass());
+        assertEquals(BasicMapH.class, asMap(a, a).getClass());
+        assertEquals(BasicMapH.class, condenseToMap(b, b).with(-1, -1).getClass());
     }
 
     @Test
     public void test_publicInterfaceRef_annotation_present() {
         Map<Integer, Integer> map = new HashMap<>();
-        for (int i = 0; i < 15; i++) {
+        for (int i = 0; i < HASH_THRESHOLD + 1; i++) {
             assertSame(
                 BasicConstMap.class,
                 asMap(map).getClass().getAnnotation(PublicInterfaceRef.class).value());
             map.put(i, i);
         }
     }
+
+    @Test
+    public void test_memoized_hashCode() {
+        for (int size : new int[] {1, 2, HASH_THRESHOLD}) {
+            Map<Object, Object> expected = new LinkedHashMap<>();
+            CountingObject value = new CountingObject(-1);
+            for (int i = 0; i < size; i++) {
+                expected.put(i, value);
+            }
+            ConstMap<Object, Object> map = asMap(expected);
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals(size * 3, value.hashCodeCount);  // expected computed twice, map only once
+        }
+    }
+
+    @Test
+    public void test_equals_short_circuits_on_memoized_hashCode() {
+        CountingObject a = new CountingObject(10);
+        CountingObject b = new CountingObject(20);
+        ConstMap<Object, Object> x = mapOf((Object)1, (Object)a);
+        ConstMap<Object, Object> y = mapOf((Object)1, (Object)b);
+        x.hashCode();
+        y.hashCode();
+        assertFalse(x.equals(y));
+        assertEquals(0, a.equalsCount + b.equalsCount);
+
+        ConstSortedMap<BigDecimal, Object> s0 = sortedMapOf(null, new BigDecimal("1.0"), (Object)1);
+        ConstSortedMap<BigDecimal, Object> s1 = sortedMapOf(null, new BigDecimal("1.00"), (Object)1);
+        assertNotEquals(s0.hashCode(), s1.hashCode());
+        assertEquals(s0, s1);
+    }
+
+    @Test
+    public void test_splittableIterator() {
+        for (int size : new int[] {0, 1, 2, 3, HASH_THRESHOLD - 1, HASH_THRESHOLD * 3 + 1, TREE_THRESHOLD * 3 + 1}) {
+            Integer[] keys = new Integer[size];
+            String[] values = new String[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = i;
+                values[i] = "v" + i;
+            }
+            for (BasicConstMap<Integer, String> map : Arrays.asList(
+                    (BasicConstMap<Integer, String>)asMap(keys, values),
+                    (BasicConstMap<Integer, String>)asSortedMap(null, keys, values))) {
+                assertEquals(new ArrayList<>(map.entrySet()), split_fully(map.splittableIterator()));
+            }
+        }
+    }
+
+    @Test
+    public void test_intern_keeps_order() {
+        ConstMap<String, Integer> yx = mapOf("y", 2, "x", 1);
+        ConstMap<String, Integer> xy = mapOf("x", 1, "y", 2);
+        assertEquals(yx, xy);
+        assertSame(yx, intern(yx));
+        assertSame(yx, intern(mapOf("y", 2, "x", 1)));
+
+        // Equal, and of the same class, but iterating in a different order: not substituted.
+        assertSame(xy.getClass(), yx.getClass());
+        assertSame(xy, intern(xy));
+        assertEquals(Arrays.asList("x", "y"), new ArrayList<>(intern(xy).keySet()));
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(intern(xy).values()));
+    }
 }
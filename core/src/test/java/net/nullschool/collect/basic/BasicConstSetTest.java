@@ -17,9 +17,11 @@
 package net.nullschool.collect.basic;
 
 import net.nullschool.collect.ConstSet;
+import net.nullschool.collect.ConstSortedSet;
 import net.nullschool.reflect.PublicInterfaceRef;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.util.*;
 
 import static org.junit.Assert.*;
@@ -222,16 +224,96 @@ public class BasicConstSetTest {
         assertEquals(BasicSetN.class, condenseToSet(new Object[] {1, 2, 3, 4, 5, 6}).getClass());
         assertEquals(BasicSetN.class, condenseToSet(new Object[] {1, 2, 3, 4, 5, 6, 7}).getClass());
         assertEquals(BasicSetN.class, condenseToSet(new Object[] {1, 2, 3, 4, 5, 6, 7, 8}).getClass());
+
+        Object[] a = new Object[HASH_THRESHOLD];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i;
+        }
+        assertEquals(BasicSetN.class, condenseToSet(Arrays.copyOf(a, a.length - 1)).getClass());
+        assertEquals(BasicSetH.class, condenseToSet(a).getClass());
+        assertEquals(BasicSetH.class, asSet(a).getClass());
+        assertEquals(BasicSetH.class, condenseToSet(Arrays.copyOf(a, a.length - 1)).with(-1).getClass());
     }
 
     @Test
     public void test_publicInterfaceRef_annotation_present() {
         Collection<Integer> elements = new ArrayList<>();
-        for (int i = 0; i < 15; i++) {
+        for (int i = 0; i < HASH_THRESHOLD + 1; i++) {
             assertSame(
                 BasicConstSet.class,
                 asSet(elements).getClass().getAnnotation(PublicInterfaceRef.class).value());
             elements.add(i);
         }
     }
+
+    @Test
+    public void test_memoized_hashCode() {
+        for (int size : new int[] {1, 2, HASH_THRESHOLD}) {
+            List<CountingObject> elements = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                elements.add(new CountingObject(i + 1));
+            }
+            ConstSet<CountingObject> set = asSet(elements);
+            int expected = new HashSet<>(elements).hashCode();
+            for (CountingObject e : elements) {
+                e.hashCodeCount = 0;
+            }
+            assertEquals(expected, set.hashCode());
+            assertEquals(expected, set.hashCode());
+            for (CountingObject e : elements) {
+                assertEquals(1, e.hashCodeCount);
+            }
+        }
+    }
+
+    @Test
+    public void test_equals_short_circuits_on_memoized_hashCode() {
+        CountingObject a = new CountingObject(1);
+        CountingObject b = new CountingObject(2);
+        CountingObject c = new CountingObject(3);
+        ConstSet<Object> x = setOf((Object)a, b);
+        ConstSet<Object> y = setOf((Object)a, c);
+        x.hashCode();
+        y.hashCode();
+        a.equalsCount = b.equalsCount = c.equalsCount = 0;
+        assertFalse(x.equals(y));
+        assertEquals(0, a.equalsCount + b.equalsCount + c.equalsCount);
+
+        // Natural ordering of BigDecimal is inconsistent with equals, so equal sorted sets can have different hashes.
+        ConstSortedSet<BigDecimal> s0 = sortedSetOf(null, new BigDecimal("1.0"), new BigDecimal("2.0"));
+        ConstSortedSet<BigDecimal> s1 = sortedSetOf(null, new BigDecimal("1.00"), new BigDecimal("2.00"));
+        assertNotEquals(s0.hashCode(), s1.hashCode());
+        assertEquals(s0, s1);
+        assertEquals(s1, s0);
+    }
+
+    @Test
+    public void test_splittableIterator() {
+        for (int size : new int[] {0, 1, 2, 3, HASH_THRESHOLD - 1, HASH_THRESHOLD * 3 + 1, TREE_THRESHOLD * 3 + 1}) {
+            Integer[] elements = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                elements[i] = i;
+            }
+            for (BasicConstSet<Integer> set : Arrays.asList(
+                    (BasicConstSet<Integer>)asSet(elements),
+                    (BasicConstSet<Integer>)asSortedSet(null, elements))) {
+                assertEquals(new ArrayList<>(set), split_fully(set.splittableIterator()));
+            }
+        }
+    }
+
+    @Test
+    public void test_intern_keeps_order() {
+        ConstSet<String> yx = setOf("y", "x");
+        ConstSet<String> xy = setOf("x", "y");
+        assertEquals(yx, xy);
+        assertSame(yx, intern(yx));
+        assertSame(yx, intern(setOf("y", "x")));
+
+        // Equal, and of the same class, but iterating in a different order: not substituted.
+        assertSame(xy.getClass(), yx.getClass());
+        assertSame(xy, intern(xy));
+        compare_order(newSet("x", "y"), intern(xy));
+        compare_order(newSet("y", "x"), intern(setOf("y", "x")));
+    }
 }
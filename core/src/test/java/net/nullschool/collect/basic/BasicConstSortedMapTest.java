@@ -16,6 +16,7 @@
 
 package net.nullschool.collect.basic;
 
+import net.nullschool.collect.ConstNavigableMap;
 import net.nullschool.collect.ConstSortedMap;
 import net.nullschool.reflect.PublicInterfaceRef;
 import org.junit.Test;
@@ -49,6 +50,19 @@ public class BasicConstSortedMapTest {
         assertSame(BasicSortedSet0.instance(reverse).comparator(), emptySortedMap(reverse).comparator());
     }
 
+    @Test
+    public void test_navigable_factories() {
+        assertSame(emptySortedMap(null), emptyNavigableMap(null));
+        Comparator<Object> reverse = reverseOrder();
+        assertSame(reverse, emptyNavigableMap(reverse).comparator());
+
+        ConstSortedMap<Integer, String> map = sortedMapOf(reverse, 1, "a", 2, "b", 3, "c");
+        assertSame(map, asNavigableMap(map));
+        SortedMap<Integer, String> expected = new TreeMap<>(map);
+        compare_sorted_maps(expected, asNavigableMap(expected));
+        assertEquals(Integer.valueOf(2), asNavigableMap(map).higherKey(3));
+    }
+
     @Test
     public void test_construction_permutations() {
         for (int a = 0; a < 6; a++) {
@@ -336,7 +350,30 @@ public class BasicConstSortedMapTest {
 
     @Test(expected = NullPointerException.class)
     public void test_asSortedMap_comparator_map_null() {
-        asSortedMap(null, null);
+        asSortedMap(null, (Map<?, ?>)null);
+    }
+
+    @Test
+    public void test_asSortedMap_comparator_iterator() {
+        Random random = new Random(17);
+        List<Map.Entry<Integer, Integer>> entries = new ArrayList<>();
+        SortedMap<Integer, Integer> expected = new TreeMap<>(reverseOrder());
+        for (int i = 0; i < 1000; i++) {
+            int key = random.nextInt(500);
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(key, i));
+            expected.put(key, i);
+        }
+        ConstSortedMap<Integer, Integer> result = asSortedMap(reverseOrder(), entries.iterator());
+        compare(expected, result);
+        assertArrayEquals(expected.values().toArray(), result.values().toArray());
+        assertSame(reverseOrder(), result.comparator());
+
+        assertEquals(emptySortedMap(null), asSortedMap(null, Collections.<Map.Entry<Integer, Integer>>emptyIterator()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_asSortedMap_comparator_iterator_null() {
+        asSortedMap(null, (Iterator<Map.Entry<?, ?>>)null);
     }
 
     @Test
@@ -348,6 +385,12 @@ public class BasicConstSortedMapTest {
         assertEquals(BasicSortedMapN.class, condenseToSortedMap(null, a = new Object[] {1, 2, 3, 4}, a).getClass());
         assertEquals(BasicSortedMapN.class, condenseToSortedMap(null, a = new Object[] {1, 2, 3, 4, 5}, a).getClass());
         assertEquals(BasicSortedMapN.class, condenseToSortedMap(null, a = new Object[] {1, 2, 3, 4, 5, 6}, a).getClass());
+        a = new Object[TREE_THRESHOLD];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i;
+        }
+        assertEquals(BasicSortedMapN.class, condenseToSortedMap(null, Arrays.copyOf(a, a.length - 1), Arrays.copyOf(a, a.length - 1)).getClass());
+        assertEquals(BasicSortedMapB.class, condenseToSortedMap(null, a, a).getClass());
     }
 
     @Test
@@ -409,11 +452,119 @@ public class BasicConstSortedMapTest {
     @Test
     public void test_publicInterfaceRef_annotation_present() {
         Map<Integer, Integer> map = new HashMap<>();
-        for (int i = 0; i < 15; i++) {
+        for (int i = 0; i < TREE_THRESHOLD + 1; i++) {
             assertSame(
                 BasicConstSortedMap.class,
                 asSortedMap(null, map).getClass().getAnnotation(PublicInterfaceRef.class).value());
             map.put(i, i);
         }
     }
+
+    @Test
+    public void test_navigation() {
+        // Cover each implementation: empty, singleton, array, and B-tree. Keys are even so that odd probes fall
+        // between them.
+        for (Comparator<Integer> comparator : Arrays.asList(null, Collections.<Integer>reverseOrder())) {
+            for (int size : new int[] {0, 1, 2, 5, TREE_THRESHOLD - 1, TREE_THRESHOLD, TREE_THRESHOLD * 3}) {
+                TreeMap<Integer, Integer> expected = new TreeMap<>(comparator);
+                for (int i = 0; i < size; i++) {
+                    expected.put(i * 2, i);
+                }
+                ConstNavigableMap<Integer, Integer> actual = asNavigableMap(expected);
+                compare_navigable_maps(
+                    expected,
+                    actual,
+                    -1, 0, 1, size - 1, size, size * 2 - 2, size * 2 - 1, size * 2);
+            }
+        }
+    }
+
+    @Test
+    public void test_navigation_of_views() {
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < TREE_THRESHOLD * 2; i++) {
+            expected.put(i * 2, i);
+        }
+        ConstNavigableMap<Integer, Integer> actual = asNavigableMap(expected);
+        compare_navigable_maps(
+            expected.subMap(10, false, 90, true),
+            actual.subMap(10, false, 90, true),
+            11, 12, 50, 89, 90);
+        compare_navigable_maps(expected.descendingMap(), actual.descendingMap(), 9, 10, 11, 90);
+        compare_navigable_maps(expected, actual.descendingMap().descendingMap(), 9, 10, 11, 90);
+        assertNull(actual.descendingMap().descendingMap().comparator());
+    }
+
+    @Test
+    public void test_poll_unsupported() {
+        ConstNavigableMap<Integer, Integer> map = asNavigableMap(sortedMapOf(null, 1, 1, 2, 2));
+        try { map.pollFirstEntry(); fail(); } catch (UnsupportedOperationException ignored) {}
+        try { map.pollLastEntry();  fail(); } catch (UnsupportedOperationException ignored) {}
+        assertEquals(2, map.size());
+    }
+
+    private static void compare_results(SortedMap<?, ?> expected, SortedMap<?, ?> actual) {
+        assertEquals(expected.comparator(), actual.comparator());
+        assertArrayEquals(expected.keySet().toArray(), actual.keySet().toArray());
+        assertArrayEquals(expected.values().toArray(), actual.values().toArray());
+        assertEquals(expected, actual);
+    }
+
+    private static TreeMap<Integer, Integer> newRange(Comparator<Integer> comparator, int from, int to, int step) {
+        TreeMap<Integer, Integer> result = new TreeMap<>(comparator);
+        for (int i = from; i < to; i += step) {
+            result.put(i, i * step);
+        }
+        return result;
+    }
+
+    @Test
+    public void test_map_algebra() {
+        // Cover each implementation on the left, and sorted, const, and unsorted maps on the right, with operands
+        // that are disjoint, overlapping, interleaved, and nested. Values differ between operands so that the
+        // winning value of a shared key is checked.
+        int[] sizes = new int[] {0, 1, 5, TREE_THRESHOLD - 1, TREE_THRESHOLD, TREE_THRESHOLD * 3};
+        for (Comparator<Integer> comparator : Arrays.asList(null, Collections.<Integer>reverseOrder())) {
+            for (int leftSize : sizes) {
+                for (int rightSize : sizes) {
+                    for (int step : new int[] {1, 2, 3}) {
+                        TreeMap<Integer, Integer> left = newRange(comparator, 0, leftSize * 2, 2);
+                        TreeMap<Integer, Integer> right =
+                            newRange(comparator, leftSize, leftSize + rightSize * step, step);
+                        ConstNavigableMap<Integer, Integer> map = asNavigableMap(left);
+
+                        TreeMap<Integer, Integer> union = new TreeMap<>(left);
+                        union.putAll(right);
+                        TreeMap<Integer, Integer> intersection = new TreeMap<>(left);
+                        intersection.keySet().retainAll(right.keySet());
+                        TreeMap<Integer, Integer> difference = new TreeMap<>(left);
+                        difference.keySet().removeAll(right.keySet());
+                        TreeMap<Integer, Integer> symmetric = new TreeMap<>(union);
+                        symmetric.keySet().removeAll(intersection.keySet());
+
+                        for (Map<Integer, Integer> m : Arrays.asList(
+                                right, asSortedMap(right), new HashMap<>(right))) {
+                            compare_results(union, map.union(m));
+                            compare_results(intersection, map.intersect(m.keySet()));
+                            compare_results(difference, map.difference(m.keySet()));
+                            compare_results(symmetric, map.symmetricDifference(m));
+                            compare_results(union, map.withAll(m));
+                            compare_results(difference, map.withoutAll(m.keySet()));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_map_algebra_identity() {
+        ConstNavigableMap<Integer, Integer> map = asNavigableMap(newRange(null, 0, TREE_THRESHOLD * 2, 1));
+        ConstNavigableMap<Integer, Integer> submap = map.subMap(10, 20);
+        assertSame(map, map.union(Collections.<Integer, Integer>emptyMap()));
+        assertSame(submap, submap.intersect(map.keySet()));
+        assertSame(map, map.difference(newRange(null, -10, 0, 1).keySet()));
+        assertSame(emptySortedMap(null), map.intersect(Collections.emptySet()));
+        compare_results(new TreeMap<Integer, Integer>(), map.symmetricDifference(map));
+    }
 }
@@ -16,6 +16,7 @@
 
 package net.nullschool.collect.basic;
 
+import net.nullschool.collect.ConstNavigableSet;
 import net.nullschool.collect.ConstSortedSet;
 import net.nullschool.reflect.PublicInterfaceRef;
 import org.junit.Test;
@@ -49,6 +50,18 @@ public class BasicConstSortedSetTest {
         assertSame(BasicSortedSet0.instance(reverse).comparator(), emptySortedSet(reverse).comparator());
     }
 
+    @Test
+    public void test_navigable_factories() {
+        assertSame(emptySortedSet(null), emptyNavigableSet(null));
+        Comparator<Object> reverse = reverseOrder();
+        assertSame(reverse, emptyNavigableSet(reverse).comparator());
+
+        ConstSortedSet<Integer> set = sortedSetOf(reverse, 1, 2, 3);
+        assertSame(set, asNavigableSet(set));
+        compare_sorted_sets(newSortedSet(reverse, 1, 2, 3), asNavigableSet(newSortedSet(reverse, 1, 2, 3)));
+        assertEquals(Integer.valueOf(2), asNavigableSet(set).higher(3));
+    }
+
     @Test
     public void test_construction_permutations() {
         for (int a = 0; a < 6; a++) {
@@ -364,6 +377,12 @@ public class BasicConstSortedSetTest {
         assertEquals(BasicSortedSetN.class, condenseToSortedSet(null, new Object[] {1, 2, 3, 4, 5, 6}).getClass());
         assertEquals(BasicSortedSetN.class, condenseToSortedSet(null, new Object[] {1, 2, 3, 4, 5, 6, 7}).getClass());
         assertEquals(BasicSortedSetN.class, condenseToSortedSet(null, new Object[] {1, 2, 3, 4, 5, 6, 7, 8}).getClass());
+        Object[] a = new Object[TREE_THRESHOLD];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i;
+        }
+        assertEquals(BasicSortedSetN.class, condenseToSortedSet(null, Arrays.copyOf(a, a.length - 1)).getClass());
+        assertEquals(BasicSortedSetB.class, condenseToSortedSet(null, a).getClass());
     }
 
     @Test
@@ -423,11 +442,150 @@ public class BasicConstSortedSetTest {
     @Test
     public void test_publicInterfaceRef_annotation_present() {
         Collection<Integer> elements = new ArrayList<>();
-        for (int i = 0; i < 15; i++) {
+        for (int i = 0; i < TREE_THRESHOLD + 1; i++) {
             assertSame(
                 BasicConstSortedSet.class,
                 asSortedSet(null, elements).getClass().getAnnotation(PublicInterfaceRef.class).value());
             elements.add(i);
         }
     }
+
+    @Test
+    public void test_intern() {
+        ConstSortedSet<Integer> natural = sortedSetOf(null, 1, 2, 3);
+        assertSame(natural, intern(natural));
+        assertSame(natural, intern(sortedSetOf(null, 3, 2, 1)));
+
+        // Equal, and of the same class, but with a different comparator: not substituted.
+        ConstSortedSet<Integer> reversed = sortedSetOf(reverseOrder(), 1, 2, 3);
+        assertEquals(natural, reversed);
+        assertSame(natural.getClass(), reversed.getClass());
+        assertSame(reversed, intern(reversed));
+    }
+
+    @Test
+    public void test_navigation() {
+        // Cover each implementation: empty, singleton, array, and B-tree. Elements are even so that odd probes fall
+        // between them.
+        for (Comparator<Integer> comparator : Arrays.asList(null, Collections.<Integer>reverseOrder())) {
+            for (int size : new int[] {0, 1, 2, 5, TREE_THRESHOLD - 1, TREE_THRESHOLD, TREE_THRESHOLD * 3}) {
+                TreeSet<Integer> expected = new TreeSet<>(comparator);
+                for (int i = 0; i < size; i++) {
+                    expected.add(i * 2);
+                }
+                ConstNavigableSet<Integer> actual = asNavigableSet(expected);
+                compare_navigable_sets(
+                    expected,
+                    actual,
+                    -1, 0, 1, size - 1, size, size * 2 - 2, size * 2 - 1, size * 2);
+            }
+        }
+    }
+
+    @Test
+    public void test_descendingSet() {
+        ConstNavigableSet<Integer> set = asNavigableSet(sortedSetOf(null, 1, 2, 3));
+        ConstNavigableSet<Integer> descending = set.descendingSet();
+        assertEquals(Arrays.asList(3, 2, 1), new ArrayList<>(descending));
+        assertEquals(set, descending);
+        assertEquals(Integer.valueOf(2), descending.higher(3));
+        assertNull(descending.descendingSet().comparator());
+        assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(descending.descendingSet()));
+    }
+
+    @Test
+    public void test_poll_unsupported() {
+        ConstNavigableSet<Integer> set = asNavigableSet(sortedSetOf(null, 1, 2));
+        try { set.pollFirst(); fail(); } catch (UnsupportedOperationException ignored) {}
+        try { set.pollLast();  fail(); } catch (UnsupportedOperationException ignored) {}
+        assertEquals(2, set.size());
+    }
+
+    private static void compare_results(SortedSet<?> expected, SortedSet<?> actual) {
+        assertEquals(expected.comparator(), actual.comparator());
+        compare_order(expected, actual);
+        assertEquals(expected, actual);
+    }
+
+    private static TreeSet<Integer> newRange(Comparator<Integer> comparator, int from, int to, int step) {
+        TreeSet<Integer> result = new TreeSet<>(comparator);
+        for (int i = from; i < to; i += step) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    @Test
+    public void test_set_algebra() {
+        // Cover each implementation on the left, and sorted, const, and unsorted collections on the right, with
+        // operands that are disjoint, overlapping, interleaved, and nested.
+        int[] sizes = new int[] {0, 1, 5, TREE_THRESHOLD - 1, TREE_THRESHOLD, TREE_THRESHOLD * 3};
+        for (Comparator<Integer> comparator : Arrays.asList(null, Collections.<Integer>reverseOrder())) {
+            for (int leftSize : sizes) {
+                for (int rightSize : sizes) {
+                    for (int step : new int[] {1, 2, 3}) {
+                        TreeSet<Integer> left = newRange(comparator, 0, leftSize * 2, 2);
+                        TreeSet<Integer> right = newRange(comparator, leftSize, leftSize + rightSize * step, step);
+                        ConstNavigableSet<Integer> set = asNavigableSet(left);
+
+                        TreeSet<Integer> union = new TreeSet<>(left);
+                        union.addAll(right);
+                        TreeSet<Integer> intersection = new TreeSet<>(left);
+                        intersection.retainAll(right);
+                        TreeSet<Integer> difference = new TreeSet<>(left);
+                        difference.removeAll(right);
+                        TreeSet<Integer> symmetric = new TreeSet<>(union);
+                        symmetric.removeAll(intersection);
+
+                        for (Collection<Integer> c : Arrays.asList(
+                                right, asSortedSet(right), new ArrayList<>(right.descendingSet()))) {
+                            compare_results(union, set.union(c));
+                            compare_results(intersection, set.intersect(c));
+                            compare_results(difference, set.difference(c));
+                            compare_results(symmetric, set.symmetricDifference(c));
+                            compare_results(union, set.withAll(c));
+                            compare_results(difference, set.withoutAll(c));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_set_algebra_identity() {
+        ConstNavigableSet<Integer> set = asNavigableSet(newRange(null, 0, TREE_THRESHOLD * 2, 1));
+        ConstNavigableSet<Integer> subset = set.subSet(10, 20);
+        assertSame(set, set.union(subset));
+        assertSame(set, set.union(Collections.<Integer>emptySet()));
+        assertSame(subset, subset.intersect(set));
+        assertSame(set, set.difference(newRange(null, -10, 0, 1)));
+        assertSame(set, set.symmetricDifference(Collections.<Integer>emptySet()));
+        assertSame(emptySortedSet(null), set.intersect(Collections.emptySet()));
+        compare_results(new TreeSet<Integer>(), set.symmetricDifference(set));
+    }
+
+    @Test
+    public void test_set_algebra_galloping() {
+        // A few elements scattered through a large set: the merge gallops over the long runs.
+        TreeSet<Integer> large = newRange(null, 0, 100000, 1);
+        TreeSet<Integer> small = new TreeSet<>(Arrays.asList(-1, 0, 5000, 50000, 99999, 100000));
+        ConstNavigableSet<Integer> set = asNavigableSet(large);
+
+        TreeSet<Integer> expected = new TreeSet<>(large);
+        expected.addAll(small);
+        compare_results(expected, set.union(small));
+        compare_results(expected, asSortedSet(small).union(large));
+        compare_results(new TreeSet<>(Arrays.asList(0, 5000, 50000, 99999)), set.intersect(small));
+        compare_results(new TreeSet<>(Arrays.asList(0, 5000, 50000, 99999)), asSortedSet(small).intersect(large));
+        expected = new TreeSet<>(large);
+        expected.removeAll(small);
+        compare_results(expected, set.difference(small));
+        compare_results(new TreeSet<>(Arrays.asList(-1, 100000)), asSortedSet(small).difference(large));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_union_null() {
+        sortedSetOf(null, 1).union(null);
+    }
 }
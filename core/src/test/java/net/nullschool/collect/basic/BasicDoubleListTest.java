@@ -0,0 +1,202 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.ConstDoubleList;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-24<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicDoubleListTest {
+
+    private static ConstDoubleList list() {
+        return doubleListOf(1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_lists(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0), list());
+        compare_lists(Collections.<Double>emptyList(), emptyDoubleList());
+        compare_lists(Arrays.asList(1.0), doubleListOf(1.0));
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0).hashCode(), list().hashCode());
+        assertEquals(list(), asList(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0)));
+        assertEquals(asList(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0)), list());
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_list_immutable(list());
+        assert_list_immutable(emptyDoubleList());
+    }
+
+    @Test
+    public void test_unboxed_accessors() {
+        ConstDoubleList list = list();
+        assertEquals(4.0, list.getDouble(3), 0.0);
+        assertEquals(3, list.indexOfDouble(4.0));
+        assertEquals(-1, list.indexOfDouble(7.0));
+        assertEquals(3, list.indexOf(4.0));
+        assertEquals(-1, list.indexOf("4"));
+        assertEquals(-1, list.indexOf(null));
+        assertTrue(list.contains(6.0));
+        assertFalse(list.contains(null));
+
+        double[] array = list.toDoubleArray();
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0, 4.0, 5.0, 6.0}, array, 0.0);
+        array[0] = 9.0;
+        assertEquals(1.0, list.getDouble(0), 0.0);
+    }
+
+    @Test
+    public void test_factories_copy() {
+        double[] array = {1.0, 2.0};
+        ConstDoubleList list = doubleListOf(array);
+        array[0] = 9.0;
+        compare_lists(Arrays.asList(1.0, 2.0), list);
+        assertSame(list, asDoubleList(list));
+        compare_lists(Arrays.asList(1.0, 2.0), asDoubleList(Arrays.asList(1.0, 2.0)));
+        assertSame(emptyDoubleList(), asDoubleList(Collections.<Double>emptyList()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_asDoubleList_null_element() {
+        asDoubleList(Arrays.asList(1.0, null));
+    }
+
+    @Test
+    public void test_with() {
+        compare_lists(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0), list().with(7.0));
+        compare_lists(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0), list().withDouble(7.0));
+        compare_lists(Arrays.asList(7.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0), list().withDouble(0, 7.0));
+        compare_lists(Arrays.asList(1.0, 2.0, 3.0, 7.0, 4.0, 5.0, 6.0), list().with(3, 7.0));
+        assertTrue(list().with(7.0) instanceof ConstDoubleList);
+
+        ConstList<Double> boxed = list().with(null);
+        compare_lists(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, null), boxed);
+        assertFalse(boxed instanceof ConstDoubleList);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_with_index_out_of_bounds() {
+        list().withDouble(7, 7.0);
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstDoubleList list = list();
+        compare_lists(
+            Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 1.0, 2.0),
+            list.withAll(Arrays.asList(1.0, 2.0)));
+        compare_lists(
+            Arrays.asList(1.0, 1.0, 2.0, 2.0, 3.0, 4.0, 5.0, 6.0),
+            list.withAll(1, Arrays.asList(1.0, 2.0)));
+        compare_lists(
+            Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, null),
+            list.withAll(Arrays.asList((Double)null)));
+        assertTrue(list.withAll(Arrays.asList(1.0)) instanceof ConstDoubleList);
+        assertSame(list, list.withAll(Collections.<Double>emptyList()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_withAll_index_out_of_bounds() {
+        list().withAll(7, Collections.<Double>emptyList());
+    }
+
+    @Test
+    public void test_replace() {
+        compare_lists(Arrays.asList(9.0, 2.0, 3.0, 4.0, 5.0, 6.0), list().replace(0, 9.0));
+        compare_lists(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0, 9.0), list().replaceDouble(5, 9.0));
+        compare_lists(Arrays.asList(1.0, 2.0, null, 4.0, 5.0, 6.0), list().replace(2, null));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_replace_out_of_bounds() {
+        list().replaceDouble(6, 9.0);
+    }
+
+    @Test
+    public void test_without() {
+        ConstDoubleList list = list().withDouble(1.0);
+        compare_lists(Arrays.asList(2.0, 3.0, 4.0, 5.0, 6.0, 1.0), list.without(1.0));
+        assertSame(list, list.without(7.0));
+        assertSame(list, list.without(null));
+        assertSame(list, list.without("1"));
+    }
+
+    @Test
+    public void test_delete() {
+        compare_lists(Arrays.asList(2.0, 3.0, 4.0, 5.0, 6.0), list().delete(0));
+        compare_lists(Arrays.asList(1.0, 2.0, 3.0, 4.0, 5.0), list().delete(5));
+        assertSame(emptyDoubleList(), doubleListOf(1.0).delete(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_delete_out_of_bounds() {
+        list().delete(6);
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstDoubleList list = list().withDouble(1.0);
+        compare_lists(Arrays.asList(3.0, 4.0, 5.0, 6.0), list.withoutAll(Arrays.asList(1.0, 2.0)));
+        assertSame(list, list.withoutAll(Arrays.asList(7.0)));
+        assertSame(list, list.withoutAll(Arrays.asList()));
+        assertSame(emptyDoubleList(), list.withoutAll(list));
+    }
+
+    @Test
+    public void test_subList() {
+        ConstDoubleList list = list();
+        compare_lists(Arrays.asList(2.0, 3.0), list.subList(1, 3));
+        assertSame(emptyDoubleList(), list.subList(0, 0));
+        assertSame(emptyDoubleList(), list.subList(6, 6));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_subList_out_of_bounds() {
+        list().subList(0, 7);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        for (ConstDoubleList list : Arrays.asList(emptyDoubleList(), list())) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(baos);
+            out.writeObject(list);
+
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+            Object read = in.readObject();
+            compare_lists(list, (ConstList<?>)read);
+            assertSame(list.getClass(), read.getClass());
+        }
+    }
+}
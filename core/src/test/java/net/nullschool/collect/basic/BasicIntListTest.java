@@ -0,0 +1,202 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.ConstIntList;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-24<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicIntListTest {
+
+    private static ConstIntList list() {
+        return intListOf(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_lists(Arrays.asList(1, 2, 3, 4, 5, 6), list());
+        compare_lists(Collections.<Integer>emptyList(), emptyIntList());
+        compare_lists(Arrays.asList(1), intListOf(1));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6).hashCode(), list().hashCode());
+        assertEquals(list(), asList(Arrays.asList(1, 2, 3, 4, 5, 6)));
+        assertEquals(asList(Arrays.asList(1, 2, 3, 4, 5, 6)), list());
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_list_immutable(list());
+        assert_list_immutable(emptyIntList());
+    }
+
+    @Test
+    public void test_unboxed_accessors() {
+        ConstIntList list = list();
+        assertEquals(4, list.getInt(3));
+        assertEquals(3, list.indexOfInt(4));
+        assertEquals(-1, list.indexOfInt(7));
+        assertEquals(3, list.indexOf(4));
+        assertEquals(-1, list.indexOf("4"));
+        assertEquals(-1, list.indexOf(null));
+        assertTrue(list.contains(6));
+        assertFalse(list.contains(null));
+
+        int[] array = list.toIntArray();
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6}, array);
+        array[0] = 9;
+        assertEquals(1, list.getInt(0));
+    }
+
+    @Test
+    public void test_factories_copy() {
+        int[] array = {1, 2};
+        ConstIntList list = intListOf(array);
+        array[0] = 9;
+        compare_lists(Arrays.asList(1, 2), list);
+        assertSame(list, asIntList(list));
+        compare_lists(Arrays.asList(1, 2), asIntList(Arrays.asList(1, 2)));
+        assertSame(emptyIntList(), asIntList(Collections.<Integer>emptyList()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_asIntList_null_element() {
+        asIntList(Arrays.asList(1, null));
+    }
+
+    @Test
+    public void test_with() {
+        compare_lists(Arrays.asList(1, 2, 3, 4, 5, 6, 7), list().with(7));
+        compare_lists(Arrays.asList(1, 2, 3, 4, 5, 6, 7), list().withInt(7));
+        compare_lists(Arrays.asList(7, 1, 2, 3, 4, 5, 6), list().withInt(0, 7));
+        compare_lists(Arrays.asList(1, 2, 3, 7, 4, 5, 6), list().with(3, 7));
+        assertTrue(list().with(7) instanceof ConstIntList);
+
+        ConstList<Integer> boxed = list().with(null);
+        compare_lists(Arrays.asList(1, 2, 3, 4, 5, 6, null), boxed);
+        assertFalse(boxed instanceof ConstIntList);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_with_index_out_of_bounds() {
+        list().withInt(7, 7);
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstIntList list = list();
+        compare_lists(
+            Arrays.asList(1, 2, 3, 4, 5, 6, 1, 2),
+            list.withAll(Arrays.asList(1, 2)));
+        compare_lists(
+            Arrays.asList(1, 1, 2, 2, 3, 4, 5, 6),
+            list.withAll(1, Arrays.asList(1, 2)));
+        compare_lists(
+            Arrays.asList(1, 2, 3, 4, 5, 6, null),
+            list.withAll(Arrays.asList((Integer)null)));
+        assertTrue(list.withAll(Arrays.asList(1)) instanceof ConstIntList);
+        assertSame(list, list.withAll(Collections.<Integer>emptyList()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_withAll_index_out_of_bounds() {
+        list().withAll(7, Collections.<Integer>emptyList());
+    }
+
+    @Test
+    public void test_replace() {
+        compare_lists(Arrays.asList(9, 2, 3, 4, 5, 6), list().replace(0, 9));
+        compare_lists(Arrays.asList(1, 2, 3, 4, 5, 9), list().replaceInt(5, 9));
+        compare_lists(Arrays.asList(1, 2, null, 4, 5, 6), list().replace(2, null));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_replace_out_of_bounds() {
+        list().replaceInt(6, 9);
+    }
+
+    @Test
+    public void test_without() {
+        ConstIntList list = list().withInt(1);
+        compare_lists(Arrays.asList(2, 3, 4, 5, 6, 1), list.without(1));
+        assertSame(list, list.without(7));
+        assertSame(list, list.without(null));
+        assertSame(list, list.without("1"));
+    }
+
+    @Test
+    public void test_delete() {
+        compare_lists(Arrays.asList(2, 3, 4, 5, 6), list().delete(0));
+        compare_lists(Arrays.asList(1, 2, 3, 4, 5), list().delete(5));
+        assertSame(emptyIntList(), intListOf(1).delete(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_delete_out_of_bounds() {
+        list().delete(6);
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstIntList list = list().withInt(1);
+        compare_lists(Arrays.asList(3, 4, 5, 6), list.withoutAll(Arrays.asList(1, 2)));
+        assertSame(list, list.withoutAll(Arrays.asList(7)));
+        assertSame(list, list.withoutAll(Arrays.asList()));
+        assertSame(emptyIntList(), list.withoutAll(list));
+    }
+
+    @Test
+    public void test_subList() {
+        ConstIntList list = list();
+        compare_lists(Arrays.asList(2, 3), list.subList(1, 3));
+        assertSame(emptyIntList(), list.subList(0, 0));
+        assertSame(emptyIntList(), list.subList(6, 6));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_subList_out_of_bounds() {
+        list().subList(0, 7);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        for (ConstIntList list : Arrays.asList(emptyIntList(), list())) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(baos);
+            out.writeObject(list);
+
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+            Object read = in.readObject();
+            compare_lists(list, (ConstList<?>)read);
+            assertSame(list.getClass(), read.getClass());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.reflect.PublicInterfaceRef;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-07-04<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicListCTest {
+
+    private static final int SIZE = COMPOSITE_THRESHOLD * 2;
+
+    private static List<Object> expected(int from, int size) {
+        List<Object> expected = new ArrayList<>();
+        for (int i = from; i < from + size; i++) {
+            expected.add(i);
+        }
+        return expected;
+    }
+
+    private static List<Object> expectedRope() {
+        List<Object> expected = expected(0, SIZE);
+        expected.addAll(expected(SIZE, SIZE));
+        return expected;
+    }
+
+    private static ConstList<Object> rope() {
+        ConstList<Object> rope = asList(expected(0, SIZE)).withAll(asList(expected(SIZE, SIZE)));
+        assertSame(BasicListC.class, rope.getClass());
+        return rope;
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_lists(expectedRope(), rope());
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_list_immutable(rope());
+    }
+
+    @Test
+    public void test_qualification() {
+        ConstList<Object> list = asList(expected(0, SIZE));
+        // Small operands and mutable collections are copied rather than shared.
+        assertNotSame(BasicListC.class, list.withAll(asList(expected(0, COMPOSITE_THRESHOLD - 1))).getClass());
+        assertNotSame(BasicListC.class, list.withAll(expected(0, SIZE)).getClass());
+        assertNotSame(BasicListC.class, BasicCollections.<Object>listOf(1, 2).withAll(list).getClass());
+        compare_lists(expectedRope(), list.withAll(expected(SIZE, SIZE)));
+    }
+
+    @Test
+    public void test_depth_limit() {
+        List<Object> expected = new ArrayList<>();
+        ConstList<Object> list = emptyList();
+        for (int i = 0; i < COMPOSITE_DEPTH_LIMIT * 3; i++) {
+            expected.addAll(expected(i * SIZE, SIZE));
+            list = list.withAll(asList(expected(i * SIZE, SIZE)));
+        }
+        compare_lists(expected, list);
+        // The rope was materialized along the way, so it is never deeper than the limit.
+        int depth = 0;
+        for (List<?> rope = list; rope instanceof BasicListC; rope = rope.subList(0, rope.size() - SIZE)) {
+            depth++;
+        }
+        assertTrue(depth <= COMPOSITE_DEPTH_LIMIT);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_get_out_of_bounds() {
+        rope().get(SIZE * 2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_get_negative() {
+        rope().get(-1);
+    }
+
+    @Test
+    public void test_indexOf() {
+        ConstList<Object> rope = rope().with(0).with(SIZE + 1);
+        assertEquals(0, rope.indexOf(0));
+        assertEquals(SIZE * 2, rope.lastIndexOf(0));
+        assertEquals(SIZE + 1, rope.indexOf(SIZE + 1));
+        assertEquals(SIZE * 2 + 1, rope.lastIndexOf(SIZE + 1));
+        assertEquals(-1, rope.indexOf("x"));
+        assertEquals(-1, rope.lastIndexOf("x"));
+        assertTrue(rope.contains(SIZE * 2 - 1));
+        assertFalse(rope.contains("x"));
+    }
+
+    @Test
+    public void test_with() {
+        List<Object> expected = expectedRope();
+        expected.add(null);
+        compare_lists(expected, rope().with(null));
+        expected.add(0, "a");
+        expected.add(SIZE + 1, "b");
+        compare_lists(expected, rope().with(null).with(0, "a").with(SIZE + 1, "b"));
+        expected = expectedRope();
+        expected.addAll(3, Arrays.asList("a", "b"));
+        expected.addAll(SIZE + 5, Arrays.asList("c", "d"));
+        compare_lists(
+            expected,
+            rope().withAll(3, Arrays.asList("a", "b")).withAll(SIZE + 5, Arrays.asList("c", "d")));
+        ConstList<Object> rope = rope();
+        assertSame(rope, rope.withAll(Collections.emptyList()));
+        assertSame(rope, rope.withAll(5, Collections.emptyList()));
+        assertSame(BasicListC.class, rope.with("x").getClass());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_with_out_of_bounds() {
+        rope().with(SIZE * 2 + 1, "x");
+    }
+
+    @Test
+    public void test_replace() {
+        List<Object> expected = expectedRope();
+        expected.set(7, "x");
+        expected.set(SIZE + 7, "y");
+        compare_lists(expected, rope().replace(7, "x").replace(SIZE + 7, "y"));
+        compare_lists(expectedRope(), rope());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_replace_out_of_bounds() {
+        rope().replace(SIZE * 2, "x");
+    }
+
+    @Test
+    public void test_delete() {
+        List<Object> expected = expectedRope();
+        ConstList<Object> list = rope();
+        list = list.delete(SIZE + 3);
+        expected.remove(SIZE + 3);
+        list = list.delete(3);
+        expected.remove(3);
+        compare_lists(expected, list);
+        assertSame(BasicListC.class, list.getClass());
+    }
+
+    @Test
+    public void test_without() {
+        ConstList<Object> rope = rope();
+        List<Object> expected = expectedRope();
+        expected.remove((Object)(SIZE + 20));
+        compare_lists(expected, rope.without(SIZE + 20));
+        assertSame(rope, rope.without("x"));
+        assertSame(rope, rope.withoutAll(Arrays.asList("x", "y")));
+        expected.removeAll(Arrays.asList(30, 40));
+        compare_lists(expected, rope.withoutAll(Arrays.asList(SIZE + 20, 30, 40)));
+    }
+
+    @Test
+    public void test_subList() {
+        ConstList<Object> rope = rope();
+        compare_lists(expectedRope().subList(5, SIZE - 5), rope.subList(5, SIZE - 5));
+        compare_lists(expectedRope().subList(SIZE + 5, SIZE * 2), rope.subList(SIZE + 5, SIZE * 2));
+        compare_lists(expectedRope().subList(5, SIZE * 2 - 5), rope.subList(5, SIZE * 2 - 5));
+        assertSame(BasicListC.class, rope.subList(5, SIZE * 2 - 5).getClass());
+        assertSame(rope, rope.subList(0, SIZE * 2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_subList_out_of_bounds() {
+        rope().subList(0, SIZE * 2 + 1);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new ObjectOutputStream(baos).writeObject(rope());
+        Object read = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+        compare_lists(expectedRope(), (ConstList<?>)read);
+        assertNotSame(BasicListC.class, read.getClass());  // read back materialized.
+    }
+
+    @Test
+    public void test_publicInterfaceRef_annotation_present() {
+        assertSame(BasicConstList.class, rope().getClass().getAnnotation(PublicInterfaceRef.class).value());
+    }
+}
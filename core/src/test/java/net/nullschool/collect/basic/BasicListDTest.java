@@ -0,0 +1,215 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import org.junit.Test;
+
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-07-01<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicListDTest {
+
+    private static final int SIZE = 1000;
+
+    private static List<Object> expected(int size, int cardinality) {
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            expected.add(i % cardinality == 0 ? null : "v" + i % cardinality);
+        }
+        return expected;
+    }
+
+    private static List<Object> expected(int size) {
+        return expected(size, 3);
+    }
+
+    private static BasicListD<Object> list(int size) {
+        return (BasicListD<Object>)BasicListD.of(expected(size).toArray());
+    }
+
+    @Test
+    public void test_comparison() {
+        for (int size : new int[] {2, 3, 64, SIZE}) {
+            compare_lists(expected(size), list(size));
+        }
+    }
+
+    @Test
+    public void test_code_widths() {
+        // Dictionaries of 3, 300, and 70000 values require byte, short, and int codes respectively.
+        for (int cardinality : new int[] {3, 256, 257, 300, 65536, 65537, 70000}) {
+            List<Object> expected = expected(cardinality * 2, cardinality);
+            ConstList<Object> list = asDictionaryList(expected);
+            assertSame(BasicListD.class, list.getClass());
+            assertEquals(cardinality, ((BasicListD<?>)list).dictionary().size());
+            assertEquals(expected, list);
+            assertEquals(expected.hashCode(), list.hashCode());
+            assertEquals(cardinality * 2 - 1, list.lastIndexOf(expected.get(cardinality - 1)));
+        }
+    }
+
+    @Test
+    public void test_dictionary_and_codes() {
+        BasicListD<Object> list = list(SIZE);
+        assertEquals(Arrays.asList(null, "v1", "v2"), list.dictionary());
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 3, list.code(i));
+        }
+        assertEquals(list, dictionaryListOf(list.dictionary().toArray(), new int[] {0, 1, 2, 0}).withAll(
+            expected(SIZE).subList(4, SIZE)));
+    }
+
+    @Test
+    public void test_dictionaryListOf() {
+        assertSame(BasicList0.instance(), dictionaryListOf(new String[] {"a"}, new int[0]));
+        compare_lists(Arrays.asList("a"), dictionaryListOf(new String[] {"a"}, new int[] {0}));
+        compare_lists(Arrays.asList("b", "a", "b"), dictionaryListOf(new String[] {"a", "b"}, new int[] {1, 0, 1}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_dictionaryListOf_duplicates() {
+        dictionaryListOf(new String[] {"a", "a"}, new int[] {0, 1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_dictionaryListOf_invalid_code() {
+        dictionaryListOf(new String[] {"a", "b"}, new int[] {0, 2});
+    }
+
+    @Test
+    public void test_asDictionaryList() {
+        ConstList<Object> list = list(SIZE);
+        assertSame(list, asDictionaryList(list));
+        assertSame(BasicList0.instance(), asDictionaryList(Collections.emptyList()));
+        assertSame(BasicList1.class, asDictionaryList(Arrays.asList(1)).getClass());
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_list_immutable(list(SIZE));
+    }
+
+    @Test
+    public void test_with() {
+        List<Object> expected = expected(SIZE);
+        expected.add("v4");
+        ConstList<Object> list = list(SIZE).with("v4");
+        compare_lists(expected, list);
+        assertSame(BasicListD.class, list.getClass());
+
+        expected = expected(SIZE);
+        expected.add(500, "v1");
+        compare_lists(expected, list(SIZE).with(500, "v1"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_with_index_out_of_bounds() {
+        list(SIZE).with(SIZE + 1, 7);
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstList<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.addAll(4, Arrays.asList(1, 2, 3));
+        compare_lists(expected, list.withAll(4, Arrays.asList(1, 2, 3)));
+        assertSame(list, list.withAll(Collections.emptyList()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_withAll_index_out_of_bounds() {
+        list(SIZE).withAll(SIZE + 1, Collections.emptyList());
+    }
+
+    @Test
+    public void test_replace() {
+        BasicListD<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.set(500, "v1");
+        ConstList<Object> replaced = list.replace(500, "v1");
+        compare_lists(expected, replaced);
+        assertEquals(list.dictionary(), ((BasicListD<?>)replaced).dictionary());
+
+        expected = expected(SIZE);
+        expected.set(500, "new");
+        compare_lists(expected, list.replace(500, "new"));
+        compare_lists(expected(SIZE), list);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_replace_out_of_bounds() {
+        list(SIZE).replace(SIZE, "v1");
+    }
+
+    @Test
+    public void test_without() {
+        ConstList<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.remove("v2");
+        compare_lists(expected, list.without("v2"));
+        expected.remove(null);
+        compare_lists(expected, list.without("v2").without(null));
+        assertSame(list, list.without("v3"));
+    }
+
+    @Test
+    public void test_delete() {
+        List<Object> expected = expected(SIZE);
+        expected.remove(500);
+        compare_lists(expected, list(SIZE).delete(500));
+        assertSame(BasicList1.class, list(2).delete(0).getClass());
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstList<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.removeAll(Arrays.asList("v1", null));
+        compare_lists(expected, list.withoutAll(Arrays.asList("v1", null)));
+        assertSame(list, list.withoutAll(Arrays.asList(-1)));
+        assertSame(BasicList0.instance(), list.withoutAll(list));
+    }
+
+    @Test
+    public void test_subList() {
+        ConstList<Object> list = list(SIZE);
+        assertSame(BasicList0.instance(), list.subList(0, 0));
+        compare_lists(expected(SIZE).subList(30, 990), list.subList(30, 990));
+        compare_lists(expected(SIZE).subList(30, 40), list.subList(30, 40));
+    }
+
+    @Test
+    public void test_equality() {
+        BasicListD<Object> list = list(SIZE);
+        assertEquals(list, list.replace(0, null));
+        assertFalse(list.equals(list.replace(0, "v1")));
+        List<Object> expected = expected(SIZE);
+        expected.set(SIZE - 1, -1);
+        assertFalse(list.equals(expected));
+        assertFalse(expected.equals(list));
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-21<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicListTTest {
+
+    private static final int SIZE = 1100;  // large enough for a trie of two levels plus a partial tail.
+
+    private static List<Object> expected(int size) {
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            expected.add(i);
+        }
+        return expected;
+    }
+
+    private static BasicListT<Object> list(int size) {
+        return BasicListT.of(expected(size).toArray());
+    }
+
+    @Test
+    public void test_comparison() {
+        for (int size : new int[] {2, 31, 32, 33, 64, 65, 1024, 1056, 1057, SIZE}) {
+            compare_lists(expected(size), list(size));
+        }
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_list_immutable(list(SIZE));
+    }
+
+    @Test
+    public void test_with() {
+        List<Object> expected = expected(2);
+        ConstList<Object> list = list(2);
+        for (int i = 2; i < 33 * 32 * 2; i++) {  // grows the trie to three levels.
+            ConstList<Object> previous = list;
+            list = list.with(i);
+            expected.add(i);
+            assertEquals(i, previous.size());
+            assertEquals(i, list.get(i));
+            assertSame(BasicListT.class, list.getClass());
+        }
+        compare_lists(expected, list);
+        compare_lists(expected(SIZE), list(SIZE));  // the original list is unaffected by later appends.
+
+        expected.add(null);
+        compare_lists(expected, list.with(null));
+    }
+
+    @Test
+    public void test_with_index() {
+        List<Object> expected = expected(SIZE);
+        expected.add(0, -1);
+        compare_lists(expected, list(SIZE).with(0, -1));
+
+        expected = expected(SIZE);
+        expected.add(500, -1);
+        compare_lists(expected, list(SIZE).with(500, -1));
+
+        expected = expected(SIZE);
+        expected.add(SIZE, -1);
+        compare_lists(expected, list(SIZE).with(SIZE, -1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_with_index_out_of_bounds() {
+        list(SIZE).with(SIZE + 1, 7);
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstList<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.addAll(expected(SIZE));
+        compare_lists(expected, list.withAll(expected(SIZE)));
+        assertSame(list, list.withAll(Collections.emptyList()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() {
+        list(SIZE).withAll(null);
+    }
+
+    @Test
+    public void test_withAll_index() {
+        ConstList<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.addAll(4, Arrays.asList(1, 2, 3));
+        compare_lists(expected, list.withAll(4, Arrays.asList(1, 2, 3)));
+
+        expected = expected(SIZE);
+        expected.addAll(Arrays.asList(1, 2, 3));
+        compare_lists(expected, list.withAll(SIZE, Arrays.asList(1, 2, 3)));
+        assertSame(list, list.withAll(0, Collections.emptyList()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_withAll_index_out_of_bounds() {
+        list(SIZE).withAll(SIZE + 1, Collections.emptyList());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_index_throws() {
+        list(SIZE).withAll(0, null);
+    }
+
+    @Test
+    public void test_replace() {
+        ConstList<Object> list = list(SIZE);
+        for (int index : new int[] {0, 31, 32, 500, 1023, 1024, SIZE - 1}) {
+            List<Object> expected = expected(SIZE);
+            expected.set(index, -1);
+            compare_lists(expected, list.replace(index, -1));
+        }
+        compare_lists(expected(SIZE), list);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_replace_out_of_bounds() {
+        list(SIZE).replace(SIZE, 9);
+    }
+
+    @Test
+    public void test_without() {
+        ConstList<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.remove((Object)7);
+        compare_lists(expected, list.without(7));
+        assertSame(list, list.without(-1));
+        assertSame(list, list.without(null));
+    }
+
+    @Test
+    public void test_delete() {
+        ConstList<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.remove(500);
+        compare_lists(expected, list.delete(500));
+
+        // Removing the last element repeatedly shrinks the trie until the list reverts to an array.
+        expected = expected(33 * 32 + 1);
+        list = list(33 * 32 + 1);
+        while (list.size() > BasicCollections.VECTOR_THRESHOLD) {
+            list = list.delete(list.size() - 1);
+            expected.remove(expected.size() - 1);
+            assertEquals(expected.size(), list.size());
+            assertEquals(expected.get(expected.size() - 1), list.get(list.size() - 1));
+        }
+        compare_lists(expected, list);
+        assertSame(BasicListT.class, list.getClass());
+        assertSame(BasicListN.class, list.delete(list.size() - 1).getClass());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_delete_out_of_bounds() {
+        list(SIZE).delete(SIZE);
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstList<Object> list = list(SIZE);
+        List<Object> expected = expected(SIZE);
+        expected.removeAll(Arrays.asList(1, 2));
+        compare_lists(expected, list.withoutAll(Arrays.asList(1, 2)));
+        compare_lists(expected, list.withoutAll(Arrays.asList(1, 2, -1)));
+        assertSame(list, list.withoutAll(Arrays.asList(-1)));
+        assertSame(list, list.withoutAll(Arrays.asList()));
+        assertSame(BasicList0.instance(), list.withoutAll(list));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withoutAll_throws() {
+        list(SIZE).withoutAll(null);
+    }
+
+    @Test
+    public void test_subList() {
+        ConstList<Object> list = list(SIZE);
+        assertSame(BasicList0.instance(), list.subList(0, 0));
+        assertSame(BasicList0.instance(), list.subList(SIZE, SIZE));
+        compare_lists(expected(SIZE).subList(30, 1030), list.subList(30, 1030));
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+
+        ConstList<Object> list = list(SIZE);
+
+        out.writeObject(list);
+        byte[] data = baos.toByteArray();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+
+        ConstList<?> read = (ConstList)in.readObject();
+        compare_lists(list, read);
+        assertSame(list.getClass(), read.getClass());
+    }
+
+    @Test
+    public void test_non_equality() {
+        List<Object> expected = expected(SIZE);
+        expected.set(SIZE - 1, -1);
+        assertFalse(list(SIZE).equals(expected));
+        assertFalse(expected.equals(list(SIZE)));
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.reflect.PublicInterfaceRef;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-25<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicListVTest {
+
+    private static final int SIZE = VECTOR_THRESHOLD * 4;
+
+    private static List<Object> expected(int size) {
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            expected.add(i);
+        }
+        return expected;
+    }
+
+    private static ConstList<Object> list(int size) {
+        return asList(expected(size));
+    }
+
+    private static ConstList<Object> view() {
+        ConstList<Object> view = list(SIZE).subList(10, SIZE - 10);
+        assertSame(BasicListV.class, view.getClass());
+        return view;
+    }
+
+    private static List<Object> expectedView() {
+        return expected(SIZE).subList(10, SIZE - 10);
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_lists(expectedView(), view());
+        for (int size : new int[] {VECTOR_THRESHOLD - 1, SIZE}) {  // both array and trie parents
+            int from = size / 8;
+            int to = size - size / 8;
+            compare_lists(expected(size).subList(from, to), list(size).subList(from, to));
+            assertSame(BasicListV.class, list(size).subList(from, to).getClass());
+        }
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_list_immutable(view());
+    }
+
+    @Test
+    public void test_compaction() {
+        ConstList<Object> list = list(SIZE);
+        assertSame(list, list.subList(0, SIZE));
+        assertSame(BasicList0.instance(), list.subList(5, 5));
+        // Too small to be worth a view.
+        assertNotSame(BasicListV.class, list.subList(0, VIEW_THRESHOLD - 1).getClass());
+        // Too small a fraction of the parent, so copied rather than pinning the parent.
+        int tiny = Math.max(VIEW_THRESHOLD, SIZE / VIEW_COMPACTION_RATIO - 1);
+        assertNotSame(BasicListV.class, list.subList(0, tiny).getClass());
+        compare_lists(expected(SIZE).subList(0, tiny), list.subList(0, tiny));
+    }
+
+    @Test
+    public void test_subList_of_view() {
+        ConstList<Object> view = view();
+        compare_lists(expectedView().subList(5, view.size() - 5), view.subList(5, view.size() - 5));
+        assertSame(BasicListV.class, view.subList(5, view.size() - 5).getClass());
+        assertSame(view, view.subList(0, view.size()));
+        compare_lists(expectedView().subList(3, 5), view.subList(3, 5));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_subList_out_of_bounds() {
+        view().subList(0, SIZE - 19);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_get_out_of_bounds() {
+        view().get(SIZE - 20);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_get_negative() {
+        view().get(-1);
+    }
+
+    @Test
+    public void test_with() {
+        List<Object> expected = new ArrayList<>(expectedView());
+        expected.add(null);
+        compare_lists(expected, view().with(null));
+        expected.add(0, "a");
+        compare_lists(expected, view().with(null).with(0, "a"));
+        expected = new ArrayList<>(expectedView());
+        expected.addAll(3, Arrays.asList("a", "b"));
+        compare_lists(expected, view().withAll(3, Arrays.asList("a", "b")));
+        ConstList<Object> view = view();
+        assertSame(view, view.withAll(Collections.emptyList()));
+    }
+
+    @Test
+    public void test_replace() {
+        List<Object> expected = new ArrayList<>(expectedView());
+        expected.set(7, "x");
+        compare_lists(expected, view().replace(7, "x"));
+        compare_lists(expectedView(), view());
+    }
+
+    @Test
+    public void test_delete() {
+        List<Object> expected = new ArrayList<>(expectedView());
+        ConstList<Object> list = view();
+        list = list.delete(0);
+        expected.remove(0);
+        assertSame(BasicListV.class, list.getClass());  // narrowed, not copied.
+        list = list.delete(list.size() - 1);
+        expected.remove(expected.size() - 1);
+        assertSame(BasicListV.class, list.getClass());
+        list = list.delete(3);
+        expected.remove(3);
+        compare_lists(expected, list);
+
+        // Repeatedly removing the head eventually compacts the view.
+        list = view();
+        while (list instanceof BasicListV) {
+            list = list.delete(0);
+        }
+        assertTrue(list.size() >= VIEW_THRESHOLD - 1);
+        compare_lists(expectedView().subList(expectedView().size() - list.size(), expectedView().size()), list);
+    }
+
+    @Test
+    public void test_without() {
+        ConstList<Object> view = view();
+        List<Object> expected = new ArrayList<>(expectedView());
+        expected.remove((Object)20);
+        compare_lists(expected, view.without(20));
+        assertSame(view, view.without(0));
+        assertSame(view, view.withoutAll(Arrays.asList(0, 1, 2)));
+        expected.removeAll(Arrays.asList(30, 40));
+        compare_lists(expected, view.withoutAll(Arrays.asList(20, 30, 40)));
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new ObjectOutputStream(baos).writeObject(view());
+        Object read = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+        compare_lists(expectedView(), (ConstList<?>)read);
+        assertNotSame(BasicListV.class, read.getClass());  // read back compacted.
+    }
+
+    @Test
+    public void test_publicInterfaceRef_annotation_present() {
+        assertSame(BasicConstList.class, view().getClass().getAnnotation(PublicInterfaceRef.class).value());
+    }
+}
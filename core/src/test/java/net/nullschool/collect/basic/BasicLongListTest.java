@@ -0,0 +1,202 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.ConstLongList;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-24<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicLongListTest {
+
+    private static ConstLongList list() {
+        return longListOf(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_lists(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L), list());
+        compare_lists(Collections.<Long>emptyList(), emptyLongList());
+        compare_lists(Arrays.asList(1L), longListOf(1L));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L).hashCode(), list().hashCode());
+        assertEquals(list(), asList(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L)));
+        assertEquals(asList(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L)), list());
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_list_immutable(list());
+        assert_list_immutable(emptyLongList());
+    }
+
+    @Test
+    public void test_unboxed_accessors() {
+        ConstLongList list = list();
+        assertEquals(4L, list.getLong(3));
+        assertEquals(3, list.indexOfLong(4L));
+        assertEquals(-1, list.indexOfLong(7L));
+        assertEquals(3, list.indexOf(4L));
+        assertEquals(-1, list.indexOf("4"));
+        assertEquals(-1, list.indexOf(null));
+        assertTrue(list.contains(6L));
+        assertFalse(list.contains(null));
+
+        long[] array = list.toLongArray();
+        assertArrayEquals(new long[] {1L, 2L, 3L, 4L, 5L, 6L}, array);
+        array[0] = 9L;
+        assertEquals(1L, list.getLong(0));
+    }
+
+    @Test
+    public void test_factories_copy() {
+        long[] array = {1L, 2L};
+        ConstLongList list = longListOf(array);
+        array[0] = 9L;
+        compare_lists(Arrays.asList(1L, 2L), list);
+        assertSame(list, asLongList(list));
+        compare_lists(Arrays.asList(1L, 2L), asLongList(Arrays.asList(1L, 2L)));
+        assertSame(emptyLongList(), asLongList(Collections.<Long>emptyList()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_asLongList_null_element() {
+        asLongList(Arrays.asList(1L, null));
+    }
+
+    @Test
+    public void test_with() {
+        compare_lists(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L), list().with(7L));
+        compare_lists(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L), list().withLong(7L));
+        compare_lists(Arrays.asList(7L, 1L, 2L, 3L, 4L, 5L, 6L), list().withLong(0, 7L));
+        compare_lists(Arrays.asList(1L, 2L, 3L, 7L, 4L, 5L, 6L), list().with(3, 7L));
+        assertTrue(list().with(7L) instanceof ConstLongList);
+
+        ConstList<Long> boxed = list().with(null);
+        compare_lists(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, null), boxed);
+        assertFalse(boxed instanceof ConstLongList);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_with_index_out_of_bounds() {
+        list().withLong(7, 7L);
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstLongList list = list();
+        compare_lists(
+            Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 1L, 2L),
+            list.withAll(Arrays.asList(1L, 2L)));
+        compare_lists(
+            Arrays.asList(1L, 1L, 2L, 2L, 3L, 4L, 5L, 6L),
+            list.withAll(1, Arrays.asList(1L, 2L)));
+        compare_lists(
+            Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, null),
+            list.withAll(Arrays.asList((Long)null)));
+        assertTrue(list.withAll(Arrays.asList(1L)) instanceof ConstLongList);
+        assertSame(list, list.withAll(Collections.<Long>emptyList()));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_withAll_index_out_of_bounds() {
+        list().withAll(7, Collections.<Long>emptyList());
+    }
+
+    @Test
+    public void test_replace() {
+        compare_lists(Arrays.asList(9L, 2L, 3L, 4L, 5L, 6L), list().replace(0, 9L));
+        compare_lists(Arrays.asList(1L, 2L, 3L, 4L, 5L, 9L), list().replaceLong(5, 9L));
+        compare_lists(Arrays.asList(1L, 2L, null, 4L, 5L, 6L), list().replace(2, null));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_replace_out_of_bounds() {
+        list().replaceLong(6, 9L);
+    }
+
+    @Test
+    public void test_without() {
+        ConstLongList list = list().withLong(1L);
+        compare_lists(Arrays.asList(2L, 3L, 4L, 5L, 6L, 1L), list.without(1L));
+        assertSame(list, list.without(7L));
+        assertSame(list, list.without(null));
+        assertSame(list, list.without("1"));
+    }
+
+    @Test
+    public void test_delete() {
+        compare_lists(Arrays.asList(2L, 3L, 4L, 5L, 6L), list().delete(0));
+        compare_lists(Arrays.asList(1L, 2L, 3L, 4L, 5L), list().delete(5));
+        assertSame(emptyLongList(), longListOf(1L).delete(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_delete_out_of_bounds() {
+        list().delete(6);
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstLongList list = list().withLong(1L);
+        compare_lists(Arrays.asList(3L, 4L, 5L, 6L), list.withoutAll(Arrays.asList(1L, 2L)));
+        assertSame(list, list.withoutAll(Arrays.asList(7L)));
+        assertSame(list, list.withoutAll(Arrays.asList()));
+        assertSame(emptyLongList(), list.withoutAll(list));
+    }
+
+    @Test
+    public void test_subList() {
+        ConstLongList list = list();
+        compare_lists(Arrays.asList(2L, 3L), list.subList(1, 3));
+        assertSame(emptyLongList(), list.subList(0, 0));
+        assertSame(emptyLongList(), list.subList(6, 6));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_subList_out_of_bounds() {
+        list().subList(0, 7);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        for (ConstLongList list : Arrays.asList(emptyLongList(), list())) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream(baos);
+            out.writeObject(list);
+
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+            Object read = in.readObject();
+            compare_lists(list, (ConstList<?>)read);
+            assertSame(list.getClass(), read.getClass());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstMap;
+import net.nullschool.collect.ConstSet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-18<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicMapHTest {
+
+    private static final int SIZE = BasicCollections.HASH_THRESHOLD * 2;
+
+    private static Object[] keys() {
+        Object[] keys = new Object[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = "k" + i;
+        }
+        return keys;
+    }
+
+    private static Object[] values() {
+        Object[] values = new Object[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    private static Map<Object, Object> expected(Object... keysAndValues) {
+        Map<Object, Object> expected = new LinkedHashMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            expected.put("k" + i, i);
+        }
+        expected.putAll(newMap(keysAndValues));
+        return expected;
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_maps(expected(), new BasicMapH<>(keys(), values()));
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_map_immutable(new BasicMapH<>(keys(), values()));
+    }
+
+    @Test
+    public void test_with() {
+        ConstMap<Object, Object> map;
+
+        map = new BasicMapH<>(keys(), values());
+        compare_maps(expected("e", 5), map.with("e", 5));
+        compare_maps(expected("k1", 9), map.with("k1", 9));
+        compare_maps(expected("e", null), map.with("e", null));
+        compare_maps(expected(null, 5), map.with(null, 5));
+        assertSame(map, map.with("k2", 2));
+        assertSame(BasicMapS.class, map.with("e", 5).getClass());  // all String keys, so perfectly hashed
+        assertSame(BasicMapH.class, map.with("k1", 9).getClass());
+
+        Object[] keys = keys();
+        Object[] values = values();
+        keys[3] = null;
+        values[3] = null;
+        map = new BasicMapH<>(keys, values);
+        assertSame(map, map.with(null, null));
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstMap<Object, Object> map = new BasicMapH<>(keys(), values());
+        compare_maps(expected("e", 5, "f", 6, "k1", 9), map.withAll(newMap("e", 5, "f", 6, "k1", 9)));
+
+        compare_maps(map, map.withAll(newMap("k0", 0, "k1", 1)));
+        assertSame(map, map.withAll(newMap()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() {
+        new BasicMapH<>(keys(), values()).withAll(null);
+    }
+
+    @Test
+    public void test_without() {
+        ConstMap<Object, Object> map = new BasicMapH<>(keys(), values());
+        Map<Object, Object> expected = expected();
+        expected.remove("k3");
+        compare_maps(expected, map.without("k3"));
+        assertSame(map, map.without("e"));
+        assertSame(map, map.without(null));
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstMap<Object, Object> map = new BasicMapH<>(keys(), values());
+        Map<Object, Object> expected = expected();
+        expected.remove("k0");
+        expected.remove("k1");
+
+        compare_maps(expected, map.withoutAll(Arrays.asList("k0", "k1", "k0")));
+        compare_maps(expected, map.withoutAll(Arrays.asList("k0", "k1", "x")));
+        compare_maps(map, map.withoutAll(Arrays.asList("x")));
+        assertSame(map, map.withoutAll(Arrays.asList()));
+        assertSame(BasicMap0.instance(), map.withoutAll(map.keySet()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withoutAll_throws() {
+        new BasicMapH<>(keys(), values()).withoutAll(null);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+
+        ConstMap<Object, Object> map = new BasicMapH<>(keys(), values());
+
+        out.writeObject(map);
+        byte[] data = baos.toByteArray();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+
+        ConstMap<?, ?> read = (ConstMap)in.readObject();
+        compare_maps(map, read);
+        assertSame(BasicMapS.class, read.getClass());  // all String keys, so perfectly hashed
+    }
+
+    @Test
+    public void test_get_key_and_value() {
+        BasicMapH<Object, Object> map = new BasicMapH<>(keys(), values());
+        for (int i = 0; i < map.size(); i++) {
+            assertEquals("k" + i, map.getKey(i));
+            assertEquals(i, map.getValue(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_key() {
+        new BasicMapH<>(keys(), values()).getKey(SIZE);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_value() {
+        new BasicMapH<>(keys(), values()).getValue(SIZE);
+    }
+
+    @Test
+    public void test_non_equality() {
+        assertFalse(new BasicMapH<>(keys(), values()).equals(expected("k1", -1)));
+        assertFalse(expected("k1", -1).equals(new BasicMapH<>(keys(), values())));
+        assertFalse(new BasicMapH<>(keys(), values()).equals(expected("x", 1)));
+    }
+
+    @Test
+    public void test_entrySet_with() {
+        ConstMap<Object, Object> map = new BasicMapH<>(keys(), values());
+        ConstSet<Map.Entry<Object, Object>> entrySet = map.entrySet();
+
+        Set<Map.Entry<Object, Object>> expected = new LinkedHashSet<>(expected().entrySet());
+        expected.add(newEntry((Object)"k0", (Object)9));
+        compare_sets(expected, entrySet.with(newEntry((Object)"k0", (Object)9)));
+        assertSame(entrySet, entrySet.with(newEntry((Object)"k0", (Object)0)));
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstMap;
+import net.nullschool.reflect.PublicInterfaceRef;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-07-04<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicMapLTest {
+
+    private static final int SIZE = COMPOSITE_THRESHOLD * 2;
+
+    /**
+     * Returns a map of SIZE entries starting at key "k" + from, each mapped to the key's number times the sign.
+     */
+    private static Map<Object, Object> expected(int from, int sign) {
+        Map<Object, Object> expected = new LinkedHashMap<>();
+        for (int i = from; i < from + SIZE; i++) {
+            expected.put("k" + i, i * sign);
+        }
+        return expected;
+    }
+
+    private static Map<Object, Object> expectedLayers() {
+        Map<Object, Object> expected = expected(0, 1);
+        expected.putAll(expected(SIZE / 2, -1));
+        return expected;
+    }
+
+    private static ConstMap<Object, Object> layers() {
+        ConstMap<Object, Object> map = asMap(expected(0, 1)).withAll(asMap(expected(SIZE / 2, -1)));
+        assertSame(BasicMapL.class, map.getClass());
+        return map;
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_maps(expectedLayers(), layers());
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_map_immutable(layers());
+    }
+
+    @Test
+    public void test_lookups() {
+        // Lookups on fresh instances consult the layers without materializing them.
+        assertEquals(1, layers().get("k1"));
+        assertEquals(-(SIZE / 2), layers().get("k" + SIZE / 2));
+        assertEquals(-(SIZE + 1), layers().get("k" + (SIZE + 1)));
+        assertNull(layers().get("x"));
+        assertTrue(layers().containsKey("k" + (SIZE + 1)));
+        assertFalse(layers().containsKey("x"));
+        assertTrue(layers().containsValue(-SIZE));
+        assertFalse(layers().containsValue(SIZE));
+
+        ConstMap<Object, Object> map = asMap(expected(0, 1)).withAll(asMap(expected(SIZE / 2, -1)).with("k3", null));
+        assertSame(BasicMapL.class, map.getClass());
+        assertNull(map.get("k3"));
+        assertTrue(map.containsKey("k3"));
+    }
+
+    @Test
+    public void test_qualification() {
+        ConstMap<Object, Object> map = asMap(expected(0, 1));
+        // Small overlays, mutable maps, and sorted maps are merged eagerly.
+        assertNotSame(BasicMapL.class, map.withAll(mapOf("a", 1)).getClass());
+        assertNotSame(BasicMapL.class, map.withAll(expected(SIZE / 2, -1)).getClass());
+        assertNotSame(BasicMapL.class, map.withAll(asSortedMap(null, expected(SIZE / 2, -1))).getClass());
+        assertNotSame(BasicMapL.class, BasicCollections.<Object, Object>mapOf("a", 1).withAll(map).getClass());
+        compare_maps(expectedLayers(), map.withAll(expected(SIZE / 2, -1)));
+
+        // Integer keys use a hash index rather than a perfect hash, and are layered just the same.
+        Map<Object, Object> expected = new LinkedHashMap<>();
+        Map<Object, Object> overlay = new LinkedHashMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            expected.put(i, i);
+            overlay.put(i + SIZE / 2, -i);
+        }
+        ConstMap<Object, Object> layered = asMap(expected).withAll(asMap(overlay));
+        assertSame(BasicMapL.class, layered.getClass());
+        expected.putAll(overlay);
+        compare_maps(expected, layered);
+    }
+
+    @Test
+    public void test_depth_limit() {
+        Map<Object, Object> expected = new LinkedHashMap<>();
+        ConstMap<Object, Object> map = emptyMap();
+        for (int i = 0; i < COMPOSITE_DEPTH_LIMIT * 3; i++) {
+            expected.putAll(expected(i * SIZE / 2, i % 2 == 0 ? 1 : -1));
+            map = map.withAll(asMap(expected(i * SIZE / 2, i % 2 == 0 ? 1 : -1)));
+            assertEquals(expected.get("k" + i), map.get("k" + i));
+        }
+        compare_maps(expected, map);
+    }
+
+    @Test
+    public void test_with() {
+        ConstMap<Object, Object> map = layers();
+        Map<Object, Object> expected = expectedLayers();
+        expected.put("k1", "x");
+        expected.put("e", null);
+        compare_maps(expected, map.with("k1", "x").with("e", null));
+        assertSame(BasicMapL.class, map.with("k1", "x").getClass());
+        assertSame(map, map.with("k1", 1));
+        assertSame(map, map.with("k" + SIZE, -SIZE));
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstMap<Object, Object> map = layers();
+        Map<Object, Object> expected = expectedLayers();
+        expected.putAll(newMap("e", 5, "k1", 9));
+        compare_maps(expected, map.withAll(newMap("e", 5, "k1", 9)));
+        expected.putAll(expected(SIZE, 1));
+        compare_maps(expected, map.withAll(newMap("e", 5, "k1", 9)).withAll(asMap(expected(SIZE, 1))));
+        assertSame(BasicMapL.class, map.withAll(asMap(expected(SIZE, 1))).getClass());
+        assertSame(map, map.withAll(newMap()));
+    }
+
+    @Test
+    public void test_without() {
+        ConstMap<Object, Object> map = layers();
+        Map<Object, Object> expected = expectedLayers();
+        expected.remove("k3");
+        expected.remove("k" + SIZE);
+        compare_maps(expected, map.without("k3").without("k" + SIZE));
+        assertSame(map, map.without("x"));
+        expected.remove("k4");
+        compare_maps(expected, map.withoutAll(Arrays.asList("k3", "k4", "k" + SIZE, "x")));
+        assertSame(map, map.withoutAll(Arrays.asList()));
+    }
+
+    @Test
+    public void test_get_key_and_value() {
+        BasicMapL<Object, Object> map = (BasicMapL<Object, Object>)layers();
+        int i = 0;
+        for (Map.Entry<Object, Object> entry : expectedLayers().entrySet()) {
+            assertEquals(entry.getKey(), map.getKey(i));
+            assertEquals(entry.getValue(), map.getValue(i));
+            i++;
+        }
+    }
+
+    @Test
+    public void test_equality() {
+        assertEquals(expectedLayers(), layers());
+        assertEquals(layers(), expectedLayers());
+        assertEquals(expectedLayers().hashCode(), layers().hashCode());
+        assertFalse(layers().equals(expected(0, 1)));
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new ObjectOutputStream(baos).writeObject(layers());
+        Object read = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())).readObject();
+        compare_maps(expectedLayers(), (ConstMap<?, ?>)read);
+        assertNotSame(BasicMapL.class, read.getClass());  // read back materialized.
+    }
+
+    @Test
+    public void test_publicInterfaceRef_annotation_present() {
+        assertSame(BasicConstMap.class, layers().getClass().getAnnotation(PublicInterfaceRef.class).value());
+    }
+}
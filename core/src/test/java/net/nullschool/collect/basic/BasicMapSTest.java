@@ -0,0 +1,288 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstMap;
+import net.nullschool.collect.ConstSet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static org.junit.Assert.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+/**
+ * 2013-06-28<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicMapSTest {
+
+    private static final int SIZE = BasicCollections.HASH_THRESHOLD * 2;
+
+    private static Object[] keys() {
+        Object[] keys = new Object[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = "k" + i;
+        }
+        return keys;
+    }
+
+    private static Object[] values() {
+        Object[] values = new Object[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    private static BasicMapS<Object, Object> map() {
+        return map(keys(), values());
+    }
+
+    private static BasicMapS<Object, Object> map(Object[] keys, Object[] values) {
+        BasicMapS<Object, Object> map = BasicMapS.tryCreate(keys, values);
+        assertNotNull(map);
+        return map;
+    }
+
+    private static Map<Object, Object> expected(Object... keysAndValues) {
+        Map<Object, Object> expected = new LinkedHashMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            expected.put("k" + i, i);
+        }
+        expected.putAll(newMap(keysAndValues));
+        return expected;
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_maps(expected(), map());
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_map_immutable(map());
+    }
+
+    @Test
+    public void test_with() {
+        ConstMap<Object, Object> map;
+
+        map = map();
+        compare_maps(expected("e", 5), map.with("e", 5));
+        compare_maps(expected("k1", 9), map.with("k1", 9));
+        compare_maps(expected("e", null), map.with("e", null));
+        compare_maps(expected(null, 5), map.with(null, 5));
+        assertSame(map, map.with("k2", 2));
+        assertSame(BasicMapS.class, map.with("e", 5).getClass());
+        assertSame(BasicMapS.class, map.with("k1", 9).getClass());
+        assertSame(BasicMapH.class, map.with(null, 5).getClass());  // no longer all String keys
+        assertSame(BasicMapH.class, map.with(1, 5).getClass());
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstMap<Object, Object> map = map();
+        compare_maps(expected("e", 5, "f", 6, "k1", 9), map.withAll(newMap("e", 5, "f", 6, "k1", 9)));
+
+        compare_maps(map, map.withAll(newMap("k0", 0, "k1", 1)));
+        assertSame(map, map.withAll(newMap()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() {
+        map().withAll(null);
+    }
+
+    @Test
+    public void test_without() {
+        ConstMap<Object, Object> map = map();
+        Map<Object, Object> expected = expected();
+        expected.remove("k3");
+        compare_maps(expected, map.without("k3"));
+        assertSame(map, map.without("e"));
+        assertSame(map, map.without(null));
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstMap<Object, Object> map = map();
+        Map<Object, Object> expected = expected();
+        expected.remove("k0");
+        expected.remove("k1");
+
+        compare_maps(expected, map.withoutAll(Arrays.asList("k0", "k1", "k0")));
+        compare_maps(expected, map.withoutAll(Arrays.asList("k0", "k1", "x")));
+        compare_maps(map, map.withoutAll(Arrays.asList("x")));
+        assertSame(map, map.withoutAll(Arrays.asList()));
+        assertSame(BasicMap0.instance(), map.withoutAll(map.keySet()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withoutAll_throws() {
+        map().withoutAll(null);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+
+        ConstMap<Object, Object> map = map();
+
+        out.writeObject(map);
+        byte[] data = baos.toByteArray();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+
+        ConstMap<?, ?> read = (ConstMap)in.readObject();
+        compare_maps(map, read);
+        assertSame(map.getClass(), read.getClass());
+    }
+
+    @Test
+    public void test_get_key_and_value() {
+        BasicMapS<Object, Object> map = map();
+        for (int i = 0; i < map.size(); i++) {
+            assertEquals("k" + i, map.getKey(i));
+            assertEquals(i, map.getValue(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_key() {
+        map().getKey(SIZE);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_value() {
+        map().getValue(SIZE);
+    }
+
+    @Test
+    public void test_non_equality() {
+        assertFalse(map().equals(expected("k1", -1)));
+        assertFalse(expected("k1", -1).equals(map()));
+        assertFalse(map().equals(expected("x", 1)));
+    }
+
+    @Test
+    public void test_entrySet_with() {
+        ConstMap<Object, Object> map = map();
+        ConstSet<Map.Entry<Object, Object>> entrySet = map.entrySet();
+
+        Set<Map.Entry<Object, Object>> expected = new LinkedHashSet<>(expected().entrySet());
+        expected.add(newEntry((Object)"k0", (Object)9));
+        compare_sets(expected, entrySet.with(newEntry((Object)"k0", (Object)9)));
+        assertSame(entrySet, entrySet.with(newEntry((Object)"k0", (Object)0)));
+    }
+
+    @Test
+    public void test_non_string_lookup() {
+        BasicMapS<Object, Object> map = map();
+        assertNull(map.get(1));
+        assertNull(map.get(null));
+        assertNull(map.get(new StringBuilder("k1")));
+        assertFalse(map.containsKey(null));
+        assertTrue(map.containsKey(new String("k1")));
+    }
+
+    @Test
+    public void test_many_sizes() {
+        for (int size = 2; size < 300; size += size / 8 + 1) {
+            Object[] keys = new Object[size];
+            Object[] values = new Object[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = "key-" + (i * 7919);
+                values[i] = i;
+            }
+            BasicMapS<Object, Object> map = map(keys, values);
+            for (int i = 0; i < size; i++) {
+                assertEquals(i, map.get("key-" + (i * 7919)));
+                assertNull(map.get("key-" + (i * 7919 + 1)));
+                assertEquals(keys[i], map.getKey(i));  // insertion order is preserved.
+            }
+        }
+    }
+
+    @Test
+    public void test_large() {
+        final int size = 100000;
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = Integer.toHexString(i * 31);
+            values[i] = i;
+        }
+        BasicMapS<Object, Object> map = map(keys, values);
+        for (int i = 0; i < size; i++) {
+            assertEquals(i, map.get(keys[i]));
+        }
+    }
+
+    @Test
+    public void test_colliding_hash_codes_fall_back() {
+        Object[] keys = keys();
+        Object[] values = values();
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        keys[0] = "Aa";
+        keys[1] = "BB";
+        assertNull(BasicMapS.tryCreate(keys, values));
+        ConstMap<Object, Object> map = BasicCollections.condenseToMap(keys, values);
+        assertSame(BasicMapH.class, map.getClass());
+        assertEquals(0, map.get("Aa"));
+        assertEquals(1, map.get("BB"));
+    }
+
+    @Test
+    public void test_exhausted_search_falls_back() {
+        // Keys that all share one bucket cannot be displaced into distinct slots, so the search exhausts its budget.
+        Object[] keys = new Object[SIZE];
+        Object[] values = values();
+        for (int i = 0, j = 0; i < SIZE; j++) {
+            String key = "k" + j;
+            if (BasicMapS.bucketOf(key.hashCode(), (SIZE + 1) >>> 1) == 0) {
+                keys[i++] = key;
+            }
+        }
+        assertNull(BasicMapS.tryCreate(keys, values));
+        ConstMap<Object, Object> map = BasicCollections.condenseToMap(keys, values);
+        assertSame(BasicMapH.class, map.getClass());
+        assertEquals(SIZE - 1, map.get(keys[SIZE - 1]));
+    }
+
+    @Test
+    public void test_chosen_automatically() {
+        Object[] keys = new Object[STRING_HASH_THRESHOLD];
+        Object[] values = new Object[STRING_HASH_THRESHOLD];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "k" + i;
+            values[i] = i;
+        }
+        assertSame(BasicMapS.class, asMap(keys, values).getClass());
+        assertSame(BasicMapN.class, asMap(keys, values).without("k0").getClass());
+        assertSame(BasicMapS.class, asMap(keys, values).without("k0").with("x", 1).getClass());
+        keys[3] = 3;
+        assertNotSame(BasicMapS.class, asMap(keys, values).getClass());
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstMap;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-20<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicMapTTest {
+
+    private static final int SIZE = 2000;
+
+    /**
+     * A key whose hash code is decided by the test, to force collisions.
+     */
+    private static final class Key {
+        final String name;
+        final int hash;
+
+        Key(String name, int hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof Key && name.equals(((Key)o).name);
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+
+        @Override public String toString() {
+            return name;
+        }
+    }
+
+    private static Map<Object, Object> expected(int size) {
+        Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            expected.put("k" + i, i);
+        }
+        return expected;
+    }
+
+    /**
+     * Compares the trie to the expected map, taking into account that the trie iterates in hash order.
+     */
+    private static void compare_tries(Map<Object, Object> expected, ConstMap<Object, Object> actual) {
+        assertSame(BasicMapT.class, actual.getClass());
+        assertEquals(expected, actual);
+        Map<Object, Object> ordered = new LinkedHashMap<>();
+        BasicMapT<Object, Object> trie = (BasicMapT<Object, Object>)actual;
+        for (int i = 0; i < trie.size(); i++) {
+            ordered.put(trie.getKey(i), trie.getValue(i));
+        }
+        assertEquals(expected, ordered);
+        compare_maps(ordered, actual);
+    }
+
+    @Test
+    public void test_empty() {
+        ConstMap<Object, Object> map = BasicCollections.emptyHashTrieMap();
+        compare_tries(expected(0), map);
+        assertSame(map, BasicCollections.emptyHashTrieMap());
+        assertSame(map, map.without("a"));
+        assertSame(map, map.with("a", 1).without("a"));
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_tries(expected(SIZE), BasicCollections.asHashTrieMap(expected(SIZE)));
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_map_immutable(BasicCollections.asHashTrieMap(expected(SIZE)));
+    }
+
+    @Test
+    public void test_with() {
+        ConstMap<Object, Object> map = BasicCollections.emptyHashTrieMap();
+        Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            ConstMap<Object, Object> previous = map;
+            map = map.with("k" + i, i);
+            expected.put("k" + i, i);
+            assertEquals(i, previous.size());
+            assertFalse(previous.containsKey("k" + i));
+        }
+        compare_tries(expected, map);
+
+        compare_tries(put(expected, "k1", 9), map.with("k1", 9));
+        compare_tries(put(expected, null, 5), map.with(null, 5));
+        compare_tries(put(expected, "e", null), map.with("e", null));
+        assertSame(map, map.with("k2", 2));
+        map = map.with(null, null);
+        assertSame(map, map.with(null, null));
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstMap<Object, Object> map = BasicCollections.asHashTrieMap(expected(SIZE));
+        Map<Object, Object> expected = expected(SIZE);
+        expected.putAll(newMap("e", 5, "f", 6, "k1", 9));
+        compare_tries(expected, map.withAll(newMap("e", 5, "f", 6, "k1", 9)));
+        assertSame(map, map.withAll(newMap("k0", 0, "k1", 1)));
+        assertSame(map, map.withAll(newMap()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() {
+        BasicCollections.emptyHashTrieMap().withAll(null);
+    }
+
+    @Test
+    public void test_without() {
+        ConstMap<Object, Object> map = BasicCollections.asHashTrieMap(expected(SIZE));
+        Map<Object, Object> expected = expected(SIZE);
+        for (int i = 0; i < SIZE; i += 2) {
+            map = map.without("k" + i);
+            expected.remove("k" + i);
+        }
+        compare_tries(expected, map);
+        assertSame(map, map.without("k0"));
+        assertSame(map, map.without(null));
+
+        for (int i = 1; i < SIZE; i += 2) {
+            map = map.without("k" + i);
+        }
+        assertSame(BasicCollections.emptyHashTrieMap(), map);
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstMap<Object, Object> map = BasicCollections.asHashTrieMap(expected(SIZE));
+        Map<Object, Object> expected = expected(SIZE);
+        expected.remove("k0");
+        expected.remove("k1");
+
+        compare_tries(expected, map.withoutAll(Arrays.asList("k0", "k1", "k0")));
+        compare_tries(expected, map.withoutAll(Arrays.asList("k0", "k1", "x")));
+        assertSame(map, map.withoutAll(Arrays.asList("x")));
+        assertSame(map, map.withoutAll(Arrays.asList()));
+        assertSame(BasicCollections.emptyHashTrieMap(), map.withoutAll(map.keySet()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withoutAll_throws() {
+        BasicCollections.emptyHashTrieMap().withoutAll(null);
+    }
+
+    @Test
+    public void test_collisions() {
+        ConstMap<Object, Object> map = BasicCollections.emptyHashTrieMap();
+        Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            Key key = new Key("k" + i, i % 3);  // only three distinct hash codes.
+            map = map.with(key, i);
+            expected.put(key, i);
+        }
+        map = map.with("x", 1);
+        expected.put("x", 1);
+        compare_tries(expected, map);
+        compare_tries(put(expected, new Key("k4", 1), -4), map.with(new Key("k4", 1), -4));
+        assertFalse(map.containsKey(new Key("k4", 2)));
+
+        for (int i = 0; i < 100; i++) {
+            Key key = new Key("k" + i, i % 3);
+            map = map.without(key);
+            expected.remove(key);
+            compare_tries(expected, map);
+        }
+    }
+
+    @Test
+    public void test_structural_sharing() {
+        ConstMap<Object, Object> map = BasicCollections.asHashTrieMap(expected(SIZE));
+        ConstMap<Object, Object> modified = map.with("k1", 9).without("k2");
+        compare_tries(expected(SIZE), map);
+        Map<Object, Object> expected = put(expected(SIZE), "k1", 9);
+        expected.remove("k2");
+        compare_tries(expected, modified);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+
+        ConstMap<Object, Object> map = BasicCollections.asHashTrieMap(expected(SIZE));
+
+        out.writeObject(map);
+        byte[] data = baos.toByteArray();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+
+        // Deserialization produces an array map having the same entries in the same order.
+        ConstMap<?, ?> read = (ConstMap)in.readObject();
+        compare_maps(map, read);
+        assertSame(BasicMapS.class, read.getClass());  // all String keys, so perfectly hashed
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_key() {
+        ((BasicMapT<?, ?>)BasicCollections.asHashTrieMap(expected(SIZE))).getKey(SIZE);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_value() {
+        ((BasicMapT<?, ?>)BasicCollections.asHashTrieMap(expected(SIZE))).getValue(-1);
+    }
+
+    @Test
+    public void test_views() {
+        ConstMap<Object, Object> map = BasicCollections.asHashTrieMap(expected(SIZE));
+        compare_sets(new LinkedHashSet<>(Arrays.asList(map.keySet().toArray())), map.keySet());
+        assertEquals(expected(SIZE).keySet(), map.keySet());
+        assertEquals(new HashSet<>(expected(SIZE).values()), new HashSet<>(map.values()));
+        assertEquals(expected(SIZE).entrySet(), map.entrySet());
+    }
+
+    private static Map<Object, Object> put(Map<Object, Object> map, Object key, Object value) {
+        Map<Object, Object> result = new HashMap<>(map);
+        result.put(key, value);
+        return result;
+    }
+}
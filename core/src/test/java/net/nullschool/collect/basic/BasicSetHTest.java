@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstSet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-06-18<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicSetHTest {
+
+    private static final int SIZE = BasicCollections.HASH_THRESHOLD * 2;
+
+    private static Object[] elements() {
+        Object[] elements = new Object[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            elements[i] = i + 1;
+        }
+        return elements;
+    }
+
+    private static Set<Object> expected(Object... additional) {
+        Set<Object> expected = new LinkedHashSet<>(Arrays.asList(elements()));
+        expected.addAll(Arrays.asList(additional));
+        return expected;
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_sets(expected(), new BasicSetH<>(elements()));
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_set_immutable(new BasicSetH<>(elements()));
+    }
+
+    @Test
+    public void test_with() {
+        ConstSet<Object> set;
+
+        set = new BasicSetH<>(elements());
+        compare_sets(expected(-1), set.with(-1));
+        compare_sets(expected((Object)null), set.with(null));
+        assertSame(set, set.with(SIZE));
+        assertSame(BasicSetH.class, set.with(-1).getClass());
+
+        Object[] elements = elements();
+        elements[3] = null;
+        set = new BasicSetH<>(elements);
+        assertSame(set, set.with(null));
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstSet<Object> set = new BasicSetH<>(elements());
+        compare_sets(expected(-1, -2), set.withAll(Arrays.asList(1, -1, 2, -2, -1, 3)));
+
+        assertSame(set, set.withAll(Arrays.asList(1, 1, 1, 2, 2, 2, 3, 3)));
+        assertSame(set, set.withAll(Collections.emptyList()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() {
+        new BasicSetH<>(elements()).withAll(null);
+    }
+
+    @Test
+    public void test_without() {
+        ConstSet<Object> set = new BasicSetH<>(elements());
+        Set<Object> expected = expected();
+        expected.remove(1);
+        compare_sets(expected, set.without(1));
+        assertSame(set, set.without(-1));
+        assertSame(set, set.without(null));
+        assertSame(set, set.without("1"));
+    }
+
+    @Test
+    public void test_without_below_threshold() {
+        // Shrinking below the threshold drops the hash index.
+        ConstSet<Object> set = new BasicSetH<>(Arrays.copyOf(elements(), BasicCollections.HASH_THRESHOLD));
+        assertSame(BasicSetN.class, set.without(1).getClass());
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstSet<Object> set = new BasicSetH<>(elements());
+        Set<Object> expected = expected();
+        expected.removeAll(Arrays.asList(1, 2));
+        compare_sets(expected, set.withoutAll(Arrays.asList(1, 2)));
+        compare_sets(expected, set.withoutAll(Arrays.asList(1, 2, -9)));
+        assertSame(set, set.withoutAll(Arrays.asList(-7)));
+        assertSame(set, set.withoutAll(Arrays.asList()));
+        assertSame(BasicSet0.instance(), set.withoutAll(set));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withoutAll_throws() {
+        new BasicSetH<>(elements()).withoutAll(null);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+
+        ConstSet<Object> set = new BasicSetH<>(elements());
+
+        out.writeObject(set);
+        byte[] data = baos.toByteArray();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+
+        ConstSet<?> read = (ConstSet)in.readObject();
+        compare_sets(set, read);
+        assertSame(set.getClass(), read.getClass());
+    }
+
+    @Test
+    public void test_get() {
+        BasicSetH<Object> set = new BasicSetH<>(elements());
+        for (int i = 0; i < set.size(); i++) {
+            assertEquals(i + 1, set.get(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get() {
+        new BasicSetH<>(elements()).get(SIZE);
+    }
+
+    @Test
+    public void test_non_equality() {
+        Set<Object> expected = expected();
+        expected.remove(1);
+        expected.add(-1);
+        assertFalse(new BasicSetH<>(elements()).equals(expected));
+        assertFalse(expected.equals(new BasicSetH<>(elements())));
+    }
+}
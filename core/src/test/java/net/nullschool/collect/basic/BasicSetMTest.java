@@ -0,0 +1,203 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstMap;
+import net.nullschool.collect.ConstSet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.*;
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-07-02<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicSetMTest {
+
+    private static ConstSet<TimeUnit> units(TimeUnit... units) {
+        ConstSet<TimeUnit> result = enumSetOf(TimeUnit.class, units);
+        assertSame(BasicSetM.class, result.getClass());
+        return result;
+    }
+
+    @Test
+    public void test_comparison() {
+        compare_sets(EnumSet.of(NANOSECONDS, SECONDS, DAYS), units(DAYS, NANOSECONDS, SECONDS));
+        compare_sets(EnumSet.allOf(TimeUnit.class), asSet(EnumSet.allOf(TimeUnit.class)));
+        compare_sets(newSet(0, 5, 63), smallIntSetOf(63, 5, 0, 5));
+        assertEquals(Arrays.asList(NANOSECONDS, SECONDS, DAYS), Arrays.asList(units(DAYS, NANOSECONDS, SECONDS)
+            .toArray(new TimeUnit[0])));
+    }
+
+    @Test
+    public void test_explicit_selection() {
+        assertSame(BasicSetM.class, enumSetOf(TimeUnit.class, SECONDS, DAYS).getClass());
+        assertSame(BasicSetM.class, enumSetOf(TimeUnit.class, SECONDS).with(DAYS).getClass());
+        assertSame(BasicSet0.instance(), enumSetOf(TimeUnit.class));
+        assertSame(BasicSetN.class, setOf(SECONDS, DAYS).getClass());
+        assertSame(BasicSetN.class, setOf(SECONDS).with(DAYS).getClass());
+        assertSame(BasicSetN.class, BasicCollections.<TimeUnit>newSetBuilder().add(SECONDS).add(DAYS).build()
+            .getClass());
+        assertSame(BasicSetN.class, setOf(1, 2).getClass());
+        assertSame(BasicSetH.class, smallIntSetOf(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 64)
+            .getClass());
+    }
+
+    @Test
+    public void test_insertion_order_preserved() {
+        assertEquals(Arrays.asList(DAYS, SECONDS), new ArrayList<>(setOf(DAYS, SECONDS)));
+        assertEquals(Arrays.asList(DAYS, SECONDS), new ArrayList<>(asSet(Arrays.asList(DAYS, SECONDS))));
+        assertEquals(Arrays.asList(DAYS, SECONDS, HOURS), new ArrayList<>(setOf(DAYS, SECONDS).with(HOURS)));
+        ConstMap<TimeUnit, Integer> map = mapOf(MINUTES, 1, MICROSECONDS, 2);
+        assertEquals(Arrays.asList(MINUTES, MICROSECONDS), new ArrayList<>(map.keySet()));
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(map.values()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_enumSetOf_null_element() {
+        enumSetOf(TimeUnit.class, SECONDS, null);
+    }
+
+    @Test
+    public void test_bits() {
+        BasicConstBitSet<TimeUnit> set = (BasicConstBitSet<TimeUnit>)units(NANOSECONDS, SECONDS);
+        assertSame(TimeUnit.class, set.elementType());
+        assertEquals(1 | 1 << 3, set.bits());
+        assertEquals(set, bitSetOf(TimeUnit.class, set.bits()));
+        assertSame(BasicSet0.instance(), bitSetOf(TimeUnit.class, 0));
+        assertEquals(smallIntSetOf(63), bitSetOf(Integer.class, Long.MIN_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_bitSetOf_unsupported_type() {
+        bitSetOf(String.class, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_bitSetOf_outside_universe() {
+        bitSetOf(TimeUnit.class, 1 << TimeUnit.values().length);
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_set_immutable(units(SECONDS, DAYS));
+    }
+
+    @Test
+    public void test_contains() {
+        ConstSet<TimeUnit> set = units(SECONDS, DAYS);
+        assertTrue(set.contains(SECONDS));
+        assertFalse(set.contains(HOURS));
+        assertFalse(set.contains(null));
+        assertFalse(set.contains(3));
+        assertTrue(set.containsAll(units(SECONDS, DAYS)));
+        assertFalse(set.containsAll(units(SECONDS, HOURS)));
+        assertTrue(smallIntSetOf(3, 4).contains(3));
+        assertFalse(smallIntSetOf(3, 4).contains(SECONDS));
+        assertFalse(smallIntSetOf(3, 4).contains(-1));
+        assertFalse(smallIntSetOf(3, 4).contains(3L));
+    }
+
+    @Test
+    public void test_with() {
+        ConstSet<TimeUnit> set = units(SECONDS, DAYS);
+        compare_sets(EnumSet.of(SECONDS, HOURS, DAYS), set.with(HOURS));
+        assertSame(BasicSetM.class, set.with(HOURS).getClass());
+        assertSame(set, set.with(DAYS));
+        compare_sets(newSet(SECONDS, DAYS, null), set.with(null));
+        compare_sets(newSet(0, 1, 64), smallIntSetOf(0, 1).with(64));
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstSet<TimeUnit> set = units(SECONDS, DAYS);
+        compare_sets(EnumSet.of(SECONDS, HOURS, DAYS), set.withAll(units(HOURS, DAYS)));
+        compare_sets(EnumSet.of(SECONDS, HOURS, DAYS), set.withAll(Arrays.asList(HOURS, DAYS)));
+        assertSame(set, set.withAll(units(SECONDS, DAYS)));
+        assertSame(set, set.withAll(Collections.<TimeUnit>emptyList()));
+        compare_sets(newSet(SECONDS, DAYS, null), set.withAll(Arrays.asList(SECONDS, null)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() {
+        units(SECONDS, DAYS).withAll(null);
+    }
+
+    @Test
+    public void test_without() {
+        ConstSet<TimeUnit> set = units(SECONDS, DAYS);
+        compare_sets(EnumSet.of(DAYS), set.without(SECONDS));
+        assertSame(BasicSet0.instance(), set.without(SECONDS).without(DAYS));
+        assertSame(set, set.without(HOURS));
+        assertSame(set, set.without(null));
+        assertSame(set, set.without(3));
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstSet<TimeUnit> set = units(SECONDS, HOURS, DAYS);
+        compare_sets(EnumSet.of(SECONDS), set.withoutAll(units(HOURS, DAYS)));
+        compare_sets(EnumSet.of(SECONDS), set.withoutAll(Arrays.asList(HOURS, DAYS, null, "x")));
+        assertSame(set, set.withoutAll(Arrays.asList(MINUTES)));
+        assertSame(BasicSet0.instance(), set.withoutAll(set));
+    }
+
+    @Test
+    public void test_intersect() {
+        BasicConstBitSet<TimeUnit> set = (BasicConstBitSet<TimeUnit>)units(SECONDS, HOURS, DAYS);
+        compare_sets(EnumSet.of(HOURS, DAYS), set.intersect(units(MINUTES, HOURS, DAYS)));
+        compare_sets(EnumSet.of(HOURS), set.intersect(Arrays.asList(HOURS, null)));
+        assertSame(set, set.intersect(EnumSet.allOf(TimeUnit.class)));
+        assertSame(BasicSet0.instance(), set.intersect(Collections.emptySet()));
+    }
+
+    @Test
+    public void test_equality() {
+        assertEquals(units(SECONDS, DAYS), units(DAYS, SECONDS));
+        assertEquals(units(SECONDS, DAYS), EnumSet.of(SECONDS, DAYS));
+        assertEquals(EnumSet.of(SECONDS, DAYS), units(SECONDS, DAYS));
+        assertFalse(units(SECONDS, DAYS).equals(units(SECONDS, HOURS)));
+        assertEquals(EnumSet.of(SECONDS, DAYS).hashCode(), units(SECONDS, DAYS).hashCode());
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        ConstSet<TimeUnit> set = units(SECONDS, DAYS);
+        out.writeObject(set);
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        ConstSet<?> read = (ConstSet)in.readObject();
+        compare_sets(set, read);
+        assertSame(set.getClass(), read.getClass());
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstSortedMap;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static java.util.Collections.*;
+
+/**
+ * 2013-06-22<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicSortedMapBTest {
+
+    private static final int SIZE = 200;  // enough entries for a tree of two levels.
+
+    private static SortedMap<Object, Object> expected(Comparator<Object> comparator, int size) {
+        SortedMap<Object, Object> expected = new TreeMap<>(comparator);
+        for (int i = 0; i < size; i++) {
+            expected.put(i * 2, "v" + i);
+        }
+        return expected;
+    }
+
+    private static ConstSortedMap<Object, Object> map(Comparator<Object> comparator, int size) {
+        SortedMap<Object, Object> expected = expected(comparator, size);
+        ConstSortedMap<Object, Object> map = new BasicSortedMapB<>(
+            comparator,
+            BTree.build(expected.keySet().toArray(), expected.values().toArray()));
+        assertEquals(expected, map);
+        return map;
+    }
+
+    /**
+     * Like compare_sorted_maps, but without recursively comparing every head and tail map, which is impractical
+     * for maps of this size. See test_range_views.
+     */
+    private static void compare(SortedMap<Object, Object> expected, SortedMap<Object, Object> actual) {
+        compare_maps(expected, actual);
+        assertEquals(expected.comparator(), actual.comparator());
+        assertEquals(expected.firstKey(), actual.firstKey());
+        assertEquals(expected.lastKey(), actual.lastKey());
+    }
+
+    @Test
+    public void test_comparison() {
+        compare(expected(null, SIZE), map(null, SIZE));
+        compare(expected(reverseOrder(), SIZE), map(reverseOrder(), SIZE));
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_map_immutable(map(null, SIZE));
+    }
+
+    @Test
+    public void test_with() {
+        ConstSortedMap<Object, Object> map = map(null, SIZE);
+        SortedMap<Object, Object> expected = expected(null, SIZE);
+
+        compare(put(expected, -1, "x"), map.with(-1, "x"));
+        compare(put(expected, 101, "x"), map.with(101, "x"));
+        compare(put(expected, 1001, "x"), map.with(1001, "x"));
+        compare(put(expected, 100, "x"), map.with(100, "x"));
+        assertSame(map, map.with(100, "v50"));
+        assertSame(BasicSortedMapB.class, map.with(-1, "x").getClass());
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test_with_throws() {
+        map(null, SIZE).with("a", 1);
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstSortedMap<Object, Object> map = map(null, SIZE);
+        SortedMap<Object, Object> expected = expected(null, SIZE);
+        expected.putAll(newMap(-1, "x", 3, "y", 4, "z"));
+        compare(expected, map.withAll(newMap(-1, "x", 3, "y", 4, "z")));
+        assertSame(map, map.withAll(newMap(4, "v2")));
+        assertSame(map, map.withAll(newMap()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() {
+        map(null, SIZE).withAll(null);
+    }
+
+    @Test
+    public void test_without() {
+        ConstSortedMap<Object, Object> map = map(null, SIZE);
+        SortedMap<Object, Object> expected = expected(null, SIZE);
+        expected.remove(100);
+        compare(expected, map.without(100));
+        assertSame(map, map.without(101));
+        assertSame(map, map.without(-1));
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstSortedMap<Object, Object> map = map(null, SIZE);
+        SortedMap<Object, Object> expected = expected(null, SIZE);
+        expected.keySet().removeAll(Arrays.asList(0, 2, 100));
+        compare(expected, map.withoutAll(Arrays.asList(0, 2, 100)));
+        compare(expected, map.withoutAll(Arrays.asList(0, 2, 100, 101)));
+        assertSame(map, map.withoutAll(Arrays.asList(101)));
+        assertSame(map, map.withoutAll(Arrays.asList()));
+        assertSame(BasicSortedMap0.class, map.withoutAll(map.keySet()).getClass());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withoutAll_throws() {
+        map(null, SIZE).withoutAll(null);
+    }
+
+    @Test
+    public void test_random_modifications() {
+        // Enough modifications to grow a tree of three levels and then shrink it back to an array.
+        Random random = new Random(42);
+        SortedMap<Object, Object> expected = new TreeMap<>();
+        ConstSortedMap<Object, Object> map = BasicCollections.emptySortedMap(null);
+        for (int i = 0; i < 40000; i++) {
+            Integer key = random.nextInt(5000);
+            if (i < 20000 ? random.nextInt(4) != 0 : random.nextInt(4) == 0) {
+                expected.put(key, i);
+                map = map.with(key, i);
+            }
+            else {
+                expected.remove(key);
+                map = map.without(key);
+            }
+            assertEquals(expected.size(), map.size());
+            if (i % 1000 == 0) {
+                assertEquals(expected, map);
+                assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+                assertEquals(expected.size() >= BasicCollections.TREE_THRESHOLD, map instanceof BasicSortedMapB);
+            }
+        }
+        assertEquals(expected, map);
+    }
+
+    @Test
+    public void test_range_views() {
+        SortedMap<Object, Object> expected = expected(null, 5000);
+        ConstSortedMap<Object, Object> map = map(null, 5000);
+        int[] points = {-1, 0, 1, 63, 64, 65, 127, 2047, 2048, 4095, 6000, 9998, 9999, 10000};
+        for (int from : points) {
+            assertEquals(expected.headMap(from), map.headMap(from));
+            assertEquals(expected.tailMap(from), map.tailMap(from));
+            for (int to : points) {
+                if (from <= to) {
+                    ConstSortedMap<Object, Object> subMap = map.subMap(from, to);
+                    assertEquals(expected.subMap(from, to), subMap);
+                    assertEquals(
+                        new ArrayList<>(expected.subMap(from, to).values()),
+                        new ArrayList<>(subMap.values()));
+                    assertEquals("x", subMap.with(1, "x").get(1));
+                }
+            }
+        }
+        assertSame(map, map.headMap(10000));
+        assertSame(map, map.tailMap(0));
+        assertSame(BasicSortedMapB.class, map.subMap(1000, 3000).getClass());
+        assertSame(BasicSortedMapN.class, map.subMap(1000, 1010).getClass());
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+
+        ConstSortedMap<Object, Object> map = map(reverseOrder(), SIZE);
+
+        out.writeObject(map);
+        byte[] data = baos.toByteArray();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+
+        @SuppressWarnings("unchecked") ConstSortedMap<Object, Object> read = (ConstSortedMap)in.readObject();
+        compare(map, read);
+        assertSame(map.getClass(), read.getClass());
+    }
+
+    @Test
+    public void test_get_key_and_value() {
+        BasicSortedMapB<Object, Object> map = (BasicSortedMapB<Object, Object>)map(null, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i * 2, map.getKey(i));
+            assertEquals("v" + i, map.getValue(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_key() {
+        ((BasicSortedMapB<?, ?>)map(null, SIZE)).getKey(SIZE);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_value() {
+        ((BasicSortedMapB<?, ?>)map(null, SIZE)).getValue(-1);
+    }
+
+    @Test
+    public void test_non_equality() {
+        assertFalse(map(null, SIZE).equals(put(expected(null, SIZE), 0, "x")));
+        assertFalse(put(expected(null, SIZE), 0, "x").equals(map(null, SIZE)));
+    }
+
+    private static SortedMap<Object, Object> put(SortedMap<Object, Object> map, Object key, Object value) {
+        SortedMap<Object, Object> result = new TreeMap<>(map);
+        result.put(key, value);
+        return result;
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.CollectionTestingTools;
+import net.nullschool.collect.ConstNavigableMap;
+import net.nullschool.collect.ConstSortedMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static java.util.Collections.*;
+
+/**
+ * 2013-06-29<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicSortedMapMTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private ConstNavigableMap<String, Integer> open(SortedMap<String, Integer> map, int segmentBits)
+        throws IOException {
+
+        Path file = folder.newFile().toPath();
+        MappedSortedMapWriter.write(file, map, ByteCodecs.strings(), ByteCodecs.integers());
+        return BasicCollections.openSortedMap(
+            file, map.comparator(), ByteCodecs.strings(), ByteCodecs.integers(), segmentBits);
+    }
+
+    private ConstNavigableMap<String, Integer> open(SortedMap<String, Integer> map) throws IOException {
+        return open(map, MappedTable.SEGMENT_BITS);
+    }
+
+    private ConstSortedMap<String, Integer> open(Comparator<? super String> comparator, Object... keysAndValues)
+        throws IOException {
+
+        SortedMap<String, Integer> map = newSortedMap(comparator, keysAndValues);
+        return open(map);
+    }
+
+    @Test
+    public void test_comparison() throws IOException {
+        ConstSortedMap<String, Integer> map = open(null, "a", 1, "b", 2, "c", 3, "e", 5, "f", 6, "g", 7);
+        assertSame(BasicSortedMapM.class, map.getClass());
+        compare_sorted_maps(
+            newSortedMap(null, "a", 1, "b", 2, "c", 3, "e", 5, "f", 6, "g", 7),
+            map,
+            "+", "b", "d", "f", "h", "a", "g");
+        compare_sorted_maps(
+            newSortedMap(reverseOrder(), "g", 7, "f", 6, "e", 5, "c", 3, "b", 2, "a", 1),
+            open(reverseOrder(), "g", 7, "f", 6, "e", 5, "c", 3, "b", 2, "a", 1),
+            "h", "f", "d", "b", "+", "g", "a");
+    }
+
+    @Test
+    public void test_immutable() throws IOException {
+        assert_sorted_map_immutable(open(null, "a", 1, "b", 2, "c", 3, "d", 4));
+    }
+
+    @Test
+    public void test_empty() throws IOException {
+        assertSame(BasicSortedMap0.instance(null), open(new TreeMap<String, Integer>()));
+        compare_sorted_maps(
+            BasicSortedMap0.instance(reverseOrder()),
+            open(new TreeMap<String, Integer>(Collections.<String>reverseOrder())));
+    }
+
+    @Test
+    public void test_with() throws IOException {
+        ConstSortedMap<String, Integer> map;
+
+        map = open(null, "a", 1, "b", 2, "c", 3, "e", 5);
+        compare_sorted_maps(newSortedMap(null, "a", 1, "b", 2, "c", 3, "d", 4, "e", 5), map.with("d", 4));
+        compare_sorted_maps(newSortedMap(null, "+", 0, "a", 1, "b", 2, "c", 3, "e", 5), map.with("+", 0));
+        compare_sorted_maps(newSortedMap(null, "a", 1, "b", 2, "c", 3, "e", 5, "f", 6), map.with("f", 6));
+        compare_sorted_maps(newSortedMap(null, "a", 1, "b", 9, "c", 3, "e", 5), map.with("b", 9));
+        compare_sorted_maps(map, map.with("b", 9).with("b", 2));
+        compare_sorted_maps(newSortedMap(null, "a", 1, "b", 8, "c", 3, "d", 7, "e", 5), map.with("d", 4).with("b", 8).with("d", 7));
+        assertSame(map, map.with("b", 2));
+
+        map = open(reverseOrder(), "e", 5, "c", 3, "b", 2, "a", 1);
+        compare_sorted_maps(newSortedMap(reverseOrder(), "e", 5, "d", 4, "c", 3, "b", 2, "a", 1), map.with("d", 4));
+        compare_sorted_maps(newSortedMap(reverseOrder(), "e", 5, "c", 3, "b", 2, "a", 1, "+", 0), map.with("+", 0));
+        compare_sorted_maps(newSortedMap(reverseOrder(), "f", 6, "e", 5, "c", 3, "b", 2, "a", 1), map.with("f", 6));
+        compare_sorted_maps(newSortedMap(reverseOrder(), "e", 5, "c", 3, "b", 9, "a", 1), map.with("b", 9));
+        assertSame(map, map.with("b", 2));
+    }
+
+    @Test
+    public void test_withAll() throws IOException {
+        ConstSortedMap<String, Integer> map;
+
+        map = open(null, "a", 1, "b", 2, "c", 3, "e", 5);
+        compare_sorted_maps(
+            newSortedMap(null, "+", 0, "a", 1, "b", 9, "c", 3, "d", 4, "e", 5, "f", 6),
+            map.withAll(CollectionTestingTools.<String, Integer>newMap("+", 0, "f", 6, "b", 9, "d", 4)));
+        assertSame(map, map.withAll(CollectionTestingTools.<String, Integer>newMap("a", 1, "b", 2)));
+        assertSame(map, map.withAll(CollectionTestingTools.<String, Integer>newMap()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() throws IOException {
+        open(null, "a", 1, "b", 2, "c", 3, "d", 4).withAll(null);
+    }
+
+    @Test
+    public void test_without() throws IOException {
+        ConstSortedMap<String, Integer> map;
+
+        map = open(null, "a", 1, "b", 2, "c", 3, "e", 5);
+        compare_sorted_maps(newSortedMap(null, "b", 2, "c", 3, "e", 5), map.without("a"));
+        compare_sorted_maps(newSortedMap(null, "a", 1, "b", 2, "e", 5), map.without("c"));
+        compare_sorted_maps(newSortedMap(null, "a", 1, "b", 2, "c", 3), map.without("e"));
+        compare_sorted_maps(newSortedMap(null, "a", 1, "c", 3, "e", 5), map.with("b", 9).without("b"));
+        compare_sorted_maps(map, map.with("d", 4).without("d"));
+        compare_sorted_maps(newSortedMap(null, "a", 1, "b", 2, "c", 7, "e", 5), map.without("c").with("c", 7));
+        compare_sorted_maps(map, map.without("c").with("c", 3));
+        assertSame(map, map.without("+"));
+        assertSame(map, map.without("d"));
+        assertSame(map, map.without("f"));
+
+        ConstSortedMap<String, Integer> removed = map.without("c");
+        assertSame(removed, removed.without("c"));
+
+        map = open(reverseOrder(), "e", 5, "c", 3, "b", 2, "a", 1);
+        compare_sorted_maps(newSortedMap(reverseOrder(), "e", 5, "c", 3, "b", 2), map.without("a"));
+        compare_sorted_maps(newSortedMap(reverseOrder(), "e", 5, "b", 2, "a", 1), map.without("c"));
+        compare_sorted_maps(newSortedMap(reverseOrder(), "c", 3, "b", 2, "a", 1), map.without("e"));
+        assertSame(map, map.without("+"));
+        assertSame(map, map.without("d"));
+        assertSame(map, map.without("f"));
+    }
+
+    @Test
+    public void test_withoutAll() throws IOException {
+        ConstSortedMap<String, Integer> map;
+
+        map = open(null, "a", 1, "b", 2, "c", 3, "e", 5);
+        compare_sorted_maps(newSortedMap(null, "b", 2), map.withoutAll(Arrays.asList("a", "e", "c")));
+        compare_sorted_maps(newSortedMap(null, "b", 2), map.withoutAll(Arrays.asList("a", "+", "f", "e", "c", "a")));
+        assertSame(map, map.withoutAll(Arrays.asList("+")));
+        assertSame(map, map.withoutAll(Arrays.asList()));
+        assertEquals(BasicSortedMap0.<String, Integer>instance(null), map.withoutAll(map.keySet()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withoutAll_throws() throws IOException {
+        open(null, "a", 1, "b", 2, "c", 3, "d", 4).withoutAll(null);
+    }
+
+    @Test
+    public void test_overlay_ranges() throws IOException {
+        // Apply changes to a mapped map, then compare sub maps of the overlay.
+        ConstSortedMap<String, Integer> map = open(null, "b", 2, "c", 3, "e", 5, "g", 7)
+            .with("a", 1)
+            .with("d", 4)
+            .without("e")
+            .with("c", 9)
+            .with("h", 8);
+        compare_sorted_maps(
+            newSortedMap(null, "a", 1, "b", 2, "c", 9, "d", 4, "g", 7, "h", 8),
+            map,
+            "+", "a", "c", "d", "e", "f", "h", "i", "b");
+    }
+
+    @Test
+    public void test_random_changes() throws IOException {
+        Random random = new Random(42);
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 500; i += 2) {
+            expected.put(String.format("%04d", i), i);
+        }
+        ConstSortedMap<String, Integer> actual = open(expected, 8);
+
+        for (int i = 0; i < 400; i++) {
+            String key = String.format("%04d", random.nextInt(520));
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                actual = actual.without(key);
+            }
+            else {
+                int value = random.nextInt(4);
+                expected.put(key, value);
+                actual = actual.with(key, value);
+            }
+            if (i % 50 == 0) {
+                compare_maps(expected, actual);
+                String from = String.format("%04d", random.nextInt(520));
+                String to = String.format("%04d", random.nextInt(520));
+                if (from.compareTo(to) > 0) {
+                    String temp = from; from = to; to = temp;
+                }
+                compare_maps(expected.subMap(from, to), actual.subMap(from, to));
+                compare_maps(expected.headMap(to), actual.headMap(to));
+                compare_maps(expected.tailMap(from), actual.tailMap(from));
+                compare_maps(expected.subMap(from, to).tailMap(from), actual.subMap(from, to).tailMap(from));
+            }
+        }
+        compare_maps(expected, actual);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(actual.values()));
+    }
+
+    @Test
+    public void test_random_bulk_changes() throws IOException {
+        Random random = new Random(42);
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 500; i += 2) {
+            expected.put(String.format("%04d", i), i);
+        }
+        ConstSortedMap<String, Integer> actual = open(expected, 8);
+
+        for (int i = 0; i < 100; i++) {
+            int batch = random.nextInt(20);
+            if (random.nextInt(3) == 0) {
+                List<String> keys = new ArrayList<>();
+                for (int j = 0; j < batch; j++) {
+                    keys.add(String.format("%04d", random.nextInt(520)));
+                }
+                expected.keySet().removeAll(keys);
+                actual = actual.withoutAll(keys);
+            }
+            else {
+                Map<String, Integer> changes = new HashMap<>();
+                for (int j = 0; j < batch; j++) {
+                    int k = random.nextInt(520);
+                    // Sometimes put the value the key has in the file, which drops the key's replacement.
+                    changes.put(String.format("%04d", k), random.nextBoolean() ? k : random.nextInt(4));
+                }
+                expected.putAll(changes);
+                actual = actual.withAll(changes);
+            }
+            compare_maps(expected, actual);
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(actual.values()));
+    }
+
+    @Test
+    public void test_segments() throws IOException {
+        // Map the file in tiny segments so that many segment boundaries must be crossed.
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.put("key" + i, i);
+        }
+        for (int bits : new int[] {5, 6, 7, 12}) {
+            ConstSortedMap<String, Integer> actual = open(expected, bits);
+            compare_maps(expected, actual);
+            assertEquals(expected.firstKey(), actual.firstKey());
+            assertEquals(expected.lastKey(), actual.lastKey());
+            compare_maps(expected.subMap("key3", "key5"), actual.subMap("key3", "key5"));
+        }
+    }
+
+    @Test
+    public void test_get_key_and_value() throws IOException {
+        BasicSortedMapM<String, Integer> map =
+            (BasicSortedMapM<String, Integer>)open(null, "1", 1, "2", 2, "3", 3, "4", 4);
+        for (int i = 0; i < map.size(); i++) {
+            assertEquals(String.valueOf(i + 1), String.valueOf(map.getKey(i)));
+            assertEquals(String.valueOf(i + 1), String.valueOf(map.getValue(i)));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_key() throws IOException {
+        ((BasicSortedMapM<String, Integer>)open(null, "1", 1, "2", 2, "3", 3, "4", 4)).getKey(4);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get_value() throws IOException {
+        ((BasicSortedMapM<String, Integer>)open(null, "1", 1, "2", 2, "3", 3, "4", 4)).getValue(-1);
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+
+        ConstSortedMap<String, Integer> map = open(null, "a", 1, "b", 2, "c", 3);
+        out.writeObject(map);
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+        ConstSortedMap<?, ?> read = (ConstSortedMap)in.readObject();
+        compare_sorted_maps(map, read);
+        assertSame(BasicSortedMapN.class, read.getClass());
+    }
+
+    @Test
+    public void test_writer_rejects_unordered_keys() throws IOException {
+        Path file = folder.newFile().toPath();
+        try (MappedSortedMapWriter<String, Integer> writer =
+                 new MappedSortedMapWriter<>(file, null, ByteCodecs.strings(), ByteCodecs.integers())) {
+            writer.put("b", 2);
+            try {
+                writer.put("a", 1);
+                fail();
+            }
+            catch (IllegalArgumentException expected) {
+            }
+            try {
+                writer.put("b", 3);
+                fail();
+            }
+            catch (IllegalArgumentException expected) {
+            }
+            writer.put("c", 3);
+        }
+        compare_sorted_maps(
+            newSortedMap(null, "b", 2, "c", 3),
+            BasicCollections.openSortedMap(file, null, ByteCodecs.strings(), ByteCodecs.integers()));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void test_open_rejects_unknown_format() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "this is not a mapped sorted map".getBytes("UTF-8"));
+        BasicCollections.openSortedMap(file, null, ByteCodecs.strings(), ByteCodecs.integers());
+    }
+
+    private Path writeHeader(int maxRecordLength) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, ByteBuffer.allocate(MappedTable.HEADER_LENGTH + 8)
+            .putInt(MappedTable.MAGIC)
+            .putInt(MappedTable.VERSION)
+            .putInt(0)
+            .putInt(maxRecordLength)
+            .putLong(MappedTable.HEADER_LENGTH)
+            .putLong(MappedTable.HEADER_LENGTH)
+            .array());
+        return file;
+    }
+
+    @Test
+    public void test_max_record_length() throws IOException {
+        // A full segment plus an overlap of the longest record must fit in a single mapping.
+        assertTrue((1L << MappedTable.SEGMENT_BITS) + MappedTable.MAX_RECORD_LENGTH <= Integer.MAX_VALUE);
+
+        Path file = writeHeader(MappedTable.MAX_RECORD_LENGTH);
+        assertEquals(0, MappedTable.open(file, ByteCodecs.strings(), ByteCodecs.integers(), MappedTable.SEGMENT_BITS).count());
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void test_open_rejects_oversize_record_length() throws IOException {
+        Path file = writeHeader(MappedTable.MAX_RECORD_LENGTH + 1);
+        MappedTable.open(file, ByteCodecs.strings(), ByteCodecs.integers(), MappedTable.SEGMENT_BITS);
+    }
+
+    @Test
+    public void test_codecs() throws IOException {
+        TreeMap<Long, String> expected = new TreeMap<>();
+        expected.put(Long.MIN_VALUE, "min");
+        expected.put(0L, "\u00e9t\u00e9 \u2603");
+        expected.put(Long.MAX_VALUE, "");
+        Path file = folder.newFile().toPath();
+        MappedSortedMapWriter.write(file, expected, ByteCodecs.longs(), ByteCodecs.strings());
+        compare_sorted_maps(
+            expected,
+            BasicCollections.openSortedMap(file, null, ByteCodecs.longs(), ByteCodecs.strings()),
+            -1L, 1L);
+    }
+
+    @Test
+    public void test_navigation() throws IOException {
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 40; i += 2) {
+            expected.put(String.format("%02d", i), i);
+        }
+        ConstNavigableMap<String, Integer> actual = open(expected);
+        compare_navigable_maps(expected, actual, "+", "00", "01", "20", "21", "38", "39");
+
+        expected.put("21", 21);
+        expected.remove("20");
+        expected.remove("00");
+        actual = actual.with("21", 21).without("20").without("00");
+        compare_navigable_maps(expected, actual, "+", "00", "01", "20", "21", "38", "39");
+    }
+}
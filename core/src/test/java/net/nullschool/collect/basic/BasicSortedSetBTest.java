@@ -0,0 +1,205 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstSortedSet;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static java.util.Collections.*;
+
+/**
+ * 2013-06-22<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class BasicSortedSetBTest {
+
+    private static final int SIZE = 200;  // enough elements for a tree of two levels.
+
+    private static SortedSet<Object> expected(Comparator<Object> comparator, int size) {
+        SortedSet<Object> expected = new TreeSet<>(comparator);
+        for (int i = 0; i < size; i++) {
+            expected.add(i * 2);
+        }
+        return expected;
+    }
+
+    private static ConstSortedSet<Object> set(Comparator<Object> comparator, int size) {
+        ConstSortedSet<Object> set =
+            new BasicSortedSetB<>(comparator, BTree.build(expected(comparator, size).toArray(), null));
+        assertEquals(expected(comparator, size), set);
+        return set;
+    }
+
+    /**
+     * Like compare_sorted_sets, but without recursively comparing every head and tail set, which is impractical
+     * for sets of this size. See test_range_views.
+     */
+    private static void compare(SortedSet<Object> expected, SortedSet<Object> actual) {
+        compare_sets(expected, actual);
+        assertEquals(expected.comparator(), actual.comparator());
+        assertEquals(expected.first(), actual.first());
+        assertEquals(expected.last(), actual.last());
+    }
+
+    @Test
+    public void test_comparison() {
+        compare(expected(null, SIZE), set(null, SIZE));
+        compare(expected(reverseOrder(), SIZE), set(reverseOrder(), SIZE));
+    }
+
+    @Test
+    public void test_immutable() {
+        assert_set_immutable(set(null, SIZE));
+    }
+
+    @Test
+    public void test_with() {
+        ConstSortedSet<Object> set = set(null, SIZE);
+        for (int e : new int[] {-1, 101, 1001}) {
+            SortedSet<Object> expected = expected(null, SIZE);
+            expected.add(e);
+            compare(expected, set.with(e));
+        }
+        assertSame(set, set.with(100));
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test_with_throws() {
+        set(null, SIZE).with("a");
+    }
+
+    @Test
+    public void test_withAll() {
+        ConstSortedSet<Object> set = set(null, SIZE);
+        SortedSet<Object> expected = expected(null, SIZE);
+        expected.addAll(Arrays.asList(-1, 3, 4));
+        compare(expected, set.withAll(Arrays.asList(-1, 3, 4)));
+        assertSame(set, set.withAll(Arrays.asList(0, 2)));
+        assertSame(set, set.withAll(Arrays.asList()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withAll_throws() {
+        set(null, SIZE).withAll(null);
+    }
+
+    @Test
+    public void test_without() {
+        ConstSortedSet<Object> set = set(null, SIZE);
+        SortedSet<Object> expected = expected(null, SIZE);
+        expected.remove(100);
+        compare(expected, set.without(100));
+        assertSame(set, set.without(101));
+    }
+
+    @Test
+    public void test_withoutAll() {
+        ConstSortedSet<Object> set = set(null, SIZE);
+        SortedSet<Object> expected = expected(null, SIZE);
+        expected.removeAll(Arrays.asList(0, 2, 100));
+        compare(expected, set.withoutAll(Arrays.asList(0, 2, 100, 101)));
+        assertSame(set, set.withoutAll(Arrays.asList(101)));
+        assertSame(set, set.withoutAll(Arrays.asList()));
+        assertSame(BasicSortedSet0.class, set.withoutAll(set).getClass());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_withoutAll_throws() {
+        set(null, SIZE).withoutAll(null);
+    }
+
+    @Test
+    public void test_random_modifications() {
+        Random random = new Random(7);
+        SortedSet<Object> expected = new TreeSet<>();
+        ConstSortedSet<Object> set = BasicCollections.emptySortedSet(null);
+        for (int i = 0; i < 40000; i++) {
+            Integer e = random.nextInt(5000);
+            if (i < 20000 ? random.nextInt(4) != 0 : random.nextInt(4) == 0) {
+                expected.add(e);
+                set = set.with(e);
+            }
+            else {
+                expected.remove(e);
+                set = set.without(e);
+            }
+            assertEquals(expected.size(), set.size());
+            if (i % 1000 == 0) {
+                assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+            }
+        }
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+    }
+
+    @Test
+    public void test_range_views() {
+        SortedSet<Object> expected = expected(null, 5000);
+        ConstSortedSet<Object> set = set(null, 5000);
+        int[] points = {-1, 0, 1, 63, 64, 65, 127, 2047, 2048, 4095, 6000, 9998, 9999, 10000};
+        for (int from : points) {
+            assertEquals(new ArrayList<>(expected.headSet(from)), new ArrayList<>(set.headSet(from)));
+            assertEquals(new ArrayList<>(expected.tailSet(from)), new ArrayList<>(set.tailSet(from)));
+            for (int to : points) {
+                if (from <= to) {
+                    assertEquals(new ArrayList<>(expected.subSet(from, to)), new ArrayList<>(set.subSet(from, to)));
+                }
+            }
+        }
+        assertSame(set, set.headSet(10000));
+        assertSame(BasicSortedSetB.class, set.subSet(1000, 3000).getClass());
+        assertSame(BasicSortedSetN.class, set.subSet(1000, 1010).getClass());
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+
+        ConstSortedSet<Object> set = set(reverseOrder(), SIZE);
+
+        out.writeObject(set);
+        byte[] data = baos.toByteArray();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data));
+
+        @SuppressWarnings("unchecked") ConstSortedSet<Object> read = (ConstSortedSet)in.readObject();
+        compare(set, read);
+        assertSame(set.getClass(), read.getClass());
+    }
+
+    @Test
+    public void test_get() {
+        BasicSortedSetB<Object> set = (BasicSortedSetB<Object>)set(null, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i * 2, set.get(i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_out_of_bounds_get() {
+        ((BasicSortedSetB<?>)set(null, SIZE)).get(SIZE);
+    }
+}
@@ -501,6 +501,77 @@ public class BasicToolsTest {
         try { unionInto(new Object[0], null, c); fail(); } catch (NullPointerException ignored) {}
     }
 
+    private static Object[] merge(int keep, Object[] left, Object[] right, Comparator<?> c) {
+        Object[] result = new Object[mergeCapacity(keep, left.length, right.length)];
+        return Arrays.copyOf(result, BasicTools.merge(keep, left, null, right, null, c, result, null));
+    }
+
+    @Test
+    public void test_merge() {
+        Object[] a = new Object[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        Object[] b = new Object[] {0, 4, 5, 11};
+        assertArrayEquals(new Object[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11}, merge(UNION, a, b, null));
+        assertArrayEquals(new Object[] {4, 5}, merge(INTERSECTION, a, b, null));
+        assertArrayEquals(new Object[] {1, 2, 3, 6, 7, 8, 9, 10}, merge(DIFFERENCE, a, b, null));
+        assertArrayEquals(new Object[] {0, 11}, merge(DIFFERENCE, b, a, null));
+        assertArrayEquals(new Object[] {0, 1, 2, 3, 6, 7, 8, 9, 10, 11}, merge(SYMMETRIC_DIFFERENCE, a, b, null));
+
+        assertArrayEquals(a, merge(UNION, a, EMPTY_OBJECT_ARRAY, null));
+        assertArrayEquals(a, merge(UNION, EMPTY_OBJECT_ARRAY, a, null));
+        assertArrayEquals(EMPTY_OBJECT_ARRAY, merge(INTERSECTION, a, EMPTY_OBJECT_ARRAY, null));
+        assertArrayEquals(EMPTY_OBJECT_ARRAY, merge(SYMMETRIC_DIFFERENCE, a, a, null));
+
+        Comparator<Object> c = Collections.reverseOrder();
+        assertArrayEquals(new Object[] {3, 2, 1, 0}, merge(UNION, new Object[] {3, 1}, new Object[] {2, 0}, c));
+        assertArrayEquals(new Object[] {3}, merge(DIFFERENCE, new Object[] {3, 1}, new Object[] {2, 1, 0}, c));
+    }
+
+    @Test
+    public void test_merge_gallops_over_long_runs() {
+        // Every possible split of a long run by a single element exercises each distance of the exponential search.
+        Object[] run = new Object[100];
+        for (int i = 0; i < run.length; i++) {
+            run[i] = i * 2;
+        }
+        for (int i = -1; i <= run.length * 2; i++) {
+            Object[] expected = unionInto(run, new Object[] {i}, null);
+            assertArrayEquals(expected, merge(UNION, run, new Object[] {i}, null));
+            assertArrayEquals(expected, merge(UNION, new Object[] {i}, run, null));
+        }
+    }
+
+    @Test
+    public void test_merge_columns() {
+        Object[] resultKeys = new Object[4];
+        Object[] resultValues = new Object[4];
+        int size = BasicTools.merge(
+            UNION,
+            new Object[] {"a", "c"},
+            new Object[] {1, 3},
+            new Object[] {"b", "c"},
+            new Object[] {2, 4},
+            null,
+            resultKeys,
+            resultValues);
+        assertEquals(3, size);
+        assertArrayEquals(new Object[] {"a", "b", "c", null}, resultKeys);
+        assertArrayEquals(new Object[] {1, 2, 4, null}, resultValues);
+
+        // Merging with keys only keeps the left values.
+        size = BasicTools.merge(
+            INTERSECTION,
+            new Object[] {"a", "c"},
+            new Object[] {1, 3},
+            new Object[] {"b", "c"},
+            null,
+            null,
+            resultKeys,
+            resultValues);
+        assertEquals(1, size);
+        assertEquals("c", resultKeys[0]);
+        assertEquals(3, resultValues[0]);
+    }
+
     @Test
     public void test_union_into_columns() {
         String[] keys = new String[] {"a", "b", "a"};
@@ -531,6 +602,29 @@ public class BasicToolsTest {
         try { unionInto(null, null, null, new Object[0]); fail(); } catch (NullPointerException ignored) {}
     }
 
+    @Test
+    public void test_unique_into() {
+        Object[] keys = new Object[] {"a", "b", "c", "a", "d", "c", "a", null};
+        Object[] values = new Object[] {1, 2, 3, 4, 5, 6, 7, 8};
+        assertEquals(5, uniqueInto(keys, values, 2, keys.length));
+        assertArrayEquals(new Object[] {"a", "b", "c", "d", null}, Arrays.copyOf(keys, 5));
+        assertArrayEquals(new Object[] {7, 2, 6, 5, 8}, Arrays.copyOf(values, 5));
+
+        // Large enough to use a hash table.
+        final int size = BasicCollections.HASH_THRESHOLD * 4;
+        keys = new Object[size];
+        values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i % (size / 4);
+            values[i] = i;
+        }
+        assertEquals(size / 4, uniqueInto(keys, values, 0, size));
+        for (int i = 0; i < size / 4; i++) {
+            assertEquals(i, keys[i]);
+            assertEquals(size - size / 4 + i, values[i]);
+        }
+    }
+
     @Test
     public void test_union_into_columns_comparator_natural_ordering() {
         String[] keys = new String[] {"a", "a", "d"};
@@ -619,4 +713,69 @@ public class BasicToolsTest {
         try { unionInto(items, EMPTY, oneNull, oneNull, null); fail(); } catch (NullPointerException ignored) {}
         try { unionInto(items, EMPTY, oneNull, oneNull, c);    fail(); } catch (NullPointerException ignored) {}
     }
+
+    @Test
+    public void test_hash_index() {
+        Object[] elements = new Object[] {"a", null, 1, 2L, "b"};
+        int[] table = hashIndex(elements);
+        assertEquals(16, table.length);
+        for (int i = 0; i < elements.length; i++) {
+            assertEquals(i, hashIndexOf(elements[i], elements, table));
+        }
+        assertEquals(-1, hashIndexOf("c", elements, table));
+        assertEquals(-1, hashIndexOf(2, elements, table));
+
+        assertEquals(2, hashTableLength(0));
+        assertEquals(2, hashTableLength(1));
+        assertEquals(4, hashTableLength(2));
+        assertEquals(32, hashTableLength(16));
+        assertEquals(64, hashTableLength(17));
+    }
+
+    @Test
+    public void test_union_into_hashed() {
+        // Large unions use a hash table rather than a linear search, but the results must be identical.
+        final int size = BasicCollections.HASH_THRESHOLD * 4;
+        Object[] original = new Object[size];
+        Object[] additional = new Object[size];
+        for (int i = 0; i < size; i++) {
+            original[i] = i % (size / 2);  // contains duplicates, which are retained.
+            additional[i] = i % 3 == 0 ? null : (Object)(size - i);
+        }
+
+        List<Object> expected = new ArrayList<>(Arrays.asList(original));
+        for (Object o : additional) {
+            if (!expected.contains(o)) {
+                expected.add(o);
+            }
+        }
+        assertArrayEquals(expected.toArray(), unionInto(original, additional));
+        assertEquals(Object[].class, unionInto(new Integer[size], new Integer[0]).getClass());
+    }
+
+    @Test
+    public void test_union_into_columns_hashed() {
+        final int size = BasicCollections.HASH_THRESHOLD * 4;
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = i % 7 == 0 ? null : (Object)(i / 2);
+            values[i] = i;
+        }
+
+        MapColumns mc = unionInto(new Object[] {0, 1, 0}, new Object[] {"a", "b", "c"}, keys, values);
+        Map<Object, Object> expected = new LinkedHashMap<>();
+        expected.put(0, "a");
+        expected.put(1, "b");
+        for (int i = 0; i < size; i++) {
+            expected.put(keys[i], values[i]);
+        }
+        List<Object> expectedKeys = new ArrayList<>(expected.keySet());
+        List<Object> expectedValues = new ArrayList<>(expected.values());
+        expectedKeys.add(2, 0);  // the duplicate original key is retained along with its original value.
+        expectedValues.add(2, "c");
+
+        assertArrayEquals(expectedKeys.toArray(), mc.keys);
+        assertArrayEquals(expectedValues.toArray(), mc.values);
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.collect.basic;
+
+import net.nullschool.collect.ConstSortedMap;
+import net.nullschool.collect.ConstSortedSet;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.lang.String.CASE_INSENSITIVE_ORDER;
+import static java.util.Collections.reverseOrder;
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.*;
+import static net.nullschool.collect.basic.BasicTools.MapColumns;
+import static net.nullschool.collect.basic.ParallelSort.GRAIN;
+import static org.junit.Assert.*;
+
+/**
+ * 2013-07-06<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class ParallelSortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 12, 17, GRAIN, GRAIN + 1, GRAIN * 5 + 3};
+
+    // compare_sorted_maps and compare_sorted_sets recurse into both the head and tail of each sorted collection, taking
+    // time exponential in its size, so larger results are compared directly by content and ordering.
+    private static final int EXHAUSTIVE_LIMIT = 16;
+
+    private static void assert_sorted_maps_equal(SortedMap<Object, Object> expected, SortedMap<Object, Object> actual) {
+        if (expected.size() <= EXHAUSTIVE_LIMIT) {
+            compare_sorted_maps(expected, actual);
+            return;
+        }
+        assertEquals(expected.comparator(), actual.comparator());
+        assertArrayEquals(expected.keySet().toArray(), actual.keySet().toArray());
+        assertArrayEquals(expected.values().toArray(), actual.values().toArray());
+        assertEquals(expected, actual);
+    }
+
+    private static void assert_sorted_sets_equal(SortedSet<Object> expected, SortedSet<Object> actual) {
+        if (expected.size() <= EXHAUSTIVE_LIMIT) {
+            compare_sorted_sets(expected, actual);
+            return;
+        }
+        assertEquals(expected.comparator(), actual.comparator());
+        assertArrayEquals(expected.toArray(), actual.toArray());
+        assertEquals(expected, actual);
+    }
+
+    private static Map<Object, Object> randomMap(Random random, int size) {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(random.nextInt(), i);
+        }
+        return map;
+    }
+
+    @Test
+    public void test_sortUnique() {
+        Random random = new Random(7);
+        for (int size : SIZES) {
+            Object[] keys = new Object[size];
+            Object[] values = new Object[size];
+            TreeMap<Object, Object> expected = new TreeMap<>();
+            for (int i = 0; i < size; i++) {
+                keys[i] = random.nextInt(Math.max(1, size / 2));  // plenty of duplicates.
+                values[i] = i;
+                expected.put(keys[i], values[i]);
+            }
+            MapColumns result = new MapColumns(new Object[size], new Object[size]);
+            int unique = ParallelSort.sortUnique(new MapColumns(keys, values), result, null);
+            assertEquals(expected.size(), unique);
+            assertArrayEquals(expected.keySet().toArray(), Arrays.copyOf(result.keys, unique));
+            assertArrayEquals(expected.values().toArray(), Arrays.copyOf(result.values, unique));
+        }
+    }
+
+    @Test
+    public void test_sortUnique_keeps_first_key_and_last_value() {
+        final int size = GRAIN * 3 + 1;
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            // Runs of equal keys that differ in case and straddle the chunk boundaries.
+            keys[i] = (i % 2 == 0 ? "k" : "K") + (i / 5);
+            values[i] = i;
+        }
+        MapColumns result = new MapColumns(new Object[size], new Object[size]);
+        int unique = ParallelSort.sortUnique(new MapColumns(keys, values), result, CASE_INSENSITIVE_ORDER);
+        TreeMap<String, Object> expected = new TreeMap<>(CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < size; i++) {
+            expected.put((i % 2 == 0 ? "k" : "K") + (i / 5), i);
+        }
+        assertEquals(expected.size(), unique);
+        for (int i = 0; i < unique; i++) {
+            Map.Entry<String, Object> entry = expected.pollFirstEntry();
+            assertEquals(entry.getKey(), result.keys[i]);  // TreeMap also keeps the first key.
+            assertEquals(entry.getValue(), result.values[i]);
+        }
+    }
+
+    @Test
+    public void test_sortUnique_keys_only() {
+        Random random = new Random(11);
+        for (int size : SIZES) {
+            Object[] keys = new Object[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = random.nextInt(Math.max(1, size / 3));
+            }
+            Object[] result = new Object[size];
+            int unique = ParallelSort.sortUnique(
+                new MapColumns(keys.clone(), null),
+                new MapColumns(result, null),
+                null);
+            assertArrayEquals(new TreeSet<>(Arrays.asList(keys)).toArray(), Arrays.copyOf(result, unique));
+        }
+    }
+
+    @Test
+    public void test_asSortedMapParallel() {
+        Random random = new Random(3);
+        for (int size : SIZES) {
+            Map<Object, Object> map = randomMap(random, size);
+            assert_sorted_maps_equal(asSortedMap(null, map), asSortedMapParallel(null, map));
+            Comparator<Object> reverse = reverseOrder();
+            assert_sorted_maps_equal(asSortedMap(reverse, map), asSortedMapParallel(reverse, map));
+        }
+        ConstSortedMap<Object, Object> sorted = asSortedMap(null, randomMap(random, 100));
+        assertSame(sorted, asSortedMapParallel(null, sorted));
+    }
+
+    @Test
+    public void test_asSortedSetParallel() {
+        Random random = new Random(5);
+        for (int size : SIZES) {
+            List<Object> list = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                list.add(random.nextInt(Math.max(1, size)));
+            }
+            assert_sorted_sets_equal(new TreeSet<>(list), asSortedSetParallel(null, list));
+            Comparator<Object> reverse = reverseOrder();
+            assert_sorted_sets_equal(asSortedSet(reverse, list), asSortedSetParallel(reverse, list));
+        }
+        ConstSortedSet<Integer> sorted = sortedSetOf(null, 1, 2, 3);
+        assertSame(sorted, asSortedSetParallel(null, sorted));
+    }
+
+    @Test
+    public void test_within_fork_join_pool() throws Exception {
+        final Map<Object, Object> map = randomMap(new Random(13), GRAIN * 4);
+        ConstSortedMap<Object, Object> result = new ForkJoinPool(2).submit(
+            new Callable<ConstSortedMap<Object, Object>>() {
+                @Override public ConstSortedMap<Object, Object> call() {
+                    return asSortedMapParallel(null, map);
+                }
+            }).get();
+        assert_sorted_maps_equal(new TreeMap<>(map), result);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test_incomparable_keys() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < GRAIN * 2; i++) {
+            list.add(i);
+        }
+        list.add("a");
+        asSortedSetParallel(null, list);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_key() {
+        asSortedMapParallel(null, Collections.singletonMap(null, 1));
+    }
+}
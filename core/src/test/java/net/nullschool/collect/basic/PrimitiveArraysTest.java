@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.collect.basic;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static net.nullschool.collect.basic.PrimitiveArrays.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class PrimitiveArraysTest {
+
+    @Test
+    public void test_insert() {
+        int[] src = {1, 2, 3};
+        assertArrayEquals(new int[] {0, 0, 1, 2, 3}, insert(src, 0, 2));
+        assertArrayEquals(new int[] {1, 2, 3, 0}, insert(src, 3, 1));
+        assertArrayEquals(new long[] {1, 7, 8, 2}, insert(new long[] {1, 2}, 1, new long[] {7, 8}));
+        assertArrayEquals(new double[] {1, 2}, insert(new double[] {1, 2}, 2, new double[0]), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_insert_out_of_bounds() {
+        insert(new int[] {1}, 2, 1);
+    }
+
+    @Test
+    public void test_delete() {
+        int[] src = {1, 2, 3};
+        assertArrayEquals(new int[] {2, 3}, delete(src, 0));
+        assertArrayEquals(new int[] {1, 3}, delete(src, 1));
+        assertArrayEquals(new int[] {1, 2}, delete(src, 2));
+        assertArrayEquals(new long[0], delete(new long[] {1}, 0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_delete_out_of_bounds() {
+        delete(new int[] {1}, 1);
+    }
+
+    @Test
+    public void test_copyRange() {
+        assertArrayEquals(new int[] {2, 3}, copyRange(new int[] {1, 2, 3}, 1, 3));
+        assertArrayEquals(new int[0], copyRange(new int[] {1, 2, 3}, 3, 3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_copyRange_out_of_bounds() {
+        copyRange(new int[] {1, 2, 3}, 2, 1);
+    }
+
+    @Test
+    public void test_deleteAll() {
+        int[] src = {1, 2, 3, 4, 5, 6, 7};
+        BasicConstIntList list = BasicCollections.condenseToIntList(src);
+        assertArrayEquals(new int[] {1, 3, 6}, deleteAll(src, list, Arrays.asList(2, 4, 5, 7)));
+        assertArrayEquals(new int[] {2, 3, 4, 5, 6, 7}, deleteAll(src, list, Arrays.asList(1)));
+        assertArrayEquals(new int[0], deleteAll(src, list, list));
+        assertSame(src, deleteAll(src, list, Arrays.asList(8)));
+    }
+}
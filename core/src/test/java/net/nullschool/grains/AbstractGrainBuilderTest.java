@@ -23,8 +23,7 @@ import org.junit.Test;
 import java.util.*;
 
 import static net.nullschool.collect.CollectionTestingTools.*;
-import static org.junit.Assert.assertArrayEquals;
-import static org.junit.Assert.fail;
+import static org.junit.Assert.*;
 
 
 /**
@@ -55,6 +54,21 @@ public class AbstractGrainBuilderTest {
         compare_maps(expected, builder);
     }
 
+    @Test
+    public void test_put_slot() {
+        GrainBuilder builder = new MockGrainBuilder("a", "x");
+
+        assertNull(builder.put(1, 2));
+        assertEquals(2, builder.put(1, 3));
+        builder.put(0, 1);
+        compare_maps(newMap("a", 1, "x", 3), builder);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_put_bad_slot() {
+        new MockGrainBuilder("a", "x").put(-1, 1);
+    }
+
     @Test
     public void test_putAll() {
         Map<String, Object> expected = newMap("a", 1, "b", 2);
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static net.nullschool.collect.CollectionTestingTools.*;
+
+
+/**
+ * 2013-07-09<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class AbstractGrainFactoryTest {
+
+    private static final class MyFactory extends AbstractGrainFactory {
+
+        @Override public Map<String, GrainProperty> getBasisProperties() {
+            return MockGrainFactory.INSTANCE.getBasisProperties();
+        }
+
+        @Override public Grain getDefaultValue() {
+            return MockGrainFactory.INSTANCE.getDefaultValue();
+        }
+
+        @Override public GrainBuilder getNewBuilder() {
+            return MockGrainFactory.INSTANCE.getNewBuilder();
+        }
+    }
+
+    @Test
+    public void test_decoder() {
+        Grain grain = new MyFactory().getNewDecoder().put(1, 2).put("a", 1).put("b", 3).decode();
+        compare_maps(newMap("a", 1, "x", 2, "b", 3), grain);
+    }
+
+    @Test
+    public void test_intern() {
+        GrainFactory factory = new MyFactory();
+        Grain a = factory.getDefaultValue().with("a", 1);
+        Grain b = factory.getDefaultValue().with("a", 1);
+        assertNotSame(a, b);
+        assertSame(a, factory.intern(a));
+        assertSame(a, factory.intern(b));
+        assertNotSame(a, new MyFactory().intern(b));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_intern_null() {
+        new MyFactory().intern(null);
+    }
+}
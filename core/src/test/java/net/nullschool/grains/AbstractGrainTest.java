@@ -50,6 +50,19 @@ public class AbstractGrainTest {
         compare_maps(newMap("b", 2), grain.extensions());
     }
 
+    @Test
+    public void test_slots() {
+        Grain grain = new MockGrain("a", "x").with("b", 2).with(1, 8).with(0, 1);
+        compare_maps(newMap("a", 1, "x", 8, "b", 2), grain);
+        assertEquals(1, grain.get(0));
+        assertEquals(8, grain.get(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_bad_slot() {
+        new MockGrain("a", "x").get(2);
+    }
+
     @Test
     public void test_iteration_without_calling_hasNext() {
         Set<String> keys = new LinkedHashSet<>();
@@ -62,6 +75,15 @@ public class AbstractGrainTest {
         assertArrayEquals(grain.keySet().toArray(), keys.toArray());
     }
 
+    @Test
+    public void test_entries() {
+        Grain grain = new MockGrain(sortedMapOf(null, "a", (Object)1), sortedMapOf(null, "b", (Object)2));
+
+        // Entries of the entry set may be retained after iteration advances.
+        List<Entry<String, Object>> entries = new ArrayList<>(grain.entrySet());
+        assertEquals(Arrays.asList(newEntry("a", 1), newEntry("b", 2)), entries);
+    }
+
     @Test
     public void test_immutable() {
         Grain grain = new MockGrain(sortedMapOf(null, "a", (Object)1), sortedMapOf(null, "b", (Object)2));
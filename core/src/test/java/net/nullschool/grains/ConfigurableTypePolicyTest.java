@@ -141,4 +141,14 @@ public class ConfigurableTypePolicyTest {
         List<String> list = transform.apply(listOf(1));  // We really want to get an exception HERE.
         try { System.out.println(list.get(0)); fail(); } catch (ClassCastException darn) {}  // heap pollution
     }
+
+    @Test
+    public void test_standard_primitive_lists() {
+        ConfigurableTypePolicy policy = ConfigurableTypePolicy.STANDARD;
+        assertTrue(policy.getImmutableTypes().containsAll(
+            Arrays.asList(ConstIntList.class, ConstLongList.class, ConstDoubleList.class)));
+        assertTrue(policy.isImmutableType(BasicConstIntList.class));
+        assertTrue(policy.isImmutableType(emptyLongList().getClass()));
+        assertEquals(ConstDoubleList.class, policy.asImmutableType(ConstDoubleList.class));
+    }
 }
@@ -16,11 +16,15 @@
 
 package net.nullschool.grains;
 
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.ConstMap;
 import org.junit.Test;
 
 import java.util.Map;
 
 import static org.junit.Assert.*;
+import static net.nullschool.collect.basic.BasicCollections.listOf;
+import static net.nullschool.collect.basic.BasicCollections.mapOf;
 import static net.nullschool.grains.GrainTools.*;
 
 
@@ -36,6 +40,8 @@ public class GrainToolsTest {
         @Override public Map<String, GrainProperty> getBasisProperties() { throw new UnsupportedOperationException(); }
         @Override public Grain getDefaultValue() { throw new UnsupportedOperationException(); }
         @Override public GrainBuilder getNewBuilder() { throw new UnsupportedOperationException(); }
+        @Override public GrainDecoder getNewDecoder() { throw new UnsupportedOperationException(); }
+        @Override public Grain intern(Grain grain) { throw new UnsupportedOperationException(); }
     }
 
     @Test
@@ -44,4 +50,62 @@ public class GrainToolsTest {
         assertSame(MockGrainFactory.INSTANCE, factoryFor(MockGrainFactory.class));
         assertSame(MyFactory.FACTORY, factoryFor(MyFactory.class));
     }
+
+    @Test
+    public void test_intern() {
+        // Grains are interned by their factory.
+        Grain a = new MockGrain("a", "x");
+        Grain b = new MockGrain("a", "x");
+        assertNotSame(a, b);
+        assertSame(a, intern(a));
+        assertSame(a, intern(b));
+        assertSame(a, intern(new MockGrain("a", "x")));
+        assertNotSame(a, intern(new MockGrain("a", "y")));
+
+        // Const collections and maps are interned by BasicCollections.
+        ConstList<Integer> list = listOf(1, 2, 3);
+        assertSame(list, intern(list));
+        assertSame(list, intern(listOf(1, 2, 3)));
+        ConstMap<String, Integer> map = mapOf("a", 10, "b", 20);
+        assertSame(map, intern(map));
+        assertSame(map, intern(mapOf("a", 10, "b", 20)));
+
+        // Everything else is returned as-is.
+        String s = new String("abc");
+        assertSame(s, intern(s));
+        assertNull(intern(null));
+    }
+
+    @Test
+    public void test_slotOf() {
+        assertEquals(0, slotOf(MockGrainFactory.INSTANCE, "a"));
+        assertEquals(1, slotOf(MockGrainFactory.INSTANCE, "x"));
+        assertEquals(-1, slotOf(MockGrainFactory.INSTANCE, "b"));
+        assertEquals(-1, slotOf(MockGrainFactory.INSTANCE, null));
+
+        Grain grain = MockGrainFactory.INSTANCE.getDefaultValue().with("x", 1);
+        assertEquals(1, grain.get(slotOf(MockGrainFactory.INSTANCE, "x")));
+        assertEquals(2, grain.with(slotOf(MockGrainFactory.INSTANCE, "x"), 2).get("x"));
+
+        GrainBuilder builder = grain.newBuilder();
+        assertEquals(1, builder.put(slotOf(MockGrainFactory.INSTANCE, "x"), 3));
+        assertEquals(3, builder.get("x"));
+    }
+
+    @Test
+    public void test_basisKeyAt() {
+        assertEquals("a", basisKeyAt(MockGrainFactory.INSTANCE, 0));
+        assertEquals("x", basisKeyAt(MockGrainFactory.INSTANCE, 1));
+        assertEquals(1, slotOf(MockGrainFactory.INSTANCE, basisKeyAt(MockGrainFactory.INSTANCE, 1)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_basisKeyAt_out_of_bounds() {
+        basisKeyAt(MockGrainFactory.INSTANCE, 2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_basisKeyAt_negative() {
+        basisKeyAt(MockGrainFactory.INSTANCE, -1);
+    }
 }
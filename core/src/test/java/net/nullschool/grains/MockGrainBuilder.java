@@ -30,6 +30,7 @@ import static net.nullschool.collect.basic.BasicCollections.*;
  *
  * @author Cameron Beccario
  */
+@GrainFactoryRef(MockGrainFactory.class)
 @SuppressWarnings("SuspiciousMethodCalls")
 final class MockGrainBuilder extends AbstractGrainBuilder {
 
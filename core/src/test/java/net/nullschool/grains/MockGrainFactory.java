@@ -16,6 +16,8 @@
 
 package net.nullschool.grains;
 
+import net.nullschool.util.InternPool;
+
 import java.util.Map;
 
 
@@ -28,7 +30,9 @@ enum MockGrainFactory implements GrainFactory {
     INSTANCE;
 
     @Override public Map<String, GrainProperty> getBasisProperties() {
-        throw new UnsupportedOperationException("NYI");
+        return GrainTools.asPropertyMap(
+            new SimpleGrainProperty("a", Object.class),
+            new SimpleGrainProperty("x", Object.class));
     }
 
     @Override public Grain getDefaultValue() {
@@ -38,4 +42,14 @@ enum MockGrainFactory implements GrainFactory {
     @Override public GrainBuilder getNewBuilder() {
         return new MockGrainBuilder("a", "x");
     }
+
+    @Override public GrainDecoder getNewDecoder() {
+        return new BuilderDecoder(getNewBuilder());
+    }
+
+    @Override public Grain intern(Grain grain) {
+        return interned.intern((MockGrain)grain);
+    }
+
+    private static final InternPool<MockGrain> interned = new InternPool<>();
 }
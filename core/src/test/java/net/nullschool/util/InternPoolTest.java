@@ -0,0 +1,99 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.util;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * 2013-06-26<p/>
+ *
+ * @author Cameron Beccario
+ */
+public class InternPoolTest {
+
+    @Test
+    public void test_intern() {
+        InternPool<String> pool = new InternPool<>();
+        String a = new String("abc");
+        String b = new String("abc");
+        assertSame(a, pool.intern(a));
+        assertSame(a, pool.intern(b));
+        assertSame(a, pool.intern(a));
+        assertEquals(1, pool.size());
+
+        String c = new String("xyz");
+        assertSame(c, pool.intern(c));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void test_intern_requires_same_class() {
+        InternPool<List<Integer>> pool = new InternPool<>();
+        List<Integer> array = new ArrayList<>(Arrays.asList(1, 2, 3));
+        List<Integer> linked = new LinkedList<>(Arrays.asList(1, 2, 3));
+        assertEquals(array, linked);
+        assertSame(array, pool.intern(array));
+        assertSame(linked, pool.intern(linked));  // equal but of a different class, so not substituted.
+        assertSame(array, pool.intern(new ArrayList<>(linked)));
+    }
+
+    @Test
+    public void test_intern_requires_same_order() {
+        InternPool<Set<Integer>> pool = new InternPool<>();
+        Set<Integer> forward = new LinkedHashSet<>(Arrays.asList(1, 2, 3));
+        Set<Integer> backward = new LinkedHashSet<>(Arrays.asList(3, 2, 1));
+        assertEquals(forward, backward);
+        assertSame(forward, pool.intern(forward));
+        assertSame(backward, pool.intern(backward));  // equal but iterates in a different order, so not substituted.
+        assertSame(forward, pool.intern(new LinkedHashSet<>(forward)));
+    }
+
+    @Test
+    public void test_clear() {
+        InternPool<String> pool = new InternPool<>();
+        String a = new String("abc");
+        String b = new String("abc");
+        pool.intern(a);
+        pool.clear();
+        assertEquals(0, pool.size());
+        assertSame(b, pool.intern(b));
+    }
+
+    @Test
+    public void test_many() {
+        InternPool<Integer> pool = new InternPool<>();
+        List<Integer> canonical = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            canonical.add(pool.intern(new Integer(i)));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertSame(canonical.get(i), pool.intern(new Integer(i)));
+        }
+        assertEquals(1000, pool.size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_intern_null() {
+        new InternPool<>().intern(null);
+    }
+}
@@ -45,6 +45,7 @@ public final class Configuration {
     private ConstSet<String> searchPackages = emptySet();
     private ClassLoader searchLoader;
     private String typePolicy = DEFAULT_TYPE_POLICY;
+    private boolean memoizeHashCode;
 
     public Charset getCharset() {
         return charset;
@@ -107,4 +108,17 @@ public final class Configuration {
     public void setTypePolicy(String typePolicy) {
         this.typePolicy = typePolicy;
     }
+
+    /**
+     * True if generated grain implementations cache their hash code and compare grains of the same implementation
+     * field by field. See {@link net.nullschool.util.MemoizedHashCode}.
+     */
+    public boolean isMemoizeHashCode() {
+        return memoizeHashCode;
+    }
+
+    public Configuration setMemoizeHashCode(boolean memoizeHashCode) {
+        this.memoizeHashCode = memoizeHashCode;
+        return this;
+    }
 }
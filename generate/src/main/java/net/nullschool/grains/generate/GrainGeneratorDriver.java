@@ -111,7 +111,7 @@ final class GrainGeneratorDriver {
             TypePrinterFactory printerFactory = new ImportingPrinterFactory(importer);
 
             // Build all the symbols we need for code generation and package them into an argument map.
-            SymbolTable symbolTable = new SymbolTable(schema, typeTable, printerFactory, typePolicyMember);
+            SymbolTable symbolTable = new SymbolTable(schema, typeTable, printerFactory, typePolicyMember, config);
             Map<String, Object> arguments = mapOf(
                 "type", symbolTable.buildTypeSymbols(),
                 "grain", symbolTable.buildGrainSymbol());
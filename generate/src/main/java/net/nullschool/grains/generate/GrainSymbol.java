@@ -32,19 +32,25 @@ final class GrainSymbol implements Symbol {
     private final List<? extends PropertySymbol> properties;
     private final List<? extends TypeTokenSymbol> typeTokens;
     private final Symbol typePolicyLoadExpression;
+    private final boolean memoizedHashCode;
+    private final boolean closed;
 
     GrainSymbol(
         List<? extends TypeSymbol> superGrains,
         List<? extends TypeSymbol> superBuilders,
         List<? extends PropertySymbol> properties,
         Collection<? extends TypeTokenSymbol> typeTokens,
-        Symbol typePolicyLoadExpression) {
+        Symbol typePolicyLoadExpression,
+        boolean memoizedHashCode,
+        boolean closed) {
 
         this.superGrains = Collections.unmodifiableList(new ArrayList<>(superGrains));
         this.superBuilders = Collections.unmodifiableList(new ArrayList<>(superBuilders));
         this.properties = Collections.unmodifiableList(new ArrayList<>(properties));
         this.typeTokens = Collections.unmodifiableList(new ArrayList<>(typeTokens));
         this.typePolicyLoadExpression = typePolicyLoadExpression;
+        this.memoizedHashCode = memoizedHashCode;
+        this.closed = closed;
     }
 
     public List<? extends TypeSymbol> getSuperGrains() {
@@ -66,4 +72,18 @@ final class GrainSymbol implements Symbol {
     public Symbol getTypePolicy() {
         return typePolicyLoadExpression;
     }
+
+    /**
+     * True if the grain implementation caches its hash code and compares field by field with instances of itself.
+     */
+    public boolean isMemoizedHashCode() {
+        return memoizedHashCode;
+    }
+
+    /**
+     * True if the grain implementation has no extensions, i.e., its only entries are the basis properties.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
 }
@@ -43,6 +43,7 @@ final class NamingPolicy {
         grainImpl,
         grainProxy,
         builderImpl,
+        decoderImpl,
     }
 
     /**
@@ -57,6 +58,7 @@ final class NamingPolicy {
             case grainImpl:   return prefix + "Factory$" + schema.getSimpleName() + "GrainImpl";
             case grainProxy:  return prefix + "Factory$" + schema.getSimpleName() + "GrainProxy";
             case builderImpl: return prefix + "Factory$" + schema.getSimpleName() + "BuilderImpl";
+            case decoderImpl: return prefix + "Factory$" + schema.getSimpleName() + "DecoderImpl";
             default:
                 throw new IllegalStateException(String.valueOf(name));
         }
@@ -74,6 +76,7 @@ final class NamingPolicy {
             case grainImpl:   return prefix + "GrainImpl";
             case grainProxy:  return prefix + "GrainProxy";
             case builderImpl: return prefix + "BuilderImpl";
+            case decoderImpl: return prefix + "DecoderImpl";
             default:
                 throw new IllegalStateException(String.valueOf(name));
         }
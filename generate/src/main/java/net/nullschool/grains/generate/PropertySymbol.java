@@ -20,6 +20,7 @@ import net.nullschool.collect.ConstSet;
 import net.nullschool.grains.GrainProperty;
 import net.nullschool.util.StringTools;
 
+import java.util.Objects;
 import java.util.Set;
 
 import static net.nullschool.grains.GrainProperty.Flag.IS_PROPERTY;
@@ -37,6 +38,7 @@ import static net.nullschool.collect.basic.BasicCollections.*;
 final class PropertySymbol implements Symbol {
 
     private final GrainProperty prop;
+    private final int slot;           // index of the property in the basis
     private final String fieldName;   // name of private internal field (potentially escaped)
     private final String getterName;  // name of get method
     private final String setterName;  // name of set method
@@ -44,9 +46,12 @@ final class PropertySymbol implements Symbol {
     private final TypeSymbol typeSymbol;
     private final TypeTokenSymbol typeToken;
     private final ConstSet<StaticFieldLoadExpression> flags;
+    private final TypePrinterFactory factory;
 
-    PropertySymbol(GrainProperty prop, TypePrinterFactory factory, TypeTokenSymbol typeToken) {
+    PropertySymbol(GrainProperty prop, int slot, TypePrinterFactory factory, TypeTokenSymbol typeToken) {
         this.prop = prop;
+        this.slot = slot;
+        this.factory = factory;
         this.fieldName = GenerateTools.escape(prop.getName());
         String capitalized = StringTools.capitalize(prop.getName());
         this.getterName = (prop.getFlags().contains(IS_PROPERTY) ? "is" : "get") + capitalized;
@@ -69,6 +74,13 @@ final class PropertySymbol implements Symbol {
         return prop.getName();
     }
 
+    /**
+     * The property's slot, i.e., its index in the iteration order of the grain's basis properties.
+     */
+    public int getSlot() {
+        return slot;
+    }
+
     /**
      * The ({@link GenerateTools#escape potentially escaped}) name of the field where the property's value is
      * stored. Examples: "quantity", "enabled", "string_"
@@ -133,6 +145,51 @@ final class PropertySymbol implements Symbol {
         return flags;
     }
 
+    /**
+     * An expression that computes the hash code of this property's field without boxing it, identical to the hash
+     * code of the boxed value. Examples: "quantity", "enabled ? 1231 : 1237", "Objects.hashCode(string_)"
+     */
+    public String getHashCodeExpression() {
+        Class<?> clazz = erase(prop.getType());
+        if (clazz == boolean.class) {
+            return String.format("(%s ? 1231 : 1237)", fieldName);
+        }
+        else if (clazz == long.class) {
+            return String.format("(int)(%1$s ^ (%1$s >>> 32))", fieldName);
+        }
+        else if (clazz == float.class) {
+            return String.format("Float.floatToIntBits(%s)", fieldName);
+        }
+        else if (clazz == double.class) {
+            return String.format(
+                "(int)(Double.doubleToLongBits(%1$s) ^ (Double.doubleToLongBits(%1$s) >>> 32))",
+                fieldName);
+        }
+        else if (clazz.isPrimitive()) {
+            return fieldName;  // byte, char, short, and int hash to their int value.
+        }
+        return String.format("%s.hashCode(%s)", new TypeSymbol(Objects.class, factory), fieldName);
+    }
+
+    /**
+     * An expression that tests this property's field for equality with the same field of the grain {@code $other}
+     * without boxing, in agreement with the equals method of the boxed value. Examples:
+     * "quantity == $other.quantity", "Objects.equals(string_, $other.string_)"
+     */
+    public String getEqualsExpression() {
+        Class<?> clazz = erase(prop.getType());
+        if (clazz == float.class) {
+            return String.format("Float.floatToIntBits(%1$s) == Float.floatToIntBits($other.%1$s)", fieldName);
+        }
+        else if (clazz == double.class) {
+            return String.format("Double.doubleToLongBits(%1$s) == Double.doubleToLongBits($other.%1$s)", fieldName);
+        }
+        else if (clazz.isPrimitive()) {
+            return String.format("%1$s == $other.%1$s", fieldName);
+        }
+        return String.format("%1$s.equals(%2$s, $other.%2$s)", new TypeSymbol(Objects.class, factory), fieldName);
+    }
+
     @Override public String toString() {
         return String.format("%s{%s, %s}", PropertySymbol.class.getSimpleName(), prop.getName(), prop.getType());
     }
@@ -43,12 +43,20 @@ final class SymbolTable {
     private final TypeTable typeTable;
     private final TypePrinterFactory printerFactory;
     private final Member typePolicyMember;
+    private final Configuration config;
+
+    SymbolTable(
+        Class<?> schema,
+        TypeTable typeTable,
+        TypePrinterFactory printerFactory,
+        Member typePolicyMember,
+        Configuration config) {
 
-    SymbolTable(Class<?> schema, TypeTable typeTable, TypePrinterFactory printerFactory, Member typePolicyMember) {
         this.schema = schema;
         this.typeTable = typeTable;
         this.printerFactory = printerFactory;
         this.typePolicyMember = typePolicyMember;
+        this.config = config;
     }
 
     private static Type cook(Type type) {
@@ -173,6 +181,11 @@ final class SymbolTable {
         return new ArrayList<>(bestFit.values());
     }
 
+    private static boolean isClosed(Class<?> schema) {
+        GrainSchema annotation = schema.getAnnotation(GrainSchema.class);
+        return annotation != null && annotation.closed();
+    }
+
     GrainSymbol buildGrainSymbol() throws IntrospectionException {
         if (schema.getTypeParameters().length > 0) {
             throw new IllegalArgumentException("Generic type grain generation is not supported.");
@@ -204,7 +217,7 @@ final class SymbolTable {
                             new FieldSymbol("$transform" + index, immutableTypeSymbol)));
                 }
             }
-            symbols.add(new PropertySymbol(immutableProp, printerFactory, typeTokenSymbol));
+            symbols.add(new PropertySymbol(immutableProp, symbols.size(), printerFactory, typeTokenSymbol));
         }
 
         Symbol typePolicyLoadExpression = null;
@@ -227,7 +240,14 @@ final class SymbolTable {
             }
         }
 
-        return new GrainSymbol(superGrains, superBuilders, symbols, typeTokens.values(), typePolicyLoadExpression);
+        return new GrainSymbol(
+            superGrains,
+            superBuilders,
+            symbols,
+            typeTokens.values(),
+            typePolicyLoadExpression,
+            config.isMemoizeHashCode(),
+            isClosed(schema));
     }
 
     Map<String, Symbol> buildTypeSymbols() {
@@ -51,6 +51,7 @@ final class TemplateHandles {
             "factory_enum.stg",
             "grain_impl.stg",
             "builder_impl.stg",
+            "decoder_impl.stg",
             "serialization_proxy_impl.stg");
     }
 
@@ -25,6 +25,8 @@ import net.nullschool.collect.*;
 import net.nullschool.grains.*;
 import net.nullschool.grains.generate.NamingPolicy.Name;
 import net.nullschool.reflect.*;
+import net.nullschool.util.InternPool;
+import net.nullschool.util.MemoizedHashCode;
 import net.nullschool.util.ObjectTools;
 
 import javax.annotation.Generated;
@@ -68,18 +70,21 @@ final class TypeTable {
         generated                   (Generated.class),
         grain                       (Grain.class),
         grainBuilder                (GrainBuilder.class),
+        grainDecoder                (GrainDecoder.class),
         grainFactory                (GrainFactory.class),
         grainFactoryRef             (GrainFactoryRef.class),
         grainGenerator              (GrainGenerator.class),
         grainProperty               (GrainProperty.class),
         grainTools                  (GrainTools.class),
+        illegalArgumentException    (IllegalArgumentException.class),
         illegalStateException       (IllegalStateException.class),
         indexOutOfBoundsException   (IndexOutOfBoundsException.class),
+        internPool                  (InternPool.class),
         invalidObjectException      (InvalidObjectException.class),
         iteratorTools               (IteratorTools.class),
         linkedHashSet               (LinkedHashSet.class),
         mapTools                    (MapTools.class),
-        // memoizedHashCode            (MemoizedHashCode.class),
+        memoizedHashCode            (MemoizedHashCode.class),
         noSuchElementException      (NoSuchElementException.class),
         object                      (Object.class),
         objectInputStream           (ObjectInputStream.class),
@@ -99,6 +104,7 @@ final class TypeTable {
         constMap                    (new TypeToken<ConstMap<String, Object>>(){}),
         constSortedMap              (new TypeToken<ConstSortedMap<String, Object>>(){}),
         entry                       (new TypeToken<Map.Entry<String, Object>>(){}),
+        entryWildcards              (new TypeToken<Map.Entry<? extends String, ?>>(){}),
         iterableMap                 (new TypeToken<IterableMap<String, Object>>(){}),
         mapIterator                 (new TypeToken<MapIterator<String, Object>>(){}),
         mapStringObjectWildcards    (new TypeToken<Map<? extends String, ?>>(){}),
@@ -366,12 +372,15 @@ final class TypeTable {
             loadOrCreateNested(names.get(Name.grainProxy), simpleNames.get(Name.grainProxy), targetFactory);
         ClassHandle targetBuilderImpl =
             loadOrCreateNested(names.get(Name.builderImpl), simpleNames.get(Name.builderImpl), targetFactory);
+        ClassHandle targetDecoderImpl =
+            loadOrCreateNested(names.get(Name.decoderImpl), simpleNames.get(Name.decoderImpl), targetFactory);
 
         // All types are loaded/created, so we can now "freeze" them into proper Java Class objects.
         map.put("targetFactory", targetFactory.toClass());
         map.put("targetGrainImpl", targetGrainImpl.toClass());
         map.put("targetGrainProxy", targetGrainProxy.toClass());
         map.put("targetBuilderImpl", targetBuilderImpl.toClass());
+        map.put("targetDecoderImpl", targetDecoderImpl.toClass());
 
         return map;
     }
@@ -24,6 +24,8 @@ import org.junit.Test;
 import java.io.*;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+
 
 /**
  * 2013-03-24<p/>
@@ -67,6 +69,51 @@ public class GrainGeneratorTest {
         System.out.println(result.getText());
     }
 
+    @Test
+    public void test_generate_memoized_hash_code() throws Exception {
+        GenerationResult result = new GrainGeneratorDriver(config, new NamingPolicy())
+            .generate(Intrinsics.class, TemplateHandles.newFactoryEnumTemplate(config));
+        assertTrue(result.getErrors().isEmpty());
+        assertFalse(result.getText().contains("MemoizedHashCode"));
+        assertFalse(result.getText().contains("$hashCode"));
+
+        Configuration memoizing = new Configuration().setMemoizeHashCode(true);
+        result = new GrainGeneratorDriver(memoizing, new NamingPolicy())
+            .generate(Intrinsics.class, TemplateHandles.newFactoryEnumTemplate(memoizing));
+        String text = result.getText();
+        assertTrue(result.getErrors().isEmpty());
+        assertTrue(text.contains("import net.nullschool.util.MemoizedHashCode;"));
+        assertTrue(text.contains("implements IntrinsicsGrain, MemoizedHashCode, Serializable"));
+        assertTrue(text.contains("private transient int $hashCode;"));
+        assertTrue(text.contains("$h += \"int\".hashCode() ^ _int;"));
+        assertTrue(text.contains("$h += \"long\".hashCode() ^ (int)(_long ^ (_long >>> 32));"));
+        assertTrue(text.contains("$h += \"string\".hashCode() ^ Objects.hashCode(string);"));
+        assertTrue(text.contains("Double.doubleToLongBits(_double) == Double.doubleToLongBits($other._double) &&"));
+        assertTrue(text.contains("Objects.equals(string, $other.string) &&"));
+        assertTrue(text.contains("$extensions.equals($other.$extensions);"));
+    }
+
+    @Test
+    public void test_generate_closed() throws Exception {
+        GenerationResult result = new GrainGeneratorDriver(config, new NamingPolicy())
+            .generate(Intrinsics.class, TemplateHandles.newFactoryEnumTemplate(config));
+        assertTrue(result.getErrors().isEmpty());
+        assertTrue(result.getText().contains("private final ConstSortedMap<String, Object> $extensions;"));
+
+        result = new GrainGeneratorDriver(config, new NamingPolicy())
+            .generate(Closed.class, TemplateHandles.newFactoryEnumTemplate(config));
+        String text = result.getText();
+        assertTrue(result.getErrors().isEmpty());
+        assertFalse(text.contains("$extensions"));
+        assertFalse(text.contains("TreeMap"));
+        assertTrue(text.contains("public int size() { return 2; }"));
+        assertTrue(text.contains("return new BasisIter($KEYS);"));
+        assertTrue(text.contains("throw new IllegalArgumentException(\"not a basis key: \" + $key);"));
+        assertTrue(text.contains("return BasicCollections.emptyMap();"));
+        assertTrue(text.contains("private static final class ClosedDecoderImpl implements GrainDecoder {"));
+        assertTrue(text.contains("$values[0] == null ? 0 : (int)$values[0],"));
+    }
+
     @Ignore @Test
     public void test_generator_driver() throws Exception {
         GrainGenerator.main(
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.generate;
+
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainFactory;
+import net.nullschool.grains.generate.model.Intrinsics;
+import net.nullschool.grains.generate.model.IntrinsicsFactory;
+import net.nullschool.util.MemoizedHashCode;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+
+
+/**
+ * 2013-07-08<p/>
+ *
+ * Compiles and loads a memoized variant of the Intrinsics model, then checks that its hashCode and equals agree
+ * with the Map contract, both alone and against the checked-in (non-memoized) implementation.
+ *
+ * @author Cameron Beccario
+ */
+public class MemoizedHashCodeTest {
+
+    private static final String FACTORY_NAME = IntrinsicsFactory.class.getName();
+
+    private static GrainFactory memoized;
+
+    /**
+     * Loads classes of the memoized factory, including its nested classes, from the compiled output before
+     * delegating to the parent, so that they take the place of the checked-in factory.
+     */
+    private static final class ChildFirstLoader extends URLClassLoader {
+
+        ChildFirstLoader(URL url, ClassLoader parent) {
+            super(new URL[] {url}, parent);
+        }
+
+        @Override protected synchronized Class<?> loadClass(String name, boolean resolve)
+            throws ClassNotFoundException {
+
+            if (!name.startsWith(FACTORY_NAME)) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> c = findLoadedClass(name);
+            if (c == null) {
+                c = findClass(name);
+            }
+            if (resolve) {
+                resolveClass(c);
+            }
+            return c;
+        }
+    }
+
+    @BeforeClass
+    public static void compileMemoizedFactory() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);  // running on a JRE rather than a JDK.
+
+        Configuration config = new Configuration().setMemoizeHashCode(true);
+        GenerationResult result = new GrainGeneratorDriver(config, new NamingPolicy())
+            .generate(Intrinsics.class, TemplateHandles.newFactoryEnumTemplate(config));
+        assertTrue(result.getErrors().toString(), result.getErrors().isEmpty());
+
+        Path dir = Files.createTempDirectory("memoized");
+        Path source = dir.resolve("IntrinsicsFactory.java");
+        Files.write(source, result.getText().getBytes(StandardCharsets.UTF_8));
+        int status = compiler.run(
+            null, null, null,
+            "-encoding", "UTF-8",
+            "-classpath", System.getProperty("java.class.path"),
+            "-d", dir.toString(),
+            source.toString());
+        assertEquals(0, status);
+
+        ClassLoader loader = new ChildFirstLoader(dir.toUri().toURL(), MemoizedHashCodeTest.class.getClassLoader());
+        Class<?> factoryClass = Class.forName(FACTORY_NAME, true, loader);
+        memoized = (GrainFactory)factoryClass.getEnumConstants()[0];
+        assertNotSame(IntrinsicsFactory.class, factoryClass);
+        assertTrue(memoized.getDefaultValue() instanceof MemoizedHashCode);
+    }
+
+    private static void assert_map_contract(Grain grain) {
+        Map<String, Object> map = new HashMap<>(grain);
+        assertEquals(map.hashCode(), grain.hashCode());
+        assertEquals(map.hashCode(), grain.hashCode());  // again, now cached.
+        assertTrue(grain.equals(map));
+        assertTrue(map.equals(grain));
+    }
+
+    private static void assert_equivalent(Grain a, Grain b) {
+        assertEquals(a.hashCode(), b.hashCode());
+        assertTrue(a.equals(b));
+        assertTrue(b.equals(a));
+    }
+
+    private static void assert_not_equivalent(Grain a, Grain b) {
+        assertFalse(a.equals(b));
+        assertFalse(b.equals(a));
+    }
+
+    private static Grain sample(GrainFactory factory) {
+        return factory.getDefaultValue()
+            .with("id", "ABC123")
+            .with("int", 7)
+            .with("long", 1L << 40)
+            .with("string", "hello")
+            .with("boxedDouble", 2.5);
+    }
+
+    @Test
+    public void test_default_value() {
+        assert_map_contract(memoized.getDefaultValue());
+        assert_equivalent(memoized.getDefaultValue(), IntrinsicsFactory.defaultValue());
+    }
+
+    @Test
+    public void test_sample_values() {
+        Grain grain = sample(memoized);
+        assert_map_contract(grain);
+        assert_equivalent(grain, sample(IntrinsicsFactory.INSTANCE));
+        assert_equivalent(grain, sample(memoized));
+        assert_not_equivalent(grain, grain.with("int", 8));
+        assert_not_equivalent(grain, grain.with("string", null));
+    }
+
+    @Test
+    public void test_nan() {
+        Grain grain = memoized.getDefaultValue()
+            .with("double", Double.NaN)
+            .with("float", Float.NaN)
+            .with("boxedDouble", Double.NaN)
+            .with("boxedFloat", Float.NaN);
+        assert_map_contract(grain);
+        // NaN equals NaN, as with Double.equals and Float.equals.
+        assert_equivalent(grain, memoized.getDefaultValue().withAll(grain));
+        assert_equivalent(grain, IntrinsicsFactory.defaultValue().withAll(grain));
+    }
+
+    @Test
+    public void test_negative_zero() {
+        Grain grain = memoized.getDefaultValue().with("double", -0.0).with("$float", -0.0F);
+        assert_map_contract(grain);
+        assert_equivalent(grain, IntrinsicsFactory.defaultValue().withAll(grain));
+        // -0.0 does not equal 0.0, as with Double.equals and Float.equals.
+        assert_not_equivalent(grain, memoized.getDefaultValue());
+        assert_not_equivalent(grain, grain.with("double", 0.0));
+        assert_not_equivalent(grain, grain.with("$float", 0.0F));
+    }
+
+    @Test
+    public void test_null_extension_values() {
+        Grain grain = sample(memoized).with("extra", null).with("more", 1);
+        assertTrue(grain.containsKey("extra"));
+        assert_map_contract(grain);
+        assert_equivalent(grain, sample(IntrinsicsFactory.INSTANCE).with("extra", null).with("more", 1));
+        // A null extension value differs from both an absent extension and a non-null value.
+        assert_not_equivalent(grain, grain.without("extra"));
+        assert_not_equivalent(grain, grain.with("extra", 0));
+    }
+}
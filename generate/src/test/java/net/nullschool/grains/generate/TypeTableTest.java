@@ -146,5 +146,6 @@ public class TypeTableTest {
         assertEquals("class com.test.FooFactory$FooGrainImpl", schemaTypes.get("targetGrainImpl").toString());
         assertEquals("class com.test.FooFactory$FooGrainProxy", schemaTypes.get("targetGrainProxy").toString());
         assertEquals("class com.test.FooFactory$FooBuilderImpl", schemaTypes.get("targetBuilderImpl").toString());
+        assertEquals("class com.test.FooFactory$FooDecoderImpl", schemaTypes.get("targetDecoderImpl").toString());
     }
 }
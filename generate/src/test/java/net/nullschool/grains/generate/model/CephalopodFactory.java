@@ -16,12 +16,15 @@ import net.nullschool.collect.basic.BasicCollections;
 import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
 import net.nullschool.grains.GrainTools;
 import net.nullschool.grains.SimpleGrainProperty;
 import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Animal.Cephalopod.
@@ -35,13 +38,17 @@ public enum CephalopodFactory implements GrainFactory {
         new SimpleGrainProperty("legCount", int.class));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[2]);
+    private static final InternPool<CephalopodGrain> $INTERNED = new InternPool<>();
     private static final CephalopodGrain $DEFAULT = newBuilder().build();
     public static CephalopodGrain defaultValue() { return $DEFAULT; }
     public static CephalopodBuilder newBuilder() { return new CephalopodBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new CephalopodDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public CephalopodGrain getDefaultValue() { return defaultValue(); }
     public CephalopodBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public CephalopodGrain intern(Grain grain) { return $INTERNED.intern((CephalopodGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     /**
@@ -114,8 +121,46 @@ public enum CephalopodFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getId();
+                case 1: return getLegCount();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public CephalopodGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withId((String)$value);
+                case 1: return withLegCount($value == null ? 0 : (int)$value);
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public CephalopodGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            String id = this.id;
+            int legCount = this.legCount;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "id":
+                        id = (String)$value;
+                        break;
+                    case "legCount":
+                        legCount = $value == null ? 0 : (int)$value;
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new CephalopodGrainImpl(
+                id, legCount, 
+                $newExtensions);
         }
 
         public CephalopodGrain without(Object $key) {
@@ -150,6 +195,7 @@ public enum CephalopodFactory implements GrainFactory {
     private static final class CephalopodGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected CephalopodBuilder newBuilder() { return CephalopodFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return CephalopodFactory.newDecoder(); }
     }
 
     /**
@@ -212,6 +258,22 @@ public enum CephalopodFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getId();
+                    setId((String)$value);
+                    return $original;
+                case 1:
+                    $original = getLegCount();
+                    setLegCount($value == null ? 0 : (int)$value);
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -222,4 +284,39 @@ public enum CephalopodFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of CephalopodGrainImpl.
+     */
+    private static final class CephalopodDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[2];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "id":
+                    $values[0] = $value;
+                    return this;
+                case "legCount":
+                    $values[1] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public CephalopodGrain decode() {
+            return new CephalopodGrainImpl(
+                (String)$values[0],
+                $values[1] == null ? 0 : (int)$values[1],
+                $extensions);
+        }
+    }
 }
@@ -36,6 +36,8 @@ public interface CephalopodGrain
 
     CephalopodGrain with(String key, Object value);
 
+    CephalopodGrain with(int slot, Object value);
+
     CephalopodGrain withAll(Map<? extends String, ?> map);
 
     CephalopodGrain without(Object key);
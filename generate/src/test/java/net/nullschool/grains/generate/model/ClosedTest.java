@@ -0,0 +1,119 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.generate.model;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.collect.basic.BasicCollections.mapOf;
+
+
+/**
+ * 2013-07-08<p/>
+ *
+ * @author Cameron Beccario
+ */
+public final class ClosedTest {
+
+    @Test
+    public void test_basis() {
+        compare_maps(newMap("id", 0, "name", null), ClosedFactory.defaultValue());
+        compare_maps(newMap("id", 0, "name", null), ClosedFactory.newBuilder());
+        assertTrue(ClosedFactory.defaultValue().extensions().isEmpty());
+    }
+
+    @Test
+    public void test_with_and_without() {
+        ClosedGrain grain = ClosedFactory.defaultValue().withId(1).with("name", "a");
+        compare_maps(newMap("id", 1, "name", "a"), grain);
+        compare_maps(newMap("id", 0, "name", "a"), grain.without("id"));
+        compare_maps(newMap("id", 1, "name", "a"), grain.withAll(mapOf("id", 1)));
+        assertSame(grain, grain.without("x"));
+        compare_maps(newMap("id", 0, "name", null), grain.withoutAll(Arrays.asList("id", "name", "x")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_with_extension() {
+        ClosedFactory.defaultValue().with("x", 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_withAll_extension() {
+        ClosedFactory.defaultValue().withAll(mapOf("id", 1, "x", 1));
+    }
+
+    @Test
+    public void test_builder() {
+        ClosedBuilder builder = ClosedFactory.newBuilder();
+        builder.put("id", 1);
+        builder.setName("a");
+        compare_maps(newMap("id", 1, "name", "a"), builder);
+        assertNull(builder.get("x"));
+        assertNull(builder.remove("x"));
+        assertEquals("a", builder.remove("name"));
+        compare_maps(newMap("id", 1, "name", null), builder.build());
+        builder.clear();
+        assertEquals(ClosedFactory.defaultValue(), builder.build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_builder_put_extension() {
+        ClosedFactory.newBuilder().put("x", 1);
+    }
+
+    @Test
+    public void test_decoder() {
+        assertEquals(ClosedFactory.defaultValue(), ClosedFactory.newDecoder().decode());
+        assertEquals(
+            ClosedFactory.defaultValue().withId(1).withName("a"),
+            ClosedFactory.newDecoder().put("name", "a").put(0, 1).decode());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_decoder_put_extension() {
+        ClosedFactory.newDecoder().put("x", 1);
+    }
+
+    @Test
+    public void test_equals_open_map() {
+        ClosedGrain grain = ClosedFactory.defaultValue().withId(1).withName("a");
+        Map<String, Object> map = newMap("id", 1, "name", "a");
+        assertEquals(map, grain);
+        assertEquals(grain, map);
+        assertEquals(map.hashCode(), grain.hashCode());
+    }
+
+    @Test
+    public void test_serialization() throws Exception {
+        ClosedGrain grain = ClosedFactory.defaultValue().withId(1).withName("a");
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(baos)) {
+            out.writeObject(grain);
+        }
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+
+        ClosedGrain read = (ClosedGrain)in.readObject();
+        assertEquals(grain, read);
+        assertSame(ClosedFactory.defaultValue().getClass(), read.getClass());
+    }
+}
@@ -25,6 +25,8 @@ import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
 import net.nullschool.grains.ConfigurableTypePolicy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
@@ -34,6 +36,7 @@ import net.nullschool.grains.TypePolicy;
 import net.nullschool.reflect.PublicInterfaceRef;
 import net.nullschool.reflect.TypeToken;
 import net.nullschool.transform.Transform;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Complete.
@@ -100,13 +103,17 @@ public enum CompleteFactory implements GrainFactory {
         new SimpleGrainProperty("zb", $token11.asType()));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[28]);
+    private static final InternPool<CompleteGrain> $INTERNED = new InternPool<>();
     private static final CompleteGrain $DEFAULT = newBuilder().build();
     public static CompleteGrain defaultValue() { return $DEFAULT; }
     public static CompleteBuilder newBuilder() { return new CompleteBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new CompleteDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public CompleteGrain getDefaultValue() { return defaultValue(); }
     public CompleteBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public CompleteGrain intern(Grain grain) { return $INTERNED.intern((CompleteGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     private static final Transform<ConstCollection<Integer>> $transform0 =
@@ -495,8 +502,202 @@ public enum CompleteFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getA();
+                case 1: return getB();
+                case 2: return getC();
+                case 3: return getD();
+                case 4: return getE();
+                case 5: return getF();
+                case 6: return getG();
+                case 7: return getH();
+                case 8: return getI();
+                case 9: return getJ();
+                case 10: return getK();
+                case 11: return getL();
+                case 12: return getM();
+                case 13: return getN();
+                case 14: return getO();
+                case 15: return getP();
+                case 16: return getQ();
+                case 17: return getR();
+                case 18: return getS();
+                case 19: return getT();
+                case 20: return getU();
+                case 21: return getV();
+                case 22: return getW();
+                case 23: return getX();
+                case 24: return getY();
+                case 25: return getZ();
+                case 26: return getZa();
+                case 27: return getZb();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public CompleteGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withA($value == null ? false : (boolean)$value);
+                case 1: return withB($value == null ? 0 : (byte)$value);
+                case 2: return withC($value == null ? 0 : (short)$value);
+                case 3: return withD($value == null ? 0 : (int)$value);
+                case 4: return withE($value == null ? 0 : (long)$value);
+                case 5: return withF((BigInteger)$value);
+                case 6: return withG($value == null ? 0 : (float)$value);
+                case 7: return withH($value == null ? 0 : (double)$value);
+                case 8: return withI((BigDecimal)$value);
+                case 9: return withJ($value == null ? 0 : (char)$value);
+                case 10: return withK((String)$value);
+                case 11: return withL((UUID)$value);
+                case 12: return withM((URI)$value);
+                case 13: return withN((Void)$value);
+                case 14: return withO((Complete.Color)$value);
+                case 15: return withP((NodeGrain)$value);
+                case 16: return withQ($transform0.apply($value));
+                case 17: return withR($transform1.apply($value));
+                case 18: return withS($transform2.apply($value));
+                case 19: return withT($transform3.apply($value));
+                case 20: return withU($transform4.apply($value));
+                case 21: return withV($transform5.apply($value));
+                case 22: return withW($transform6.apply($value));
+                case 23: return withX($transform7.apply($value));
+                case 24: return withY($transform8.apply($value));
+                case 25: return withZ($transform9.apply($value));
+                case 26: return withZa($transform10.apply($value));
+                case 27: return withZb($transform11.apply($value));
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public CompleteGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            boolean a = this.a;
+            byte b = this.b;
+            short c = this.c;
+            int d = this.d;
+            long e = this.e;
+            BigInteger f = this.f;
+            float g = this.g;
+            double h = this.h;
+            BigDecimal i = this.i;
+            char j = this.j;
+            String k = this.k;
+            UUID l = this.l;
+            URI m = this.m;
+            Void n = this.n;
+            Complete.Color o = this.o;
+            NodeGrain p = this.p;
+            ConstCollection<Integer> q = this.q;
+            ConstCollection<NodeGrain> r = this.r;
+            ConstList<Integer> s = this.s;
+            ConstList<NodeGrain> t = this.t;
+            ConstSet<String> u = this.u;
+            ConstSet<NodeGrain> v = this.v;
+            ConstMap<String, Integer> w = this.w;
+            ConstMap<String, NodeGrain> x = this.x;
+            ConstSortedSet<String> y = this.y;
+            ConstSortedMap<Integer, NodeGrain> z = this.z;
+            ConstMap<String, ConstSet<ConstList<NodeGrain>>> za = this.za;
+            ConstList<ConstList<String>> zb = this.zb;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "a":
+                        a = $value == null ? false : (boolean)$value;
+                        break;
+                    case "b":
+                        b = $value == null ? 0 : (byte)$value;
+                        break;
+                    case "c":
+                        c = $value == null ? 0 : (short)$value;
+                        break;
+                    case "d":
+                        d = $value == null ? 0 : (int)$value;
+                        break;
+                    case "e":
+                        e = $value == null ? 0 : (long)$value;
+                        break;
+                    case "f":
+                        f = (BigInteger)$value;
+                        break;
+                    case "g":
+                        g = $value == null ? 0 : (float)$value;
+                        break;
+                    case "h":
+                        h = $value == null ? 0 : (double)$value;
+                        break;
+                    case "i":
+                        i = (BigDecimal)$value;
+                        break;
+                    case "j":
+                        j = $value == null ? 0 : (char)$value;
+                        break;
+                    case "k":
+                        k = (String)$value;
+                        break;
+                    case "l":
+                        l = (UUID)$value;
+                        break;
+                    case "m":
+                        m = (URI)$value;
+                        break;
+                    case "n":
+                        n = (Void)$value;
+                        break;
+                    case "o":
+                        o = (Complete.Color)$value;
+                        break;
+                    case "p":
+                        p = (NodeGrain)$value;
+                        break;
+                    case "q":
+                        q = $transform0.apply($value);
+                        break;
+                    case "r":
+                        r = $transform1.apply($value);
+                        break;
+                    case "s":
+                        s = $transform2.apply($value);
+                        break;
+                    case "t":
+                        t = $transform3.apply($value);
+                        break;
+                    case "u":
+                        u = $transform4.apply($value);
+                        break;
+                    case "v":
+                        v = $transform5.apply($value);
+                        break;
+                    case "w":
+                        w = $transform6.apply($value);
+                        break;
+                    case "x":
+                        x = $transform7.apply($value);
+                        break;
+                    case "y":
+                        y = $transform8.apply($value);
+                        break;
+                    case "z":
+                        z = $transform9.apply($value);
+                        break;
+                    case "za":
+                        za = $transform10.apply($value);
+                        break;
+                    case "zb":
+                        zb = $transform11.apply($value);
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new CompleteGrainImpl(
+                a, b, c, d, e, f, g, h, i, j, k, l, m, n, o, p, q, r, s, t, u, v, w, x, y, z, za, zb, 
+                $newExtensions);
         }
 
         public CompleteGrain without(Object $key) {
@@ -557,6 +758,7 @@ public enum CompleteFactory implements GrainFactory {
     private static final class CompleteGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected CompleteBuilder newBuilder() { return CompleteFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return CompleteFactory.newDecoder(); }
     }
 
     /**
@@ -931,6 +1133,126 @@ public enum CompleteFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getA();
+                    setA($value == null ? false : (boolean)$value);
+                    return $original;
+                case 1:
+                    $original = getB();
+                    setB($value == null ? 0 : (byte)$value);
+                    return $original;
+                case 2:
+                    $original = getC();
+                    setC($value == null ? 0 : (short)$value);
+                    return $original;
+                case 3:
+                    $original = getD();
+                    setD($value == null ? 0 : (int)$value);
+                    return $original;
+                case 4:
+                    $original = getE();
+                    setE($value == null ? 0 : (long)$value);
+                    return $original;
+                case 5:
+                    $original = getF();
+                    setF((BigInteger)$value);
+                    return $original;
+                case 6:
+                    $original = getG();
+                    setG($value == null ? 0 : (float)$value);
+                    return $original;
+                case 7:
+                    $original = getH();
+                    setH($value == null ? 0 : (double)$value);
+                    return $original;
+                case 8:
+                    $original = getI();
+                    setI((BigDecimal)$value);
+                    return $original;
+                case 9:
+                    $original = getJ();
+                    setJ($value == null ? 0 : (char)$value);
+                    return $original;
+                case 10:
+                    $original = getK();
+                    setK((String)$value);
+                    return $original;
+                case 11:
+                    $original = getL();
+                    setL((UUID)$value);
+                    return $original;
+                case 12:
+                    $original = getM();
+                    setM((URI)$value);
+                    return $original;
+                case 13:
+                    $original = getN();
+                    setN((Void)$value);
+                    return $original;
+                case 14:
+                    $original = getO();
+                    setO((Complete.Color)$value);
+                    return $original;
+                case 15:
+                    $original = getP();
+                    setP((NodeGrain)$value);
+                    return $original;
+                case 16:
+                    $original = getQ();
+                    setQ($transform0.apply($value));
+                    return $original;
+                case 17:
+                    $original = getR();
+                    setR($transform1.apply($value));
+                    return $original;
+                case 18:
+                    $original = getS();
+                    setS($transform2.apply($value));
+                    return $original;
+                case 19:
+                    $original = getT();
+                    setT($transform3.apply($value));
+                    return $original;
+                case 20:
+                    $original = getU();
+                    setU($transform4.apply($value));
+                    return $original;
+                case 21:
+                    $original = getV();
+                    setV($transform5.apply($value));
+                    return $original;
+                case 22:
+                    $original = getW();
+                    setW($transform6.apply($value));
+                    return $original;
+                case 23:
+                    $original = getX();
+                    setX($transform7.apply($value));
+                    return $original;
+                case 24:
+                    $original = getY();
+                    setY($transform8.apply($value));
+                    return $original;
+                case 25:
+                    $original = getZ();
+                    setZ($transform9.apply($value));
+                    return $original;
+                case 26:
+                    $original = getZa();
+                    setZa($transform10.apply($value));
+                    return $original;
+                case 27:
+                    $original = getZb();
+                    setZb($transform11.apply($value));
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -941,4 +1263,143 @@ public enum CompleteFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of CompleteGrainImpl.
+     */
+    private static final class CompleteDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[28];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "a":
+                    $values[0] = $value;
+                    return this;
+                case "b":
+                    $values[1] = $value;
+                    return this;
+                case "c":
+                    $values[2] = $value;
+                    return this;
+                case "d":
+                    $values[3] = $value;
+                    return this;
+                case "e":
+                    $values[4] = $value;
+                    return this;
+                case "f":
+                    $values[5] = $value;
+                    return this;
+                case "g":
+                    $values[6] = $value;
+                    return this;
+                case "h":
+                    $values[7] = $value;
+                    return this;
+                case "i":
+                    $values[8] = $value;
+                    return this;
+                case "j":
+                    $values[9] = $value;
+                    return this;
+                case "k":
+                    $values[10] = $value;
+                    return this;
+                case "l":
+                    $values[11] = $value;
+                    return this;
+                case "m":
+                    $values[12] = $value;
+                    return this;
+                case "n":
+                    $values[13] = $value;
+                    return this;
+                case "o":
+                    $values[14] = $value;
+                    return this;
+                case "p":
+                    $values[15] = $value;
+                    return this;
+                case "q":
+                    $values[16] = $value;
+                    return this;
+                case "r":
+                    $values[17] = $value;
+                    return this;
+                case "s":
+                    $values[18] = $value;
+                    return this;
+                case "t":
+                    $values[19] = $value;
+                    return this;
+                case "u":
+                    $values[20] = $value;
+                    return this;
+                case "v":
+                    $values[21] = $value;
+                    return this;
+                case "w":
+                    $values[22] = $value;
+                    return this;
+                case "x":
+                    $values[23] = $value;
+                    return this;
+                case "y":
+                    $values[24] = $value;
+                    return this;
+                case "z":
+                    $values[25] = $value;
+                    return this;
+                case "za":
+                    $values[26] = $value;
+                    return this;
+                case "zb":
+                    $values[27] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public CompleteGrain decode() {
+            return new CompleteGrainImpl(
+                $values[0] == null ? false : (boolean)$values[0],
+                $values[1] == null ? 0 : (byte)$values[1],
+                $values[2] == null ? 0 : (short)$values[2],
+                $values[3] == null ? 0 : (int)$values[3],
+                $values[4] == null ? 0 : (long)$values[4],
+                (BigInteger)$values[5],
+                $values[6] == null ? 0 : (float)$values[6],
+                $values[7] == null ? 0 : (double)$values[7],
+                (BigDecimal)$values[8],
+                $values[9] == null ? 0 : (char)$values[9],
+                (String)$values[10],
+                (UUID)$values[11],
+                (URI)$values[12],
+                (Void)$values[13],
+                (Complete.Color)$values[14],
+                (NodeGrain)$values[15],
+                $transform0.apply($values[16]),
+                $transform1.apply($values[17]),
+                $transform2.apply($values[18]),
+                $transform3.apply($values[19]),
+                $transform4.apply($values[20]),
+                $transform5.apply($values[21]),
+                $transform6.apply($values[22]),
+                $transform7.apply($values[23]),
+                $transform8.apply($values[24]),
+                $transform9.apply($values[25]),
+                $transform10.apply($values[26]),
+                $transform11.apply($values[27]),
+                $extensions);
+        }
+    }
 }
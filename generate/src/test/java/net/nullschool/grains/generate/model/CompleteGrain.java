@@ -149,6 +149,8 @@ public interface CompleteGrain
 
     CompleteGrain with(String key, Object value);
 
+    CompleteGrain with(int slot, Object value);
+
     CompleteGrain withAll(Map<? extends String, ?> map);
 
     CompleteGrain without(Object key);
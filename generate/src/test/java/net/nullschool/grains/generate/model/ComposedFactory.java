@@ -16,12 +16,15 @@ import net.nullschool.collect.basic.BasicCollections;
 import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
 import net.nullschool.grains.GrainTools;
 import net.nullschool.grains.SimpleGrainProperty;
 import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Composed.
@@ -38,13 +41,17 @@ public enum ComposedFactory implements GrainFactory {
         new SimpleGrainProperty("name", String.class));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[5]);
+    private static final InternPool<ComposedGrain> $INTERNED = new InternPool<>();
     private static final ComposedGrain $DEFAULT = newBuilder().build();
     public static ComposedGrain defaultValue() { return $DEFAULT; }
     public static ComposedBuilder newBuilder() { return new ComposedBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new ComposedDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public ComposedGrain getDefaultValue() { return defaultValue(); }
     public ComposedBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public ComposedGrain intern(Grain grain) { return $INTERNED.intern((ComposedGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     /**
@@ -150,8 +157,64 @@ public enum ComposedFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getId();
+                case 1: return getAge();
+                case 2: return isGiant();
+                case 3: return getLegCount();
+                case 4: return getName();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public ComposedGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withId((String)$value);
+                case 1: return withAge($value == null ? 0 : (int)$value);
+                case 2: return withGiant($value == null ? false : (boolean)$value);
+                case 3: return withLegCount($value == null ? 0 : (int)$value);
+                case 4: return withName((String)$value);
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public ComposedGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            String id = this.id;
+            int age = this.age;
+            boolean giant = this.giant;
+            int legCount = this.legCount;
+            String name = this.name;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "id":
+                        id = (String)$value;
+                        break;
+                    case "age":
+                        age = $value == null ? 0 : (int)$value;
+                        break;
+                    case "giant":
+                        giant = $value == null ? false : (boolean)$value;
+                        break;
+                    case "legCount":
+                        legCount = $value == null ? 0 : (int)$value;
+                        break;
+                    case "name":
+                        name = (String)$value;
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new ComposedGrainImpl(
+                id, age, giant, legCount, name, 
+                $newExtensions);
         }
 
         public ComposedGrain without(Object $key) {
@@ -189,6 +252,7 @@ public enum ComposedFactory implements GrainFactory {
     private static final class ComposedGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected ComposedBuilder newBuilder() { return ComposedFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return ComposedFactory.newDecoder(); }
     }
 
     /**
@@ -287,6 +351,34 @@ public enum ComposedFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getId();
+                    setId((String)$value);
+                    return $original;
+                case 1:
+                    $original = getAge();
+                    setAge($value == null ? 0 : (int)$value);
+                    return $original;
+                case 2:
+                    $original = isGiant();
+                    setGiant($value == null ? false : (boolean)$value);
+                    return $original;
+                case 3:
+                    $original = getLegCount();
+                    setLegCount($value == null ? 0 : (int)$value);
+                    return $original;
+                case 4:
+                    $original = getName();
+                    setName((String)$value);
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -297,4 +389,51 @@ public enum ComposedFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of ComposedGrainImpl.
+     */
+    private static final class ComposedDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[5];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "id":
+                    $values[0] = $value;
+                    return this;
+                case "age":
+                    $values[1] = $value;
+                    return this;
+                case "giant":
+                    $values[2] = $value;
+                    return this;
+                case "legCount":
+                    $values[3] = $value;
+                    return this;
+                case "name":
+                    $values[4] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public ComposedGrain decode() {
+            return new ComposedGrainImpl(
+                (String)$values[0],
+                $values[1] == null ? 0 : (int)$values[1],
+                $values[2] == null ? false : (boolean)$values[2],
+                $values[3] == null ? 0 : (int)$values[3],
+                (String)$values[4],
+                $extensions);
+        }
+    }
 }
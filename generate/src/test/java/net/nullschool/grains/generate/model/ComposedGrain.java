@@ -48,6 +48,8 @@ public interface ComposedGrain
 
     ComposedGrain with(String key, Object value);
 
+    ComposedGrain with(int slot, Object value);
+
     ComposedGrain withAll(Map<? extends String, ?> map);
 
     ComposedGrain without(Object key);
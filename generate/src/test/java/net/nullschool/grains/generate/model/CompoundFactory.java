@@ -19,6 +19,8 @@ import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
 import net.nullschool.grains.ConfigurableTypePolicy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
@@ -28,6 +30,7 @@ import net.nullschool.grains.TypePolicy;
 import net.nullschool.reflect.PublicInterfaceRef;
 import net.nullschool.reflect.TypeToken;
 import net.nullschool.transform.Transform;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Compound.
@@ -54,13 +57,17 @@ public enum CompoundFactory implements GrainFactory {
         new SimpleGrainProperty("unusedParts", $token1.asType()));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[6]);
+    private static final InternPool<CompoundGrain> $INTERNED = new InternPool<>();
     private static final CompoundGrain $DEFAULT = newBuilder().build();
     public static CompoundGrain defaultValue() { return $DEFAULT; }
     public static CompoundBuilder newBuilder() { return new CompoundBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new CompoundDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public CompoundGrain getDefaultValue() { return defaultValue(); }
     public CompoundBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public CompoundGrain intern(Grain grain) { return $INTERNED.intern((CompoundGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     private static final Transform<ConstMap<String, ConstSet<PartGrain>>> $transform0 =
@@ -185,8 +192,70 @@ public enum CompoundFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getFirstPart();
+                case 1: return getPartGroups();
+                case 2: return getRemainingParts();
+                case 3: return getSecondPart();
+                case 4: return getUniqueParts();
+                case 5: return getUnusedParts();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public CompoundGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withFirstPart((PartGrain)$value);
+                case 1: return withPartGroups($transform0.apply($value));
+                case 2: return withRemainingParts($transform1.apply($value));
+                case 3: return withSecondPart((PartGrain)$value);
+                case 4: return withUniqueParts($transform2.apply($value));
+                case 5: return withUnusedParts($transform1.apply($value));
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public CompoundGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            PartGrain firstPart = this.firstPart;
+            ConstMap<String, ConstSet<PartGrain>> partGroups = this.partGroups;
+            ConstList<PartGrain> remainingParts = this.remainingParts;
+            PartGrain secondPart = this.secondPart;
+            ConstSet<PartGrain> uniqueParts = this.uniqueParts;
+            ConstList<PartGrain> unusedParts = this.unusedParts;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "firstPart":
+                        firstPart = (PartGrain)$value;
+                        break;
+                    case "partGroups":
+                        partGroups = $transform0.apply($value);
+                        break;
+                    case "remainingParts":
+                        remainingParts = $transform1.apply($value);
+                        break;
+                    case "secondPart":
+                        secondPart = (PartGrain)$value;
+                        break;
+                    case "uniqueParts":
+                        uniqueParts = $transform2.apply($value);
+                        break;
+                    case "unusedParts":
+                        unusedParts = $transform1.apply($value);
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new CompoundGrainImpl(
+                firstPart, partGroups, remainingParts, secondPart, uniqueParts, unusedParts, 
+                $newExtensions);
         }
 
         public CompoundGrain without(Object $key) {
@@ -225,6 +294,7 @@ public enum CompoundFactory implements GrainFactory {
     private static final class CompoundGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected CompoundBuilder newBuilder() { return CompoundFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return CompoundFactory.newDecoder(); }
     }
 
     /**
@@ -335,6 +405,38 @@ public enum CompoundFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getFirstPart();
+                    setFirstPart((PartGrain)$value);
+                    return $original;
+                case 1:
+                    $original = getPartGroups();
+                    setPartGroups($transform0.apply($value));
+                    return $original;
+                case 2:
+                    $original = getRemainingParts();
+                    setRemainingParts($transform1.apply($value));
+                    return $original;
+                case 3:
+                    $original = getSecondPart();
+                    setSecondPart((PartGrain)$value);
+                    return $original;
+                case 4:
+                    $original = getUniqueParts();
+                    setUniqueParts($transform2.apply($value));
+                    return $original;
+                case 5:
+                    $original = getUnusedParts();
+                    setUnusedParts($transform1.apply($value));
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -345,4 +447,55 @@ public enum CompoundFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of CompoundGrainImpl.
+     */
+    private static final class CompoundDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[6];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "firstPart":
+                    $values[0] = $value;
+                    return this;
+                case "partGroups":
+                    $values[1] = $value;
+                    return this;
+                case "remainingParts":
+                    $values[2] = $value;
+                    return this;
+                case "secondPart":
+                    $values[3] = $value;
+                    return this;
+                case "uniqueParts":
+                    $values[4] = $value;
+                    return this;
+                case "unusedParts":
+                    $values[5] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public CompoundGrain decode() {
+            return new CompoundGrainImpl(
+                (PartGrain)$values[0],
+                $transform0.apply($values[1]),
+                $transform1.apply($values[2]),
+                (PartGrain)$values[3],
+                $transform2.apply($values[4]),
+                $transform1.apply($values[5]),
+                $extensions);
+        }
+    }
 }
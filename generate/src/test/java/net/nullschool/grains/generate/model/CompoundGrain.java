@@ -54,6 +54,8 @@ public interface CompoundGrain
 
     CompoundGrain with(String key, Object value);
 
+    CompoundGrain with(int slot, Object value);
+
     CompoundGrain withAll(Map<? extends String, ?> map);
 
     CompoundGrain without(Object key);
@@ -16,12 +16,15 @@ import net.nullschool.collect.basic.BasicCollections;
 import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
 import net.nullschool.grains.GrainTools;
 import net.nullschool.grains.SimpleGrainProperty;
 import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Animal.Hydra.
@@ -36,13 +39,17 @@ public enum HydraFactory implements GrainFactory {
         new SimpleGrainProperty("legCount", int.class));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[3]);
+    private static final InternPool<HydraGrain> $INTERNED = new InternPool<>();
     private static final HydraGrain $DEFAULT = newBuilder().build();
     public static HydraGrain defaultValue() { return $DEFAULT; }
     public static HydraBuilder newBuilder() { return new HydraBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new HydraDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public HydraGrain getDefaultValue() { return defaultValue(); }
     public HydraBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public HydraGrain intern(Grain grain) { return $INTERNED.intern((HydraGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     /**
@@ -126,8 +133,52 @@ public enum HydraFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getId();
+                case 1: return getAge();
+                case 2: return getLegCount();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public HydraGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withId((String)$value);
+                case 1: return withAge($value == null ? 0 : (int)$value);
+                case 2: return withLegCount($value == null ? 0 : (int)$value);
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public HydraGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            String id = this.id;
+            int age = this.age;
+            int legCount = this.legCount;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "id":
+                        id = (String)$value;
+                        break;
+                    case "age":
+                        age = $value == null ? 0 : (int)$value;
+                        break;
+                    case "legCount":
+                        legCount = $value == null ? 0 : (int)$value;
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new HydraGrainImpl(
+                id, age, legCount, 
+                $newExtensions);
         }
 
         public HydraGrain without(Object $key) {
@@ -163,6 +214,7 @@ public enum HydraFactory implements GrainFactory {
     private static final class HydraGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected HydraBuilder newBuilder() { return HydraFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return HydraFactory.newDecoder(); }
     }
 
     /**
@@ -237,6 +289,26 @@ public enum HydraFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getId();
+                    setId((String)$value);
+                    return $original;
+                case 1:
+                    $original = getAge();
+                    setAge($value == null ? 0 : (int)$value);
+                    return $original;
+                case 2:
+                    $original = getLegCount();
+                    setLegCount($value == null ? 0 : (int)$value);
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -247,4 +319,43 @@ public enum HydraFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of HydraGrainImpl.
+     */
+    private static final class HydraDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[3];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "id":
+                    $values[0] = $value;
+                    return this;
+                case "age":
+                    $values[1] = $value;
+                    return this;
+                case "legCount":
+                    $values[2] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public HydraGrain decode() {
+            return new HydraGrainImpl(
+                (String)$values[0],
+                $values[1] == null ? 0 : (int)$values[1],
+                $values[2] == null ? 0 : (int)$values[2],
+                $extensions);
+        }
+    }
 }
@@ -40,6 +40,8 @@ public interface HydraGrain
 
     HydraGrain with(String key, Object value);
 
+    HydraGrain with(int slot, Object value);
+
     HydraGrain withAll(Map<? extends String, ?> map);
 
     HydraGrain without(Object key);
@@ -20,12 +20,15 @@ import net.nullschool.collect.basic.BasicCollections;
 import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
 import net.nullschool.grains.GrainTools;
 import net.nullschool.grains.SimpleGrainProperty;
 import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Intrinsics.
@@ -63,13 +66,17 @@ public enum IntrinsicsFactory implements GrainFactory {
         new SimpleGrainProperty("ボックス化バイト", Byte.class));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[26]);
+    private static final InternPool<IntrinsicsGrain> $INTERNED = new InternPool<>();
     private static final IntrinsicsGrain $DEFAULT = newBuilder().build();
     public static IntrinsicsGrain defaultValue() { return $DEFAULT; }
     public static IntrinsicsBuilder newBuilder() { return new IntrinsicsBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new IntrinsicsDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public IntrinsicsGrain getDefaultValue() { return defaultValue(); }
     public IntrinsicsBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public IntrinsicsGrain intern(Grain grain) { return $INTERNED.intern((IntrinsicsGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     /**
@@ -464,8 +471,192 @@ public enum IntrinsicsFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getId();
+                case 1: return get$float();
+                case 2: return get0();
+                case 3: return get_char();
+                case 4: return getBigDecimal();
+                case 5: return getBigInteger();
+                case 6: return isBoolean();
+                case 7: return getBoxedBoolean();
+                case 8: return getBoxedDouble();
+                case 9: return getBoxedFloat();
+                case 10: return getBoxedLong();
+                case 11: return getBoxedShort();
+                case 12: return getByte();
+                case 13: return getChar();
+                case 14: return getCharacter();
+                case 15: return getDouble();
+                case 16: return getEnum();
+                case 17: return getFloat();
+                case 18: return getInt();
+                case 19: return getInteger();
+                case 20: return getLong();
+                case 21: return getShort();
+                case 22: return getString();
+                case 23: return getURI();
+                case 24: return getUUID();
+                case 25: return getボックス化バイト();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public IntrinsicsGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withId((String)$value);
+                case 1: return with$float($value == null ? 0 : (float)$value);
+                case 2: return with0($value == null ? 0 : (int)$value);
+                case 3: return with_char($value == null ? 0 : (char)$value);
+                case 4: return withBigDecimal((BigDecimal)$value);
+                case 5: return withBigInteger((BigInteger)$value);
+                case 6: return withBoolean($value == null ? false : (boolean)$value);
+                case 7: return withBoxedBoolean((Boolean)$value);
+                case 8: return withBoxedDouble((Double)$value);
+                case 9: return withBoxedFloat((Float)$value);
+                case 10: return withBoxedLong((Long)$value);
+                case 11: return withBoxedShort((Short)$value);
+                case 12: return withByte($value == null ? 0 : (byte)$value);
+                case 13: return withChar($value == null ? 0 : (char)$value);
+                case 14: return withCharacter((Character)$value);
+                case 15: return withDouble($value == null ? 0 : (double)$value);
+                case 16: return withEnum((Intrinsics.Color$)$value);
+                case 17: return withFloat($value == null ? 0 : (float)$value);
+                case 18: return withInt($value == null ? 0 : (int)$value);
+                case 19: return withInteger((Integer)$value);
+                case 20: return withLong($value == null ? 0 : (long)$value);
+                case 21: return withShort($value == null ? 0 : (short)$value);
+                case 22: return withString((String)$value);
+                case 23: return withURI((URI)$value);
+                case 24: return withUUID((UUID)$value);
+                case 25: return withボックス化バイト((Byte)$value);
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public IntrinsicsGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            String id = this.id;
+            float _$float = this._$float;
+            int _0 = this._0;
+            char __char = this.__char;
+            BigDecimal bigDecimal = this.bigDecimal;
+            BigInteger bigInteger = this.bigInteger;
+            boolean _boolean = this._boolean;
+            Boolean boxedBoolean = this.boxedBoolean;
+            Double boxedDouble = this.boxedDouble;
+            Float boxedFloat = this.boxedFloat;
+            Long boxedLong = this.boxedLong;
+            Short boxedShort = this.boxedShort;
+            byte _byte = this._byte;
+            char _char = this._char;
+            Character character = this.character;
+            double _double = this._double;
+            Intrinsics.Color$ _enum = this._enum;
+            float _float = this._float;
+            int _int = this._int;
+            Integer integer = this.integer;
+            long _long = this._long;
+            short _short = this._short;
+            String string = this.string;
+            URI URI = this.URI;
+            UUID UUID = this.UUID;
+            Byte ボックス化バイト = this.ボックス化バイト;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "id":
+                        id = (String)$value;
+                        break;
+                    case "$float":
+                        _$float = $value == null ? 0 : (float)$value;
+                        break;
+                    case "0":
+                        _0 = $value == null ? 0 : (int)$value;
+                        break;
+                    case "_char":
+                        __char = $value == null ? 0 : (char)$value;
+                        break;
+                    case "bigDecimal":
+                        bigDecimal = (BigDecimal)$value;
+                        break;
+                    case "bigInteger":
+                        bigInteger = (BigInteger)$value;
+                        break;
+                    case "boolean":
+                        _boolean = $value == null ? false : (boolean)$value;
+                        break;
+                    case "boxedBoolean":
+                        boxedBoolean = (Boolean)$value;
+                        break;
+                    case "boxedDouble":
+                        boxedDouble = (Double)$value;
+                        break;
+                    case "boxedFloat":
+                        boxedFloat = (Float)$value;
+                        break;
+                    case "boxedLong":
+                        boxedLong = (Long)$value;
+                        break;
+                    case "boxedShort":
+                        boxedShort = (Short)$value;
+                        break;
+                    case "byte":
+                        _byte = $value == null ? 0 : (byte)$value;
+                        break;
+                    case "char":
+                        _char = $value == null ? 0 : (char)$value;
+                        break;
+                    case "character":
+                        character = (Character)$value;
+                        break;
+                    case "double":
+                        _double = $value == null ? 0 : (double)$value;
+                        break;
+                    case "enum":
+                        _enum = (Intrinsics.Color$)$value;
+                        break;
+                    case "float":
+                        _float = $value == null ? 0 : (float)$value;
+                        break;
+                    case "int":
+                        _int = $value == null ? 0 : (int)$value;
+                        break;
+                    case "integer":
+                        integer = (Integer)$value;
+                        break;
+                    case "long":
+                        _long = $value == null ? 0 : (long)$value;
+                        break;
+                    case "short":
+                        _short = $value == null ? 0 : (short)$value;
+                        break;
+                    case "string":
+                        string = (String)$value;
+                        break;
+                    case "URI":
+                        URI = (URI)$value;
+                        break;
+                    case "UUID":
+                        UUID = (UUID)$value;
+                        break;
+                    case "ボックス化バイト":
+                        ボックス化バイト = (Byte)$value;
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new IntrinsicsGrainImpl(
+                id, _$float, _0, __char, bigDecimal, bigInteger, _boolean, boxedBoolean, boxedDouble, 
+                boxedFloat, boxedLong, boxedShort, _byte, _char, character, _double, _enum, _float, 
+                _int, integer, _long, _short, string, URI, UUID, ボックス化バイト, 
+                $newExtensions);
         }
 
         public IntrinsicsGrain without(Object $key) {
@@ -524,6 +715,7 @@ public enum IntrinsicsFactory implements GrainFactory {
     private static final class IntrinsicsGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected IntrinsicsBuilder newBuilder() { return IntrinsicsFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return IntrinsicsFactory.newDecoder(); }
     }
 
     /**
@@ -874,6 +1066,118 @@ public enum IntrinsicsFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getId();
+                    setId((String)$value);
+                    return $original;
+                case 1:
+                    $original = get$float();
+                    set$float($value == null ? 0 : (float)$value);
+                    return $original;
+                case 2:
+                    $original = get0();
+                    set0($value == null ? 0 : (int)$value);
+                    return $original;
+                case 3:
+                    $original = get_char();
+                    set_char($value == null ? 0 : (char)$value);
+                    return $original;
+                case 4:
+                    $original = getBigDecimal();
+                    setBigDecimal((BigDecimal)$value);
+                    return $original;
+                case 5:
+                    $original = getBigInteger();
+                    setBigInteger((BigInteger)$value);
+                    return $original;
+                case 6:
+                    $original = isBoolean();
+                    setBoolean($value == null ? false : (boolean)$value);
+                    return $original;
+                case 7:
+                    $original = getBoxedBoolean();
+                    setBoxedBoolean((Boolean)$value);
+                    return $original;
+                case 8:
+                    $original = getBoxedDouble();
+                    setBoxedDouble((Double)$value);
+                    return $original;
+                case 9:
+                    $original = getBoxedFloat();
+                    setBoxedFloat((Float)$value);
+                    return $original;
+                case 10:
+                    $original = getBoxedLong();
+                    setBoxedLong((Long)$value);
+                    return $original;
+                case 11:
+                    $original = getBoxedShort();
+                    setBoxedShort((Short)$value);
+                    return $original;
+                case 12:
+                    $original = getByte();
+                    setByte($value == null ? 0 : (byte)$value);
+                    return $original;
+                case 13:
+                    $original = getChar();
+                    setChar($value == null ? 0 : (char)$value);
+                    return $original;
+                case 14:
+                    $original = getCharacter();
+                    setCharacter((Character)$value);
+                    return $original;
+                case 15:
+                    $original = getDouble();
+                    setDouble($value == null ? 0 : (double)$value);
+                    return $original;
+                case 16:
+                    $original = getEnum();
+                    setEnum((Intrinsics.Color$)$value);
+                    return $original;
+                case 17:
+                    $original = getFloat();
+                    setFloat($value == null ? 0 : (float)$value);
+                    return $original;
+                case 18:
+                    $original = getInt();
+                    setInt($value == null ? 0 : (int)$value);
+                    return $original;
+                case 19:
+                    $original = getInteger();
+                    setInteger((Integer)$value);
+                    return $original;
+                case 20:
+                    $original = getLong();
+                    setLong($value == null ? 0 : (long)$value);
+                    return $original;
+                case 21:
+                    $original = getShort();
+                    setShort($value == null ? 0 : (short)$value);
+                    return $original;
+                case 22:
+                    $original = getString();
+                    setString((String)$value);
+                    return $original;
+                case 23:
+                    $original = getURI();
+                    setURI((URI)$value);
+                    return $original;
+                case 24:
+                    $original = getUUID();
+                    setUUID((UUID)$value);
+                    return $original;
+                case 25:
+                    $original = getボックス化バイト();
+                    setボックス化バイト((Byte)$value);
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -886,4 +1190,135 @@ public enum IntrinsicsFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of IntrinsicsGrainImpl.
+     */
+    private static final class IntrinsicsDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[26];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "id":
+                    $values[0] = $value;
+                    return this;
+                case "$float":
+                    $values[1] = $value;
+                    return this;
+                case "0":
+                    $values[2] = $value;
+                    return this;
+                case "_char":
+                    $values[3] = $value;
+                    return this;
+                case "bigDecimal":
+                    $values[4] = $value;
+                    return this;
+                case "bigInteger":
+                    $values[5] = $value;
+                    return this;
+                case "boolean":
+                    $values[6] = $value;
+                    return this;
+                case "boxedBoolean":
+                    $values[7] = $value;
+                    return this;
+                case "boxedDouble":
+                    $values[8] = $value;
+                    return this;
+                case "boxedFloat":
+                    $values[9] = $value;
+                    return this;
+                case "boxedLong":
+                    $values[10] = $value;
+                    return this;
+                case "boxedShort":
+                    $values[11] = $value;
+                    return this;
+                case "byte":
+                    $values[12] = $value;
+                    return this;
+                case "char":
+                    $values[13] = $value;
+                    return this;
+                case "character":
+                    $values[14] = $value;
+                    return this;
+                case "double":
+                    $values[15] = $value;
+                    return this;
+                case "enum":
+                    $values[16] = $value;
+                    return this;
+                case "float":
+                    $values[17] = $value;
+                    return this;
+                case "int":
+                    $values[18] = $value;
+                    return this;
+                case "integer":
+                    $values[19] = $value;
+                    return this;
+                case "long":
+                    $values[20] = $value;
+                    return this;
+                case "short":
+                    $values[21] = $value;
+                    return this;
+                case "string":
+                    $values[22] = $value;
+                    return this;
+                case "URI":
+                    $values[23] = $value;
+                    return this;
+                case "UUID":
+                    $values[24] = $value;
+                    return this;
+                case "ボックス化バイト":
+                    $values[25] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public IntrinsicsGrain decode() {
+            return new IntrinsicsGrainImpl(
+                (String)$values[0],
+                $values[1] == null ? 0 : (float)$values[1],
+                $values[2] == null ? 0 : (int)$values[2],
+                $values[3] == null ? 0 : (char)$values[3],
+                (BigDecimal)$values[4],
+                (BigInteger)$values[5],
+                $values[6] == null ? false : (boolean)$values[6],
+                (Boolean)$values[7],
+                (Double)$values[8],
+                (Float)$values[9],
+                (Long)$values[10],
+                (Short)$values[11],
+                $values[12] == null ? 0 : (byte)$values[12],
+                $values[13] == null ? 0 : (char)$values[13],
+                (Character)$values[14],
+                $values[15] == null ? 0 : (double)$values[15],
+                (Intrinsics.Color$)$values[16],
+                $values[17] == null ? 0 : (float)$values[17],
+                $values[18] == null ? 0 : (int)$values[18],
+                (Integer)$values[19],
+                $values[20] == null ? 0 : (long)$values[20],
+                $values[21] == null ? 0 : (short)$values[21],
+                (String)$values[22],
+                (URI)$values[23],
+                (UUID)$values[24],
+                (Byte)$values[25],
+                $extensions);
+        }
+    }
 }
@@ -136,6 +136,8 @@ public interface IntrinsicsGrain
 
     IntrinsicsGrain with(String key, Object value);
 
+    IntrinsicsGrain with(int slot, Object value);
+
     IntrinsicsGrain withAll(Map<? extends String, ?> map);
 
     IntrinsicsGrain without(Object key);
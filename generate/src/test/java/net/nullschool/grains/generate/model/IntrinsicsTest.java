@@ -16,6 +16,7 @@
 
 package net.nullschool.grains.generate.model;
 
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import org.junit.Test;
 
@@ -23,12 +24,14 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
 import static org.junit.Assert.assertEquals;
 
 import static net.nullschool.collect.CollectionTestingTools.*;
+import static net.nullschool.grains.GrainTools.slotOf;
 
 
 
@@ -283,6 +286,92 @@ public class IntrinsicsTest {
         assertSame(builder.getString(), builder.get("string"));
     }
 
+    @Test
+    public void test_slots() {
+        IntrinsicsGrain sample = newConstWithSampleValues();
+        IntrinsicsGrain grain = IntrinsicsFactory.defaultValue();
+        IntrinsicsBuilder builder = IntrinsicsFactory.newBuilder();
+        int slot = 0;
+        for (String key : newBasisAsPlainMap().keySet()) {
+            assertEquals(slot, slotOf(IntrinsicsFactory.INSTANCE, key));
+            assertEquals(sample.get(key), sample.get(slot));
+            grain = grain.with(slot, sample.get(key));
+            assertEquals(IntrinsicsFactory.defaultValue().get(key), builder.put(slot, sample.get(key)));
+            slot++;
+        }
+        assertEquals(sample, grain);
+        assertEquals(sample, builder.build());
+        assertEquals(0, sample.with(slotOf(IntrinsicsFactory.INSTANCE, "int"), null).getInt());
+        assertEquals(-1, slotOf(IntrinsicsFactory.INSTANCE, "foo"));
+    }
+
+    @Test
+    public void test_withAll() {
+        LinkedHashMap<String, Object> map = newSampleValuesAsPlainMap();
+        map.put("x", 1);
+        IntrinsicsGrain grain = IntrinsicsFactory.defaultValue().withAll(map);
+        compare_maps(map, grain);
+        assertEquals(newConstWithSampleValues().with("x", 1), grain);
+        assertEquals(IntrinsicsFactory.newBuilder().build().with("x", 1), grain.withAll(newBasisAsPlainMap()));
+
+        map = new LinkedHashMap<>();
+        map.put("int", null);
+        map.put("string", null);
+        IntrinsicsGrain grainWithDefaults = IntrinsicsFactory.defaultValue().withInt(5).withString("a").withAll(map);
+        assertEquals(IntrinsicsFactory.defaultValue(), grainWithDefaults);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test_withAll_wrong_type() {
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        map.put("int", "1");
+        IntrinsicsFactory.defaultValue().withAll(map);
+    }
+
+    @Test
+    public void test_decoder() {
+        assertEquals(IntrinsicsFactory.defaultValue(), IntrinsicsFactory.newDecoder().decode());
+
+        GrainDecoder decoder = IntrinsicsFactory.newDecoder();
+        int slot = 0;
+        for (Map.Entry<String, Object> entry : newSampleValuesAsPlainMap().entrySet()) {
+            if (slot++ % 2 == 0) {
+                decoder.put(entry.getKey(), entry.getValue());
+            }
+            else {
+                decoder.put(slotOf(IntrinsicsFactory.INSTANCE, entry.getKey()), entry.getValue());
+            }
+        }
+        decoder.put("x", 1);
+        IntrinsicsGrain grain = (IntrinsicsGrain)decoder.decode();
+        assertEquals(newConstWithSampleValues().with("x", 1), grain);
+        assertSame(IntrinsicsFactory.defaultValue().getClass(), grain.getClass());
+
+        decoder = IntrinsicsFactory.INSTANCE.getNewDecoder().put("int", null).put("string", "a");
+        grain = (IntrinsicsGrain)decoder.decode();
+        assertEquals(IntrinsicsFactory.defaultValue().withString("a"), grain);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void test_decoder_wrong_type() {
+        IntrinsicsFactory.newDecoder().put("int", "1").decode();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_get_bad_slot() {
+        IntrinsicsFactory.defaultValue().get(26);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_with_bad_slot() {
+        IntrinsicsFactory.defaultValue().with(-1, null);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_put_bad_slot() {
+        IntrinsicsFactory.newBuilder().put(26, null);
+    }
+
     @Test
     public void test_builder_put_null_of_static_key() {
         IntrinsicsBuilder builder = IntrinsicsFactory.newBuilder();
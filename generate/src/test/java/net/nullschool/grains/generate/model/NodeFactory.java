@@ -16,12 +16,15 @@ import net.nullschool.collect.basic.BasicCollections;
 import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
 import net.nullschool.grains.GrainTools;
 import net.nullschool.grains.SimpleGrainProperty;
 import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Complete.Node.
@@ -35,13 +38,17 @@ public enum NodeFactory implements GrainFactory {
         new SimpleGrainProperty("complete", CompleteGrain.class));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[2]);
+    private static final InternPool<NodeGrain> $INTERNED = new InternPool<>();
     private static final NodeGrain $DEFAULT = newBuilder().build();
     public static NodeGrain defaultValue() { return $DEFAULT; }
     public static NodeBuilder newBuilder() { return new NodeBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new NodeDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public NodeGrain getDefaultValue() { return defaultValue(); }
     public NodeBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public NodeGrain intern(Grain grain) { return $INTERNED.intern((NodeGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     /**
@@ -114,8 +121,46 @@ public enum NodeFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getId();
+                case 1: return getComplete();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public NodeGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withId($value == null ? 0 : (int)$value);
+                case 1: return withComplete((CompleteGrain)$value);
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public NodeGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            int id = this.id;
+            CompleteGrain complete = this.complete;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "id":
+                        id = $value == null ? 0 : (int)$value;
+                        break;
+                    case "complete":
+                        complete = (CompleteGrain)$value;
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new NodeGrainImpl(
+                id, complete, 
+                $newExtensions);
         }
 
         public NodeGrain without(Object $key) {
@@ -150,6 +195,7 @@ public enum NodeFactory implements GrainFactory {
     private static final class NodeGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected NodeBuilder newBuilder() { return NodeFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return NodeFactory.newDecoder(); }
     }
 
     /**
@@ -212,6 +258,22 @@ public enum NodeFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getId();
+                    setId($value == null ? 0 : (int)$value);
+                    return $original;
+                case 1:
+                    $original = getComplete();
+                    setComplete((CompleteGrain)$value);
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -222,4 +284,39 @@ public enum NodeFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of NodeGrainImpl.
+     */
+    private static final class NodeDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[2];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "id":
+                    $values[0] = $value;
+                    return this;
+                case "complete":
+                    $values[1] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public NodeGrain decode() {
+            return new NodeGrainImpl(
+                $values[0] == null ? 0 : (int)$values[0],
+                (CompleteGrain)$values[1],
+                $extensions);
+        }
+    }
 }
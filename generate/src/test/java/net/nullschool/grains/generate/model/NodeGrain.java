@@ -36,6 +36,8 @@ public interface NodeGrain
 
     NodeGrain with(String key, Object value);
 
+    NodeGrain with(int slot, Object value);
+
     NodeGrain withAll(Map<? extends String, ?> map);
 
     NodeGrain without(Object key);
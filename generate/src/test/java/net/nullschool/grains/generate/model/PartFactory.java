@@ -16,12 +16,15 @@ import net.nullschool.collect.basic.BasicCollections;
 import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
 import net.nullschool.grains.GrainTools;
 import net.nullschool.grains.SimpleGrainProperty;
 import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Compound.Part.
@@ -35,13 +38,17 @@ public enum PartFactory implements GrainFactory {
         new SimpleGrainProperty("model", int.class));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[2]);
+    private static final InternPool<PartGrain> $INTERNED = new InternPool<>();
     private static final PartGrain $DEFAULT = newBuilder().build();
     public static PartGrain defaultValue() { return $DEFAULT; }
     public static PartBuilder newBuilder() { return new PartBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new PartDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public PartGrain getDefaultValue() { return defaultValue(); }
     public PartBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public PartGrain intern(Grain grain) { return $INTERNED.intern((PartGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     /**
@@ -114,8 +121,46 @@ public enum PartFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getMake();
+                case 1: return getModel();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public PartGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withMake($value == null ? 0 : (int)$value);
+                case 1: return withModel($value == null ? 0 : (int)$value);
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public PartGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            int make = this.make;
+            int model = this.model;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "make":
+                        make = $value == null ? 0 : (int)$value;
+                        break;
+                    case "model":
+                        model = $value == null ? 0 : (int)$value;
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new PartGrainImpl(
+                make, model, 
+                $newExtensions);
         }
 
         public PartGrain without(Object $key) {
@@ -150,6 +195,7 @@ public enum PartFactory implements GrainFactory {
     private static final class PartGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected PartBuilder newBuilder() { return PartFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return PartFactory.newDecoder(); }
     }
 
     /**
@@ -212,6 +258,22 @@ public enum PartFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getMake();
+                    setMake($value == null ? 0 : (int)$value);
+                    return $original;
+                case 1:
+                    $original = getModel();
+                    setModel($value == null ? 0 : (int)$value);
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -222,4 +284,39 @@ public enum PartFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of PartGrainImpl.
+     */
+    private static final class PartDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[2];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "make":
+                    $values[0] = $value;
+                    return this;
+                case "model":
+                    $values[1] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public PartGrain decode() {
+            return new PartGrainImpl(
+                $values[0] == null ? 0 : (int)$values[0],
+                $values[1] == null ? 0 : (int)$values[1],
+                $extensions);
+        }
+    }
 }
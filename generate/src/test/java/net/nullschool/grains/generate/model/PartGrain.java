@@ -36,6 +36,8 @@ public interface PartGrain
 
     PartGrain with(String key, Object value);
 
+    PartGrain with(int slot, Object value);
+
     PartGrain withAll(Map<? extends String, ?> map);
 
     PartGrain without(Object key);
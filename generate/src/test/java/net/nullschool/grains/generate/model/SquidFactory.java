@@ -16,12 +16,15 @@ import net.nullschool.collect.basic.BasicCollections;
 import net.nullschool.grains.AbstractGrain;
 import net.nullschool.grains.AbstractGrainBuilder;
 import net.nullschool.grains.AbstractGrainProxy;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainDecoder;
 import net.nullschool.grains.GrainFactory;
 import net.nullschool.grains.GrainFactoryRef;
 import net.nullschool.grains.GrainProperty;
 import net.nullschool.grains.GrainTools;
 import net.nullschool.grains.SimpleGrainProperty;
 import net.nullschool.reflect.PublicInterfaceRef;
+import net.nullschool.util.InternPool;
 
 /**
  * Factory for constructing Grain instances of Animal.Squid.
@@ -36,13 +39,17 @@ public enum SquidFactory implements GrainFactory {
         new SimpleGrainProperty("legCount", int.class));
 
     private static final String[] $KEYS = $PROPERTIES.keySet().toArray(new String[3]);
+    private static final InternPool<SquidGrain> $INTERNED = new InternPool<>();
     private static final SquidGrain $DEFAULT = newBuilder().build();
     public static SquidGrain defaultValue() { return $DEFAULT; }
     public static SquidBuilder newBuilder() { return new SquidBuilderImpl(); }
+    public static GrainDecoder newDecoder() { return new SquidDecoderImpl(); }
 
     public ConstMap<String, GrainProperty> getBasisProperties() { return $PROPERTIES; }
     public SquidGrain getDefaultValue() { return defaultValue(); }
     public SquidBuilder getNewBuilder() { return newBuilder(); }
+    public GrainDecoder getNewDecoder() { return newDecoder(); }
+    public SquidGrain intern(Grain grain) { return $INTERNED.intern((SquidGrain)grain); }
     public String toString() { return getClass().getName(); }
 
     /**
@@ -126,8 +133,52 @@ public enum SquidFactory implements GrainFactory {
             return with($key, $value, false);
         }
 
+        public Object get(int $slot) {
+            switch ($slot) {
+                case 0: return getId();
+                case 1: return isGiant();
+                case 2: return getLegCount();
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
+        public SquidGrain with(int $slot, Object $value) {
+            switch ($slot) {
+                case 0: return withId((String)$value);
+                case 1: return withGiant($value == null ? false : (boolean)$value);
+                case 2: return withLegCount($value == null ? 0 : (int)$value);
+                default: throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public SquidGrain withAll(Map<? extends String, ?> $map) {
-            return $map.isEmpty() ? this : MapTools.putAll(newBuilder(), $map).build();
+            if ($map.isEmpty()) {
+                return this;
+            }
+            String id = this.id;
+            boolean giant = this.giant;
+            int legCount = this.legCount;
+            ConstSortedMap<String, Object> $newExtensions = $extensions;
+            for (Map.Entry<? extends String, ?> $entry : $map.entrySet()) {
+                String $key = $entry.getKey();
+                Object $value = $entry.getValue();
+                switch ($key) {
+                    case "id":
+                        id = (String)$value;
+                        break;
+                    case "giant":
+                        giant = $value == null ? false : (boolean)$value;
+                        break;
+                    case "legCount":
+                        legCount = $value == null ? 0 : (int)$value;
+                        break;
+                    default:
+                        $newExtensions = $newExtensions.with($key, $value);
+                }
+            }
+            return new SquidGrainImpl(
+                id, giant, legCount, 
+                $newExtensions);
         }
 
         public SquidGrain without(Object $key) {
@@ -163,6 +214,7 @@ public enum SquidFactory implements GrainFactory {
     private static final class SquidGrainProxy extends AbstractGrainProxy {
         private static final long serialVersionUID = 1;
         protected SquidBuilder newBuilder() { return SquidFactory.newBuilder(); }
+        protected GrainDecoder newDecoder() { return SquidFactory.newDecoder(); }
     }
 
     /**
@@ -237,6 +289,26 @@ public enum SquidFactory implements GrainFactory {
             return put($key, $value, false);
         }
 
+        public Object put(int $slot, Object $value) {
+            Object $original;
+            switch ($slot) {
+                case 0:
+                    $original = getId();
+                    setId((String)$value);
+                    return $original;
+                case 1:
+                    $original = isGiant();
+                    setGiant($value == null ? false : (boolean)$value);
+                    return $original;
+                case 2:
+                    $original = getLegCount();
+                    setLegCount($value == null ? 0 : (int)$value);
+                    return $original;
+                default:
+                    throw new IndexOutOfBoundsException(String.valueOf($slot));
+            }
+        }
+
         public Object remove(Object $key) {
             return put((String)$key, null, true);
         }
@@ -247,4 +319,43 @@ public enum SquidFactory implements GrainFactory {
                 BasicCollections.asSortedMap($extensions));
         }
     }
+
+    /**
+     * Code generated decoder for constructing instances of SquidGrainImpl.
+     */
+    private static final class SquidDecoderImpl implements GrainDecoder {
+
+        private final Object[] $values = new Object[3];
+        private ConstSortedMap<String, Object> $extensions = BasicCollections.emptySortedMap(null);
+
+        public GrainDecoder put(String $key, Object $value) {
+            switch ($key) {
+                case "id":
+                    $values[0] = $value;
+                    return this;
+                case "giant":
+                    $values[1] = $value;
+                    return this;
+                case "legCount":
+                    $values[2] = $value;
+                    return this;
+                default:
+                    $extensions = $extensions.with($key, $value);
+                    return this;
+            }
+        }
+
+        public GrainDecoder put(int $slot, Object $value) {
+            $values[$slot] = $value;
+            return this;
+        }
+
+        public SquidGrain decode() {
+            return new SquidGrainImpl(
+                (String)$values[0],
+                $values[1] == null ? false : (boolean)$values[1],
+                $values[2] == null ? 0 : (int)$values[2],
+                $extensions);
+        }
+    }
 }
@@ -40,6 +40,8 @@ public interface SquidGrain
 
     SquidGrain with(String key, Object value);
 
+    SquidGrain with(int slot, Object value);
+
     SquidGrain withAll(Map<? extends String, ?> map);
 
     SquidGrain without(Object key);
@@ -43,4 +43,29 @@ public final class JacksonTools {
         mapper.registerModule(new GrainsModule());
         return mapper;
     }
+
+    /**
+     * Configures the provided ObjectMapper, already {@link #configureForGrains configured for Grains}, to intern
+     * each grain and const collection it deserializes. See {@link InterningModule}.
+     *
+     * @param mapper the mapper to configure.
+     * @return the same mapper.
+     */
+    public static ObjectMapper configureForInterning(ObjectMapper mapper) {
+        mapper.registerModule(new InterningModule());
+        return mapper;
+    }
+
+    /**
+     * Configures the provided ObjectMapper, already {@link #configureForGrains configured for Grains}, to write
+     * sets of enums or Integers that are bit sets as single numbers, and to read such sets from either numbers or
+     * arrays. See {@link BitmaskSetModule}.
+     *
+     * @param mapper the mapper to configure.
+     * @return the same mapper.
+     */
+    public static ObjectMapper configureForBitmaskSets(ObjectMapper mapper) {
+        mapper.registerModule(new BitmaskSetModule());
+        return mapper;
+    }
 }
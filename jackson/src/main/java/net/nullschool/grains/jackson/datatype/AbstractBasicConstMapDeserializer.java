@@ -23,10 +23,9 @@ import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapType;
+import net.nullschool.collect.ConstMapBuilder;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 
 /**
@@ -34,7 +33,8 @@ import java.util.List;
  *
  * @author Cameron Beccario
  */
-abstract class AbstractBasicConstMapDeserializer<T> extends StdDeserializer<T> implements ContextualDeserializer {
+abstract class AbstractBasicConstMapDeserializer<T, B extends ConstMapBuilder<Object, Object>>
+    extends StdDeserializer<T> implements ContextualDeserializer {
 
     private static final long serialVersionUID = 1;
 
@@ -91,7 +91,9 @@ abstract class AbstractBasicConstMapDeserializer<T> extends StdDeserializer<T> i
 
     abstract T resultOf(Object key, Object value);
 
-    abstract T asResult(List<Object> keys, List<Object> values);
+    abstract B newBuilder();
+
+    abstract T asResult(B builder);
 
     @Override public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
         JsonToken token = jp.getCurrentToken();
@@ -110,8 +112,7 @@ abstract class AbstractBasicConstMapDeserializer<T> extends StdDeserializer<T> i
         JsonDeserializer<?> vd = valueDeserializer;
         TypeDeserializer vtd = valueTypeDeserializer;
 
-        List<Object> keys = null;
-        List<Object> values = null;
+        B builder = null;
         Object key;
         Object value;
         do {
@@ -124,17 +125,15 @@ abstract class AbstractBasicConstMapDeserializer<T> extends StdDeserializer<T> i
                 null;
 
             token = jp.nextToken();
-            if (keys == null) {
+            if (builder == null) {
                 if (token == JsonToken.END_OBJECT) {
                     return resultOf(key, value);
                 }
-                keys = new ArrayList<>();
-                values = new ArrayList<>();
+                builder = newBuilder();
             }
-            keys.add(key);
-            values.add(value);
+            builder.put(key, value);
         } while (token != JsonToken.END_OBJECT);
 
-        return asResult(keys, values);
+        return asResult(builder);
     }
 }
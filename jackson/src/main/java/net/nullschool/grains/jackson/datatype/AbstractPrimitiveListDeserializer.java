@@ -0,0 +1,92 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import net.nullschool.collect.ConstList;
+
+import java.io.IOException;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Base class for deserializers of the primitive lists: ConstIntList, ConstLongList, and ConstDoubleList. A JSON
+ * array is read directly into a growing primitive array of type {@code A}, where subclasses parse each element
+ * without boxing it.
+ *
+ * @author Cameron Beccario
+ */
+abstract class AbstractPrimitiveListDeserializer<L extends ConstList<?>, A> extends StdDeserializer<L> {
+
+    private static final long serialVersionUID = 1;
+
+
+    AbstractPrimitiveListDeserializer(Class<L> vc) {
+        super(vc);
+    }
+
+    /**
+     * Returns a new primitive array of the specified length.
+     */
+    abstract A newArray(int length);
+
+    /**
+     * Parses the current token as an unboxed element and stores it in the array at the specified index.
+     */
+    abstract void parseElement(JsonParser jp, DeserializationContext ctxt, A elements, int index) throws IOException;
+
+    /**
+     * Returns a list of the first {@code size} elements of the array, where size is greater than zero.
+     */
+    abstract L newList(A elements, int size);
+
+    /**
+     * Returns the empty list.
+     */
+    abstract L emptyList();
+
+    @Override public Object deserializeWithType(
+        JsonParser jp,
+        DeserializationContext ctxt,
+        TypeDeserializer typeDeserializer) throws IOException {
+
+        return typeDeserializer.deserializeTypedFromArray(jp, ctxt);
+    }
+
+    @Override public L deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw ctxt.mappingException(getValueClass());
+        }
+
+        int capacity = 8;
+        A elements = newArray(capacity);
+        int size = 0;
+        while (jp.nextToken() != JsonToken.END_ARRAY) {
+            if (size == capacity) {
+                A larger = newArray(capacity *= 2);
+                System.arraycopy(elements, 0, larger, 0, size);
+                elements = larger;
+            }
+            parseElement(jp, ctxt, elements, size++);
+        }
+        return size == 0 ? emptyList() : newList(elements, size);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import net.nullschool.collect.ConstList;
+
+import java.io.IOException;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Base class for serializers of the primitive lists: ConstIntList, ConstLongList, and ConstDoubleList. Lists are
+ * written as JSON arrays of numbers, where subclasses write the elements unboxed.
+ *
+ * @author Cameron Beccario
+ */
+abstract class AbstractPrimitiveListSerializer<L extends ConstList<?>> extends StdSerializer<L> {
+
+    AbstractPrimitiveListSerializer(Class<L> t) {
+        super(t);
+    }
+
+    /**
+     * Writes the first {@code size} elements of the list as JSON numbers, unboxed.
+     */
+    abstract void writeElements(JsonGenerator jgen, L list, int size) throws IOException;
+
+    @Override public void serialize(L list, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        jgen.writeStartArray();
+        writeElements(jgen, list, list.size());
+        jgen.writeEndArray();
+    }
+}
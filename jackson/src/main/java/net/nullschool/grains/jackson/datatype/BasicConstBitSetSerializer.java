@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import net.nullschool.collect.ConstSet;
+import net.nullschool.collect.basic.BasicConstBitSet;
+
+import java.io.IOException;
+
+
+/**
+ * 2013-07-02<p/>
+ *
+ * Serializes a ConstSet of enums or Integers as a JSON number when the set is a {@link BasicConstBitSet} of the
+ * declared element type, and as a JSON array of its elements otherwise.
+ *
+ * @author Cameron Beccario
+ */
+final class BasicConstBitSetSerializer extends StdSerializer<ConstSet> {
+
+    private final Class<?> elementType;
+
+    BasicConstBitSetSerializer(Class<?> elementType) {
+        super(ConstSet.class);
+        this.elementType = elementType;
+    }
+
+    @Override public void serialize(ConstSet set, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+        if (set instanceof BasicConstBitSet && ((BasicConstBitSet<?>)set).elementType() == elementType) {
+            jgen.writeNumber(((BasicConstBitSet<?>)set).bits());
+            return;
+        }
+        jgen.writeStartArray();
+        for (Object element : set) {
+            provider.defaultSerializeValue(element, jgen);
+        }
+        jgen.writeEndArray();
+    }
+}
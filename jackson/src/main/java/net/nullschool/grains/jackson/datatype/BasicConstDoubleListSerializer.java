@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import net.nullschool.collect.ConstDoubleList;
+
+import java.io.IOException;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Serializes a ConstDoubleList as a JSON array of numbers, without boxing each element.
+ *
+ * @author Cameron Beccario
+ */
+final class BasicConstDoubleListSerializer extends AbstractPrimitiveListSerializer<ConstDoubleList> {
+
+    BasicConstDoubleListSerializer() {
+        super(ConstDoubleList.class);
+    }
+
+    @Override void writeElements(JsonGenerator jgen, ConstDoubleList list, int size) throws IOException {
+        for (int i = 0; i < size; i++) {
+            jgen.writeNumber(list.getDouble(i));
+        }
+    }
+}
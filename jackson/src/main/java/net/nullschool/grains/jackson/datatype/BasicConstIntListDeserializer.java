@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import net.nullschool.collect.ConstIntList;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Deserializes a JSON array directly into the int array of a ConstIntList, without boxing each element.
+ *
+ * @author Cameron Beccario
+ */
+final class BasicConstIntListDeserializer extends AbstractPrimitiveListDeserializer<ConstIntList, int[]> {
+
+    private static final long serialVersionUID = 1;
+
+
+    BasicConstIntListDeserializer() {
+        super(ConstIntList.class);
+    }
+
+    @Override int[] newArray(int length) {
+        return new int[length];
+    }
+
+    @Override void parseElement(JsonParser jp, DeserializationContext ctxt, int[] elements, int index)
+        throws IOException {
+
+        elements[index] = _parseIntPrimitive(jp, ctxt);
+    }
+
+    @Override ConstIntList newList(int[] elements, int size) {
+        return intListOf(Arrays.copyOf(elements, size));
+    }
+
+    @Override ConstIntList emptyList() {
+        return emptyIntList();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import net.nullschool.collect.ConstLongList;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Deserializes a JSON array directly into the long array of a ConstLongList, without boxing each element.
+ *
+ * @author Cameron Beccario
+ */
+final class BasicConstLongListDeserializer extends AbstractPrimitiveListDeserializer<ConstLongList, long[]> {
+
+    private static final long serialVersionUID = 1;
+
+
+    BasicConstLongListDeserializer() {
+        super(ConstLongList.class);
+    }
+
+    @Override long[] newArray(int length) {
+        return new long[length];
+    }
+
+    @Override void parseElement(JsonParser jp, DeserializationContext ctxt, long[] elements, int index)
+        throws IOException {
+
+        elements[index] = _parseLongPrimitive(jp, ctxt);
+    }
+
+    @Override ConstLongList newList(long[] elements, int size) {
+        return longListOf(Arrays.copyOf(elements, size));
+    }
+
+    @Override ConstLongList emptyList() {
+        return emptyLongList();
+    }
+}
@@ -20,8 +20,7 @@ import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapType;
 import net.nullschool.collect.ConstMap;
-
-import java.util.*;
+import net.nullschool.collect.ConstMapBuilder;
 
 import static net.nullschool.collect.basic.BasicCollections.*;
 
@@ -31,7 +30,8 @@ import static net.nullschool.collect.basic.BasicCollections.*;
  *
  * @author Cameron Beccario
  */
-final class BasicConstMapDeserializer extends AbstractBasicConstMapDeserializer<ConstMap> {
+final class BasicConstMapDeserializer
+    extends AbstractBasicConstMapDeserializer<ConstMap, ConstMapBuilder<Object, Object>> {
 
     private static final long serialVersionUID = 1;
 
@@ -59,7 +59,11 @@ final class BasicConstMapDeserializer extends AbstractBasicConstMapDeserializer<
         return mapOf(key, value);
     }
 
-    @Override ConstMap asResult(List<Object> keys, List<Object> values) {
-        return asMap(keys.toArray(), values.toArray());
+    @Override ConstMapBuilder<Object, Object> newBuilder() {
+        return newMapBuilder();
+    }
+
+    @Override ConstMap asResult(ConstMapBuilder<Object, Object> builder) {
+        return builder.build();
     }
 }
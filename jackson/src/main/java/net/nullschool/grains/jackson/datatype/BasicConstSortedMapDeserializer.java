@@ -4,8 +4,7 @@ import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
 import com.fasterxml.jackson.databind.type.MapType;
 import net.nullschool.collect.ConstSortedMap;
-
-import java.util.List;
+import net.nullschool.collect.ConstSortedMapBuilder;
 
 import static net.nullschool.collect.basic.BasicCollections.*;
 
@@ -15,7 +14,8 @@ import static net.nullschool.collect.basic.BasicCollections.*;
  *
  * @author Cameron Beccario
  */
-final class BasicConstSortedMapDeserializer extends AbstractBasicConstMapDeserializer<ConstSortedMap> {
+final class BasicConstSortedMapDeserializer
+    extends AbstractBasicConstMapDeserializer<ConstSortedMap, ConstSortedMapBuilder<Object, Object>> {
 
     private static final long serialVersionUID = 1;
 
@@ -49,7 +49,11 @@ final class BasicConstSortedMapDeserializer extends AbstractBasicConstMapDeseria
         return sortedMapOf(null, key, value);
     }
 
-    @Override ConstSortedMap asResult(List<Object> keys, List<Object> values) {
-        return asSortedMap(null, keys.toArray(), values.toArray());
+    @Override ConstSortedMapBuilder<Object, Object> newBuilder() {
+        return newSortedMapBuilder(null);
+    }
+
+    @Override ConstSortedMap asResult(ConstSortedMapBuilder<Object, Object> builder) {
+        return builder.build();
     }
 }
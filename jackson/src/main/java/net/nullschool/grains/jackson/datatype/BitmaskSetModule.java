@@ -0,0 +1,95 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import net.nullschool.collect.ConstSet;
+import net.nullschool.collect.ConstSortedSet;
+
+
+/**
+ * 2013-07-02<p/>
+ *
+ * A module that writes each {@link net.nullschool.collect.basic.BasicConstBitSet} of enums or Integers as a single
+ * JSON number, its bitmask, rather than as an array of elements, and that reads such sets from either form. The
+ * bitmask form is not self describing, so this module is opt-in: without it, sets are read only from arrays, and a
+ * JSON number is rejected. Register this module after the {@link ConstCollectionModule}, as done by
+ * {@link net.nullschool.grains.jackson.JacksonTools#configureForBitmaskSets}, so that its deserializers take
+ * precedence.
+ *
+ * @author Cameron Beccario
+ */
+public class BitmaskSetModule extends Module {
+
+    private static final class BitmaskSetSerializers extends Serializers.Base {
+
+        @Override public JsonSerializer<?> findCollectionSerializer(
+            SerializationConfig config,
+            CollectionType type,
+            BeanDescription beanDesc,
+            TypeSerializer elementTypeSerializer,
+            JsonSerializer<Object> elementValueSerializer) {
+
+            return isBitmaskSetType(type) ?
+                new BasicConstBitSetSerializer(type.getContentType().getRawClass()) :
+                null;
+        }
+    }
+
+    private static final class BitmaskSetDeserializers extends Deserializers.Base {
+
+        @Override public JsonDeserializer<?> findCollectionDeserializer(
+            CollectionType type,
+            DeserializationConfig config,
+            BeanDescription beanDesc,
+            TypeDeserializer elementTypeDeserializer,
+            JsonDeserializer<?> elementDeserializer) {
+
+            return isBitmaskSetType(type) ?
+                new BasicConstBitSetDeserializer(type, elementDeserializer, elementTypeDeserializer) :
+                null;
+        }
+    }
+
+    private static boolean isBitmaskSetType(CollectionType type) {
+        Class<?> clazz = type.getRawClass();
+        Class<?> elementType = type.getContentType().getRawClass();
+        return ConstSet.class.isAssignableFrom(clazz) &&
+            !ConstSortedSet.class.isAssignableFrom(clazz) &&
+            (elementType.isEnum() || elementType == Integer.class);
+    }
+
+    @Override public String getModuleName() {
+        return "BitmaskSetModule";
+    }
+
+    @Override public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override public void setupModule(SetupContext context) {
+        context.addSerializers(new BitmaskSetSerializers());
+        context.addDeserializers(new BitmaskSetDeserializers());
+    }
+}
@@ -40,6 +40,15 @@ final class ConstCollectionDeserializers extends Deserializers.Base {
         Class<?> clazz = type.getRawClass();
 
         if (ConstCollection.class.isAssignableFrom(clazz)) {
+            if (ConstIntList.class.isAssignableFrom(clazz)) {
+                return new BasicConstIntListDeserializer();
+            }
+            if (ConstLongList.class.isAssignableFrom(clazz)) {
+                return new BasicConstLongListDeserializer();
+            }
+            if (ConstDoubleList.class.isAssignableFrom(clazz)) {
+                return new BasicConstDoubleListDeserializer();
+            }
             if (ConstSet.class.isAssignableFrom(clazz)) {
                 if (ConstSortedSet.class.isAssignableFrom(clazz)) {
                     return new BasicConstSortedSetDeserializer(type, elementDeserializer, elementTypeDeserializer);
@@ -36,6 +36,7 @@ public class ConstCollectionModule extends Module {
     }
 
     @Override public void setupModule(SetupContext context) {
+        context.addSerializers(new ConstCollectionSerializers());
         context.addDeserializers(new ConstCollectionDeserializers());
     }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import net.nullschool.collect.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Provides serializers for the const collections that need more than Jackson's standard collection handling.
+ * Currently, these are the primitive lists, which are written without boxing each element.
+ *
+ * @author Cameron Beccario
+ */
+final class ConstCollectionSerializers extends Serializers.Base {
+
+    @Override public JsonSerializer<?> findCollectionSerializer(
+        SerializationConfig config,
+        CollectionType type,
+        BeanDescription beanDesc,
+        TypeSerializer elementTypeSerializer,
+        JsonSerializer<Object> elementValueSerializer) {
+
+        Class<?> clazz = type.getRawClass();
+
+        if (ConstIntList.class.isAssignableFrom(clazz)) {
+            return new BasicConstIntListSerializer();
+        }
+        if (ConstLongList.class.isAssignableFrom(clazz)) {
+            return new BasicConstLongListSerializer();
+        }
+        if (ConstDoubleList.class.isAssignableFrom(clazz)) {
+            return new BasicConstDoubleListSerializer();
+        }
+        return null;
+    }
+}
@@ -40,9 +40,11 @@ class GrainDeserializer extends StdDeserializer<Grain> implements ResolvableDese
     private static final long serialVersionUID = 1;
 
     private static class PropertyReader {
+        private final int slot;
         private final JsonDeserializer<?> deserializer;
 
-        private PropertyReader(JsonDeserializer<?> deserializer) {
+        private PropertyReader(int slot, JsonDeserializer<?> deserializer) {
+            this.slot = slot;
             this.deserializer = Objects.requireNonNull(deserializer);
         }
     }
@@ -64,11 +66,12 @@ class GrainDeserializer extends StdDeserializer<Grain> implements ResolvableDese
     }
 
     @Override public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        int slot = 0;
         for (GrainProperty gp : factory.getBasisProperties().values()) {
             JacksonGrainProperty prop = new JacksonGrainProperty(gp, ctxt.getTypeFactory(), getValueClass());
             JsonDeserializer<?> deserializer = ctxt.findContextualValueDeserializer(prop.getType(), prop);
 
-            readers.put(prop.getName(), new PropertyReader(deserializer));
+            readers.put(prop.getName(), new PropertyReader(slot++, deserializer));
         }
 
         extValueDeserializer = ctxt.findContextualValueDeserializer(ctxt.constructType(Object.class), null);
@@ -89,7 +92,7 @@ class GrainDeserializer extends StdDeserializer<Grain> implements ResolvableDese
             return factory.getDefaultValue();
         }
 
-        GrainBuilder builder = factory.getNewBuilder();
+        GrainDecoder decoder = factory.getNewDecoder();
 
         do {
             String key = jp.getCurrentName();
@@ -115,10 +118,15 @@ class GrainDeserializer extends StdDeserializer<Grain> implements ResolvableDese
                 }
             }
 
-            builder.put(key, value);
+            if (reader != null) {
+                decoder.put(reader.slot, value);
+            }
+            else {
+                decoder.put(key, value);
+            }
         } while (jp.nextToken() == JsonToken.FIELD_NAME);
 
-        return builder.build();
+        return decoder.decode();
     }
 
     @Override public String toString() {
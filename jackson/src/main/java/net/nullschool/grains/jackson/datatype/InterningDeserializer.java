@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import net.nullschool.grains.GrainTools;
+
+import java.io.IOException;
+
+
+/**
+ * 2013-06-26<p/>
+ *
+ * A deserializer that delegates to another deserializer, then {@link GrainTools#intern interns} each value it reads.
+ *
+ * @author Cameron Beccario
+ */
+class InterningDeserializer extends DelegatingDeserializer {
+
+    private static final long serialVersionUID = 1;
+
+
+    InterningDeserializer(JsonDeserializer<?> delegatee) {
+        super(delegatee);
+    }
+
+    @Override protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+        return new InterningDeserializer(newDelegatee);
+    }
+
+    @Override public Object deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        return GrainTools.intern(super.deserialize(jp, ctxt));
+    }
+
+    @Override public Object deserializeWithType(
+        JsonParser jp,
+        DeserializationContext ctxt,
+        TypeDeserializer typeDeserializer) throws IOException {
+
+        return GrainTools.intern(super.deserializeWithType(jp, ctxt, typeDeserializer));
+    }
+
+    @Override public String toString() {
+        return "InterningDeserializer(" + _delegatee + ")";
+    }
+}
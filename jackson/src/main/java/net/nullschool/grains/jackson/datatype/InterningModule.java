@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.jackson.datatype;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+import net.nullschool.collect.ConstCollection;
+import net.nullschool.collect.ConstMap;
+
+
+/**
+ * 2013-06-26<p/>
+ *
+ * A module that {@link net.nullschool.grains.GrainTools#intern interns} each grain and const collection read by the
+ * deserializers of the {@link GrainsModule} and {@link ConstCollectionModule}. Equal values read from the stream (or
+ * already present in the heap) then share a single canonical instance.
+ *
+ * @author Cameron Beccario
+ */
+public class InterningModule extends Module {
+
+    private static final class InterningModifier extends BeanDeserializerModifier {
+
+        @Override public JsonDeserializer<?> modifyCollectionDeserializer(
+            DeserializationConfig config,
+            CollectionType type,
+            BeanDescription beanDesc,
+            JsonDeserializer<?> deserializer) {
+
+            return ConstCollection.class.isAssignableFrom(type.getRawClass()) ?
+                new InterningDeserializer(deserializer) :
+                deserializer;
+        }
+
+        @Override public JsonDeserializer<?> modifyMapDeserializer(
+            DeserializationConfig config,
+            MapType type,
+            BeanDescription beanDesc,
+            JsonDeserializer<?> deserializer) {
+
+            // Grains are ConstMaps, so this case covers both.
+            return ConstMap.class.isAssignableFrom(type.getRawClass()) ?
+                new InterningDeserializer(deserializer) :
+                deserializer;
+        }
+    }
+
+    @Override public String getModuleName() {
+        return "InterningModule";
+    }
+
+    @Override public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override public void setupModule(SetupContext context) {
+        context.addBeanDeserializerModifier(new InterningModifier());
+    }
+}
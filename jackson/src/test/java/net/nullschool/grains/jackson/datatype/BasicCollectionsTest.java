@@ -17,14 +17,17 @@
 package net.nullschool.grains.jackson.datatype;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.nullschool.collect.*;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 import static net.nullschool.collect.basic.BasicCollections.*;
 import static net.nullschool.grains.jackson.JacksonTools.*;
+import static org.junit.Assert.*;
 
 
 /**
@@ -58,6 +61,43 @@ public class BasicCollectionsTest {
         }
     }
 
+    @Test
+    public void test_basicConstBitSet() throws IOException {
+        TypeReference<ConstSet<TimeUnit>> enumSetType = new TypeReference<ConstSet<TimeUnit>>(){};
+        TypeReference<ConstSet<Integer>> intSetType = new TypeReference<ConstSet<Integer>>(){};
+        ConstSet<TimeUnit> units = enumSetOf(TimeUnit.class, TimeUnit.SECONDS, TimeUnit.NANOSECONDS);
+        ConstSet<Integer> ints = smallIntSetOf(0, 5, 63);
+
+        // By default, bit sets are written as arrays.
+        ObjectMapper mapper = newGrainsObjectMapper();
+        String json = mapper.writerWithType(enumSetType).writeValueAsString(units);
+        assertEquals("[\"NANOSECONDS\",\"SECONDS\"]", json);
+        assertEquals(units, mapper.readValue(json, enumSetType));
+
+        // Without the bitmask module, numbers are not read as bitmasks.
+        try {
+            mapper.readValue("9", enumSetType);
+            fail();
+        }
+        catch (JsonMappingException expected) {
+        }
+
+        // With the bitmask module, bit sets are written as numbers.
+        mapper = configureForBitmaskSets(newGrainsObjectMapper());
+        json = mapper.writerWithType(enumSetType).writeValueAsString(units);
+        assertEquals("9", json);
+        assertEquals(units, mapper.readValue(json, enumSetType));
+        json = mapper.writerWithType(intSetType).writeValueAsString(ints);
+        assertEquals(String.valueOf(1L | 1L << 5 | 1L << 63), json);
+        assertEquals(ints, mapper.readValue(json, intSetType));
+
+        // Sets that are not bit sets are still written as arrays.
+        json = mapper.writerWithType(intSetType).writeValueAsString(setOf(1, 100));
+        assertEquals("[1,100]", json);
+        assertEquals(setOf(1, 100), mapper.readValue(json, intSetType));
+        assertEquals(units, mapper.readValue("[\"NANOSECONDS\",\"SECONDS\"]", enumSetType));
+    }
+
     @Test
     public void test_basicConstSortedSet() throws IOException {
         ConstSortedSet<Integer> set = emptySortedSet(null);
@@ -94,4 +134,26 @@ public class BasicCollectionsTest {
             map = map.with(String.valueOf(i), i);
         }
     }
+
+    @Test
+    public void test_basicConstPrimitiveLists() throws IOException {
+        ConstIntList ints = emptyIntList();
+        ConstLongList longs = emptyLongList();
+        ConstDoubleList doubles = emptyDoubleList();
+        for (int i = 0; i < 10; i++) {
+            ObjectMapper mapper = newGrainsObjectMapper();
+            CollectionTestingTools.compare_lists(
+                ints,
+                mapper.readValue(mapper.writeValueAsBytes(ints), ConstIntList.class));
+            CollectionTestingTools.compare_lists(
+                longs,
+                mapper.readValue(mapper.writeValueAsBytes(longs), ConstLongList.class));
+            CollectionTestingTools.compare_lists(
+                doubles,
+                mapper.readValue(mapper.writeValueAsBytes(doubles), ConstDoubleList.class));
+            ints = ints.withInt(-i * 1000);
+            longs = longs.withLong(Long.MAX_VALUE - i);
+            doubles = doubles.withDouble(i / 3.0);
+        }
+    }
 }
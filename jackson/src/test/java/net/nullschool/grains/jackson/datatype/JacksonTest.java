@@ -16,6 +16,7 @@ import static net.nullschool.collect.basic.BasicCollections.listOf;
 import static net.nullschool.collect.basic.BasicCollections.mapOf;
 import static net.nullschool.grains.generate.model.CompleteTest.newCompleteBuilderWithSampleValues;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 
 /**
@@ -160,4 +161,19 @@ public class JacksonTest {
             BasicToolsTest.asTypeHierarchy(expected),
             BasicToolsTest.asTypeHierarchy(actual));
     }
+
+    @Test
+    public void test_interning() throws IOException {
+        CompleteGrain expected = newCompleteBuilderWithSampleValues().build();
+
+        ObjectMapper mapper = JacksonTools.configureForInterning(JacksonTools.newGrainsObjectMapper());
+        String data = mapper.writeValueAsString(expected);
+        CompleteGrain first = mapper.readValue(data, CompleteGrain.class);
+        CompleteGrain second = mapper.readValue(data, CompleteGrain.class);
+
+        assertEquals(expected, first);
+        assertSame(first, second);
+        assertSame(first.getP(), first.getR().iterator().next());
+        assertSame(first.getR(), first.getZa().get("a").iterator().next());
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import net.nullschool.collect.ConstList;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Base class for Kryo serializers of the primitive lists: ConstIntList, ConstLongList, and ConstDoubleList. Lists
+ * are written in the form {int_size, e0, e1, ..., en}, where subclasses write and read the elements unboxed,
+ * without class information.
+ *
+ * @author Cameron Beccario
+ */
+public abstract class AbstractPrimitiveListSerializer<L extends ConstList<?>> extends Serializer<L> {
+
+    /**
+     * Writes the first {@code size} elements of the list, unboxed.
+     */
+    protected abstract void writeElements(Output output, L list, int size);
+
+    /**
+     * Reads {@code size} unboxed elements, where size is greater than zero, and returns them as a list.
+     */
+    protected abstract L readElements(Input input, int size);
+
+    /**
+     * Returns the empty list.
+     */
+    protected abstract L emptyList();
+
+    @Override public void write(Kryo kryo, Output output, L list) {
+        final int size = list.size();
+        output.writeInt(size, true);
+        writeElements(output, list, size);
+    }
+
+    @Override public L read(Kryo kryo, Input input, Class<L> type) {
+        final int size = input.readInt(true);
+        return size == 0 ? emptyList() : readElements(input, size);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import net.nullschool.collect.ConstSet;
+import net.nullschool.collect.basic.BasicConstBitSet;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-07-02<p/>
+ *
+ * Kryo serializer for BasicConstBitSet using the form {class_enum_type, long_bits}, where the enum type is null
+ * for sets of Integers. The bitmask is written as a variable length long, so a set drawn from the first few enum
+ * constants takes a single byte.
+ *
+ * @author Cameron Beccario
+ */
+public class BasicConstBitSetSerializer extends Serializer<ConstSet> {
+
+    @Override public void write(Kryo kryo, Output output, ConstSet set) {
+        BasicConstBitSet<?> bitSet = (BasicConstBitSet<?>)set;
+        // Kryo does not distinguish Integer from int, so Integer is written as null.
+        Class<?> elementType = bitSet.elementType();
+        kryo.writeClass(output, elementType == Integer.class ? null : elementType);
+        output.writeLong(bitSet.bits(), true);
+    }
+
+    @Override public ConstSet<?> read(Kryo kryo, Input input, Class<ConstSet> type) {
+        Registration registration = kryo.readClass(input);
+        Class<?> elementType = registration == null ? Integer.class : registration.getType();
+        return bitSetOf(elementType, input.readLong(true));
+    }
+}
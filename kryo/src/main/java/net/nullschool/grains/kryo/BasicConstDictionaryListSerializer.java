@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.basic.BasicConstDictionaryList;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-07-01<p/>
+ *
+ * Kryo serializer for BasicConstDictionaryList using the form {int_dictionary_size, D0, D1, ..., Dd, int_size,
+ * code0, code1, ..., coden}. Each distinct value is written once. The codes are written unsigned, as single bytes
+ * when the dictionary has at most 256 values, as two byte shorts when it has at most 65536 values, and as variable
+ * length ints otherwise.
+ *
+ * @author Cameron Beccario
+ */
+public class BasicConstDictionaryListSerializer extends Serializer<ConstList> {
+
+    private static final int BYTE_LIMIT = 1 << 8;
+    private static final int SHORT_LIMIT = 1 << 16;
+
+    @Override public void write(Kryo kryo, Output output, ConstList list) {
+        BasicConstDictionaryList<?> encoded = (BasicConstDictionaryList<?>)list;
+        ConstList<?> dictionary = encoded.dictionary();
+        final int dictionarySize = dictionary.size();
+        output.writeInt(dictionarySize, true);
+        for (int i = 0; i < dictionarySize; i++) {
+            kryo.writeClassAndObject(output, dictionary.get(i));
+        }
+        final int size = encoded.size();
+        output.writeInt(size, true);
+        if (dictionarySize <= BYTE_LIMIT) {
+            for (int i = 0; i < size; i++) {
+                output.writeByte(encoded.code(i));
+            }
+        }
+        else if (dictionarySize <= SHORT_LIMIT) {
+            for (int i = 0; i < size; i++) {
+                output.writeShort(encoded.code(i));
+            }
+        }
+        else {
+            for (int i = 0; i < size; i++) {
+                output.writeInt(encoded.code(i), true);
+            }
+        }
+    }
+
+    @Override public ConstList<?> read(Kryo kryo, Input input, Class<ConstList> type) {
+        final int dictionarySize = input.readInt(true);
+        Object[] dictionary = new Object[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = kryo.readClassAndObject(input);
+        }
+        final int size = input.readInt(true);
+        int[] codes = new int[size];
+        if (dictionarySize <= BYTE_LIMIT) {
+            for (int i = 0; i < size; i++) {
+                codes[i] = input.readByteUnsigned();
+            }
+        }
+        else if (dictionarySize <= SHORT_LIMIT) {
+            for (int i = 0; i < size; i++) {
+                codes[i] = input.readShortUnsigned();
+            }
+        }
+        else {
+            for (int i = 0; i < size; i++) {
+                codes[i] = input.readInt(true);
+            }
+        }
+        return dictionaryListOf(dictionary, codes);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.kryo;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import net.nullschool.collect.ConstIntList;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Kryo serializer for BasicConstIntList using the form {int_size, int0, int1, ..., intn}. Elements are
+ * written unboxed, without class information.
+ *
+ * @author Cameron Beccario
+ */
+public class BasicConstIntListSerializer extends AbstractPrimitiveListSerializer<ConstIntList> {
+
+    @Override protected void writeElements(Output output, ConstIntList list, int size) {
+        for (int i = 0; i < size; i++) {
+            output.writeInt(list.getInt(i), false);
+        }
+    }
+
+    @Override protected ConstIntList readElements(Input input, int size) {
+        int[] elements = new int[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = input.readInt(false);
+        }
+        return intListOf(elements);
+    }
+
+    @Override protected ConstIntList emptyList() {
+        return emptyIntList();
+    }
+}
@@ -21,6 +21,7 @@ import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import net.nullschool.collect.ConstMap;
+import net.nullschool.collect.ConstMapBuilder;
 import net.nullschool.collect.MapIterator;
 
 import static net.nullschool.collect.basic.BasicCollections.*;
@@ -52,13 +53,11 @@ public class BasicConstMapSerializer extends Serializer<ConstMap> {
                 Object value = kryo.readClassAndObject(input);
                 return mapOf(key, value);
             default:
-                Object[] keys = new Object[size];
-                Object[] values = new Object[size];
+                ConstMapBuilder<Object, Object> builder = newMapBuilder(size);
                 for (int i = 0; i < size; i++) {
-                    keys[i] = kryo.readClassAndObject(input);
-                    values[i] = kryo.readClassAndObject(input);
+                    builder.put(kryo.readClassAndObject(input), kryo.readClassAndObject(input));
                 }
-                return asMap(keys, values);
+                return builder.build();
         }
     }
 }
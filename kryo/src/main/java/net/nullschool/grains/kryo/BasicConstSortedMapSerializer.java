@@ -39,13 +39,11 @@ public class BasicConstSortedMapSerializer extends Serializer<ConstSortedMap> {
                 Object value = kryo.readClassAndObject(input);
                 return sortedMapOf(comparator, key, value);
             default:
-                Object[] keys = new Object[size];
-                Object[] values = new Object[size];
+                ConstSortedMapBuilder<Object, Object> builder = newSortedMapBuilder(comparator, size);
                 for (int i = 0; i < size; i++) {
-                    keys[i] = kryo.readClassAndObject(input);
-                    values[i] = kryo.readClassAndObject(input);
+                    builder.put(kryo.readClassAndObject(input), kryo.readClassAndObject(input));
                 }
-                return asSortedMap(comparator, keys, values);
+                return builder.build();
         }
     }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import net.nullschool.grains.Grain;
+import net.nullschool.grains.GrainFactory;
+import net.nullschool.grains.GrainTools;
+
+
+/**
+ * 2013-06-26<p/>
+ *
+ * A {@link VerboseGrainSerializer} that {@link GrainFactory#intern interns} each grain it reads.
+ *
+ * @author Cameron Beccario
+ */
+public class InterningGrainSerializer extends VerboseGrainSerializer {
+
+    private final GrainFactory factory;
+
+    public InterningGrainSerializer(Kryo kryo, Class<?> type) {
+        super(kryo, type);
+        this.factory = GrainTools.factoryFor(type);
+    }
+
+    @Override public Grain read(Kryo kryo, Input input, Class<Grain> type) {
+        return factory.intern(super.read(kryo, input, type));
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import net.nullschool.grains.GrainTools;
+
+import java.util.Objects;
+
+
+/**
+ * 2013-06-26<p/>
+ *
+ * Kryo serializer that delegates to another serializer, then {@link GrainTools#intern interns} each object it reads.
+ * Writing is unaffected.
+ *
+ * @author Cameron Beccario
+ */
+public class InterningSerializer<T> extends Serializer<T> {
+
+    private final Serializer<T> delegate;
+
+    public InterningSerializer(Serializer<T> delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+        setAcceptsNull(delegate.getAcceptsNull());
+        setImmutable(delegate.isImmutable());
+    }
+
+    @Override public void write(Kryo kryo, Output output, T object) {
+        delegate.write(kryo, output, object);
+    }
+
+    @Override public T read(Kryo kryo, Input input, Class<T> type) {
+        @SuppressWarnings("unchecked") T result = (T)GrainTools.intern(delegate.read(kryo, input, type));
+        return result;
+    }
+}
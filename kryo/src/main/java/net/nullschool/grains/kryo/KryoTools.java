@@ -17,6 +17,7 @@
 package net.nullschool.grains.kryo;
 
 import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.util.MapReferenceResolver;
 import net.nullschool.collect.basic.*;
 import net.nullschool.grains.Grain;
@@ -58,6 +59,15 @@ public class KryoTools {
         return addDefaultSerializers(new Kryo(new PublicInterfaceResolver(), new MapReferenceResolver()));
     }
 
+    /**
+     * Constructs a new Kryo instance configured for serialization and deserialization of Grains, where each grain
+     * and const collection read is {@link net.nullschool.grains.GrainTools#intern interned}. Equal values read
+     * from the stream (or already present in the heap) then share a single canonical instance.
+     */
+    public static Kryo newInterningGrainsKryo() {
+        return addInterningSerializers(new Kryo(new PublicInterfaceResolver(), new MapReferenceResolver()));
+    }
+
     /**
      * Adds default serializers to the specified Kryo instance for all built-in types supported by Grains.
      *
@@ -66,14 +76,42 @@ public class KryoTools {
      * @throws NullPointerException if kryo is null.
      */
     public static Kryo addDefaultSerializers(Kryo kryo) {
-        kryo.addDefaultSerializer(Grain.class, VerboseGrainSerializer.class);
+        return addSerializers(kryo, false);
+    }
+
+    /**
+     * Adds default serializers to the specified Kryo instance for all built-in types supported by Grains, where
+     * each grain and const collection read is interned. This method is an alternative to {@link
+     * #addDefaultSerializers}; the two should not be applied to the same Kryo instance.
+     *
+     * @param kryo the kryo instance to configure.
+     * @return the same kryo instance.
+     * @throws NullPointerException if kryo is null.
+     */
+    public static Kryo addInterningSerializers(Kryo kryo) {
+        return addSerializers(kryo, true);
+    }
+
+    private static <T> Serializer<T> interning(Serializer<T> serializer, boolean intern) {
+        return intern ? new InterningSerializer<>(serializer) : serializer;
+    }
+
+    private static Kryo addSerializers(Kryo kryo, boolean intern) {
+        kryo.addDefaultSerializer(Grain.class, intern ? InterningGrainSerializer.class : VerboseGrainSerializer.class);
         kryo.addDefaultSerializer(UUID.class, new UUIDSerializer());
         kryo.addDefaultSerializer(URI.class, new URISerializer());
-        kryo.addDefaultSerializer(BasicConstList.class, new BasicConstListSerializer());
-        kryo.addDefaultSerializer(BasicConstSortedSet.class, new BasicConstSortedSetSerializer());
-        kryo.addDefaultSerializer(BasicConstSet.class, new BasicConstSetSerializer());
-        kryo.addDefaultSerializer(BasicConstSortedMap.class, new BasicConstSortedMapSerializer());
-        kryo.addDefaultSerializer(BasicConstMap.class, new BasicConstMapSerializer());
+        kryo.addDefaultSerializer(BasicConstIntList.class, interning(new BasicConstIntListSerializer(), intern));
+        kryo.addDefaultSerializer(BasicConstLongList.class, interning(new BasicConstLongListSerializer(), intern));
+        kryo.addDefaultSerializer(BasicConstDoubleList.class, interning(new BasicConstDoubleListSerializer(), intern));
+        kryo.addDefaultSerializer(
+            BasicConstDictionaryList.class,
+            interning(new BasicConstDictionaryListSerializer(), intern));
+        kryo.addDefaultSerializer(BasicConstList.class, interning(new BasicConstListSerializer(), intern));
+        kryo.addDefaultSerializer(BasicConstSortedSet.class, interning(new BasicConstSortedSetSerializer(), intern));
+        kryo.addDefaultSerializer(BasicConstBitSet.class, interning(new BasicConstBitSetSerializer(), intern));
+        kryo.addDefaultSerializer(BasicConstSet.class, interning(new BasicConstSetSerializer(), intern));
+        kryo.addDefaultSerializer(BasicConstSortedMap.class, interning(new BasicConstSortedMapSerializer(), intern));
+        kryo.addDefaultSerializer(BasicConstMap.class, interning(new BasicConstMapSerializer(), intern));
         return kryo;
     }
 }
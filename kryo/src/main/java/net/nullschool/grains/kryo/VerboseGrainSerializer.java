@@ -71,15 +71,15 @@ public class VerboseGrainSerializer extends Serializer<Grain> {
     }
 
     @Override public Grain read(Kryo kryo, Input input, Class<Grain> type) {
-        GrainBuilder builder = factory.getNewBuilder();
+        GrainDecoder decoder = factory.getNewDecoder();
         do {
             String key = kryo.readObjectOrNull(input, String.class, keySerializer);
             if (key == null) {
                 break;
             }
             Object value = kryo.readClassAndObject(input);
-            builder.put(key, value);
+            decoder.put(key, value);
         } while (true);
-        return builder.build();
+        return decoder.decode();
     }
 }
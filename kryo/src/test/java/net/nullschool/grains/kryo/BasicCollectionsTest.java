@@ -5,8 +5,8 @@ import net.nullschool.collect.*;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static net.nullschool.grains.kryo.KryoTestTools.*;
 import static org.junit.Assert.*;
@@ -32,6 +32,20 @@ public class BasicCollectionsTest {
         }
     }
 
+    @Test
+    public void test_basicConstDictionaryList() {
+        for (int cardinality : new int[] {3, 300, 70000}) {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < cardinality * 2; i++) {
+                elements.add("v" + i % cardinality);
+            }
+            ConstList<String> list = asDictionaryList(elements);
+            Object obj = roundTrip(list, new ByteArrayOutputStream());
+            assertSame(list.getClass(), obj.getClass());
+            assertEquals(list, obj);
+        }
+    }
+
     @Test
     public void test_basicConstSet() {
         ConstSet<Integer> set = emptySet();
@@ -44,6 +58,19 @@ public class BasicCollectionsTest {
         }
     }
 
+    @Test
+    public void test_basicConstBitSet() {
+        for (ConstSet<?> set : Arrays.<ConstSet<?>>asList(
+                enumSetOf(TimeUnit.class, TimeUnit.SECONDS, TimeUnit.DAYS),
+                enumSetOf(TimeUnit.class, TimeUnit.values()),
+                smallIntSetOf(0, 5, 63))) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            Object obj = roundTrip(set, baos);
+            assertSame(set.getClass(), obj.getClass());
+            CollectionTestingTools.compare_sets(set, (ConstSet<?>)obj);
+        }
+    }
+
     @Test
     public void test_basicConstSortedSet() {
         ConstSortedSet<Integer> set = emptySortedSet(Collections.reverseOrder());
@@ -105,4 +132,22 @@ public class BasicCollectionsTest {
             map = map.with(i, i);
         }
     }
+
+    @Test
+    public void test_basicConstPrimitiveLists() {
+        ConstIntList ints = emptyIntList();
+        ConstLongList longs = emptyLongList();
+        ConstDoubleList doubles = emptyDoubleList();
+        for (int i = 0; i < 10; i++) {
+            for (ConstList<?> list : Arrays.asList(ints, longs, doubles)) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                Object obj = roundTrip(list, baos);
+                assertSame(list.getClass(), obj.getClass());
+                CollectionTestingTools.compare_lists(list, (ConstList<?>)obj);
+            }
+            ints = ints.withInt(-i * 1000);
+            longs = longs.withLong(Long.MAX_VALUE - i);
+            doubles = doubles.withDouble(i / 3.0);
+        }
+    }
 }
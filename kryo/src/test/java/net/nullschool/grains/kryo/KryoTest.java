@@ -137,4 +137,18 @@ public class KryoTest {
             BasicToolsTest.asTypeHierarchy(expected),
             BasicToolsTest.asTypeHierarchy(actual));
     }
+
+    @Test
+    public void test_interning() {
+        CompleteGrain expected = newCompleteBuilderWithSampleValues().build();
+
+        Kryo kryo = newInterningTestKryo();
+        CompleteGrain first = (CompleteGrain)roundTrip(expected, new ByteArrayOutputStream(), kryo, kryo);
+        CompleteGrain second = (CompleteGrain)roundTrip(expected, new ByteArrayOutputStream(), kryo, kryo);
+
+        assertEquals(expected, first);
+        assertSame(first, second);
+        assertSame(first.getP(), first.getR().iterator().next());
+        assertSame(first.getR(), first.getZa().get("a").iterator().next());
+    }
 }
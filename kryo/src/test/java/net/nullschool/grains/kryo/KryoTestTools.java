@@ -58,6 +58,12 @@ class KryoTestTools {
         return kryo;
     }
 
+    static Kryo newInterningTestKryo() {
+        Kryo kryo = KryoTools.newInterningGrainsKryo();
+        kryo.setDefaultSerializer(NoSerializer.class);
+        return kryo;
+    }
+
     static Object roundTrip(Object obj, ByteArrayOutputStream out) {
         return roundTrip(obj, out, newTestKryo(), newTestKryo());
     }
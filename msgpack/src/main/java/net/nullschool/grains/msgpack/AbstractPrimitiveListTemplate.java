@@ -0,0 +1,64 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.msgpack;
+
+import net.nullschool.collect.ConstList;
+import org.msgpack.packer.Packer;
+import org.msgpack.unpacker.Unpacker;
+
+import java.io.IOException;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * Base class for MessagePack templates of the primitive lists: ConstIntList, ConstLongList, and ConstDoubleList.
+ * Lists are written as arrays, where subclasses write and read the elements unboxed.
+ *
+ * @author Cameron Beccario
+ */
+public abstract class AbstractPrimitiveListTemplate<L extends ConstList<?>> extends AbstractNullableTemplate<L> {
+
+    /**
+     * Writes the first {@code size} elements of the list, unboxed.
+     */
+    protected abstract void writeElements(Packer packer, L list, int size) throws IOException;
+
+    /**
+     * Reads {@code size} unboxed elements, where size is greater than zero, and returns them as a list.
+     */
+    protected abstract L readElements(Unpacker unpacker, int size) throws IOException;
+
+    /**
+     * Returns the empty list.
+     */
+    protected abstract L emptyList();
+
+    @Override protected void writeValue(Packer packer, L list) throws IOException {
+        final int size = list.size();
+        packer.writeArrayBegin(size);
+        writeElements(packer, list, size);
+        packer.writeArrayEnd();
+    }
+
+    @Override protected L readValue(Unpacker unpacker, L to) throws IOException {
+        final int size = unpacker.readArrayBegin();
+        L result = size == 0 ? emptyList() : readElements(unpacker, size);
+        unpacker.readArrayEnd();
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.msgpack;
+
+import net.nullschool.collect.ConstSet;
+import net.nullschool.collect.basic.BasicConstBitSet;
+import org.msgpack.MessageTypeException;
+import org.msgpack.packer.Packer;
+import org.msgpack.template.IntegerTemplate;
+import org.msgpack.template.Template;
+import org.msgpack.type.ValueType;
+import org.msgpack.unpacker.Unpacker;
+
+import java.io.IOException;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-07-02<p/>
+ *
+ * A set template that writes a {@link BasicConstBitSet} of enums or Integers as its bitmask, a single integer,
+ * and all other sets as arrays. Both forms are read back as sets. The bitmask form is not understood by readers
+ * using {@link BasicConstSetTemplate}, so it is opt-in. See {@link MessagePackTools#addBitmaskSetTemplates}.
+ *
+ * @author Cameron Beccario
+ */
+public class BasicConstBitSetTemplate extends BasicConstSetTemplate {
+
+    private final Class<?> bitSetType;  // the element type of sets written as bitmasks, or null if none
+
+    public BasicConstBitSetTemplate(Template<?> elementTemplate) {
+        super(elementTemplate);
+        this.bitSetType = elementTemplate instanceof EnumTemplateBuilder.EnumTemplate ?
+            ((EnumTemplateBuilder.EnumTemplate<?>)elementTemplate).enumType :
+            elementTemplate == IntegerTemplate.getInstance() ?
+                Integer.class :
+                null;
+    }
+
+    @Override protected void writeValue(Packer packer, ConstSet set) throws IOException {
+        if (set instanceof BasicConstBitSet && ((BasicConstBitSet<?>)set).elementType() == bitSetType) {
+            packer.write(((BasicConstBitSet<?>)set).bits());
+        }
+        else {
+            super.writeValue(packer, set);
+        }
+    }
+
+    @Override protected ConstSet readValue(Unpacker unpacker, ConstSet to) throws IOException {
+        if (unpacker.getNextType() == ValueType.INTEGER) {
+            if (bitSetType == null) {
+                throw new MessageTypeException("Cannot read bitmask set without enum or Integer elements: " + this);
+            }
+            return bitSetOf(bitSetType, unpacker.readLong());
+        }
+        return super.readValue(unpacker, to);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.msgpack;
+
+import net.nullschool.collect.ConstList;
+import net.nullschool.collect.basic.BasicConstDictionaryList;
+import org.msgpack.packer.Packer;
+import org.msgpack.template.Template;
+import org.msgpack.type.ValueType;
+import org.msgpack.unpacker.Unpacker;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-07-01<p/>
+ *
+ * A list template that writes a {@link BasicConstDictionaryList} as a single entry map from its dictionary, an
+ * array of the distinct values, to its codes, packed into raw bytes. Each code is one byte when the dictionary has
+ * at most 256 values, two bytes when it has at most 65536 values, and four bytes otherwise, unsigned and in
+ * big-endian order. All other lists are written as arrays. Both forms are read back as lists. The map form is not
+ * understood by readers using {@link BasicConstListTemplate}, so it is opt-in. See {@link
+ * MessagePackTools#addDictionaryListTemplates}.
+ *
+ * @author Cameron Beccario
+ */
+public class BasicConstDictionaryListTemplate extends BasicConstListTemplate {
+
+    private final Template<Object> elementTemplate;
+
+    public BasicConstDictionaryListTemplate(Template<?> elementTemplate) {
+        super(elementTemplate);
+        @SuppressWarnings("unchecked") Template<Object> et = (Template<Object>)elementTemplate;
+        this.elementTemplate = Objects.requireNonNull(et);
+    }
+
+    private static int codeWidth(int dictionarySize) {
+        return dictionarySize <= 1 << 8 ? 1 : dictionarySize <= 1 << 16 ? 2 : 4;
+    }
+
+    private void writeDictionaryList(Packer packer, BasicConstDictionaryList<?> list) throws IOException {
+        ConstList<?> dictionary = list.dictionary();
+        final int dictionarySize = dictionary.size();
+        packer.writeMapBegin(1);
+        packer.writeArrayBegin(dictionarySize);
+        for (int i = 0; i < dictionarySize; i++) {
+            elementTemplate.write(packer, dictionary.get(i), false);
+        }
+        packer.writeArrayEnd();
+        final int size = list.size();
+        final int width = codeWidth(dictionarySize);
+        byte[] codes = new byte[size * width];
+        for (int i = 0, j = 0; i < size; i++) {
+            int code = list.code(i);
+            for (int shift = (width - 1) * 8; shift >= 0; shift -= 8) {
+                codes[j++] = (byte)(code >>> shift);
+            }
+        }
+        packer.write(codes);
+        packer.writeMapEnd();
+    }
+
+    private ConstList<?> readDictionaryList(Unpacker unpacker) throws IOException {
+        unpacker.readMapBegin();
+        final int dictionarySize = unpacker.readArrayBegin();
+        Object[] dictionary = new Object[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = elementTemplate.read(unpacker, null, false);
+        }
+        unpacker.readArrayEnd();
+        byte[] packed = unpacker.readByteArray();
+        unpacker.readMapEnd();
+        final int width = codeWidth(dictionarySize);
+        int[] codes = new int[packed.length / width];
+        for (int i = 0, j = 0; i < codes.length; i++) {
+            int code = 0;
+            for (int k = 0; k < width; k++) {
+                code = code << 8 | packed[j++] & 0xff;
+            }
+            codes[i] = code;
+        }
+        return dictionaryListOf(dictionary, codes);
+    }
+
+    @Override protected void writeValue(Packer packer, ConstList list) throws IOException {
+        if (list instanceof BasicConstDictionaryList) {
+            writeDictionaryList(packer, (BasicConstDictionaryList<?>)list);
+        }
+        else {
+            super.writeValue(packer, list);
+        }
+    }
+
+    @Override protected ConstList readValue(Unpacker unpacker, ConstList to) throws IOException {
+        if (unpacker.getNextType() == ValueType.MAP) {
+            return readDictionaryList(unpacker);
+        }
+        return super.readValue(unpacker, to);
+    }
+}
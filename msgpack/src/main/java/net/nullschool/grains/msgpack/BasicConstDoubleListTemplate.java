@@ -0,0 +1,54 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.nullschool.grains.msgpack;
+
+import net.nullschool.collect.ConstDoubleList;
+import org.msgpack.packer.Packer;
+import org.msgpack.unpacker.Unpacker;
+
+import java.io.IOException;
+
+import static net.nullschool.collect.basic.BasicCollections.*;
+
+
+/**
+ * 2013-06-24<p/>
+ *
+ * A MessagePack template for ConstDoubleList that writes each element as an unboxed double.
+ *
+ * @author Cameron Beccario
+ */
+public class BasicConstDoubleListTemplate extends AbstractPrimitiveListTemplate<ConstDoubleList> {
+
+    @Override protected void writeElements(Packer packer, ConstDoubleList list, int size) throws IOException {
+        for (int i = 0; i < size; i++) {
+            packer.write(list.getDouble(i));
+        }
+    }
+
+    @Override protected ConstDoubleList readElements(Unpacker unpacker, int size) throws IOException {
+        double[] elements = new double[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = unpacker.readDouble();
+        }
+        return doubleListOf(elements);
+    }
+
+    @Override protected ConstDoubleList emptyList() {
+        return emptyDoubleList();
+    }
+}
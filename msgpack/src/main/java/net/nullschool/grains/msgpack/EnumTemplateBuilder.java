@@ -31,13 +31,27 @@ import java.lang.reflect.Type;
  */
 public class EnumTemplateBuilder extends AbstractTemplateBuilder {
 
+    /**
+     * An ordinal enum template that remembers its enum type, so that collection templates can recognize enum
+     * elements and write them in a more compact form.
+     */
+    static final class EnumTemplate<T> extends OrdinalEnumTemplate<T> {
+
+        final Class<T> enumType;
+
+        EnumTemplate(Class<T> enumType) {
+            super(enumType);
+            this.enumType = enumType;
+        }
+    }
+
     @Override public boolean matchType(Type targetType, boolean hasAnnotation) {
         return TypeTools.erase(targetType).isEnum();
     }
 
     @Override public <T> Template<T> buildTemplate(Type targetType) throws TemplateBuildException {
         Class<? extends Enum> clazz = TypeTools.erase(targetType).asSubclass(Enum.class);
-        @SuppressWarnings("unchecked") Template<T> result = (Template<T>)new OrdinalEnumTemplate<>(clazz);
+        @SuppressWarnings("unchecked") Template<T> result = (Template<T>)new EnumTemplate<>(clazz);
         return result;
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013 Cameron Beccario
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package net.nullschool.grains.msgpack;
+
+import net.nullschool.grains.GrainTools;
+import org.msgpack.packer.Packer;
+import org.msgpack.template.AbstractTemplate;
+import org.msgpack.template.GenericTemplate;
+import org.msgpack.template.Template;
+import org.msgpack.unpacker.Unpacker;
+
+import java.io.IOException;
+import java.util.Objects;
+
+
+/**
+ * 2013-06-26<p/>
+ *
+ * A MessagePack template that delegates to another template, then {@link GrainTools#intern interns} each value it
+ * reads. Writing is unaffected.
+ *
+ * @author Cameron Beccario
+ */
+public class InterningTemplate<T> extends AbstractTemplate<T> {
+
+    /**
+     * A generic template that wraps each template built by another generic template with an InterningTemplate.
+     */
+    public static class Generic implements GenericTemplate {
+
+        private final GenericTemplate delegate;
+
+        public Generic(GenericTemplate delegate) {
+            this.delegate = Objects.requireNonNull(delegate);
+        }
+
+        @Override public Template build(Template[] params) {
+            @SuppressWarnings("unchecked") Template<Object> built = delegate.build(params);
+            return new InterningTemplate<>(built);
+        }
+    }
+
+    private final Template<T> delegate;
+
+    public InterningTemplate(Template<T> delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override public void write(Packer packer, T value, boolean required) throws IOException {
+        delegate.write(packer, value, required);
+    }
+
+    @Override public T read(Unpacker unpacker, T to, boolean required) throws IOException {
+        @SuppressWarnings("unchecked") T result = (T)GrainTools.intern(delegate.read(unpacker, to, required));
+        return result;
+    }
+
+    @Override public String toString() {
+        return String.format("%s<%s>", getClass().getSimpleName(), delegate);
+    }
+}
@@ -51,6 +51,19 @@ public final class MessagePackTools {
         return new GrainsMessagePack(registry);
     }
 
+    /**
+     * Constructs a new MessagePack instance where each grain and const collection read is {@link
+     * net.nullschool.grains.GrainTools#intern interned}. Equal values read from the stream (or already present in
+     * the heap) then share a single canonical instance.
+     */
+    public static MessagePack newInterningGrainsMessagePack() {
+        GrainsTemplateRegistry registry = new GrainsTemplateRegistry();
+        addDefaultTemplates(registry);
+        addInterningCollectionTemplates(registry);
+        addInterningBuilders(registry);
+        return new GrainsMessagePack(registry);
+    }
+
     public static MessagePack newGrainsMessagePack(GrainsTemplateRegistry registry) {
         return new GrainsMessagePack(registry);
     }
@@ -64,42 +77,142 @@ public final class MessagePackTools {
     }
 
     public static GrainsTemplateRegistry addDefaultBuilders(GrainsTemplateRegistry registry) {
+        return addBuilders(registry, false);
+    }
+
+    public static GrainsTemplateRegistry addInterningBuilders(GrainsTemplateRegistry registry) {
+        return addBuilders(registry, true);
+    }
+
+    private static GrainsTemplateRegistry addBuilders(GrainsTemplateRegistry registry, boolean intern) {
         registry.registerBuilder(new EnumTemplateBuilder());
-        registry.registerBuilder(new VerboseGrainTemplateBuilder(registry));
+        registry.registerBuilder(new VerboseGrainTemplateBuilder(registry, intern));
         return registry;
     }
 
     public static GrainsTemplateRegistry addDefaultCollectionTemplates(GrainsTemplateRegistry registry) {
+        return addCollectionTemplates(registry, false);
+    }
+
+    public static GrainsTemplateRegistry addInterningCollectionTemplates(GrainsTemplateRegistry registry) {
+        return addCollectionTemplates(registry, true);
+    }
+
+    /**
+     * Replaces the list templates with ones that write each {@link BasicConstDictionaryList} as a single entry map
+     * from its dictionary to its packed codes, instead of as an array. Readers must also be configured with this
+     * method (or {@link #addInterningDictionaryListTemplates}) to read the map form, so it is opt-in. Invoke after
+     * the collection templates have been added and before the first lookup.
+     */
+    public static GrainsTemplateRegistry addDictionaryListTemplates(GrainsTemplateRegistry registry) {
+        return addDictionaryListTemplates(registry, false);
+    }
+
+    /**
+     * Like {@link #addDictionaryListTemplates}, but each list read is interned.
+     */
+    public static GrainsTemplateRegistry addInterningDictionaryListTemplates(GrainsTemplateRegistry registry) {
+        return addDictionaryListTemplates(registry, true);
+    }
+
+    private static GrainsTemplateRegistry addDictionaryListTemplates(GrainsTemplateRegistry registry, boolean intern) {
         Template<?> lateTemplate = registry.lookup(Object.class);
+        return registerListTemplates(
+            registry,
+            new BasicConstDictionaryListTemplate(lateTemplate),
+            BasicConstDictionaryListTemplate.class,
+            intern);
+    }
 
-        // ConstList
-        registry.register(ConstList.class, new BasicConstListTemplate(lateTemplate));
-        GenericTemplate listTemplate = new GenericCollectionTemplate(registry, BasicConstListTemplate.class);
+    /**
+     * Replaces the templates for sets of known element type with ones that write each {@link BasicConstBitSet} of
+     * enums or Integers as its bitmask, a single integer, instead of as an array. Readers must also be configured
+     * with this method (or {@link #addInterningBitmaskSetTemplates}) to read the bitmask form, so it is opt-in.
+     * Invoke after the collection templates have been added and before the first lookup.
+     */
+    public static GrainsTemplateRegistry addBitmaskSetTemplates(GrainsTemplateRegistry registry) {
+        return registerSetTemplates(registry, BasicConstBitSetTemplate.class, false);
+    }
+
+    /**
+     * Like {@link #addBitmaskSetTemplates}, but each set read is interned.
+     */
+    public static GrainsTemplateRegistry addInterningBitmaskSetTemplates(GrainsTemplateRegistry registry) {
+        return registerSetTemplates(registry, BasicConstBitSetTemplate.class, true);
+    }
+
+    private static <T> Template<T> interning(Template<T> template, boolean intern) {
+        return intern ? new InterningTemplate<>(template) : template;
+    }
+
+    private static GenericTemplate interning(GenericTemplate template, boolean intern) {
+        return intern ? new InterningTemplate.Generic(template) : template;
+    }
+
+    private static GrainsTemplateRegistry registerListTemplates(
+        GrainsTemplateRegistry registry,
+        BasicConstListTemplate template,
+        Class<? extends BasicConstListTemplate> templateClass,
+        boolean intern) {
+
+        registry.register(ConstList.class, interning(template, intern));
+        GenericTemplate listTemplate = interning(new GenericCollectionTemplate(registry, templateClass), intern);
         registry.registerGeneric(ConstCollection.class, listTemplate);
         registry.registerGeneric(ConstList.class, listTemplate);
         registry.registerGeneric(BasicConstList.class, listTemplate);
+        return registry;
+    }
 
-        // ConstSet
-        registry.register(ConstSet.class, new BasicConstSetTemplate(lateTemplate));
-        GenericTemplate setTemplate = new GenericCollectionTemplate(registry, BasicConstSetTemplate.class);
+    private static GrainsTemplateRegistry registerSetTemplates(
+        GrainsTemplateRegistry registry,
+        Class<? extends BasicConstSetTemplate> templateClass,
+        boolean intern) {
+
+        GenericTemplate setTemplate = interning(new GenericCollectionTemplate(registry, templateClass), intern);
         registry.registerGeneric(ConstSet.class, setTemplate);
         registry.registerGeneric(BasicConstSet.class, setTemplate);
+        return registry;
+    }
+
+    private static GrainsTemplateRegistry addCollectionTemplates(GrainsTemplateRegistry registry, boolean intern) {
+        Template<?> lateTemplate = registry.lookup(Object.class);
+
+        // ConstList
+        registerListTemplates(registry, new BasicConstListTemplate(lateTemplate), BasicConstListTemplate.class, intern);
+
+        // ConstIntList, ConstLongList, ConstDoubleList
+        Template<?> intListTemplate = interning(new BasicConstIntListTemplate(), intern);
+        registry.register(ConstIntList.class, intListTemplate);
+        registry.register(BasicConstIntList.class, intListTemplate);
+        Template<?> longListTemplate = interning(new BasicConstLongListTemplate(), intern);
+        registry.register(ConstLongList.class, longListTemplate);
+        registry.register(BasicConstLongList.class, longListTemplate);
+        Template<?> doubleListTemplate = interning(new BasicConstDoubleListTemplate(), intern);
+        registry.register(ConstDoubleList.class, doubleListTemplate);
+        registry.register(BasicConstDoubleList.class, doubleListTemplate);
+
+        // ConstSet
+        registry.register(ConstSet.class, interning(new BasicConstSetTemplate(lateTemplate), intern));
+        registerSetTemplates(registry, BasicConstSetTemplate.class, intern);
 
         // ConstSortedSet
-        registry.register(ConstSortedSet.class, new BasicConstSortedSetTemplate(lateTemplate));
-        GenericTemplate sortedSetTemplate = new GenericCollectionTemplate(registry, BasicConstSortedSetTemplate.class);
+        registry.register(ConstSortedSet.class, interning(new BasicConstSortedSetTemplate(lateTemplate), intern));
+        GenericTemplate sortedSetTemplate = interning(
+            new GenericCollectionTemplate(registry, BasicConstSortedSetTemplate.class), intern);
         registry.registerGeneric(ConstSortedSet.class, sortedSetTemplate);
         registry.registerGeneric(BasicConstSortedSet.class, sortedSetTemplate);
 
         // ConstMap
-        registry.register(ConstMap.class, new BasicConstMapTemplate(lateTemplate, lateTemplate));
-        GenericTemplate mapTemplate = new GenericMapTemplate(registry, BasicConstMapTemplate.class);
+        registry.register(ConstMap.class, interning(new BasicConstMapTemplate(lateTemplate, lateTemplate), intern));
+        GenericTemplate mapTemplate = interning(new GenericMapTemplate(registry, BasicConstMapTemplate.class), intern);
         registry.registerGeneric(ConstMap.class, mapTemplate);
         registry.registerGeneric(BasicConstMap.class, mapTemplate);
 
         // ConstSortedMap
-        registry.register(ConstSortedMap.class, new BasicConstSortedMapTemplate(lateTemplate, lateTemplate));
-        GenericTemplate sortedMapTemplate = new GenericMapTemplate(registry, BasicConstSortedMapTemplate.class);
+        registry.register(ConstSortedMap.class, interning(
+            new BasicConstSortedMapTemplate(lateTemplate, lateTemplate), intern));
+        GenericTemplate sortedMapTemplate = interning(
+            new GenericMapTemplate(registry, BasicConstSortedMapTemplate.class), intern);
         registry.registerGeneric(ConstSortedMap.class, sortedMapTemplate);
         registry.registerGeneric(BasicConstSortedMap.class, sortedMapTemplate);
 
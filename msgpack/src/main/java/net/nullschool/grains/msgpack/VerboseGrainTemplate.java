@@ -38,14 +38,25 @@ public class VerboseGrainTemplate<T extends Grain> extends AbstractNullableTempl
 
     private final GrainFactory factory;
     private final Grain defaultValue;
+    private final boolean intern;
     private final Map<String, Type> propertyTypes = new HashMap<>();
 
     private volatile Map<String, Template<?>> propertyTemplates;
     private volatile Template<?> extensionTemplate;
 
     public VerboseGrainTemplate(Class<T> clazz, TemplateRegistry registry) {
+        this(clazz, registry, false);
+    }
+
+    /**
+     * @param clazz the grain type.
+     * @param registry the registry to use for looking up property templates.
+     * @param intern true if each grain read should be {@link GrainFactory#intern interned}.
+     */
+    public VerboseGrainTemplate(Class<T> clazz, TemplateRegistry registry, boolean intern) {
         this.factory = GrainTools.factoryFor(clazz);
         this.defaultValue = factory.getDefaultValue();
+        this.intern = intern;
 
         // Aggressively register this template so that recursive template construction will succeed when we encounter
         // a type declaration cycle. For example:
@@ -95,7 +106,7 @@ public class VerboseGrainTemplate<T extends Grain> extends AbstractNullableTempl
     }
 
     @Override public T readValue(Unpacker unpacker, T to) throws IOException {
-        GrainBuilder builder = factory.getNewBuilder();
+        GrainDecoder decoder = factory.getNewDecoder();
         final int size = unpacker.readMapBegin();
         for (int i = 0; i < size; i++) {
             String key = unpacker.readString();
@@ -117,10 +128,11 @@ public class VerboseGrainTemplate<T extends Grain> extends AbstractNullableTempl
             else {
                 value = unpacker.read(extensionTemplate);
             }
-            builder.put(key, value);
+            decoder.put(key, value);
         }
         unpacker.readMapEnd();
-        @SuppressWarnings("unchecked") T result = (T)builder.build();
+        Grain grain = decoder.decode();
+        @SuppressWarnings("unchecked") T result = (T)(intern ? factory.intern(grain) : grain);
         return result;
     }
 }
@@ -32,9 +32,20 @@ import java.lang.reflect.Type;
 public class VerboseGrainTemplateBuilder extends AbstractTemplateBuilder {
 
     private final TemplateRegistry registry;
+    private final boolean intern;
 
     public VerboseGrainTemplateBuilder(TemplateRegistry registry) {
+        this(registry, false);
+    }
+
+    /**
+     * @param registry the registry to use for looking up property templates.
+     * @param intern true if the built templates should {@link net.nullschool.grains.GrainFactory#intern intern}
+     *               each grain they read.
+     */
+    public VerboseGrainTemplateBuilder(TemplateRegistry registry, boolean intern) {
         this.registry = registry;
+        this.intern = intern;
     }
 
     @Override public boolean matchType(Type targetType, boolean hasAnnotation) {
@@ -44,7 +55,7 @@ public class VerboseGrainTemplateBuilder extends AbstractTemplateBuilder {
     @Override public <T> Template<T> buildTemplate(Type targetType) {
         Class<? extends Grain> grainType = TypeTools.erase(targetType).asSubclass(Grain.class);
         @SuppressWarnings("unchecked") Template<T> result =
-            (Template<T>)new VerboseGrainTemplate<>(grainType, registry);
+            (Template<T>)new VerboseGrainTemplate<>(grainType, registry, intern);
         return result;
     }
 }
@@ -17,14 +17,23 @@
 package net.nullschool.grains.msgpack;
 
 import net.nullschool.collect.*;
+import net.nullschool.reflect.TypeToken;
 import org.junit.Test;
 import org.msgpack.MessagePack;
+import org.msgpack.MessageTypeException;
+import org.msgpack.template.IntegerTemplate;
+import org.msgpack.template.Template;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static net.nullschool.collect.basic.BasicCollections.*;
 import static net.nullschool.collect.basic.BasicCollections.emptySortedMap;
-import static net.nullschool.grains.msgpack.MessagePackTools.newGrainsMessagePack;
+import static net.nullschool.grains.msgpack.MessagePackTools.*;
+import static org.junit.Assert.*;
 
 
 /**
@@ -46,6 +55,35 @@ public class BasicCollectionsTest {
         }
     }
 
+    @Test
+    public void test_basicConstDictionaryList() throws IOException {
+        for (int cardinality : new int[] {3, 300, 70000}) {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < cardinality * 2; i++) {
+                elements.add("v" + i % cardinality);
+            }
+            ConstList<String> list = asDictionaryList(elements);
+
+            // By default, dictionary lists are written as arrays.
+            MessagePack msgpack = newGrainsMessagePack();
+            byte[] data = msgpack.write(list);
+            assertEquals(asList(elements), msgpack.read(data, ConstList.class));
+            assertArrayEquals(msgpack.write(asList(elements)), data);
+
+            // With the dictionary list templates, the dictionary is written once, followed by the packed codes.
+            GrainsTemplateRegistry registry = new GrainsTemplateRegistry();
+            addDefaultTemplates(registry);
+            addDefaultCollectionTemplates(registry);
+            addDefaultBuilders(registry);
+            msgpack = newGrainsMessagePack(addDictionaryListTemplates(registry));
+            data = msgpack.write(list);
+            ConstList<?> actual = msgpack.read(data, ConstList.class);
+            assertSame(list.getClass(), actual.getClass());
+            assertEquals(list, actual);
+            assertEquals(list, msgpack.read(msgpack.write(asList(elements)), ConstList.class));
+        }
+    }
+
     @Test
     public void test_basicConstSet() throws IOException {
         ConstSet<Integer> set = emptySet();
@@ -58,6 +96,64 @@ public class BasicCollectionsTest {
         }
     }
 
+    @Test
+    public void test_basicConstBitSet() throws IOException {
+        MessagePack msgpack = newGrainsMessagePack();
+        Template<?> unitTemplate = new EnumTemplateBuilder().buildTemplate(TimeUnit.class);
+        ConstSet<TimeUnit> units = enumSetOf(TimeUnit.class, TimeUnit.SECONDS, TimeUnit.NANOSECONDS);
+
+        // By default, bit sets are written as arrays.
+        Template<ConstSet> unitsTemplate = new BasicConstSetTemplate(unitTemplate);
+        byte[] data = msgpack.write(units, unitsTemplate);
+        assertEquals(3, data.length);  // a fixarray of two fixnums
+        assertEquals(units, msgpack.read(data, unitsTemplate));
+
+        // With the bitmask template, bit sets are written as integers.
+        Template<ConstSet> bitmaskTemplate = new BasicConstBitSetTemplate(unitTemplate);
+        data = msgpack.write(units, bitmaskTemplate);
+        assertEquals(1, data.length);  // a positive fixnum
+        assertEquals(units, msgpack.read(data, bitmaskTemplate));
+        assertEquals(units, msgpack.read(msgpack.write(units, unitsTemplate), bitmaskTemplate));
+
+        Template<ConstSet> intsTemplate = new BasicConstBitSetTemplate(IntegerTemplate.getInstance());
+        ConstSet<Integer> ints = smallIntSetOf(0, 5, 63);
+        assertEquals(ints, msgpack.read(msgpack.write(ints, intsTemplate), intsTemplate));
+        ConstSet<Integer> large = setOf(1, 100);
+        assertEquals(large, msgpack.read(msgpack.write(large, intsTemplate), intsTemplate));
+
+        // Without a known element type, bit sets are written as arrays.
+        assertEquals(ints, msgpack.read(msgpack.write(ints), ConstSet.class));
+    }
+
+    @Test
+    public void test_addBitmaskSetTemplates() throws IOException {
+        Type type = new TypeToken<ConstSet<TimeUnit>>(){}.asType();
+        ConstSet<TimeUnit> units = enumSetOf(TimeUnit.class, TimeUnit.SECONDS, TimeUnit.NANOSECONDS);
+
+        MessagePack msgpack = newGrainsMessagePack();
+        @SuppressWarnings("unchecked") Template<Object> template = (Template<Object>)msgpack.lookup(type);
+        assertEquals(3, msgpack.write(units, template).length);
+
+        GrainsTemplateRegistry registry = new GrainsTemplateRegistry();
+        addDefaultTemplates(registry);
+        addDefaultCollectionTemplates(registry);
+        addDefaultBuilders(registry);
+        msgpack = newGrainsMessagePack(addBitmaskSetTemplates(registry));
+        @SuppressWarnings("unchecked") Template<Object> bitmaskTemplate = (Template<Object>)msgpack.lookup(type);
+        byte[] data = msgpack.write(units, bitmaskTemplate);
+        assertEquals(1, data.length);
+        assertEquals(units, msgpack.read(data, bitmaskTemplate));
+    }
+
+    @Test(expected = MessageTypeException.class)
+    public void test_basicConstBitSet_not_read_by_default() throws IOException {
+        MessagePack msgpack = newGrainsMessagePack();
+        Template<?> unitTemplate = new EnumTemplateBuilder().buildTemplate(TimeUnit.class);
+        ConstSet<TimeUnit> units = enumSetOf(TimeUnit.class, TimeUnit.SECONDS, TimeUnit.NANOSECONDS);
+        byte[] data = msgpack.write(units, new BasicConstBitSetTemplate(unitTemplate));
+        msgpack.read(data, new BasicConstSetTemplate(unitTemplate));
+    }
+
     @Test
     public void test_basicConstSortedSet() throws IOException {
         ConstSortedSet<Integer> set = emptySortedSet(null);
@@ -93,4 +189,20 @@ public class BasicCollectionsTest {
             map = map.with(i, i);
         }
     }
+
+    @Test
+    public void test_basicConstPrimitiveLists() throws IOException {
+        ConstIntList ints = emptyIntList();
+        ConstLongList longs = emptyLongList();
+        ConstDoubleList doubles = emptyDoubleList();
+        for (int i = 0; i < 10; i++) {
+            MessagePack msgpack = newGrainsMessagePack();
+            CollectionTestingTools.compare_lists(ints, msgpack.read(msgpack.write(ints), ConstIntList.class));
+            CollectionTestingTools.compare_lists(longs, msgpack.read(msgpack.write(longs), ConstLongList.class));
+            CollectionTestingTools.compare_lists(doubles, msgpack.read(msgpack.write(doubles), ConstDoubleList.class));
+            ints = ints.withInt(-i * 1000);
+            longs = longs.withLong(Long.MAX_VALUE - i);
+            doubles = doubles.withDouble(i / 3.0);
+        }
+    }
 }
@@ -92,4 +92,19 @@ public class MessagePackTest {
             BasicToolsTest.asTypeHierarchy(expected),
             BasicToolsTest.asTypeHierarchy(actual));
     }
+
+    @Test
+    public void test_interning() throws IOException {
+        CompleteGrain expected = newCompleteBuilderWithSampleValues().build();
+
+        MessagePack msgpack = newInterningGrainsMessagePack();
+        byte[] data = msgpack.write(expected);
+        CompleteGrain first = msgpack.read(data, CompleteGrain.class);
+        CompleteGrain second = msgpack.read(data, CompleteGrain.class);
+
+        assertEquals(expected, first);
+        assertSame(first, second);
+        assertSame(first.getP(), first.getR().iterator().next());
+        assertSame(first.getR(), first.getZa().get("a").iterator().next());
+    }
 }
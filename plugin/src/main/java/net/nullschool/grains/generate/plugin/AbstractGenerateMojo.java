@@ -115,6 +115,16 @@ abstract class AbstractGenerateMojo extends AbstractMojo {
         return typePolicy;
     }
 
+    /**
+     * Set to "true" if generated grains are to cache their hash code and compare grains of the same type field by
+     * field, making grains cheaper to use as keys in hash maps and caches.
+     */
+    @Parameter(property = "memoizeHashCode", defaultValue = "false")
+    private boolean memoizeHashCode;
+    public boolean getMemoizeHashCode() {
+        return memoizeHashCode;
+    }
+
     /**
      * The location to save generated source files.
      */
@@ -174,6 +174,7 @@ final class GenerateAction {
             config.setLineSeparator(prepareLineSeparator());
             config.setOutput(prepareTargetDirectory());
             config.setTypePolicy(mojo.getTypePolicy());
+            config.setMemoizeHashCode(mojo.getMemoizeHashCode());
             config.setSearchPackages(prepareSearchPackages());
             config.setSearchLoader(prepareSearchClassLoader());
 